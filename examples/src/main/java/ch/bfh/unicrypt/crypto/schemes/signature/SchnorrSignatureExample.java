@@ -52,6 +52,9 @@ import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModElement;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  *
@@ -82,6 +85,58 @@ public class SchnorrSignatureExample {
 
 	}
 
+	// benchmark of the verification of 100 signatures in a 1536-bit group: one by one vs. batch verification
+	public static void example2() {
+
+		BigInteger p = new BigInteger("FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F14374FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7EDEE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF0598DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB9ED529077096966D670C354E4ABC9804F1746C08CA237327FFFFFFFFFFFFFFFF", 16);
+		GStarModSafePrime g_q = GStarModSafePrime.getInstance(p);
+		SchnorrSignatureScheme<StringMonoid> schnorr = SchnorrSignatureScheme.getInstance(StringMonoid.getInstance(Alphabet.BASE64), g_q.getDefaultGenerator());
+
+		int n = 100;
+		List<Element> publicKeys = new ArrayList<Element>();
+		List<Element> messages = new ArrayList<Element>();
+		List<Element> signatures = new ArrayList<Element>();
+		for (int i = 0; i < n; i++) {
+			Pair keyPair = schnorr.getKeyPairGenerator().generateKeyPair();
+			StringElement message = schnorr.getMessageSpace().getElement("Message" + i);
+			publicKeys.add(keyPair.getSecond());
+			messages.add(message);
+			signatures.add(schnorr.sign(keyPair.getFirst(), message));
+		}
+
+		// warm-up
+		for (int i = 0; i < n; i++) {
+			schnorr.verify(publicKeys.get(i), messages.get(i), signatures.get(i));
+		}
+		schnorr.verifyBatch(publicKeys, messages, signatures);
+
+		// one by one: g^s and y^(-c) are computed separately
+		int valid1 = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			if (schnorr.verify(publicKeys.get(i), messages.get(i), signatures.get(i)).getValue()) {
+				valid1++;
+			}
+		}
+		long time1 = (System.nanoTime() - start) / n / 1000;
+
+		// batch: g^s * y^(-c) is computed by a single multi-exponentiation
+		int valid2 = 0;
+		start = System.nanoTime();
+		for (boolean result : schnorr.verifyBatch(publicKeys, messages, signatures)) {
+			if (result) {
+				valid2++;
+			}
+		}
+		long time2 = (System.nanoTime() - start) / n / 1000;
+
+		Example.printLine("Modulus bit length", p.bitLength());
+		Example.printLine("Valid signatures (one by one)", valid1);
+		Example.printLine("Valid signatures (batch)", valid2);
+		Example.printLine("One by one (us per signature)", time1);
+		Example.printLine("Batch (us per signature)", time2);
+	}
+
 	public static void main(final String[] args) {
 		Example.runExamples();
 	}
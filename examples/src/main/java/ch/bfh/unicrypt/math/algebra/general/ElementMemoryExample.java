@@ -0,0 +1,112 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general;
+
+import ch.bfh.unicrypt.Example;
+import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModElement;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import java.math.BigInteger;
+
+/**
+ * Measures the heap usage of typical elements. Each measurement keeps a large number of elements alive and prints
+ * the average number of bytes per element. The values of the elements are shared, i.e., only the element layout is
+ * measured. The results depend on the JVM, the garbage collector, and the pointer compression.
+ * <p>
+ * On a 64-bit Java 8 JVM with compressed pointers, a GStarModElement used 244 bytes and a Pair 308 bytes while every
+ * element allocated its conversion caches eagerly. With lazily allocated caches, they use 36 and 99 bytes.
+ * <p>
+ * @author R. Haenni
+ */
+public class ElementMemoryExample {
+
+	private static final int NUMBER_OF_ELEMENTS = 100000;
+
+	public static void example1() {
+		GStarModSafePrime group = GStarModSafePrime.getInstance(23);
+		BigInteger value = BigInteger.valueOf(4);
+		group.getElement(value);
+		long before = Memory.getUsed();
+		GStarModElement[] elements = new GStarModElement[NUMBER_OF_ELEMENTS];
+		for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+			elements[i] = group.getElement(value);
+		}
+		long bytesPerElement = (Memory.getUsed() - before) / elements.length;
+		Example.printLine("GStarModElement", bytesPerElement + " bytes");
+	}
+
+	public static void example2() {
+		GStarModSafePrime group = GStarModSafePrime.getInstance(23);
+		Element element1 = group.getElement(4);
+		Element element2 = group.getElement(8);
+		Pair.getInstance(element1, element2);
+		long before = Memory.getUsed();
+		Pair[] pairs = new Pair[NUMBER_OF_ELEMENTS];
+		for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+			pairs[i] = Pair.getInstance(element1, element2);
+		}
+		long bytesPerPair = (Memory.getUsed() - before) / pairs.length;
+		Example.printLine("Pair", bytesPerPair + " bytes");
+	}
+
+	public static void main(final String[] args) {
+		Example.runExamples();
+	}
+
+	// nested class, such that the helper method is not run as an example
+	private static class Memory {
+
+		private static long getUsed() {
+			Runtime runtime = Runtime.getRuntime();
+			long usedMemory = Long.MAX_VALUE;
+			// repeat until the garbage collector has settled
+			for (int i = 0; i < 5; i++) {
+				System.gc();
+				usedMemory = Math.min(usedMemory, runtime.totalMemory() - runtime.freeMemory());
+			}
+			return usedMemory;
+		}
+
+	}
+
+}
@@ -76,6 +76,50 @@ public class GStarModSafePrimeExample {
 
 	}
 
+	// benchmark of the membership test in a 1536-bit group: Euler's criterion vs. Legendre symbol
+	public static void example2() {
+
+		BigInteger p = new BigInteger("FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F14374FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7EDEE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF0598DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB9ED529077096966D670C354E4ABC9804F1746C08CA237327FFFFFFFFFFFFFFFF", 16);
+		GStarModSafePrime group = GStarModSafePrime.getInstance(p);
+		int n = 200;
+		BigInteger[] values = new BigInteger[n];
+		for (int i = 0; i < n; i++) {
+			values[i] = group.getRandomElement().getValue();
+		}
+
+		// warm-up
+		for (BigInteger value : values) {
+			value.modPow(group.getOrder(), p);
+			group.contains(value);
+		}
+
+		// previous membership test: gcd and modular exponentiation
+		// the results are counted, such that the tests cannot be eliminated as dead code
+		int count1 = 0;
+		long start = System.nanoTime();
+		for (BigInteger value : values) {
+			if (value.gcd(p).equals(BigInteger.ONE) && value.modPow(group.getOrder(), p).equals(BigInteger.ONE)) {
+				count1++;
+			}
+		}
+		long time1 = (System.nanoTime() - start) / n / 1000;
+
+		// current membership test: Legendre symbol
+		int count2 = 0;
+		start = System.nanoTime();
+		for (BigInteger value : values) {
+			if (group.contains(value)) {
+				count2++;
+			}
+		}
+		long time2 = (System.nanoTime() - start) / n / 1000;
+
+		Example.printLine("Modulus bit length", p.bitLength());
+		Example.printLine("Euler's criterion (us per element)", time1);
+		Example.printLine("Legendre symbol (us per element)", time2);
+		Example.printLine("Members found", count1 + " / " + count2);
+	}
+
 	public static void main(final String[] args) {
 		Example.runExamples();
 	}
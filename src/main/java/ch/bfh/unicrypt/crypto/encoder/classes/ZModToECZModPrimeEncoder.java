@@ -44,7 +44,6 @@ package ch.bfh.unicrypt.crypto.encoder.classes;
 import ch.bfh.unicrypt.crypto.encoder.abstracts.AbstractEncoder;
 import ch.bfh.unicrypt.crypto.encoder.exceptions.ProbabilisticEncodingException;
 import ch.bfh.unicrypt.crypto.encoder.interfaces.ProbabilisticEncoder;
-import ch.bfh.unicrypt.helper.MathUtil;
 import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModElement;
 import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModPrime;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
@@ -157,7 +156,7 @@ public class ZModToECZModPrimeEncoder
 			
 			if(firstOption){
 				ZModElement y1 = x.power(3).add(ecPrime.getA().multiply(x)).add(ecPrime.getB());
-				ZModElement y = zModPrime.getElement(MathUtil.sqrtModPrime(y1.getValue(), zModPrime.getModulus()));
+				ZModElement y = zModPrime.squareRoot(y1);
 				return ecPrime.getElement(x, y);
 			}
 			
@@ -206,7 +205,7 @@ public class ZModToECZModPrimeEncoder
 			
 			
 			ZModElement y1 = x.power(3).add(ecPrime.getA().multiply(x)).add(ecPrime.getB());
-			ZModElement y = zModPrime.getElement(MathUtil.sqrtModPrime(y1.getValue(), zModPrime.getModulus()));
+			ZModElement y = zModPrime.squareRoot(y1);
 			y=y.invert();
 			return ecPrime.getElement(x, y);
 			
@@ -240,7 +239,7 @@ public class ZModToECZModPrimeEncoder
 			ZModElement y=(ZModElement) element.getY();
 			
 			ZModElement y1 = x.power(3).add(ecPrime.getA().multiply(x)).add(ecPrime.getB());
-			ZModElement yEnc = zModPrime.getElement(MathUtil.sqrtModPrime(y1.getValue(), zModPrime.getModulus()));
+			ZModElement yEnc = zModPrime.squareRoot(y1);
 			
 			BigInteger x1=element.getX().getBigInteger();
 			
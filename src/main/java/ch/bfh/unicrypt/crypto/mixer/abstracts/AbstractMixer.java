@@ -42,8 +42,13 @@
 package ch.bfh.unicrypt.crypto.mixer.abstracts;
 
 import ch.bfh.unicrypt.crypto.mixer.interfaces.Mixer;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.random.classes.CounterModeRandomByteSequence;
 import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
+import ch.bfh.unicrypt.helper.ParallelLoop;
+import ch.bfh.unicrypt.helper.Permutation;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementStore;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
@@ -52,6 +57,7 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.function.classes.PermutationFunction;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
+import java.util.concurrent.ExecutorService;
 
 /**
  *
@@ -62,6 +68,13 @@ import ch.bfh.unicrypt.math.function.interfaces.Function;
 public abstract class AbstractMixer<C extends Set, R extends Set>
 	   implements Mixer {
 
+	// the length of the seeds of the independent random streams used in parallel
+	private static final int SEED_LENGTH = 32;
+
+	// the number of randomizations generated from each independent random stream, which is fixed such that the
+	// randomizations do not depend on the number of available processors
+	private static final int RANDOMIZATION_CHUNK_LENGTH = 64;
+
 	final private int size;
 
 	private Function shuffleFunction;
@@ -127,6 +140,71 @@ public abstract class AbstractMixer<C extends Set, R extends Set>
 		return this.getPermutationFunction().apply(Tuple.getInstance(elementsPrime), permutation);
 	}
 
+	/**
+	 * Same as {@link #shuffle(Tuple, PermutationElement, Tuple)}, but the shuffle function is applied concurrently to
+	 * chunks of elements by the given executor service. The result is identical to the sequential computation.
+	 * <p>
+	 * @param elements        The given elements
+	 * @param permutation     The given permutation
+	 * @param randomizations  The given randomizations
+	 * @param executorService The given executor service
+	 * @return The shuffled elements
+	 */
+	@Override
+	public final Tuple shuffle(final Tuple elements, final PermutationElement permutation, final Tuple randomizations, final ExecutorService executorService) {
+		if (!this.getShufflesSpace().contains(elements) || !this.getRandomizationsSpace().contains(randomizations)
+			   || permutation == null || permutation.getValue().getSize() != this.getSize() || executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		final Function shuffleFunction = this.getShuffleFunction();
+		final Element[] elementsPrime = new Element[this.getSize()];
+		new ParallelLoop() {
+
+			@Override
+			protected void execute(int chunk, int fromIndex, int toIndex) {
+				for (int i = fromIndex; i < toIndex; i++) {
+					elementsPrime[i] = shuffleFunction.apply(elements.getAt(i), randomizations.getAt(i));
+				}
+			}
+
+		}.run(this.getSize(), executorService);
+		return this.getPermutationFunction().apply(Tuple.getInstance(elementsPrime), permutation);
+	}
+
+	// the shuffled elements are stored in direct byte buffers
+	@Override
+	public final ElementStore shuffle(final ElementStore elements, final PermutationElement permutation, final ElementStore randomizations) {
+		return this.shuffle(elements, permutation, randomizations, ElementStore.getInstance(this.getShuffleSpace(), this.getSize()));
+	}
+
+	/**
+	 * Shuffles the elements of a store and writes the result into the given target store, for example a store backed
+	 * by a memory-mapped file. The elements are re-encrypted one by one, such that the heap usage does not depend on
+	 * the size of the mix. The target store must be different from the input stores.
+	 * <p>
+	 * @param elements       The given elements
+	 * @param permutation    The given permutation
+	 * @param randomizations The given randomizations
+	 * @param target         The store for the shuffled elements
+	 * @return The target store
+	 */
+	@Override
+	public final ElementStore shuffle(final ElementStore elements, final PermutationElement permutation, final ElementStore randomizations, final ElementStore target) {
+		if (elements == null || randomizations == null || permutation == null || target == null
+			   || !elements.getSet().isEquivalent(this.getShuffleSpace()) || elements.getSize() != this.getSize()
+			   || !randomizations.getSet().isEquivalent(this.getRandomizationSpace()) || randomizations.getSize() != this.getSize()
+			   || !target.getSet().isEquivalent(this.getShuffleSpace()) || target.getSize() != this.getSize()
+			   || permutation.getValue().getSize() != this.getSize() || target == elements || target == randomizations) {
+			throw new IllegalArgumentException();
+		}
+		Permutation pi = permutation.getValue();
+		for (int i = 0; i < this.getSize(); i++) {
+			int j = pi.permute(i);
+			target.setAt(i, this.getShuffleFunction().apply(elements.getAt(j), randomizations.getAt(j)));
+		}
+		return target;
+	}
+
 	@Override
 	public final Tuple generateRandomizations() {
 		return this.generateRandomizations(HybridRandomByteSequence.getInstance());
@@ -140,6 +218,39 @@ public abstract class AbstractMixer<C extends Set, R extends Set>
 		return this.defaultGenerateRandomizations(randomByteSequence);
 	}
 
+	/**
+	 * Same as {@link #generateRandomizations(RandomByteSequence)}, but the randomizations are generated concurrently
+	 * by the given executor service. Each chunk of randomizations is generated from an independent pseudo-random
+	 * stream, whose seed is taken from the given random byte sequence. The chunks have a fixed length, i.e., the
+	 * result only depends on the given random byte sequence.
+	 * <p>
+	 * @param randomByteSequence The given random byte sequence
+	 * @param executorService    The given executor service
+	 * @return The randomizations
+	 */
+	@Override
+	public final Tuple generateRandomizations(final RandomByteSequence randomByteSequence, final ExecutorService executorService) {
+		if (randomByteSequence == null || executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		return this.defaultGenerateRandomizations(randomByteSequence, executorService);
+	}
+
+	@Override
+	public final ElementStore generateRandomizationStore(final RandomByteSequence randomByteSequence) {
+		return this.generateRandomizationStore(randomByteSequence, ElementStore.getInstance(this.getRandomizationSpace(), this.getSize()));
+	}
+
+	@Override
+	public final ElementStore generateRandomizationStore(final RandomByteSequence randomByteSequence, final ElementStore target) {
+		if (randomByteSequence == null || target == null || !target.getSet().isEquivalent(this.getRandomizationSpace())
+			   || target.getSize() != this.getSize()) {
+			throw new IllegalArgumentException();
+		}
+		this.defaultGenerateRandomizationStore(randomByteSequence, target);
+		return target;
+	}
+
 	@Override
 	public PermutationGroup getPermutationGroup() {
 		return PermutationGroup.getInstance(this.size);
@@ -149,6 +260,33 @@ public abstract class AbstractMixer<C extends Set, R extends Set>
 		return this.getRandomizationsSpace().getRandomElement(randomByteSequence);
 	}
 
+	protected Tuple defaultGenerateRandomizations(RandomByteSequence randomByteSequence, ExecutorService executorService) {
+		final Set randomizationSpace = this.getRandomizationSpace();
+		final Element[] randomizations = new Element[this.getSize()];
+		final ByteArray[] seeds = new ByteArray[ParallelLoop.getChunks(this.getSize(), RANDOMIZATION_CHUNK_LENGTH)];
+		for (int i = 0; i < seeds.length; i++) {
+			seeds[i] = randomByteSequence.getNextByteArray(SEED_LENGTH);
+		}
+		new ParallelLoop() {
+
+			@Override
+			protected void execute(int chunk, int fromIndex, int toIndex) {
+				RandomByteSequence stream = CounterModeRandomByteSequence.getInstance(seeds[chunk]);
+				for (int i = fromIndex; i < toIndex; i++) {
+					randomizations[i] = randomizationSpace.getRandomElement(stream);
+				}
+			}
+
+		}.run(this.getSize(), RANDOMIZATION_CHUNK_LENGTH, executorService);
+		return Tuple.getInstance(randomizations);
+	}
+
+	protected void defaultGenerateRandomizationStore(RandomByteSequence randomByteSequence, ElementStore target) {
+		for (int i = 0; i < this.getSize(); i++) {
+			target.setAt(i, this.getRandomizationSpace().getRandomElement(randomByteSequence));
+		}
+	}
+
 	protected abstract Function abstractGetShuffleFunction();
 
 	private ProductSet getRandomizationsSpace() {
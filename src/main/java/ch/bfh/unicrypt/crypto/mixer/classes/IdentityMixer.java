@@ -45,12 +45,14 @@ import ch.bfh.unicrypt.crypto.mixer.abstracts.AbstractMixer;
 import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementStore;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.function.classes.SelfApplyFunction;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Calls self-apply on every identity.
@@ -100,6 +102,19 @@ public class IdentityMixer
 		return this.createRandomizationTuple(r);
 	}
 
+	@Override
+	protected Tuple defaultGenerateRandomizations(RandomByteSequence randomByteSequence, ExecutorService executorService) {
+		return this.defaultGenerateRandomizations(randomByteSequence);
+	}
+
+	@Override
+	protected void defaultGenerateRandomizationStore(RandomByteSequence randomByteSequence, ElementStore target) {
+		Element r = this.generateRandomization(randomByteSequence);
+		for (int i = 0; i < this.getSize(); i++) {
+			target.setAt(i, r);
+		}
+	}
+
 	@Override
 	protected Function abstractGetShuffleFunction() {
 		return SelfApplyFunction.getInstance(this.getCyclicGroup());
@@ -42,12 +42,14 @@
 package ch.bfh.unicrypt.crypto.mixer.interfaces;
 
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementStore;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.function.classes.PermutationFunction;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
+import java.util.concurrent.ExecutorService;
 
 public interface Mixer {
 
@@ -69,10 +71,22 @@ public interface Mixer {
 
 	public Tuple shuffle(Tuple elements, PermutationElement permutation, Tuple randomizations);
 
+	public Tuple shuffle(Tuple elements, PermutationElement permutation, Tuple randomizations, ExecutorService executorService);
+
+	public ElementStore shuffle(ElementStore elements, PermutationElement permutation, ElementStore randomizations);
+
+	public ElementStore shuffle(ElementStore elements, PermutationElement permutation, ElementStore randomizations, ElementStore target);
+
 	public Tuple generateRandomizations();
 
 	public Tuple generateRandomizations(RandomByteSequence randomByteSequence);
 
+	public Tuple generateRandomizations(RandomByteSequence randomByteSequence, ExecutorService executorService);
+
+	public ElementStore generateRandomizationStore(RandomByteSequence randomByteSequence);
+
+	public ElementStore generateRandomizationStore(RandomByteSequence randomByteSequence, ElementStore target);
+
 	public PermutationGroup getPermutationGroup();
 
 	public PermutationFunction getPermutationFunction();
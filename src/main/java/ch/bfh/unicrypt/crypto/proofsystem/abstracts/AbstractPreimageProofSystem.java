@@ -42,17 +42,27 @@
 package ch.bfh.unicrypt.crypto.proofsystem.abstracts;
 
 import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.SigmaChallengeGenerator;
+import ch.bfh.unicrypt.helper.MathUtil;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
 import ch.bfh.unicrypt.math.algebra.general.classes.Triple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.SemiGroup;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
+import java.math.BigInteger;
+import java.util.Arrays;
 
 public abstract class AbstractPreimageProofSystem<PRS extends SemiGroup, PRE extends Element, PUS extends SemiGroup, PUE extends Element, F extends Function>
 	   extends AbstractSigmaProofSystem<PRS, PRE, PUS, PUE, F> {
 
+	// the bit length of the random exponents in batch verification
+	private static final int BATCH_EXPONENT_BIT_LENGTH = 64;
+
 	private final F preimageProofFunction;
+	// computed lazily, concurrent computations yield the same value
+	private volatile Boolean batchVerifiable;
 
 	protected AbstractPreimageProofSystem(final SigmaChallengeGenerator challengeGenerator, final F function) {
 		super(challengeGenerator);
@@ -91,9 +101,91 @@ public abstract class AbstractPreimageProofSystem<PRS extends SemiGroup, PRE ext
 	@Override
 	protected final boolean abstractVerify(final Triple proof, final Element publicInput) {
 		final Element challenge = this.getChallengeGenerator().generate(publicInput, this.getCommitment(proof));
-		final Element left = this.getPreimageProofFunction().apply(this.getResponse(proof));
-		final Element right = this.getCommitment(proof).apply(publicInput.selfApply(challenge));
+		return this.verify(proof, publicInput, challenge);
+	}
+
+	// The proofs (t_i,c_i,s_i) are combined by random exponents a_i into a single check
+	// f(Sum(a_i*s_i)) = Prod(t_i^a_i * y_i^(a_i*c_i)), which holds for valid proofs since f is a homomorphism. If the
+	// check fails, the batch is split into two halves, until the invalid proofs are located. The combined check is only
+	// sound if the co-domain of f has prime order (or is a product of such groups). Otherwise, an invalid proof that
+	// differs from a valid one by an element of a small subgroup passes with the probability 1/k, where k is the order
+	// of that element. In this case, the proofs are verified one by one.
+	@Override
+	protected final boolean[] abstractVerifyBatch(final Triple[] proofs, final Element[] publicInputs, final RandomByteSequence randomByteSequence) {
+		if (!this.isBatchVerifiable()) {
+			return super.abstractVerifyBatch(proofs, publicInputs, randomByteSequence);
+		}
+		final Element[] challenges = new Element[proofs.length];
+		final BigInteger[] randomExponents = new BigInteger[proofs.length];
+		final ZMod randomExponentSpace = ZMod.getInstance(BigInteger.ONE.shiftLeft(BATCH_EXPONENT_BIT_LENGTH));
+		for (int i = 0; i < proofs.length; i++) {
+			challenges[i] = this.getChallengeGenerator().generate(publicInputs[i], proofs[i].getFirst());
+			randomExponents[i] = randomExponentSpace.getRandomElement(randomByteSequence).getValue();
+		}
+		final boolean[] result = new boolean[proofs.length];
+		this.verifyBatch(proofs, publicInputs, challenges, randomExponents, 0, proofs.length, result);
+		return result;
+	}
+
+	private boolean isBatchVerifiable() {
+		if (this.batchVerifiable == null) {
+			this.batchVerifiable = hasPrimeOrder(this.getPreimageProofFunction().getCoDomain());
+		}
+		return this.batchVerifiable;
+	}
+
+	// tests if the set is a cyclic group of prime order or a product of such groups
+	private static boolean hasPrimeOrder(final Set set) {
+		if (set instanceof ProductSet) {
+			ProductSet productSet = (ProductSet) set;
+			int arity = productSet.isUniform() ? Math.min(productSet.getArity(), 1) : productSet.getArity();
+			for (int i = 0; i < arity; i++) {
+				if (!hasPrimeOrder(productSet.getAt(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return set.isCyclic() && set.hasKnownOrder() && MathUtil.isPrime(set.getOrder());
+	}
+
+	private boolean verify(final Triple proof, final Element publicInput, final Element challenge) {
+		final Element left = this.getPreimageProofFunction().apply(proof.getThird());
+		final Element right = proof.getFirst().apply(publicInput.selfApply(challenge));
 		return left.isEquivalent(right);
 	}
 
+	private void verifyBatch(final Triple[] proofs, final Element[] publicInputs, final Element[] challenges, final BigInteger[] randomExponents, final int fromIndex, final int toIndex, final boolean[] result) {
+		if (toIndex - fromIndex == 0) {
+			return;
+		}
+		if (toIndex - fromIndex == 1) {
+			result[fromIndex] = this.verify(proofs[fromIndex], publicInputs[fromIndex], challenges[fromIndex]);
+			return;
+		}
+		final int size = toIndex - fromIndex;
+		final Element[] responses = new Element[size];
+		final Element[] elements = new Element[2 * size];
+		final BigInteger[] amounts = new BigInteger[2 * size];
+		for (int i = 0; i < size; i++) {
+			final int j = fromIndex + i;
+			responses[i] = proofs[j].getThird();
+			elements[2 * i] = proofs[j].getFirst();
+			amounts[2 * i] = randomExponents[j];
+			elements[2 * i + 1] = publicInputs[j];
+			amounts[2 * i + 1] = randomExponents[j].multiply((BigInteger) challenges[j].getValue());
+		}
+		final SemiGroup responseSpace = (SemiGroup) this.getResponseSpace();
+		final SemiGroup commitmentSpace = (SemiGroup) this.getCommitmentSpace();
+		final Element left = this.getPreimageProofFunction().apply(responseSpace.multiSelfApply(responses, Arrays.copyOfRange(randomExponents, fromIndex, toIndex)));
+		final Element right = commitmentSpace.multiSelfApply(elements, amounts);
+		if (left.isEquivalent(right)) {
+			Arrays.fill(result, fromIndex, toIndex, true);
+			return;
+		}
+		final int middleIndex = fromIndex + size / 2;
+		this.verifyBatch(proofs, publicInputs, challenges, randomExponents, fromIndex, middleIndex, result);
+		this.verifyBatch(proofs, publicInputs, challenges, randomExponents, middleIndex, toIndex, result);
+	}
+
 }
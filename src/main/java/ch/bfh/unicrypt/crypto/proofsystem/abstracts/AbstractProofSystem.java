@@ -42,14 +42,28 @@
 package ch.bfh.unicrypt.crypto.proofsystem.abstracts;
 
 import ch.bfh.unicrypt.crypto.proofsystem.interfaces.ProofSystem;
+import ch.bfh.unicrypt.crypto.schemes.commitment.classes.GeneralizedPedersenCommitmentScheme;
+import ch.bfh.unicrypt.helper.ParallelLoop;
 import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import ch.bfh.unicrypt.math.function.classes.ConvertFunction;
+import ch.bfh.unicrypt.math.function.classes.ProductFunction;
+import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
 
 public abstract class AbstractProofSystem<PRS extends Set, PRE extends Element, PUS extends Set, PUE extends Element, PS extends Set, PE extends Element>
 	   implements ProofSystem {
 
+	// the spaces are derived once per instance; the fields are volatile, since proof systems may be shared by threads
+	private volatile PRS privateInputSpace;
+	private volatile PUS publicInputSpace;
+	private volatile PS proofSpace;
+
 	@Override
 	public final PE generate(final Element privateInput, final Element publicInput) {
 		return this.generate(privateInput, publicInput, HybridRandomByteSequence.getInstance());
@@ -63,6 +77,25 @@ public abstract class AbstractProofSystem<PRS extends Set, PRE extends Element,
 		return this.abstractGenerate((PRE) privateInput, (PUE) publicInput, randomByteSequence);
 	}
 
+	/**
+	 * Same as {@link #generate(Element, Element, RandomByteSequence)}, but the linear-size computations of the proof
+	 * are distributed to the given executor service. The resulting proof is identical to the sequentially generated
+	 * proof. Proof systems without such computations generate the proof sequentially.
+	 * <p>
+	 * @param privateInput       The private input
+	 * @param publicInput        The public input
+	 * @param randomByteSequence The given random byte sequence
+	 * @param executorService    The given executor service
+	 * @return The proof
+	 */
+	@Override
+	public final PE generate(final Element privateInput, final Element publicInput, final RandomByteSequence randomByteSequence, final ExecutorService executorService) {
+		if (!this.getPrivateInputSpace().contains(privateInput) || !this.getPublicInputSpace().contains(publicInput) || randomByteSequence == null || executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		return this.abstractGenerate((PRE) privateInput, (PUE) publicInput, randomByteSequence, executorService);
+	}
+
 	@Override
 	public final boolean verify(Element proof, Element publicInput) {
 		if (!this.getProofSpace().contains(proof) || !this.getPublicInputSpace().contains(publicInput)) {
@@ -71,29 +104,122 @@ public abstract class AbstractProofSystem<PRS extends Set, PRE extends Element,
 		return this.abstractVerify((PE) proof, (PUE) publicInput);
 	}
 
+	/**
+	 * Same as {@link #verify(Element, Element)}, but the linear-size computations of the verification are distributed
+	 * to the given executor service.
+	 * <p>
+	 * @param proof           The proof
+	 * @param publicInput     The public input
+	 * @param executorService The given executor service
+	 * @return {@code true} if the proof is valid, {@code false} otherwise
+	 */
+	@Override
+	public final boolean verify(final Element proof, final Element publicInput, final ExecutorService executorService) {
+		if (!this.getProofSpace().contains(proof) || !this.getPublicInputSpace().contains(publicInput) || executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		return this.abstractVerify((PE) proof, (PUE) publicInput, executorService);
+	}
+
 	@Override
 	public final PRS getPrivateInputSpace() {
-		return this.abstractGetPrivateInputSpace();
+		if (this.privateInputSpace == null) {
+			this.privateInputSpace = this.abstractGetPrivateInputSpace();
+		}
+		return this.privateInputSpace;
 	}
 
 	@Override
 	public final PUS getPublicInputSpace() {
-		return this.abstractGetPublicInputSpace();
+		if (this.publicInputSpace == null) {
+			this.publicInputSpace = this.abstractGetPublicInputSpace();
+		}
+		return this.publicInputSpace;
 	}
 
 	@Override
 	public final PS getProofSpace() {
-		return this.abstractGetProofSpace();
+		if (this.proofSpace == null) {
+			this.proofSpace = this.abstractGetProofSpace();
+		}
+		return this.proofSpace;
 	}
 
 	protected abstract PE abstractGenerate(PRE secretInput, PUE publicInput, RandomByteSequence randomByteSequence);
 
 	protected abstract boolean abstractVerify(PE proof, PUE publicInput);
 
+	// proof systems with linear-size computations override these methods
+	protected PE abstractGenerate(PRE secretInput, PUE publicInput, RandomByteSequence randomByteSequence, ExecutorService executorService) {
+		return this.abstractGenerate(secretInput, publicInput, randomByteSequence);
+	}
+
+	protected boolean abstractVerify(PE proof, PUE publicInput, ExecutorService executorService) {
+		return this.abstractVerify(proof, publicInput);
+	}
+
 	protected abstract PRS abstractGetPrivateInputSpace();
 
 	protected abstract PUS abstractGetPublicInputSpace();
 
 	protected abstract PS abstractGetProofSpace();
 
+	//===================================================================================
+	// Helpers for parallel computations
+	//
+	// Same as group.multiSelfApply(elements, amounts), but partial products of chunks are computed concurrently and
+	// then combined in the order of the chunks (sequential if executorService == null)
+	protected static Element multiSelfApply(final Group group, final Element[] elements, final BigInteger[] amounts, final ExecutorService executorService) {
+		if (executorService == null || elements.length < 2) {
+			return group.multiSelfApply(elements, amounts);
+		}
+		final int chunkLength = ParallelLoop.getChunkLength(elements.length);
+		final Element[] partialResults = new Element[ParallelLoop.getChunks(elements.length, chunkLength)];
+		new ParallelLoop() {
+
+			@Override
+			protected void execute(int chunk, int fromIndex, int toIndex) {
+				Element[] chunkElements = new Element[toIndex - fromIndex];
+				BigInteger[] chunkAmounts = new BigInteger[toIndex - fromIndex];
+				System.arraycopy(elements, fromIndex, chunkElements, 0, chunkElements.length);
+				System.arraycopy(amounts, fromIndex, chunkAmounts, 0, chunkAmounts.length);
+				partialResults[chunk] = group.multiSelfApply(chunkElements, chunkAmounts);
+			}
+
+		}.run(elements.length, chunkLength, executorService);
+		return group.apply(partialResults);
+	}
+
+	// Same as gpcs.commit(messages, randomization), but the exponentiations of the message generators are distributed
+	// to the executor service (sequential if executorService == null)
+	protected static Element commit(final GeneralizedPedersenCommitmentScheme gpcs, final Tuple messages, final Element randomization, final ExecutorService executorService) {
+		if (executorService == null) {
+			return gpcs.commit(messages, randomization);
+		}
+		final Tuple messageGenerators = gpcs.getMessageGenerators();
+		final Element[] elements = new Element[messages.getArity()];
+		final BigInteger[] amounts = new BigInteger[messages.getArity()];
+		for (int i = 0; i < messages.getArity(); i++) {
+			elements[i] = messageGenerators.getAt(i);
+			amounts[i] = (BigInteger) messages.getAt(i).getValue();
+		}
+		final Group group = gpcs.getCyclicGroup();
+		return multiSelfApply(group, elements, amounts, executorService).apply(gpcs.getRandomizationGenerator().selfApply(randomization));
+	}
+
+	//===================================================================================
+	// Helpers to create derived functions of the shuffle and permutation commitment proofs
+	//
+	// Commitment scheme based on the independent generators (h, h_1, ..., h_N)
+	protected static GeneralizedPedersenCommitmentScheme createGeneralizedPedersenCommitmentScheme(final Tuple independentGenerators, final int size) {
+		return GeneralizedPedersenCommitmentScheme.getInstance(independentGenerators.getAt(0), independentGenerators.extract(1, size));
+	}
+
+	// Maps [0,...,2^ke - 1]^N to [0,...,2^(ke+kc+kr) - 1]^N
+	protected static ProductFunction createEValuesConvertFunction(final int ke, final int kc, final int kr, final int size) {
+		ZMod domain = ZMod.getInstance(BigInteger.valueOf(2).pow(ke));
+		ZMod coDomain = ZMod.getInstance(BigInteger.valueOf(2).pow(ke + kc + kr));
+		return ProductFunction.getInstance(ConvertFunction.getInstance(domain, coDomain), size);
+	}
+
 }
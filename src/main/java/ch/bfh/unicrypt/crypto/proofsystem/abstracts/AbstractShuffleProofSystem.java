@@ -43,7 +43,9 @@ package ch.bfh.unicrypt.crypto.proofsystem.abstracts;
 
 import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.ChallengeGenerator;
 import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.SigmaChallengeGenerator;
+import ch.bfh.unicrypt.crypto.schemes.commitment.classes.GeneralizedPedersenCommitmentScheme;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementStore;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
 import ch.bfh.unicrypt.math.algebra.general.classes.Triple;
@@ -51,7 +53,9 @@ import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
+import ch.bfh.unicrypt.math.function.classes.ProductFunction;
 import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
 
 /**
  *
@@ -62,6 +66,9 @@ public abstract class AbstractShuffleProofSystem
 
 	final public static int DEFAULT_KR = 20;
 
+	// the number of elements read at once from an element store
+	protected static final int STORE_CHUNK_LENGTH = 1024;
+
 	final private SigmaChallengeGenerator sigmaChallengeGenerator;
 	final private ChallengeGenerator eValuesGenerator;
 	final private CyclicGroup cyclicGroup;
@@ -71,6 +78,11 @@ public abstract class AbstractShuffleProofSystem
 	final private int kr;
 	final private Tuple independentGenerators;
 
+	// derived objects, created on first use
+	private volatile ProductGroup preimageProofSpace;
+	private volatile GeneralizedPedersenCommitmentScheme generalizedPedersenCommitmentScheme;
+	private volatile ProductFunction eValuesConvertFunction;
+
 	protected AbstractShuffleProofSystem(SigmaChallengeGenerator sigmaChallengeGenerator, ChallengeGenerator eValuesGenerator,
 		   CyclicGroup cyclicGroup, int size, int kr, Tuple independentGenerators) {
 		this.sigmaChallengeGenerator = sigmaChallengeGenerator;
@@ -95,9 +107,12 @@ public abstract class AbstractShuffleProofSystem
 
 	// PreimageProof: (t,c,s)
 	public ProductGroup getPreimageProofSpace() {
-		return ProductGroup.getInstance(this.getCommitmentSpace(),
-										this.getChallengeSpace(),
-										this.getResponseSpace());
+		if (this.preimageProofSpace == null) {
+			this.preimageProofSpace = ProductGroup.getInstance(this.getCommitmentSpace(),
+															   this.getChallengeSpace(),
+															   this.getResponseSpace());
+		}
+		return this.preimageProofSpace;
 	}
 
 	// c: [0,...,2^kc - 1]
@@ -137,6 +152,22 @@ public abstract class AbstractShuffleProofSystem
 		return this.independentGenerators;
 	}
 
+	// Commits to the converted e-values ePrimeV in the preimage proof function
+	protected GeneralizedPedersenCommitmentScheme getGeneralizedPedersenCommitmentScheme() {
+		if (this.generalizedPedersenCommitmentScheme == null) {
+			this.generalizedPedersenCommitmentScheme = createGeneralizedPedersenCommitmentScheme(this.independentGenerators, this.size);
+		}
+		return this.generalizedPedersenCommitmentScheme;
+	}
+
+	// Maps ePrimeV to [0,...,2^(ke+kc+kr) - 1]^N
+	protected ProductFunction getEValuesConvertFunction() {
+		if (this.eValuesConvertFunction == null) {
+			this.eValuesConvertFunction = createEValuesConvertFunction(this.ke, this.kc, this.kr, this.size);
+		}
+		return this.eValuesConvertFunction;
+	}
+
 	//===================================================================================
 	// Helpers
 	//
@@ -144,14 +175,35 @@ public abstract class AbstractShuffleProofSystem
 	// - Additive:       Sum(t1_i*t2_i)
 	// - Multiplicative: Prod(t1_i^(t2_i))
 	protected static Element computeInnerProduct(Tuple t1, Tuple t2) {
-		if (!t1.getSet().isGroup() || t1.getArity() < 1) {
+		return computeInnerProduct(t1, t2, null);
+	}
+
+	// Same as above, but distributed to the executor service (sequential if executorService == null)
+	protected static Element computeInnerProduct(Tuple t1, Tuple t2, ExecutorService executorService) {
+		if (!t1.getSet().isGroup() || t1.getArity() < 1 || t1.getArity() != t2.getArity()) {
 			throw new IllegalArgumentException();
 		}
-		Element innerProduct = ((Group) t1.getSet().getAt(0)).getIdentityElement();
+		final Element[] elements = new Element[t1.getArity()];
+		final BigInteger[] amounts = new BigInteger[t1.getArity()];
 		for (int i = 0; i < t1.getArity(); i++) {
-			innerProduct = innerProduct.apply(t1.getAt(i).selfApply(t2.getAt(i)));
+			elements[i] = t1.getAt(i);
+			amounts[i] = (BigInteger) t2.getAt(i).getValue();
+		}
+		return multiSelfApply((Group) t1.getSet().getAt(0), elements, amounts, executorService);
+	}
+
+	// Same as above, but the elements of the first vector are read chunk-wise from a store, such that only one chunk
+	// of elements is kept in memory
+	protected static Element computeInnerProduct(ElementStore store, Tuple t2, ExecutorService executorService) {
+		if (!store.getSet().isGroup() || store.getSize() < 1 || store.getSize() != t2.getArity()) {
+			throw new IllegalArgumentException();
+		}
+		Element result = ((Group) store.getSet()).getIdentityElement();
+		for (int offset = 0; offset < store.getSize(); offset = offset + STORE_CHUNK_LENGTH) {
+			int length = Math.min(STORE_CHUNK_LENGTH, store.getSize() - offset);
+			result = result.apply(computeInnerProduct(store.getRange(offset, length), t2.extract(offset, length), executorService));
 		}
-		return innerProduct;
+		return result;
 	}
 
 	//===================================================================================
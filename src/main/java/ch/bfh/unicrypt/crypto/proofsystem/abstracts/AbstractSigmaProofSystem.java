@@ -49,12 +49,17 @@ import ch.bfh.unicrypt.math.algebra.general.classes.Triple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
+import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
+import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
+import java.util.List;
 
 public abstract class AbstractSigmaProofSystem<PRS extends Set, PRE extends Element, PUS extends Set, PUE extends Element, F extends Function>
 	   extends AbstractProofSystem<PRS, PRE, PUS, PUE, ProductSet, Triple>
 	   implements SigmaProofSystem {
 
 	private final SigmaChallengeGenerator challengeGenerator;
+	private volatile F preimageProofFunction;
+	private volatile ZMod challengeSpace;
 
 	protected AbstractSigmaProofSystem(final SigmaChallengeGenerator challengeGenerator) {
 		this.challengeGenerator = challengeGenerator;
@@ -62,7 +67,10 @@ public abstract class AbstractSigmaProofSystem<PRS extends Set, PRE extends Elem
 
 	@Override
 	public final F getPreimageProofFunction() {
-		return this.abstractGetPreimageProofFunction();
+		if (this.preimageProofFunction == null) {
+			this.preimageProofFunction = this.abstractGetPreimageProofFunction();
+		}
+		return this.preimageProofFunction;
 	}
 
 	@Override
@@ -77,7 +85,10 @@ public abstract class AbstractSigmaProofSystem<PRS extends Set, PRE extends Elem
 
 	@Override
 	public final ZMod getChallengeSpace() {
-		return ZMod.getInstance(this.getPreimageProofFunction().getDomain().getMinimalOrder());
+		if (this.challengeSpace == null) {
+			this.challengeSpace = ZMod.getInstance(this.getPreimageProofFunction().getDomain().getMinimalOrder());
+		}
+		return this.challengeSpace;
 	}
 
 	@Override
@@ -109,6 +120,49 @@ public abstract class AbstractSigmaProofSystem<PRS extends Set, PRE extends Elem
 		return (PRE) proof.getThird();
 	}
 
+	@Override
+	public final boolean[] verifyBatch(final List<? extends Element> proofs, final List<? extends Element> publicInputs) {
+		return this.verifyBatch(proofs, publicInputs, HybridRandomByteSequence.getInstance());
+	}
+
+	/**
+	 * Verifies multiple proofs at once. The result contains the validity of each proof, in the order of the given
+	 * proofs. Proof systems for which a combined verification is possible override
+	 * {@link #abstractVerifyBatch(Triple[], Element[], RandomByteSequence)}, otherwise the proofs are verified one by
+	 * one.
+	 * <p>
+	 * @param proofs             The given proofs
+	 * @param publicInputs       The corresponding public inputs
+	 * @param randomByteSequence The random byte sequence used in the combined verification
+	 * @return The validity of each proof
+	 * @throws IllegalArgumentException if the two lists are of different size or contain invalid elements
+	 */
+	@Override
+	public final boolean[] verifyBatch(final List<? extends Element> proofs, final List<? extends Element> publicInputs, final RandomByteSequence randomByteSequence) {
+		if (proofs == null || publicInputs == null || proofs.size() != publicInputs.size() || randomByteSequence == null) {
+			throw new IllegalArgumentException();
+		}
+		final Triple[] proofArray = new Triple[proofs.size()];
+		final Element[] publicInputArray = new Element[publicInputs.size()];
+		for (int i = 0; i < proofs.size(); i++) {
+			if (!this.getProofSpace().contains(proofs.get(i)) || !this.getPublicInputSpace().contains(publicInputs.get(i))) {
+				throw new IllegalArgumentException();
+			}
+			proofArray[i] = (Triple) proofs.get(i);
+			publicInputArray[i] = publicInputs.get(i);
+		}
+		return this.abstractVerifyBatch(proofArray, publicInputArray, randomByteSequence);
+	}
+
+	// by default, the proofs are verified one by one
+	protected boolean[] abstractVerifyBatch(final Triple[] proofs, final Element[] publicInputs, final RandomByteSequence randomByteSequence) {
+		final boolean[] result = new boolean[proofs.length];
+		for (int i = 0; i < proofs.length; i++) {
+			result[i] = this.abstractVerify(proofs[i], (PUE) publicInputs[i]);
+		}
+		return result;
+	}
+
 	protected abstract F abstractGetPreimageProofFunction();
 
 	// Checks space equality of challenge generator and proof function
@@ -59,9 +59,7 @@ import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.function.abstracts.AbstractFunction;
-import ch.bfh.unicrypt.math.function.classes.ConvertFunction;
 import ch.bfh.unicrypt.math.function.classes.PermutationFunction;
-import ch.bfh.unicrypt.math.function.classes.ProductFunction;
 import ch.bfh.unicrypt.random.classes.PseudoRandomOracle;
 import ch.bfh.unicrypt.random.classes.ReferenceRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
@@ -77,6 +75,10 @@ public class IdentityShuffleProofSystem
 
 	final private CyclicGroup identityGroup;
 
+	// spaces created on first use
+	private volatile ProductGroup commitmentSpace;
+	private volatile ProductGroup responseSpace;
+
 	private IdentityShuffleProofSystem(SigmaChallengeGenerator sigmaChallengeGenerator, ChallengeGenerator eValuesGenerator,
 		   CyclicGroup cyclicGroup, int size, int kr, Tuple independentGenerators, CyclicGroup identityGroup) {
 
@@ -108,15 +110,21 @@ public class IdentityShuffleProofSystem
 	// t: (Generalized Pedersen Commitemnt, Identity, alpha Commitment)
 	@Override
 	public ProductGroup getCommitmentSpace() {
-		return createCommitmentSpace(this.getCyclicGroup(), this.identityGroup);
+		if (this.commitmentSpace == null) {
+			this.commitmentSpace = createCommitmentSpace(this.getCyclicGroup(), this.identityGroup);
+		}
+		return this.commitmentSpace;
 	}
 
 	// s: (r, w, ePrimeV)
 	@Override
 	public ProductGroup getResponseSpace() {
-		return ProductGroup.getInstance(this.identityGroup.getZModOrder(),
-										this.getCyclicGroup().getZModOrder(),
-										ProductSet.getInstance(ZMod.getInstance(BigInteger.valueOf(2).pow(this.getKe() + this.getKc() + this.getKr())), this.getSize()));
+		if (this.responseSpace == null) {
+			this.responseSpace = ProductGroup.getInstance(this.identityGroup.getZModOrder(),
+														  this.getCyclicGroup().getZModOrder(),
+														  ProductSet.getInstance(ZMod.getInstance(BigInteger.valueOf(2).pow(this.getKe() + this.getKc() + this.getKr())), this.getSize()));
+		}
+		return this.responseSpace;
 	}
 
 	public CyclicGroup getIdentityGroup() {
@@ -160,18 +168,13 @@ public class IdentityShuffleProofSystem
 		Tuple ePrimeV = PermutationFunction.getInstance(eV.getSet()).apply(eV, pi);
 
 		// Map ePrimeV to [0,...,2^(ke+kc+kr) - 1]^N
-		ePrimeV = ProductFunction.getInstance(
-			   ConvertFunction.getInstance(
-					  ZMod.getInstance(BigInteger.valueOf(2).pow(this.getKe())),
-					  ZMod.getInstance(BigInteger.valueOf(2).pow(this.getKe() + this.getKc() + this.getKr()))),
-			   ePrimeV.getLength())
-			   .apply(ePrimeV);
+		ePrimeV = this.getEValuesConvertFunction().apply(ePrimeV);
 
 		// Compute u                                                                    [N]
 		final Element u = computeInnerProduct(uV, eV);
 
 		// Create sigma proof
-		PreimageProofFunction f = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(), this.getResponseSpace(), this.getCommitmentSpace(), this.getIndependentGenerators(), u, uPrimeV, gK_1, this.identityGroup);
+		PreimageProofFunction f = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(), this.getResponseSpace(), this.getCommitmentSpace(), this.getGeneralizedPedersenCommitmentScheme(), u, uPrimeV, gK_1, this.identityGroup);
 		final Element randomElement = this.getResponseSpace().getRandomElement(randomByteSequence);
 		final Element commitment = f.apply(randomElement);                        // [2N+3]
 		final ZModElement challenge = this.getSigmaChallengeGenerator().generate(publicInput, commitment);
@@ -209,7 +212,7 @@ public class IdentityShuffleProofSystem
 		final Tuple pV = Tuple.getInstance(ps);
 
 		// 1. Verify preimage proof
-		PreimageProofFunction f = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(), this.getResponseSpace(), this.getCommitmentSpace(), this.getIndependentGenerators(), u, uPrimeV, gK_1, this.identityGroup);
+		PreimageProofFunction f = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(), this.getResponseSpace(), this.getCommitmentSpace(), this.getGeneralizedPedersenCommitmentScheme(), u, uPrimeV, gK_1, this.identityGroup);
 		final Element challenge = this.getSigmaChallengeGenerator().generate(publicInput, commitment);
 		final Element left = f.apply(response);                                   // [2N+3]
 		final Element right = commitment.apply(pV.selfApply(challenge));          //    [3]
@@ -230,14 +233,14 @@ public class IdentityShuffleProofSystem
 		private final CyclicGroup identityGroup;
 		final GeneralizedPedersenCommitmentScheme gpcs;
 
-		protected PreimageProofFunction(CyclicGroup cyclicGroup, int size, ProductGroup domain, ProductGroup coDomain, Tuple independentGenerators, Element u, Tuple uPrimeV, Element gK_1, CyclicGroup identityGroup) {
+		protected PreimageProofFunction(CyclicGroup cyclicGroup, int size, ProductGroup domain, ProductGroup coDomain, GeneralizedPedersenCommitmentScheme gpcs, Element u, Tuple uPrimeV, Element gK_1, CyclicGroup identityGroup) {
 			super(domain, coDomain);
 			this.cyclicGroup = cyclicGroup;
 			this.u = u;
 			this.uPrimeV = uPrimeV;
 			this.gK_1 = gK_1;
 			this.identityGroup = identityGroup;
-			this.gpcs = GeneralizedPedersenCommitmentScheme.getInstance(independentGenerators.getAt(0), independentGenerators.extract(1, size));
+			this.gpcs = gpcs;
 		}
 
 		@Override
@@ -42,11 +42,13 @@
 package ch.bfh.unicrypt.crypto.proofsystem.classes;
 
 import ch.bfh.unicrypt.crypto.proofsystem.abstracts.AbstractProofSystem;
+import ch.bfh.unicrypt.crypto.proofsystem.abstracts.AbstractShuffleProofSystem;
 import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.classes.RandomOracleChallengeGenerator;
 import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.classes.RandomOracleSigmaChallengeGenerator;
 import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.ChallengeGenerator;
 import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.SigmaChallengeGenerator;
 import ch.bfh.unicrypt.crypto.schemes.commitment.classes.GeneralizedPedersenCommitmentScheme;
+import ch.bfh.unicrypt.helper.ParallelLoop;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
@@ -60,7 +62,6 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
 import ch.bfh.unicrypt.math.function.abstracts.AbstractFunction;
-import ch.bfh.unicrypt.math.function.classes.ConvertFunction;
 import ch.bfh.unicrypt.math.function.classes.PermutationFunction;
 import ch.bfh.unicrypt.math.function.classes.ProductFunction;
 import ch.bfh.unicrypt.random.classes.PseudoRandomOracle;
@@ -68,6 +69,7 @@ import ch.bfh.unicrypt.random.classes.ReferenceRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomOracle;
 import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
 
 //
 // @see [TW10] Protocol 1: Permutation Matrix
@@ -86,6 +88,14 @@ public class PermutationCommitmentProofSystem
 	final private int kr;
 	final private Tuple independentGenerators;
 
+	// created by the corresponding getters on first use
+	private volatile ProductGroup preimageProofSpace;
+	private volatile ProductGroup commitmentSpace;
+	private volatile ProductGroup responseSpace;
+	private volatile GeneralizedPedersenCommitmentScheme generalizedPedersenCommitmentScheme;
+	private volatile ProductFunction eValuesConvertFunction;
+	private volatile Tuple oneVector;
+
 	private PermutationCommitmentProofSystem(SigmaChallengeGenerator sigmaChallengeGenerator, ChallengeGenerator eValuesGenerator,
 		   CyclicGroup cyclicGroup, int size, int kr, Tuple independentGenerators) {
 
@@ -124,14 +134,20 @@ public class PermutationCommitmentProofSystem
 	}
 
 	public ProductGroup getPreimageProofSpace() {
-		return ProductGroup.getInstance(this.getCommitmentSpace(),
-										this.getChallengeSpace(),
-										this.getResponseSpace());
+		if (this.preimageProofSpace == null) {
+			this.preimageProofSpace = ProductGroup.getInstance(this.getCommitmentSpace(),
+															   this.getChallengeSpace(),
+															   this.getResponseSpace());
+		}
+		return this.preimageProofSpace;
 	}
 
 	// t: G_q^(N+3)
 	public ProductGroup getCommitmentSpace() {
-		return createCommitmentSpace(this.cyclicGroup, this.size);
+		if (this.commitmentSpace == null) {
+			this.commitmentSpace = createCommitmentSpace(this.cyclicGroup, this.size);
+		}
+		return this.commitmentSpace;
 	}
 
 	// c: [0,...,2^kc - 1]
@@ -141,11 +157,40 @@ public class PermutationCommitmentProofSystem
 
 	// s: (v, w, rV, d, eV)
 	public ProductGroup getResponseSpace() {
-		return ProductGroup.getInstance(cyclicGroup.getZModOrder(),
-										cyclicGroup.getZModOrder(),
-										ProductGroup.getInstance(cyclicGroup.getZModOrder(), size),
-										cyclicGroup.getZModOrder(),
-										ProductGroup.getInstance(ZMod.getInstance(BigInteger.valueOf(2).pow(this.ke + this.kc + this.kr)), size));
+		if (this.responseSpace == null) {
+			this.responseSpace = ProductGroup.getInstance(cyclicGroup.getZModOrder(),
+														  cyclicGroup.getZModOrder(),
+														  ProductGroup.getInstance(cyclicGroup.getZModOrder(), size),
+														  cyclicGroup.getZModOrder(),
+														  ProductGroup.getInstance(ZMod.getInstance(BigInteger.valueOf(2).pow(this.ke + this.kc + this.kr)), size));
+		}
+		return this.responseSpace;
+	}
+
+	//===================================================================================
+	// Derived functions
+	//
+	// Commits to ePrimeV in the preimage proof function, with h as randomization generator
+	private GeneralizedPedersenCommitmentScheme getGeneralizedPedersenCommitmentScheme() {
+		if (this.generalizedPedersenCommitmentScheme == null) {
+			this.generalizedPedersenCommitmentScheme = createGeneralizedPedersenCommitmentScheme(this.independentGenerators, this.size);
+		}
+		return this.generalizedPedersenCommitmentScheme;
+	}
+
+	// Maps ePrimeV to [0,...,2^(ke+kc+kr) - 1]^N
+	private ProductFunction getEValuesConvertFunction() {
+		if (this.eValuesConvertFunction == null) {
+			this.eValuesConvertFunction = createEValuesConvertFunction(this.ke, this.kc, this.kr, this.size);
+		}
+		return this.eValuesConvertFunction;
+	}
+
+	private Tuple getOneVector() {
+		if (this.oneVector == null) {
+			this.oneVector = createOneVector(this.cyclicGroup.getZModOrder(), this.size);
+		}
+		return this.oneVector;
 	}
 
 	//===================================================================================
@@ -180,6 +225,11 @@ public class PermutationCommitmentProofSystem
 	//
 	@Override
 	protected Pair abstractGenerate(Pair privateInput, Tuple publicInput, RandomByteSequence randomByteSequence) {
+		return this.abstractGenerate(privateInput, publicInput, randomByteSequence, null);
+	}
+
+	@Override
+	protected Pair abstractGenerate(Pair privateInput, Tuple publicInput, RandomByteSequence randomByteSequence, ExecutorService executorService) {
 
 		// Unfold privat and public input
 		final PermutationElement pi = (PermutationElement) privateInput.getFirst();
@@ -187,39 +237,46 @@ public class PermutationCommitmentProofSystem
 		final Tuple eV = (Tuple) this.eValuesGenerator.generate(publicInput);
 
 		// Compute private values for sigma proof
-		final Tuple oneV = createOneVector(this.cyclicGroup.getZModOrder(), this.size);
-		final Element v = computeInnerProduct(oneV, sV);
-		final Element w = computeInnerProduct(sV, eV);
+		final Tuple oneV = this.getOneVector();
+		final Element v = computeInnerProduct(oneV, sV, executorService);
+		final Element w = computeInnerProduct(sV, eV, executorService);
 		final Tuple rV = ProductGroup.getInstance(this.cyclicGroup.getZModOrder(), this.size).getRandomElement(randomByteSequence);
-		Tuple ePrimeV = PermutationFunction.getInstance(eV.getSet()).apply(eV, pi);
+		final Tuple ePrimeV0 = PermutationFunction.getInstance(eV.getSet()).apply(eV, pi);
 
 		// Compute commitments c_i and d
 		final Element g = this.independentGenerators.getAt(0);
 		final Element h = this.independentGenerators.getAt(1);
 
+		// The recursion c_i = g^r_i * c_i-1^e'_i (with c_0 = h) is unfolded into c_i = g^d_i * h^E_i, where
+		// d_i = r_i + d_i-1 * e'_i and E_i = e'_1 * ... * e'_i are computed in Z_q. This yields the same values, but
+		// the commitments c_i can then be computed independently.
+		final BigInteger q = this.cyclicGroup.getOrder();
 		final Element[] cs = new Element[this.size];
 		final Element[] ds = new Element[this.size];
-		ds[0] = rV.getAt(0);
+		final BigInteger[] es = new BigInteger[this.size];
 		for (int i = 0; i < this.size; i++) {
-			Element c_i_1 = i == 0 ? h : cs[i - 1];
-			cs[i] = g.selfApply(rV.getAt(i)).apply(c_i_1.selfApply(ePrimeV.getAt(i)));  //   [2n]
-			if (i > 0) {
-				ds[i] = rV.getAt(i).apply(ds[i - 1].selfApply(ePrimeV.getAt(i)));
-			}
+			BigInteger ePrime_i = ((ZModElement) ePrimeV0.getAt(i)).getValue();
+			ds[i] = i == 0 ? rV.getAt(0) : rV.getAt(i).apply(ds[i - 1].selfApply(ePrimeV0.getAt(i)));
+			es[i] = i == 0 ? ePrime_i.mod(q) : es[i - 1].multiply(ePrime_i).mod(q);
 		}
+		new ParallelLoop() {
+
+			@Override
+			protected void execute(int chunk, int fromIndex, int toIndex) {
+				for (int i = fromIndex; i < toIndex; i++) {
+					cs[i] = g.selfApply(ds[i]).apply(h.selfApply(es[i]));                  //   [2n]
+				}
+			}
+
+		}.run(this.size, executorService);
 		final Tuple cV = Tuple.getInstance(cs);
 		final Element d = ds[ds.length - 1];
 
 		// Map ePrimeV to [0,...,2^(ke+kc+kr) - 1]^N
-		ePrimeV = ProductFunction.getInstance(
-			   ConvertFunction.getInstance(
-					  ZMod.getInstance(BigInteger.valueOf(2).pow(this.ke)),
-					  ZMod.getInstance(BigInteger.valueOf(2).pow(this.ke + this.kc + this.kr))),
-			   ePrimeV.getLength())
-			   .apply(ePrimeV);
+		final Tuple ePrimeV = this.getEValuesConvertFunction().apply(ePrimeV0);
 
 		// Create sigma proof
-		PreimageProofFunction f = new PreimageProofFunction(this.cyclicGroup, this.size, this.getResponseSpace(), this.getCommitmentSpace(), this.independentGenerators, cV);
+		PreimageProofFunction f = new PreimageProofFunction(this.cyclicGroup, this.size, this.getResponseSpace(), this.getCommitmentSpace(), this.getGeneralizedPedersenCommitmentScheme(), this.independentGenerators, cV, executorService);
 		final Element randomElement = this.getResponseSpace().getRandomElement(randomByteSequence);
 		final Element commitment = f.apply(randomElement);                              // [3n+3]
 		final Element challenge = this.sigmaChallengeGenerator.generate(Pair.getInstance(publicInput, cV), commitment);
@@ -231,6 +288,11 @@ public class PermutationCommitmentProofSystem
 
 	@Override
 	protected boolean abstractVerify(Pair proof, Tuple publicInput) {
+		return this.abstractVerify(proof, publicInput, null);
+	}
+
+	@Override
+	protected boolean abstractVerify(Pair proof, Tuple publicInput, ExecutorService executorService) {
 
 		// Unfold proof
 		final Triple preimageProof = (Triple) proof.getFirst();
@@ -247,7 +309,7 @@ public class PermutationCommitmentProofSystem
 		// - p_0 = c_pi^1/prod(g_i) = prod(c_pi_i)/prod(g_i)
 		ps[0] = this.cyclicGroup.apply(publicInput).applyInverse(this.cyclicGroup.apply(gV));
 		// - p_1 = c_pi^e                                                                     [N]
-		ps[1] = computeInnerProduct(publicInput, eV);
+		ps[1] = computeInnerProduct(publicInput, eV, executorService);
 		// - p_2...p_(N+2) = c_1 ... c_N
 		for (int i = 0; i < this.size; i++) {
 			ps[i + 2] = cV.getAt(i);
@@ -261,7 +323,7 @@ public class PermutationCommitmentProofSystem
 		final Tuple pV = Tuple.getInstance(ps);
 
 		// Verify preimage proof
-		PreimageProofFunction f = new PreimageProofFunction(this.cyclicGroup, this.size, this.getResponseSpace(), this.getCommitmentSpace(), this.independentGenerators, cV);
+		PreimageProofFunction f = new PreimageProofFunction(this.cyclicGroup, this.size, this.getResponseSpace(), this.getCommitmentSpace(), this.getGeneralizedPedersenCommitmentScheme(), this.independentGenerators, cV, executorService);
 		final Element challenge = this.sigmaChallengeGenerator.generate(Pair.getInstance(publicInput, cV), commitment);
 		final Element left = f.apply(response);                                         // [3N+3]
 		final Element right = commitment.apply(pV.selfApply(challenge));                //  [N+3]
@@ -285,18 +347,20 @@ public class PermutationCommitmentProofSystem
 		return Tuple.getInstance(vector);
 	}
 
-	// Helper to compute the inner product
+	// Helper to compute the inner product (sequential if executorService == null)
 	// - Additive:       Sum(t1_i*t2_i)
 	// - Multiplicative: Prod(t1_i^(t2_i))
-	private static Element computeInnerProduct(Tuple t1, Tuple t2) {
-		if (!t1.getSet().isGroup() || t1.getArity() < 1) {
+	private static Element computeInnerProduct(Tuple t1, Tuple t2, ExecutorService executorService) {
+		if (!t1.getSet().isGroup() || t1.getArity() < 1 || t1.getArity() != t2.getArity()) {
 			throw new IllegalArgumentException();
 		}
-		Element innerProduct = ((Group) t1.getSet().getAt(0)).getIdentityElement();
+		final Element[] elements = new Element[t1.getArity()];
+		final BigInteger[] amounts = new BigInteger[t1.getArity()];
 		for (int i = 0; i < t1.getArity(); i++) {
-			innerProduct = innerProduct.apply(t1.getAt(i).selfApply(t2.getAt(i)));
+			elements[i] = t1.getAt(i);
+			amounts[i] = (BigInteger) t2.getAt(i).getValue();
 		}
-		return innerProduct;
+		return multiSelfApply((Group) t1.getSet().getAt(0), elements, amounts, executorService);
 	}
 
 	//===================================================================================
@@ -311,8 +375,9 @@ public class PermutationCommitmentProofSystem
 		private final GeneralizedPedersenCommitmentScheme gpcs;
 		private final Element g;
 		private final Element h;
+		private final ExecutorService executorService;
 
-		protected PreimageProofFunction(CyclicGroup cyclicGroup, int size, ProductGroup domain, ProductGroup coDomain, Tuple independentGenerators, Tuple cV) {
+		protected PreimageProofFunction(CyclicGroup cyclicGroup, int size, ProductGroup domain, ProductGroup coDomain, GeneralizedPedersenCommitmentScheme gpcs, Tuple independentGenerators, Tuple cV, ExecutorService executorService) {
 			super(domain, coDomain);
 			this.cyclicGroup = cyclicGroup;
 			this.size = size;
@@ -320,7 +385,8 @@ public class PermutationCommitmentProofSystem
 			this.g = independentGenerators.getAt(0);
 			this.h = independentGenerators.getAt(1);
 
-			this.gpcs = GeneralizedPedersenCommitmentScheme.getInstance(g, independentGenerators.extract(1, size));
+			this.gpcs = gpcs;
+			this.executorService = executorService;
 		}
 
 		@Override
@@ -341,18 +407,22 @@ public class PermutationCommitmentProofSystem
 			pV[0] = this.gpcs.getRandomizationGenerator().selfApply(v);
 
 			// - Com(e', w)                       [n+1]
-			Element ePrimeVs[] = new Element[ePrimeV.getArity()];
-			ZMod zMod = this.cyclicGroup.getZModOrder();
-			for (int i = 0; i < ePrimeV.getArity(); i++) {
-				ePrimeVs[i] = zMod.getElement(((ZModElement) ePrimeV.getAt(i)).getValue().mod(zMod.getOrder()));
-			}
-			pV[1] = this.gpcs.commit(Tuple.getInstance(ePrimeVs), w);
-
+			final Element ePrimeVs[] = new Element[ePrimeV.getArity()];
+			final ZMod zMod = this.cyclicGroup.getZModOrder();
 			// - g^r_i * c_i-1^e'_i                [2n]
-			for (int i = 0; i < this.size; i++) {
-				Element c_i_1 = i == 0 ? this.h : this.cV.getAt(i - 1);
-				pV[i + 2] = g.selfApply(rV.getAt(i)).apply(c_i_1.selfApply(ePrimeV.getAt(i)));
-			}
+			new ParallelLoop() {
+
+				@Override
+				protected void execute(int chunk, int fromIndex, int toIndex) {
+					for (int i = fromIndex; i < toIndex; i++) {
+						ePrimeVs[i] = zMod.getElement(((ZModElement) ePrimeV.getAt(i)).getValue().mod(zMod.getOrder()));
+						Element c_i_1 = i == 0 ? h : cV.getAt(i - 1);
+						pV[i + 2] = g.selfApply(rV.getAt(i)).apply(c_i_1.selfApply(ePrimeV.getAt(i)));
+					}
+				}
+
+			}.run(this.size, this.executorService);
+			pV[1] = commit(this.gpcs, Tuple.getInstance(ePrimeVs), w, this.executorService);
 
 			// - Com(0, d)                          [1]
 			pV[this.size + 2] = this.gpcs.getRandomizationGenerator().selfApply(d);
@@ -48,8 +48,13 @@ import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.Challeng
 import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.SigmaChallengeGenerator;
 import ch.bfh.unicrypt.crypto.schemes.commitment.classes.GeneralizedPedersenCommitmentScheme;
 import ch.bfh.unicrypt.crypto.schemes.encryption.interfaces.ReEncryptionScheme;
+import ch.bfh.unicrypt.helper.ParallelLoop;
+import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
+import ch.bfh.unicrypt.helper.hash.HashMethod;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModElement;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementStore;
+import ch.bfh.unicrypt.math.algebra.general.classes.FixedByteArraySet;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
@@ -59,15 +64,16 @@ import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.function.abstracts.AbstractFunction;
-import ch.bfh.unicrypt.math.function.classes.ConvertFunction;
 import ch.bfh.unicrypt.math.function.classes.PermutationFunction;
-import ch.bfh.unicrypt.math.function.classes.ProductFunction;
 import ch.bfh.unicrypt.random.classes.PseudoRandomOracle;
 import ch.bfh.unicrypt.random.classes.ReferenceRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomOracle;
 import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.util.concurrent.ExecutorService;
 
 //
 //
@@ -76,9 +82,16 @@ import java.math.BigInteger;
 public class ReEncryptionShuffleProofSystem
 	   extends AbstractShuffleProofSystem {
 
+	// the challenge generators receive the hash value of the public input
+	final private static HashMethod HASH_METHOD = HashMethod.getInstance(HashMethod.Mode.RECURSIVE);
+
 	final private ReEncryptionScheme encryptionScheme;
 	final private Element encryptionPK;
 
+	// spaces created on first use
+	private volatile ProductGroup commitmentSpace;
+	private volatile ProductGroup responseSpace;
+
 	private ReEncryptionShuffleProofSystem(SigmaChallengeGenerator sigmaChallengeGenerator, ChallengeGenerator eValuesGenerator,
 		   CyclicGroup cyclicGroup, int size, int kr, Tuple independentGenerators, ReEncryptionScheme encryptionScheme, Element encryptionPK) {
 
@@ -110,15 +123,21 @@ public class ReEncryptionShuffleProofSystem
 	// t: (Generalized Pedersen Commitemnt, Encryption)
 	@Override
 	public ProductGroup getCommitmentSpace() {
-		return createCommitmentSpace(this.getCyclicGroup(), this.encryptionScheme);
+		if (this.commitmentSpace == null) {
+			this.commitmentSpace = createCommitmentSpace(this.getCyclicGroup(), this.encryptionScheme);
+		}
+		return this.commitmentSpace;
 	}
 
 	// s: (r, w, ePrimeV)
 	@Override
 	public ProductGroup getResponseSpace() {
-		return ProductGroup.getInstance((Group) this.encryptionScheme.getRandomizationSpace(),
-										this.getCyclicGroup().getZModOrder(),
-										ProductGroup.getInstance(ZMod.getInstance(BigInteger.valueOf(2).pow(this.getKe() + this.getKc() + this.getKr())), this.getSize()));
+		if (this.responseSpace == null) {
+			this.responseSpace = ProductGroup.getInstance((Group) this.encryptionScheme.getRandomizationSpace(),
+														  this.getCyclicGroup().getZModOrder(),
+														  ProductGroup.getInstance(ZMod.getInstance(BigInteger.valueOf(2).pow(this.getKe() + this.getKc() + this.getKr())), this.getSize()));
+		}
+		return this.responseSpace;
 	}
 
 	public ReEncryptionScheme getEncryptionScheme() {
@@ -137,11 +156,9 @@ public class ReEncryptionShuffleProofSystem
 		return ProductGroup.getInstance(cyclicGroup, (Group) encryptionScheme.getEncryptionSpace());
 	}
 
-	// (Permutation Commitment, Input Ciphertexts, Output Ciphertexts)
-	private static ProductGroup createChallengeGeneratorPublicInputSpace(CyclicGroup cyclicGroup, ReEncryptionScheme encryptionScheme, int size) {
-		return ProductGroup.getInstance(ProductGroup.getInstance(cyclicGroup, size),
-										ProductGroup.getInstance((Group) encryptionScheme.getEncryptionSpace(), size),
-										ProductGroup.getInstance((Group) encryptionScheme.getEncryptionSpace(), size));
+	// Hash value of (Permutation Commitment, Input Ciphertexts, Output Ciphertexts)
+	private static FixedByteArraySet createChallengeGeneratorPublicInputSpace() {
+		return FixedByteArraySet.getInstance(HASH_METHOD.getHashAlgorithm().getHashLength());
 	}
 
 	//===================================================================================
@@ -149,67 +166,222 @@ public class ReEncryptionShuffleProofSystem
 	//
 	@Override
 	protected Triple abstractGenerate(Triple privateInput, Tuple publicInput, RandomByteSequence randomByteSequence) {
+		return this.abstractGenerate(privateInput, publicInput, randomByteSequence, null);
+	}
+
+	@Override
+	protected Triple abstractGenerate(Triple privateInput, Tuple publicInput, RandomByteSequence randomByteSequence, ExecutorService executorService) {
+		return this.generate(privateInput, PublicInput.getInstance(publicInput), randomByteSequence, executorService);
+	}
+
+	@Override
+	protected boolean abstractVerify(Triple proof, Tuple publicInput) {
+		return this.abstractVerify(proof, publicInput, null);
+	}
+
+	@Override
+	protected boolean abstractVerify(Triple proof, Tuple publicInput, ExecutorService executorService) {
+		return this.verify(proof, PublicInput.getInstance(publicInput), executorService);
+	}
+
+	/**
+	 * Same as {@link #generate(Element, Element, RandomByteSequence)}, but the permutation commitment and the input and
+	 * output ciphertexts are given as element stores. The inner products of the proof read the elements chunk-wise
+	 * from the stores, i.e., the elements are not kept in memory during the exponentiations. The challenges are derived
+	 * from the hash value of the public input, which is computed by reading the elements one by one from the stores.
+	 * The resulting proof is identical to the proof generated for the corresponding tuples.
+	 * <p>
+	 * @param privateInput       The private input
+	 * @param cPiV               The permutation commitment
+	 * @param uV                 The input ciphertexts
+	 * @param uPrimeV            The output ciphertexts
+	 * @param randomByteSequence The given random byte sequence
+	 * @return The proof
+	 */
+	public Triple generate(Element privateInput, ElementStore cPiV, ElementStore uV, ElementStore uPrimeV, RandomByteSequence randomByteSequence) {
+		if (!this.getPrivateInputSpace().contains(privateInput) || randomByteSequence == null) {
+			throw new IllegalArgumentException();
+		}
+		return this.generate((Triple) privateInput, this.getPublicInput(cPiV, uV, uPrimeV), randomByteSequence, null);
+	}
+
+	/**
+	 * Same as {@link #generate(Element, ElementStore, ElementStore, ElementStore, RandomByteSequence)}, but the
+	 * linear-size computations of the proof are distributed to the given executor service.
+	 * <p>
+	 * @param privateInput       The private input
+	 * @param cPiV               The permutation commitment
+	 * @param uV                 The input ciphertexts
+	 * @param uPrimeV            The output ciphertexts
+	 * @param randomByteSequence The given random byte sequence
+	 * @param executorService    The given executor service
+	 * @return The proof
+	 */
+	public Triple generate(Element privateInput, ElementStore cPiV, ElementStore uV, ElementStore uPrimeV, RandomByteSequence randomByteSequence, ExecutorService executorService) {
+		if (!this.getPrivateInputSpace().contains(privateInput) || randomByteSequence == null || executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		return this.generate((Triple) privateInput, this.getPublicInput(cPiV, uV, uPrimeV), randomByteSequence, executorService);
+	}
+
+	/**
+	 * Same as {@link #verify(Element, Element)}, but the permutation commitment and the input and output ciphertexts
+	 * are given as element stores, which are read chunk-wise by the inner products of the verification.
+	 * <p>
+	 * @param proof   The proof
+	 * @param cPiV    The permutation commitment
+	 * @param uV      The input ciphertexts
+	 * @param uPrimeV The output ciphertexts
+	 * @return {@code true} if the proof is valid, {@code false} otherwise
+	 */
+	public boolean verify(Element proof, ElementStore cPiV, ElementStore uV, ElementStore uPrimeV) {
+		if (!this.getProofSpace().contains(proof)) {
+			throw new IllegalArgumentException();
+		}
+		return this.verify((Triple) proof, this.getPublicInput(cPiV, uV, uPrimeV), null);
+	}
+
+	/**
+	 * Same as {@link #verify(Element, ElementStore, ElementStore, ElementStore)}, but the linear-size computations of
+	 * the verification are distributed to the given executor service.
+	 * <p>
+	 * @param proof           The proof
+	 * @param cPiV            The permutation commitment
+	 * @param uV              The input ciphertexts
+	 * @param uPrimeV         The output ciphertexts
+	 * @param executorService The given executor service
+	 * @return {@code true} if the proof is valid, {@code false} otherwise
+	 */
+	public boolean verify(Element proof, ElementStore cPiV, ElementStore uV, ElementStore uPrimeV, ExecutorService executorService) {
+		if (!this.getProofSpace().contains(proof) || executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		return this.verify((Triple) proof, this.getPublicInput(cPiV, uV, uPrimeV), executorService);
+	}
+
+	private PublicInput getPublicInput(ElementStore cPiV, ElementStore uV, ElementStore uPrimeV) {
+		ElementStore[] stores = {cPiV, uV, uPrimeV};
+		Set[] sets = {this.getCyclicGroup(), this.encryptionScheme.getEncryptionSpace(), this.encryptionScheme.getEncryptionSpace()};
+		for (int i = 0; i < stores.length; i++) {
+			if (stores[i] == null || !stores[i].getSet().isEquivalent(sets[i]) || stores[i].getSize() != this.getSize()) {
+				throw new IllegalArgumentException();
+			}
+		}
+		return PublicInput.getInstance(stores);
+	}
+
+	private Triple generate(Triple privateInput, PublicInput publicInput, RandomByteSequence randomByteSequence, ExecutorService executorService) {
 
-		// Unfold private and public input
+		// Unfold private input
 		final PermutationElement pi = (PermutationElement) privateInput.getFirst();
 		final Tuple sV = (Tuple) privateInput.getSecond();
 		final Tuple rV = (Tuple) privateInput.getThird();
-		final Tuple uPrimeV = (Tuple) publicInput.getAt(2);
-		final Tuple eV = (Tuple) this.getEValuesGenerator().generate(publicInput);
+		final Element publicInputHash = publicInput.getHashValue();
+		final Tuple eV = (Tuple) this.getEValuesGenerator().generate(publicInputHash);
 
 		// Compute private values for sigma proof
-		final Element r = computeInnerProduct(rV, eV);
-		final Element w = computeInnerProduct(sV, eV);
+		final Element r = computeInnerProduct(rV, eV, executorService);
+		final Element w = computeInnerProduct(sV, eV, executorService);
 		Tuple ePrimeV = PermutationFunction.getInstance(eV.getSet()).apply(eV, pi);
 
 		// Map ePrimeV to [0,...,2^(ke+kc+kr) - 1]^N
-		ePrimeV = ProductFunction.getInstance(
-			   ConvertFunction.getInstance(
-					  ZMod.getInstance(BigInteger.valueOf(2).pow(this.getKe())),
-					  ZMod.getInstance(BigInteger.valueOf(2).pow(this.getKe() + this.getKc() + this.getKr()))),
-			   ePrimeV.getLength())
-			   .apply(ePrimeV);
+		ePrimeV = this.getEValuesConvertFunction().apply(ePrimeV);
 
 		// Create sigma proof
-		PreimageProofFunction f = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(), this.getResponseSpace(), this.getCommitmentSpace(), this.getIndependentGenerators(), uPrimeV, this.encryptionScheme, this.encryptionPK);
+		PreimageProofFunction f = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(), this.getResponseSpace(), this.getCommitmentSpace(), this.getGeneralizedPedersenCommitmentScheme(), publicInput, this.encryptionScheme, this.encryptionPK, executorService);
 		final Element randomElement = this.getResponseSpace().getRandomElement(randomByteSequence);
 		final Element commitment = f.apply(randomElement);                        // [3N+3]
-		final Element challenge = this.getSigmaChallengeGenerator().generate(publicInput, commitment);
+		final Element challenge = this.getSigmaChallengeGenerator().generate(publicInputHash, commitment);
 		final Element response = randomElement.apply(Tuple.getInstance(r, w, ePrimeV).selfApply(challenge));
 		Triple preimageProof = (Triple) Triple.getInstance(commitment, challenge, response);
 		//                                                                          --------
 		return preimageProof;                                                     // [3N+3]
 	}
 
-	@Override
-	protected boolean abstractVerify(Triple proof, Tuple publicInput) {
+	private boolean verify(Triple proof, PublicInput publicInput, ExecutorService executorService) {
 
-		// Unfold proof and public input
+		// Unfold proof
 		final Tuple commitment = (Tuple) proof.getAt(0);
 		final Tuple response = (Tuple) proof.getAt(2);
-		final Tuple cPiV = (Tuple) publicInput.getFirst();
-		final Tuple uV = (Tuple) publicInput.getAt(1);
-		final Tuple uPrimeV = (Tuple) publicInput.getAt(2);
-		final Tuple eV = (Tuple) this.getEValuesGenerator().generate(publicInput);
+		final Element publicInputHash = publicInput.getHashValue();
+		final Tuple eV = (Tuple) this.getEValuesGenerator().generate(publicInputHash);
 
 		// Compute image of preimage proof
 		final Element[] ps = new Element[2];
 		// - p_1 == c_pi^e                                                              [N]
-		ps[0] = computeInnerProduct(cPiV, eV);
+		ps[0] = publicInput.computeInnerProduct(0, eV, executorService);
 		// - p_2 = u                                                                   [2N]
-		ps[1] = computeInnerProduct(uV, eV);
+		ps[1] = publicInput.computeInnerProduct(1, eV, executorService);
 
 		final Tuple pV = Tuple.getInstance(ps);
 
 		// 1. Verify preimage proof
-		PreimageProofFunction f = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(), this.getResponseSpace(), this.getCommitmentSpace(), this.getIndependentGenerators(), uPrimeV, this.encryptionScheme, this.encryptionPK);
-		final Element challenge = this.getSigmaChallengeGenerator().generate(publicInput, commitment);
+		PreimageProofFunction f = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(), this.getResponseSpace(), this.getCommitmentSpace(), this.getGeneralizedPedersenCommitmentScheme(), publicInput, this.encryptionScheme, this.encryptionPK, executorService);
+		final Element challenge = this.getSigmaChallengeGenerator().generate(publicInputHash, commitment);
 		final Element left = f.apply(response);                                   // [3N+3]
 		final Element right = commitment.apply(pV.selfApply(challenge));          //    [3]
 		//                                                                          --------
 		return left.isEquivalent(right);                                          // [6N+6]
 	}
 
+	//===================================================================================
+	// Nested class PublicInput
+	//
+	// The public input (cPiV, uV, uPrimeV) is either given as a tuple or as element stores. In the second case, its
+	// hash value is computed by reading the elements one by one from the stores.
+	private static abstract class PublicInput {
+
+		// the hash value of (cPiV, uV, uPrimeV) as an input of the challenge generators
+		abstract Element getHashValue();
+
+		// the inner product of the vector at the given index with the given exponents
+		abstract Element computeInnerProduct(int index, Tuple exponents, ExecutorService executorService);
+
+		static PublicInput getInstance(final Tuple tuple) {
+			return new PublicInput() {
+
+				@Override
+				Element getHashValue() {
+					return createChallengeGeneratorPublicInputSpace().getElement(tuple.getHashValue(HASH_METHOD));
+				}
+
+				@Override
+				Element computeInnerProduct(int index, Tuple exponents, ExecutorService executorService) {
+					return AbstractShuffleProofSystem.computeInnerProduct((Tuple) tuple.getAt(index), exponents, executorService);
+				}
+
+			};
+		}
+
+		static PublicInput getInstance(final ElementStore[] stores) {
+			return new PublicInput() {
+
+				// same as the recursive hash value of the corresponding triple of tuples
+				@Override
+				Element getHashValue() {
+					byte[] hashValue = HASH_METHOD.getHashAlgorithm().getHashValue(new HashAlgorithm.Input() {
+
+						@Override
+						public void update(MessageDigest messageDigest) {
+							for (ElementStore store : stores) {
+								store.getHashValue(HASH_METHOD).updateMessageDigest(messageDigest);
+							}
+						}
+
+					});
+					return createChallengeGeneratorPublicInputSpace().getElement(hashValue);
+				}
+
+				@Override
+				Element computeInnerProduct(int index, Tuple exponents, ExecutorService executorService) {
+					return AbstractShuffleProofSystem.computeInnerProduct(stores[index], exponents, executorService);
+				}
+
+			};
+		}
+
+	}
+
 	//===================================================================================
 	// Nested class PreimageProofFunction
 	//
@@ -217,18 +389,20 @@ public class ReEncryptionShuffleProofSystem
 		   extends AbstractFunction<PreimageProofFunction, ProductGroup, Tuple, ProductGroup, Tuple> {
 
 		private final CyclicGroup cyclicGroup;
-		private final Tuple uPrimeV;
+		private final PublicInput publicInput;
 		private final ReEncryptionScheme encryptionScheme;
 		private final Element encryptionPK;
 		final GeneralizedPedersenCommitmentScheme gpcs;
+		private final ExecutorService executorService;
 
-		protected PreimageProofFunction(CyclicGroup cyclicGroup, int size, ProductGroup domain, ProductGroup coDomain, Tuple independentGenerators, Tuple uPrimeV, ReEncryptionScheme encryptionScheme, Element encryptionPK) {
+		protected PreimageProofFunction(CyclicGroup cyclicGroup, int size, ProductGroup domain, ProductGroup coDomain, GeneralizedPedersenCommitmentScheme gpcs, PublicInput publicInput, ReEncryptionScheme encryptionScheme, Element encryptionPK, ExecutorService executorService) {
 			super(domain, coDomain);
 			this.cyclicGroup = cyclicGroup;
-			this.uPrimeV = uPrimeV;
+			this.publicInput = publicInput;
 			this.encryptionScheme = encryptionScheme;
 			this.encryptionPK = encryptionPK;
-			this.gpcs = GeneralizedPedersenCommitmentScheme.getInstance(independentGenerators.getAt(0), independentGenerators.extract(1, size));
+			this.gpcs = gpcs;
+			this.executorService = executorService;
 		}
 
 		@Override
@@ -244,15 +418,22 @@ public class ReEncryptionShuffleProofSystem
 
 			// COMPUTE...
 			// - Com(e', w)                              [n+1]
-			ZMod zMod = this.cyclicGroup.getZModOrder();
-			Element ePrimeVs[] = new Element[ePrimeV.getArity()];
-			for (int i = 0; i < ePrimeV.getArity(); i++) {
-				ePrimeVs[i] = zMod.getElement(((ZModElement) ePrimeV.getAt(i)).getValue().mod(zMod.getOrder()));
-			}
-			cV[0] = gpcs.commit(Tuple.getInstance(ePrimeVs), w);
+			final ZMod zMod = this.cyclicGroup.getZModOrder();
+			final Element ePrimeVs[] = new Element[ePrimeV.getArity()];
+			new ParallelLoop() {
+
+				@Override
+				protected void execute(int chunk, int fromIndex, int toIndex) {
+					for (int i = fromIndex; i < toIndex; i++) {
+						ePrimeVs[i] = zMod.getElement(((ZModElement) ePrimeV.getAt(i)).getValue().mod(zMod.getOrder()));
+					}
+				}
+
+			}.run(ePrimeVs.length, this.executorService);
+			cV[0] = commit(gpcs, Tuple.getInstance(ePrimeVs), w, this.executorService);
 
 			// - Prod(u'_i^(e'_i)) * Enc(1, -r)         [2n+2]
-			final Element a = computeInnerProduct(this.uPrimeV, ePrimeV);
+			final Element a = this.publicInput.computeInnerProduct(2, ePrimeV, this.executorService);
 			final Element b = encryptionScheme.encrypt(encryptionPK, encryptionScheme.getMessageSpace().getIdentityElement(), r.invert());
 			cV[1] = a.apply(b);
 
@@ -321,9 +502,9 @@ public class ReEncryptionShuffleProofSystem
 		}
 		CyclicGroup cyclicGroup = (CyclicGroup) independentGenerators.getFirst().getSet();
 		int size = independentGenerators.getArity() - 1;
-		if (!sigmaChallengeGenerator.getPublicInputSpace().isEquivalent(createChallengeGeneratorPublicInputSpace(cyclicGroup, encryptionScheme, size))
+		if (!sigmaChallengeGenerator.getPublicInputSpace().isEquivalent(createChallengeGeneratorPublicInputSpace())
 			   || !sigmaChallengeGenerator.getCommitmentSpace().isEquivalent(createCommitmentSpace(cyclicGroup, encryptionScheme))
-			   || !eValuesGenerator.getInputSpace().isEquivalent(createChallengeGeneratorPublicInputSpace(cyclicGroup, encryptionScheme, size))
+			   || !eValuesGenerator.getInputSpace().isEquivalent(createChallengeGeneratorPublicInputSpace())
 			   // TODO			   || !eValuesGenerator.getChallengeSpace().isEquivalent(ProductSet.getInstance(Z.getInstance(), size))
 			   || !((ProductSet) eValuesGenerator.getChallengeSpace()).isUniform()) {
 			throw new IllegalArgumentException();
@@ -347,7 +528,7 @@ public class ReEncryptionShuffleProofSystem
 		if (cyclicGroup == null || encryptionScheme == null || !encryptionScheme.getEncryptionSpace().isGroup() || size < 1 || kc < 1) {
 			throw new IllegalArgumentException();
 		}
-		return RandomOracleSigmaChallengeGenerator.getInstance(createChallengeGeneratorPublicInputSpace(cyclicGroup, encryptionScheme, size),
+		return RandomOracleSigmaChallengeGenerator.getInstance(createChallengeGeneratorPublicInputSpace(),
 															   createCommitmentSpace(cyclicGroup, encryptionScheme),
 															   createChallengeSpace(kc),
 															   proverId,
@@ -366,7 +547,7 @@ public class ReEncryptionShuffleProofSystem
 		if (cyclicGroup == null || encryptionScheme == null || !encryptionScheme.getEncryptionSpace().isGroup() || size < 1 || ke < 1) {
 			throw new IllegalArgumentException();
 		}
-		return RandomOracleChallengeGenerator.getInstance(createChallengeGeneratorPublicInputSpace(cyclicGroup, encryptionScheme, size),
+		return RandomOracleChallengeGenerator.getInstance(createChallengeGeneratorPublicInputSpace(),
 														  createEValuesGeneratorChallengeSpace(ke, size),
 														  randomOracle);
 	}
@@ -44,6 +44,7 @@ package ch.bfh.unicrypt.crypto.proofsystem.interfaces;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import java.util.concurrent.ExecutorService;
 
 public interface ProofSystem {
 
@@ -51,8 +52,12 @@ public interface ProofSystem {
 
 	public Element generate(Element privateInput, Element publicInput, RandomByteSequence randomByteSequence);
 
+	public Element generate(Element privateInput, Element publicInput, RandomByteSequence randomByteSequence, ExecutorService executorService);
+
 	public boolean verify(Element proof, Element publicInput);
 
+	public boolean verify(Element proof, Element publicInput, ExecutorService executorService);
+
 	public Set getPrivateInputSpace();
 
 	public Set getPublicInputSpace();
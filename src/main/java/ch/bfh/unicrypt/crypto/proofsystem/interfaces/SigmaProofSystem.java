@@ -49,6 +49,7 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
+import java.util.List;
 
 public interface SigmaProofSystem
 	   extends ProofSystem {
@@ -78,4 +79,8 @@ public interface SigmaProofSystem
 	@Override
 	public ProductSet getProofSpace();
 
+	public boolean[] verifyBatch(List<? extends Element> proofs, List<? extends Element> publicInputs);
+
+	public boolean[] verifyBatch(List<? extends Element> proofs, List<? extends Element> publicInputs, RandomByteSequence randomByteSequence);
+
 }
@@ -42,6 +42,7 @@
 package ch.bfh.unicrypt.crypto.schemes.sharing.classes;
 
 import ch.bfh.unicrypt.crypto.schemes.sharing.abstracts.AbstractThresholdSecretSharingScheme;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.PolynomialElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.PolynomialRing;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModElement;
@@ -109,29 +110,30 @@ public class ShamirSecretSharingScheme
 	@Override
 	protected ZModElement abstractRecover(Tuple shares) {
 		int length = shares.getArity();
-		// Calculating the lagrange coefficients for each point we got
-		DualisticElement product;
-		DualisticElement[] lagrangeCoefficients = new DualisticElement[length];
+		// Calculating the numerators and denominators of the lagrange coefficients for each point we got
+		DualisticElement[] numerators = new DualisticElement[length];
+		DualisticElement[] denominators = new DualisticElement[length];
 		for (int j = 0; j < length; j++) {
-			product = null;
+			DualisticElement numerator = this.zModPrime.getOneElement();
+			DualisticElement denominator = this.zModPrime.getOneElement();
 			DualisticElement elementJ = (DualisticElement) shares.getAt(j, 0);
 			for (int l = 0; l < length; l++) {
 				DualisticElement elementL = (DualisticElement) shares.getAt(l, 0);
 				if (!elementJ.equals(elementL)) {
-					if (product == null) {
-						product = elementL.divide(elementL.subtract(elementJ));
-					} else {
-						product = product.multiply(elementL.divide(elementL.subtract(elementJ)));
-					}
+					numerator = numerator.multiply(elementL);
+					denominator = denominator.multiply(elementL.subtract(elementJ));
 				}
 			}
-			lagrangeCoefficients[j] = product;
+			numerators[j] = numerator;
+			denominators[j] = denominator;
 		}
+		// all denominators are inverted at once, which requires only one modular inversion
+		DenseArray<ZModElement> inverses = this.zModPrime.oneOver(denominators);
 		// multiply the y-value of the point with the lagrange coefficient and sum everything up
 		ZModElement result = this.zModPrime.getIdentityElement();
 		for (int j = 0; j < length; j++) {
 			DualisticElement value = (DualisticElement) shares.getAt(j, 1);
-			result = result.add(value.multiply(lagrangeCoefficients[j]));
+			result = result.add(value.multiply(numerators[j].multiply(inverses.getAt(j))));
 		}
 		return result;
 	}
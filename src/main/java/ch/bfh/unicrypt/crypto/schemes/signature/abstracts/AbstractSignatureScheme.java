@@ -51,6 +51,7 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -97,6 +98,36 @@ public abstract class AbstractSignatureScheme<MS extends Set, ME extends Element
 		return (BooleanElement) this.getVerificationFunction().apply(publicKey, message, signature);
 	}
 
+	/**
+	 * Verifies multiple signatures at once. The result contains the validity of each signature, in the order of the
+	 * given signatures. Signature schemes with a faster verification of multiple signatures override
+	 * {@link #abstractVerifyBatch(Element[], Element[], Element[])}, otherwise the signatures are verified one by one.
+	 * <p>
+	 * @param publicKeys The public keys
+	 * @param messages   The signed messages
+	 * @param signatures The given signatures
+	 * @return The validity of each signature
+	 * @throws IllegalArgumentException if the three lists are of different size or contain invalid elements
+	 */
+	@Override
+	public final boolean[] verifyBatch(final List<? extends Element> publicKeys, final List<? extends Element> messages, final List<? extends Element> signatures) {
+		if (publicKeys == null || messages == null || signatures == null || publicKeys.size() != signatures.size() || messages.size() != signatures.size()) {
+			throw new IllegalArgumentException();
+		}
+		final Element[] publicKeyArray = new Element[signatures.size()];
+		final Element[] messageArray = new Element[signatures.size()];
+		final Element[] signatureArray = new Element[signatures.size()];
+		for (int i = 0; i < signatures.size(); i++) {
+			if (!this.getVerificationKeySpace().contains(publicKeys.get(i)) || !this.messageSpace.contains(messages.get(i)) || !this.signatureSpace.contains(signatures.get(i))) {
+				throw new IllegalArgumentException();
+			}
+			publicKeyArray[i] = publicKeys.get(i);
+			messageArray[i] = messages.get(i);
+			signatureArray[i] = signatures.get(i);
+		}
+		return this.abstractVerifyBatch(publicKeyArray, messageArray, signatureArray);
+	}
+
 	@Override
 	public SS getSignatureSpace() {
 		return this.signatureSpace;
@@ -146,6 +177,15 @@ public abstract class AbstractSignatureScheme<MS extends Set, ME extends Element
 		return (VKS) this.getKeyPairGenerator().getPublicKeySpace();
 	}
 
+	// by default, the signatures are verified one by one
+	protected boolean[] abstractVerifyBatch(final Element[] publicKeys, final Element[] messages, final Element[] signatures) {
+		final boolean[] result = new boolean[signatures.length];
+		for (int i = 0; i < signatures.length; i++) {
+			result[i] = this.verify(publicKeys[i], messages[i], signatures[i]).getValue();
+		}
+		return result;
+	}
+
 	protected abstract KG abstractGetKeyPairGenerator(StringToByteArray converter);
 
 	protected abstract Function abstractGetSignatureFunction();
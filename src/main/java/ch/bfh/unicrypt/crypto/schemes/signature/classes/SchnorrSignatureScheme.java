@@ -73,6 +73,7 @@ import ch.bfh.unicrypt.math.function.classes.SelfApplyFunction;
 import ch.bfh.unicrypt.math.function.classes.SharedDomainFunction;
 import ch.bfh.unicrypt.math.function.classes.TimesFunction;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
+import java.math.BigInteger;
 
 public class SchnorrSignatureScheme<MS extends Set>
 	   extends AbstractRandomizedSignatureScheme<MS, Element, ProductGroup, Pair, ZMod, ZMod, CyclicGroup, DiscreteLogarithmKeyGenerator> {
@@ -153,6 +154,23 @@ public class SchnorrSignatureScheme<MS extends Set>
 			   EqualityFunction.getInstance(zMod));
 	}
 
+	// Same as the verification function, but g^s * y^(-c) is computed by a single multi-exponentiation. Since the
+	// signature (c,s) does not contain g^k, the signatures can not be combined into a single check. The amount -c is
+	// passed as a negative number, such that y is inverted instead of raising it to the full-length exponent q-c.
+	@Override
+	protected boolean[] abstractVerifyBatch(final Element[] publicKeys, final Element[] messages, final Element[] signatures) {
+		final Function hashConvertModuloFunction = this.getHashConvertModuloFunction(this.cyclicGroup.getZModOrder());
+		final boolean[] result = new boolean[signatures.length];
+		for (int i = 0; i < signatures.length; i++) {
+			final Element c = ((Pair) signatures[i]).getFirst();
+			final Element s = ((Pair) signatures[i]).getSecond();
+			final Element r = this.cyclicGroup.multiSelfApply(new Element[]{this.generator, publicKeys[i]},
+															  new BigInteger[]{(BigInteger) s.getValue(), ((BigInteger) c.getValue()).negate()});
+			result[i] = hashConvertModuloFunction.apply(Pair.getInstance(messages[i], r)).isEquivalent(c);
+		}
+		return result;
+	}
+
 	private Function getHashConvertModuloFunction(ZMod zMod) {
 		HashFunction hashFunction = HashFunction.getInstance(ProductSet.getInstance(this.messageSpace, this.cyclicGroup), this.hashMethod);
 		BigIntegerConverter<ByteArray> converter = FiniteByteArrayToBigInteger.getInstance(this.hashMethod.getHashAlgorithm().getHashLength());
@@ -49,6 +49,7 @@ import ch.bfh.unicrypt.math.algebra.general.classes.BooleanElement;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
+import java.util.List;
 
 /**
  *
@@ -73,6 +74,8 @@ public interface SignatureScheme
 
 	public BooleanElement verify(final Element publicKey, final Element message, Element signature);
 
+	public boolean[] verifyBatch(List<? extends Element> publicKeys, List<? extends Element> messages, List<? extends Element> signatures);
+
 	public Set getSignatureKeySpace();
 
 	public Set getVerificationKeySpace();
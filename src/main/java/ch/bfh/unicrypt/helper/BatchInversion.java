@@ -0,0 +1,112 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+/**
+ * This abstract class provides a generic engine for inverting multiple values of a group at once, using Montgomery's
+ * trick. Instead of inverting each value individually, the engine computes the inverse of the product of all values,
+ * from which the individual inverses are then obtained by multiplications. Inverting {@code n} values therefore
+ * requires a single inversion and {@code 3(n-1)} multiplications. This is useful whenever an inversion is much more
+ * expensive than a multiplication, for example in prime fields or in finite fields of polynomials. Only the binary
+ * operation and the inversion need to be implemented in sub-classes.
+ * <p>
+ * @param <T> Generic type of the values
+ * @see "Handbook of Elliptic and Hyperelliptic Curve Cryptography, Algorithm 11.15"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public abstract class BatchInversion<T> {
+
+	/**
+	 * Computes the inverses of the given values. The resulting array has the same type and length as the given array,
+	 * and its {@code i}-th entry contains the inverse of the {@code i}-th value. The given array is not modified.
+	 * <p>
+	 * @param values The given values
+	 * @return The inverses of the given values
+	 * @throws IllegalArgumentException if {@literal values} is null or contains null
+	 */
+	public final T[] compute(final T[] values) {
+		if (values == null) {
+			throw new IllegalArgumentException();
+		}
+		int n = values.length;
+		T[] results = values.clone();
+		if (n == 0) {
+			return results;
+		}
+		// products[i] contains the product of the values at index 0 to i
+		Object[] products = new Object[n];
+		for (int i = 0; i < n; i++) {
+			if (values[i] == null) {
+				throw new IllegalArgumentException();
+			}
+			products[i] = (i == 0) ? values[0] : this.multiply((T) products[i - 1], values[i]);
+		}
+		// inverse contains the inverse of the product of the values at index 0 to i
+		T inverse = this.invert((T) products[n - 1]);
+		for (int i = n - 1; i > 0; i--) {
+			results[i] = this.multiply(inverse, (T) products[i - 1]);
+			inverse = this.multiply(inverse, values[i]);
+		}
+		results[0] = inverse;
+		return results;
+	}
+
+	/**
+	 * Applies the binary operation to two values.
+	 * <p>
+	 * @param value1 The first value
+	 * @param value2 The second value
+	 * @return The result of applying the operation
+	 */
+	protected abstract T multiply(T value1, T value2);
+
+	/**
+	 * Computes the inverse of a value.
+	 * <p>
+	 * @param value The given value
+	 * @return The inverse value
+	 */
+	protected abstract T invert(T value);
+
+}
@@ -0,0 +1,416 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * This class provides the arithmetic of a binary finite field {@code GF(2^m)} on elements represented as arrays of
+ * 64-bit words. An element is a polynomial of degree smaller than {@code m} over {@code GF(2)}, in which bit {@code i}
+ * of word {@code j} is the coefficient of {@code x^(64j+i)}. Additions are word-wise XOR operations, multiplications
+ * are carry-less multiplications using the left-to-right comb method with windows of 4 bits, and squarings are
+ * computed by spreading the bits with a precomputed table. Both are followed by a word-level reduction, which is very
+ * fast for sparse irreducible polynomials such as the trinomials and pentanomials recommended by SEC2. Inverses are
+ * computed with the method of Itoh and Tsujii, which requires about {@code m} squarings and {@code log(m)}
+ * multiplications. All arrays passed to the methods of this class must represent reduced elements, i.e., they must
+ * have the length returned by {@link #getLength()} and no bits set at positions {@code m} or higher.
+ * <p>
+ * @see "Guide to Elliptic Curve Cryptography, Algorithms 2.36, 2.39, and 2.41"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class BinaryFieldArithmetic {
+
+	private static final int WORD_SIZE = Long.SIZE;
+	private static final int WINDOW_SIZE = 4;
+	private static final long[] SQUARE_TABLE = new long[256];
+
+	static {
+		for (int i = 0; i < 256; i++) {
+			long value = 0;
+			for (int k = 0; k < 8; k++) {
+				if ((i & (1 << k)) != 0) {
+					value = value | (1L << (2 * k));
+				}
+			}
+			SQUARE_TABLE[i] = value;
+		}
+	}
+
+	private final BigInteger irreduciblePolynomial;
+	private final int degree; // m
+	private final int length; // number of words
+	private final int[] exponents; // exponents smaller than m of the irreducible polynomial
+
+	private BinaryFieldArithmetic(final BigInteger irreduciblePolynomial) {
+		this.irreduciblePolynomial = irreduciblePolynomial;
+		this.degree = irreduciblePolynomial.bitLength() - 1;
+		this.length = (this.degree + WORD_SIZE - 1) / WORD_SIZE;
+		int[] values = new int[irreduciblePolynomial.bitCount() - 1];
+		int index = 0;
+		for (int k = this.degree - 1; k >= 0; k--) {
+			if (irreduciblePolynomial.testBit(k)) {
+				values[index++] = k;
+			}
+		}
+		this.exponents = values;
+	}
+
+	/**
+	 * Returns the irreducible polynomial defining the field, in which bit {@code i} is the coefficient of {@code x^i}.
+	 * <p>
+	 * @return The irreducible polynomial
+	 */
+	public final BigInteger getIrreduciblePolynomial() {
+		return this.irreduciblePolynomial;
+	}
+
+	/**
+	 * Returns the degree {@code m} of the irreducible polynomial.
+	 * <p>
+	 * @return The degree
+	 */
+	public final int getDegree() {
+		return this.degree;
+	}
+
+	/**
+	 * Returns the number of words of a field element.
+	 * <p>
+	 * @return The number of words
+	 */
+	public final int getLength() {
+		return this.length;
+	}
+
+	/**
+	 * Returns the neutral element of the addition.
+	 * <p>
+	 * @return The zero element
+	 */
+	public final long[] getZero() {
+		return new long[this.length];
+	}
+
+	/**
+	 * Returns the neutral element of the multiplication.
+	 * <p>
+	 * @return The one element
+	 */
+	public final long[] getOne() {
+		long[] result = new long[this.length];
+		result[0] = 1;
+		return result;
+	}
+
+	/**
+	 * Checks if the given element is the zero element.
+	 * <p>
+	 * @param value The given element
+	 * @return {@literal true} if {@code value} is zero, {@literal false} otherwise
+	 */
+	public final boolean isZero(final long[] value) {
+		for (long word : value) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Converts a byte array of coefficients into a field element. Bit {@code i} of byte {@code k} is the coefficient of
+	 * {@code x^(8k+i)}. Trailing zero bytes are allowed.
+	 * <p>
+	 * @param bytes The given byte array
+	 * @return The corresponding field element
+	 * @throws IllegalArgumentException if the byte array contains a coefficient at position {@code m} or higher
+	 */
+	public final long[] getElement(final byte[] bytes) {
+		if (bytes == null) {
+			throw new IllegalArgumentException();
+		}
+		long[] result = new long[this.length];
+		for (int k = 0; k < bytes.length; k++) {
+			if (bytes[k] != 0) {
+				if (k / Byte.SIZE >= this.length) {
+					throw new IllegalArgumentException();
+				}
+				result[k / Byte.SIZE] |= (bytes[k] & 0xFFL) << ((k % Byte.SIZE) * Byte.SIZE);
+			}
+		}
+		if (this.degree % WORD_SIZE != 0 && (result[this.length - 1] & (-1L << (this.degree % WORD_SIZE))) != 0) {
+			throw new IllegalArgumentException();
+		}
+		return result;
+	}
+
+	/**
+	 * Converts a field element into a byte array of length {@code ceil(m/8)}. This is the inverse of
+	 * {@link #getElement(byte[])}.
+	 * <p>
+	 * @param value The given field element
+	 * @return The corresponding byte array
+	 */
+	public final byte[] getBytes(final long[] value) {
+		byte[] result = new byte[(this.degree + Byte.SIZE - 1) / Byte.SIZE];
+		for (int k = 0; k < result.length; k++) {
+			result[k] = (byte) (value[k / Byte.SIZE] >>> ((k % Byte.SIZE) * Byte.SIZE));
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the sum of two field elements.
+	 * <p>
+	 * @param value1 The first element
+	 * @param value2 The second element
+	 * @return The sum
+	 */
+	public final long[] add(final long[] value1, final long[] value2) {
+		long[] result = new long[this.length];
+		for (int i = 0; i < this.length; i++) {
+			result[i] = value1[i] ^ value2[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the product of two field elements.
+	 * <p>
+	 * @param value1 The first element
+	 * @param value2 The second element
+	 * @return The product
+	 */
+	public final long[] multiply(final long[] value1, final long[] value2) {
+		int n = this.length;
+		// table[u] is the product of value2 and the polynomial u of degree smaller than 4
+		long[][] table = new long[1 << WINDOW_SIZE][];
+		table[0] = new long[n + 1];
+		table[1] = Arrays.copyOf(value2, n + 1);
+		for (int u = 2; u < table.length; u++) {
+			long[] entry = new long[n + 1];
+			if ((u & 1) == 0) {
+				long[] half = table[u >>> 1];
+				entry[0] = half[0] << 1;
+				for (int i = 1; i <= n; i++) {
+					entry[i] = (half[i] << 1) | (half[i - 1] >>> (WORD_SIZE - 1));
+				}
+			} else {
+				long[] previous = table[u - 1];
+				for (int i = 0; i <= n; i++) {
+					entry[i] = previous[i] ^ table[1][i];
+				}
+			}
+			table[u] = entry;
+		}
+		long[] result = new long[2 * n + 1];
+		for (int k = WORD_SIZE - WINDOW_SIZE; k >= 0; k -= WINDOW_SIZE) {
+			for (int j = 0; j < n; j++) {
+				long[] entry = table[(int) (value1[j] >>> k) & ((1 << WINDOW_SIZE) - 1)];
+				for (int i = 0; i <= n; i++) {
+					result[i + j] ^= entry[i];
+				}
+			}
+			if (k > 0) {
+				for (int i = result.length - 1; i > 0; i--) {
+					result[i] = (result[i] << WINDOW_SIZE) | (result[i - 1] >>> (WORD_SIZE - WINDOW_SIZE));
+				}
+				result[0] = result[0] << WINDOW_SIZE;
+			}
+		}
+		return this.reduce(result);
+	}
+
+	/**
+	 * Computes the square of a field element. Squaring is a linear operation in {@code GF(2^m)}, which inserts a zero
+	 * bit between any two consecutive bits.
+	 * <p>
+	 * @param value The given element
+	 * @return The square
+	 */
+	public final long[] square(final long[] value) {
+		long[] result = new long[2 * this.length];
+		for (int i = 0; i < this.length; i++) {
+			result[2 * i] = spread((int) value[i]);
+			result[2 * i + 1] = spread((int) (value[i] >>> Integer.SIZE));
+		}
+		return this.reduce(result);
+	}
+
+	/**
+	 * Computes the multiplicative inverse of a non-zero field element using the method of Itoh and Tsujii, i.e., by
+	 * computing {@code value^(2^m-2)} with an addition chain for {@code m-1}.
+	 * <p>
+	 * @param value The given element
+	 * @return The inverse
+	 * @throws IllegalArgumentException if {@code value} is zero
+	 */
+	public final long[] invert(final long[] value) {
+		if (this.isZero(value)) {
+			throw new IllegalArgumentException();
+		}
+		// beta is value^(2^k-1), starting with k=1
+		int n = this.degree - 1;
+		long[] beta = value;
+		int k = 1;
+		for (int i = Integer.SIZE - Integer.numberOfLeadingZeros(n) - 2; i >= 0; i--) {
+			long[] power = beta;
+			for (int j = 0; j < k; j++) {
+				power = this.square(power);
+			}
+			beta = this.multiply(power, beta);
+			k = 2 * k;
+			if (((n >>> i) & 1) != 0) {
+				beta = this.multiply(this.square(beta), value);
+				k = k + 1;
+			}
+		}
+		return this.square(beta);
+	}
+
+	/**
+	 * Tests the polynomial of this instance for irreducibility, by checking that {@code gcd(f(x),x^(2^i)-x)=1} for all
+	 * {@code 1<=i<=m/2}. The powers {@code x^(2^i)} are computed by repeated squarings modulo {@code f(x)}.
+	 * <p>
+	 * @return {@literal true} if the polynomial is irreducible, {@literal false} otherwise
+	 * @see "Handbook of Applied Cryptography, Algorithm 4.69"
+	 */
+	public final boolean isIrreducible() {
+		if (this.degree == 1) {
+			return true;
+		}
+		long[] x = this.getZero();
+		x[0] = 2;
+		long[] u = x;
+		for (int i = 1; i <= this.degree / 2; i++) {
+			u = this.square(u);
+			BigInteger difference = getValue(this.add(u, x));
+			if (!gcd(this.irreduciblePolynomial, difference).equals(BigInteger.ONE)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a new instance for the given irreducible polynomial, in which bit {@code i} is the coefficient of
+	 * {@code x^i}. The polynomial is not tested for irreducibility, see {@link #isIrreducible()}.
+	 * <p>
+	 * @param irreduciblePolynomial The irreducible polynomial
+	 * @return The new instance
+	 * @throws IllegalArgumentException if {@code irreduciblePolynomial} is null or of degree smaller than 1
+	 */
+	public static BinaryFieldArithmetic getInstance(final BigInteger irreduciblePolynomial) {
+		if (irreduciblePolynomial == null || irreduciblePolynomial.bitLength() < 2) {
+			throw new IllegalArgumentException();
+		}
+		return new BinaryFieldArithmetic(irreduciblePolynomial);
+	}
+
+	// reduces an array of arbitrary length modulo the irreducible polynomial
+	private long[] reduce(final long[] value) {
+		int topWord = this.degree / WORD_SIZE;
+		for (int i = value.length - 1; i >= topWord; i--) {
+			long mask = (i == topWord) ? -1L << (this.degree % WORD_SIZE) : -1L;
+			long high = value[i] & mask;
+			while (high != 0) {
+				// x^(64i)*high = x^(64i-m)*high*(f-x^m)
+				value[i] ^= high;
+				int shift = i * WORD_SIZE - this.degree;
+				for (int exponent : this.exponents) {
+					xorShifted(value, high, shift + exponent);
+				}
+				high = value[i] & mask;
+			}
+		}
+		return Arrays.copyOf(value, this.length);
+	}
+
+	// adds word*x^shift to the array, where shift is greater than -64
+	private static void xorShifted(final long[] value, final long word, final int shift) {
+		if (shift < 0) {
+			value[0] ^= word >>> -shift;
+			return;
+		}
+		int index = shift / WORD_SIZE;
+		int offset = shift % WORD_SIZE;
+		value[index] ^= word << offset;
+		if (offset != 0) {
+			value[index + 1] ^= word >>> (WORD_SIZE - offset);
+		}
+	}
+
+	// converts a word array into an integer, in which bit i is the coefficient of x^i
+	private static BigInteger getValue(final long[] value) {
+		byte[] bytes = new byte[value.length * Long.SIZE / Byte.SIZE];
+		for (int k = 0; k < bytes.length; k++) {
+			bytes[bytes.length - k - 1] = (byte) (value[k / Byte.SIZE] >>> ((k % Byte.SIZE) * Byte.SIZE));
+		}
+		return new BigInteger(1, bytes);
+	}
+
+	// greatest common divisor of two binary polynomials represented as integers
+	private static BigInteger gcd(BigInteger value1, BigInteger value2) {
+		while (value2.signum() != 0) {
+			int length = value2.bitLength();
+			while (value1.bitLength() >= length) {
+				value1 = value1.xor(value2.shiftLeft(value1.bitLength() - length));
+			}
+			BigInteger remainder = value1;
+			value1 = value2;
+			value2 = remainder;
+		}
+		return value1;
+	}
+
+	// inserts a zero bit between any two consecutive bits of a 32-bit word
+	private static long spread(final int word) {
+		return SQUARE_TABLE[word & 0xFF]
+			   | (SQUARE_TABLE[(word >>> 8) & 0xFF] << 16)
+			   | (SQUARE_TABLE[(word >>> 16) & 0xFF] << 32)
+			   | (SQUARE_TABLE[(word >>> 24) & 0xFF] << 48);
+	}
+
+}
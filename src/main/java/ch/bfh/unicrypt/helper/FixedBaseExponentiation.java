@@ -0,0 +1,273 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This abstract class provides a generic engine for computing powers (or multiples) of a fixed base value in an
+ * arbitrary semigroup. It implements the comb method of Lim and Lee, in which the exponent is split into {@code h}
+ * rows and {@code v} column blocks. The table of {@code v*(2^h-1)} precomputed values is built on the first
+ * computation. An exponentiation then requires about {@code bitLength/h} multiplications and
+ * {@code bitLength/(h*v)} squarings. The parameters {@code h} and {@code v} are chosen such that the table does not
+ * exceed a given size. Only the binary operation needs to be implemented in sub-classes.
+ * <p>
+ * @param <T> Generic type of the values
+ * @see "Handbook of Applied Cryptography, Algorithm 14.117"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public abstract class FixedBaseExponentiation<T> {
+
+	/**
+	 * The default maximal number of precomputed values.
+	 */
+	public static final int DEFAULT_TABLE_SIZE = 512;
+
+	private final T base;
+	private final int bitLength;
+	private final int rows; // h
+	private final int columns; // v
+	private final int rowLength; // a = ceil(bitLength/h)
+	private final int columnLength; // b = ceil(a/v)
+	private volatile Object[][] table;
+
+	/**
+	 * Creates a new engine for a given base value and maximal bit length of the exponents, using the default table
+	 * size.
+	 * <p>
+	 * @param base      The fixed base value
+	 * @param bitLength The maximal bit length of the exponents
+	 */
+	protected FixedBaseExponentiation(final T base, final int bitLength) {
+		this(base, bitLength, DEFAULT_TABLE_SIZE);
+	}
+
+	/**
+	 * Creates a new engine for a given base value, maximal bit length of the exponents, and maximal table size.
+	 * <p>
+	 * @param base      The fixed base value
+	 * @param bitLength The maximal bit length of the exponents
+	 * @param tableSize The maximal number of precomputed values
+	 */
+	protected FixedBaseExponentiation(final T base, final int bitLength, final int tableSize) {
+		if (base == null || bitLength < 1 || tableSize < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.base = base;
+		this.bitLength = bitLength;
+		int bestRows = 1;
+		int bestColumns = 1;
+		double bestCost = Double.MAX_VALUE;
+		for (int h = 1; h <= Math.min(bitLength, 16) && (1 << h) - 1 <= tableSize; h++) {
+			int a = (bitLength + h - 1) / h;
+			for (int v = 1; v <= a && v * ((1 << h) - 1) <= tableSize; v++) {
+				int b = (a + v - 1) / v;
+				if ((v - 1) * b >= a) {
+					// the last column block would be empty
+					continue;
+				}
+				// b-1 squarings and about a*(1-2^-h) multiplications
+				double cost = b - 1 + a * (1.0 - 1.0 / (1 << h));
+				if (cost < bestCost) {
+					bestCost = cost;
+					bestRows = h;
+					bestColumns = v;
+				}
+			}
+		}
+		this.rows = bestRows;
+		this.columns = bestColumns;
+		this.rowLength = (bitLength + bestRows - 1) / bestRows;
+		this.columnLength = (this.rowLength + bestColumns - 1) / bestColumns;
+	}
+
+	/**
+	 * Returns the fixed base value.
+	 * <p>
+	 * @return The base value
+	 */
+	public final T getBase() {
+		return this.base;
+	}
+
+	/**
+	 * Returns the maximal bit length of the exponents supported by this engine.
+	 * <p>
+	 * @return The maximal bit length
+	 */
+	public final int getBitLength() {
+		return this.bitLength;
+	}
+
+	/**
+	 * Returns the number of precomputed values.
+	 * <p>
+	 * @return The size of the table
+	 */
+	public final int getTableSize() {
+		return this.columns * ((1 << this.rows) - 1);
+	}
+
+	/**
+	 * Computes the power of the base value for a given positive amount, which must not exceed the maximal bit length.
+	 * <p>
+	 * @param posAmount The given positive amount
+	 * @return The resulting value
+	 * @throws IllegalArgumentException if {@literal posAmount} is not positive or too large
+	 */
+	public final T compute(final BigInteger posAmount) {
+		if (posAmount == null || posAmount.signum() <= 0 || posAmount.bitLength() > this.bitLength) {
+			throw new IllegalArgumentException();
+		}
+		Object[][] currentTable = this.getTable();
+		T result = null;
+		for (int t = this.columnLength - 1; t >= 0; t--) {
+			if (result != null) {
+				result = this.square(result);
+			}
+			for (int j = 0; j < this.columns; j++) {
+				int position = j * this.columnLength + t;
+				if (position < this.rowLength) {
+					int digit = 0;
+					for (int k = 0; k < this.rows; k++) {
+						if (posAmount.testBit(k * this.rowLength + position)) {
+							digit = digit | (1 << k);
+						}
+					}
+					if (digit > 0) {
+						T value = (T) currentTable[j][digit];
+						result = (result == null) ? value : this.apply(result, value);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Applies the binary operation to two values.
+	 * <p>
+	 * @param value1 The first value
+	 * @param value2 The second value
+	 * @return The result of applying the operation
+	 */
+	protected abstract T apply(T value1, T value2);
+
+	/**
+	 * Applies the binary operation to two instances of the same value. Sub-classes may override this method if a
+	 * dedicated squaring (or doubling) is faster.
+	 * <p>
+	 * @param value The given value
+	 * @return The result of applying the operation
+	 */
+	protected T square(T value) {
+		return this.apply(value, value);
+	}
+
+	/**
+	 * Replaces the precomputed values by equivalent values, for which the binary operation is faster. This method is
+	 * called once after building the table. Sub-classes may override it, for example to convert points of an elliptic
+	 * curve from projective into affine coordinates, which permits mixed point additions. By default, the values are
+	 * returned unchanged.
+	 * <p>
+	 * @param values The precomputed values
+	 * @return The equivalent values, in the same order
+	 */
+	protected List<T> normalize(List<T> values) {
+		return values;
+	}
+
+	// the table is built lazily, such that creating an engine is cheap
+	private Object[][] getTable() {
+		Object[][] result = this.table;
+		if (result == null) {
+			synchronized (this) {
+				result = this.table;
+				if (result == null) {
+					result = this.computeTable();
+					this.table = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	// table[j][i] is the product of base^(2^(k*a+j*b)) for all bits k set in i
+	private Object[][] computeTable() {
+		Object[][] powers = new Object[this.rows][this.columns];
+		T power = this.base;
+		int exponent = 0;
+		for (int k = 0; k < this.rows; k++) {
+			for (int j = 0; j < this.columns; j++) {
+				int targetExponent = k * this.rowLength + j * this.columnLength;
+				while (exponent < targetExponent) {
+					power = this.square(power);
+					exponent++;
+				}
+				powers[k][j] = power;
+			}
+		}
+		Object[][] result = new Object[this.columns][1 << this.rows];
+		List<T> values = new ArrayList<T>();
+		for (int j = 0; j < this.columns; j++) {
+			for (int i = 1; i < (1 << this.rows); i++) {
+				int k = Integer.numberOfTrailingZeros(i);
+				int rest = i & (i - 1);
+				result[j][i] = (rest == 0) ? powers[k][j] : this.apply((T) result[j][rest], (T) powers[k][j]);
+				values.add((T) result[j][i]);
+			}
+		}
+		values = this.normalize(values);
+		int index = 0;
+		for (int j = 0; j < this.columns; j++) {
+			for (int i = 1; i < (1 << this.rows); i++) {
+				result[j][i] = values.get(index++);
+			}
+		}
+		return result;
+	}
+
+}
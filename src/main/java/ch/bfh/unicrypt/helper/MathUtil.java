@@ -153,13 +153,29 @@ public final class MathUtil {
 		return value1.gcd(value2).equals(BigInteger.ONE);
 	}
 
+	/**
+	 * Tests if some given BigInteger values are pairwise relatively prime. Instead of testing all pairs, each value is
+	 * tested against the product of the preceding values, which requires a linear number of gcd computations. Since the
+	 * product grows up to the total bit length of all values, the total bit cost remains quadratic in this length, as
+	 * for the pairwise tests, but the overhead of the quadratic number of gcd calls is avoided. Repeated values other
+	 * than {@literal 1} and {@literal -1} are detected beforehand by hashing.
+	 * <p>
+	 * @param values The given values
+	 * @return {@literal true} if the values are pairwise relatively prime, {@literal false} otherwise
+	 */
 	public static boolean areRelativelyPrime(BigInteger... values) {
-		for (int i = 0; i < values.length; i++) {
-			for (int j = i + 1; j < values.length; j++) {
-				if (!MathUtil.areRelativelyPrime(values[i], values[j])) {
-					return false;
-				}
+		HashSet<BigInteger> distinctValues = new HashSet<BigInteger>();
+		for (BigInteger value : values) {
+			if (!value.abs().equals(BigInteger.ONE) && !distinctValues.add(value)) {
+				return false;
+			}
+		}
+		BigInteger product = BigInteger.ONE;
+		for (BigInteger value : values) {
+			if (!MathUtil.areRelativelyPrime(product, value)) {
+				return false;
 			}
+			product = product.multiply(value);
 		}
 		return true;
 	}
@@ -471,59 +487,21 @@ public final class MathUtil {
 		return a.subtract(BigInteger.ONE);
 	}
 
-	//Tonelli_Shanks algorithm -> wikipedia
+	/**
+	 * Computes a square root of {@literal rSquare} modulo a prime {@literal p}. For repeated computations with the same
+	 * prime, {@link ModularSquareRoot} avoids repeating the precomputations.
+	 * <p>
+	 * @param rSquare The given square
+	 * @param p       The given prime
+	 * @return A square root of {@literal rSquare} modulo {@literal p}
+	 * @throws UnknownError if {@literal rSquare} has no square root
+	 */
 	public static BigInteger sqrtModPrime(BigInteger rSquare, BigInteger p) {
-		BigInteger two = new BigInteger("2");
-		BigInteger z = two;
-
-		//z which must be a quadratic non-residue mod p.
-		while (hasSqrtModPrime(z, p)) {
-			z = z.add(BigInteger.ONE);
-		}
-
-		if (!hasSqrtModPrime(rSquare, p)) {
+		BigInteger result = ModularSquareRoot.getInstance(p).sqrt(rSquare);
+		if (result == null) {
 			throw new UnknownError("r has no square root");
-		} else {
-			if (p.mod(new BigInteger("4")).equals(new BigInteger("3"))) {
-				return rSquare.modPow(p.add(BigInteger.ONE).divide(new BigInteger("4")), p);
-			} else {
-				BigInteger pMin1 = p.subtract(BigInteger.ONE);	//p-1
-				BigInteger s = BigInteger.ONE;
-				BigInteger q = pMin1.divide(two);
-
-				//Finding Q
-				while (q.mod(two).equals(BigInteger.ZERO)) {
-					q = q.divide(two);
-					s = s.add(BigInteger.ONE);
-				}
-
-				BigInteger c = z.modPow(q, p);
-				BigInteger r = rSquare.modPow(q.add(BigInteger.ONE).divide(two), p);
-				BigInteger t = rSquare.modPow(q, p);
-				BigInteger m = s;
-
-				//Loop until t==1
-				while (!t.equals(BigInteger.ONE)) {
-					BigInteger i = BigInteger.ZERO;
-					while (!BigInteger.ONE.equals(t.modPow(two.modPow(i, p), p))) {
-						i = i.add(BigInteger.ONE);
-					}
-
-					BigInteger b = c.modPow(two.modPow(m.subtract(i).subtract(BigInteger.ONE), p), p);
-					r = r.multiply(b).mod(p);
-					t = t.multiply(b.pow(2)).mod(p);
-					c = b.modPow(two, p);
-					m = i;
-				}
-
-				if (r.modPow(two, p).equals(rSquare.mod(p))) {
-					return r;
-				} else {
-					throw new IllegalArgumentException("Tonnelli fails...");
-				}
-
-			}
 		}
+		return result;
 	}
 
 	//Check if r has a square root mod p
@@ -532,6 +510,66 @@ public final class MathUtil {
 		return r.modPow(p.subtract(BigInteger.ONE).divide(two), p).equals(BigInteger.ONE);
 	}
 
+	/**
+	 * Computes the Jacobi symbol (a/n) of an integer {@literal a} and an odd positive integer {@literal n}. The result is
+	 * {@literal 0} if {@literal a} and {@literal n} are not relatively prime, and {@literal 1} or {@literal -1}
+	 * otherwise. If {@literal n} is prime, the Jacobi symbol is equal to the Legendre symbol, i.e., it is {@literal 1}
+	 * if and only if {@literal a} is a non-zero quadratic residue modulo {@literal n}. The algorithm is based on the law
+	 * of quadratic reciprocity and requires no modular exponentiation.
+	 * <p>
+	 * @param a The given integer
+	 * @param n The given odd positive integer
+	 * @return The Jacobi symbol (a/n)
+	 * @throws IllegalArgumentException if {@literal n} is not an odd positive integer
+	 * @see "Handbook of Applied Cryptography, Algorithm 2.149"
+	 */
+	public static int jacobiSymbol(BigInteger a, BigInteger n) {
+		if (a == null || n == null || n.signum() <= 0 || !n.testBit(0)) {
+			throw new IllegalArgumentException();
+		}
+		int result = 1;
+		a = a.mod(n);
+		while (n.bitLength() >= Long.SIZE - 1) {
+			if (a.signum() == 0) {
+				return n.equals(BigInteger.ONE) ? result : 0;
+			}
+			int shift = a.getLowestSetBit();
+			a = a.shiftRight(shift);
+			int n8 = n.intValue() & 7;
+			if ((shift & 1) == 1 && (n8 == 3 || n8 == 5)) {
+				result = -result;
+			}
+			if ((a.intValue() & 3) == 3 && (n8 & 3) == 3) {
+				result = -result;
+			}
+			BigInteger r = n.mod(a);
+			n = a;
+			a = r;
+		}
+		// continue with primitive values as soon as they are small enough
+		return result * MathUtil.jacobiSymbol(a.longValue(), n.longValue());
+	}
+
+	// same algorithm for 0 <= a < n, n odd
+	private static int jacobiSymbol(long a, long n) {
+		int result = 1;
+		while (a != 0) {
+			int shift = Long.numberOfTrailingZeros(a);
+			a = a >>> shift;
+			int n8 = (int) (n & 7);
+			if ((shift & 1) == 1 && (n8 == 3 || n8 == 5)) {
+				result = -result;
+			}
+			if ((a & 3) == 3 && (n8 & 3) == 3) {
+				result = -result;
+			}
+			long r = n % a;
+			n = a;
+			a = r;
+		}
+		return (n == 1) ? result : 0;
+	}
+
 	public static byte setBit(byte b, int i) {
 		return (byte) logicalOR(b, bitMask(i));
 	}
@@ -0,0 +1,168 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+
+/**
+ * This class provides modular multiplications for a fixed modulus without divisions. After multiplying two values, the
+ * product is reduced using Barrett's method, which replaces the division by two multiplications with a precomputed
+ * constant {@code mu=floor(4^k/n)}, where {@code k} is the bit length of the modulus {@code n}. Since multiplications
+ * of {@link BigInteger} values are much faster than divisions, this is about two to three times faster than
+ * {@code multiply(...).mod(n)} for moduli of 256 bits or more. For smaller moduli, the overhead of the additional
+ * multiplications dominates. All values passed to the methods of this class must be in the range {@code [0,n)}.
+ * <p>
+ * @see "Handbook of Applied Cryptography, Algorithm 14.42"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class ModularArithmetic {
+
+	/**
+	 * The smallest bit length of a modulus, for which this class is faster than BigInteger.mod
+	 */
+	public static final int MIN_BIT_LENGTH = 256;
+
+	/**
+	 * The smallest number of values, for which {@link #multiPower(BigInteger[], BigInteger[])} is faster than computing
+	 * the powers independently using {@link BigInteger#modPow(BigInteger, BigInteger)}
+	 */
+	public static final int MULTI_POWER_THRESHOLD = 8;
+
+	/**
+	 * The smallest number of values, for which the simultaneous computation of the powers using
+	 * {@link BigInteger#mod(BigInteger)} is faster than computing them independently, for moduli below
+	 * {@link #MIN_BIT_LENGTH}
+	 */
+	public static final int SLOW_MULTI_POWER_THRESHOLD = 1024;
+
+	private final BigInteger modulus;
+	private final int modulusLength;
+	private final BigInteger mu;
+
+	private ModularArithmetic(final BigInteger modulus) {
+		this.modulus = modulus;
+		this.modulusLength = modulus.bitLength();
+		this.mu = BigInteger.ONE.shiftLeft(2 * this.modulusLength).divide(modulus);
+	}
+
+	public final BigInteger getModulus() {
+		return this.modulus;
+	}
+
+	/**
+	 * Computes the product of two values modulo {@code n}.
+	 * <p>
+	 * @param value1 The first value
+	 * @param value2 The second value
+	 * @return The product modulo {@code n}
+	 */
+	public final BigInteger multiply(final BigInteger value1, final BigInteger value2) {
+		return this.reduce(value1.multiply(value2));
+	}
+
+	/**
+	 * Computes the square of a value modulo {@code n}.
+	 * <p>
+	 * @param value The given value
+	 * @return The square modulo {@code n}
+	 */
+	public final BigInteger square(final BigInteger value) {
+		return this.reduce(value.multiply(value));
+	}
+
+	/**
+	 * Computes the product of powers of the given values modulo {@code n} using {@link MultiExponentiation}. All
+	 * intermediate results are kept as {@link BigInteger} values.
+	 * <p>
+	 * @param values     The given values
+	 * @param posAmounts The corresponding positive amounts
+	 * @return The product of powers modulo {@code n}
+	 */
+	public final BigInteger multiPower(final BigInteger[] values, final BigInteger[] posAmounts) {
+		MultiExponentiation<BigInteger> multiExponentiation = new MultiExponentiation<BigInteger>() {
+
+			@Override
+			protected BigInteger apply(BigInteger value1, BigInteger value2) {
+				return multiply(value1, value2);
+			}
+
+			@Override
+			protected BigInteger square(BigInteger value) {
+				return ModularArithmetic.this.square(value);
+			}
+
+		};
+		return multiExponentiation.compute(values, posAmounts);
+	}
+
+	/**
+	 * Reduces a value in the range {@code [0,n^2)} modulo {@code n}.
+	 * <p>
+	 * @param value The given value
+	 * @return The reduced value
+	 */
+	public final BigInteger reduce(final BigInteger value) {
+		BigInteger quotient = value.shiftRight(this.modulusLength - 1).multiply(this.mu).shiftRight(this.modulusLength + 1);
+		BigInteger result = value.subtract(quotient.multiply(this.modulus));
+		while (result.compareTo(this.modulus) >= 0) {
+			result = result.subtract(this.modulus);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a new instance of this class for a given modulus {@literal n > 1}.
+	 * <p>
+	 * @param modulus The modulus
+	 * @return The new instance
+	 * @throws IllegalArgumentException if {@literal modulus} is null or smaller than 2
+	 */
+	public static ModularArithmetic getInstance(final BigInteger modulus) {
+		if (modulus == null || modulus.compareTo(BigInteger.ONE) <= 0) {
+			throw new IllegalArgumentException();
+		}
+		return new ModularArithmetic(modulus);
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+
+/**
+ * This class implements the fixed-base comb method of {@link FixedBaseExponentiation} for modular exponentiations of
+ * {@link BigInteger} values. The modular multiplications are computed by {@link ModularArithmetic}.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class ModularFixedBaseExponentiation
+	   extends FixedBaseExponentiation<BigInteger> {
+
+	private final ModularArithmetic modularArithmetic;
+
+	/**
+	 * Creates a new engine for computing powers of {@literal base} modulo {@literal modulus} using the default table
+	 * size.
+	 * <p>
+	 * @param base      The fixed base value
+	 * @param modulus   The modulus
+	 * @param bitLength The maximal bit length of the exponents
+	 */
+	public ModularFixedBaseExponentiation(final BigInteger base, final BigInteger modulus, final int bitLength) {
+		this(base, modulus, bitLength, DEFAULT_TABLE_SIZE);
+	}
+
+	/**
+	 * Creates a new engine for computing powers of {@literal base} modulo {@literal modulus}.
+	 * <p>
+	 * @param base      The fixed base value
+	 * @param modulus   The modulus
+	 * @param bitLength The maximal bit length of the exponents
+	 * @param tableSize The maximal number of precomputed values
+	 */
+	public ModularFixedBaseExponentiation(final BigInteger base, final BigInteger modulus, final int bitLength, final int tableSize) {
+		super(base, bitLength, tableSize);
+		if (modulus == null || modulus.compareTo(BigInteger.ONE) <= 0 || base.signum() < 0 || base.compareTo(modulus) >= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.modularArithmetic = ModularArithmetic.getInstance(modulus);
+	}
+
+	public final BigInteger getModulus() {
+		return this.modularArithmetic.getModulus();
+	}
+
+	@Override
+	protected BigInteger apply(BigInteger value1, BigInteger value2) {
+		return this.modularArithmetic.multiply(value1, value2);
+	}
+
+	@Override
+	protected BigInteger square(BigInteger value) {
+		return this.modularArithmetic.square(value);
+	}
+
+}
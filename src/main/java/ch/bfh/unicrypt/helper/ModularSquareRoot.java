@@ -0,0 +1,197 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+
+/**
+ * This class computes square roots modulo a fixed prime {@code p}. Everything that depends only on {@code p} is
+ * precomputed when the instance is created: the decomposition {@code p-1=q*2^s} with {@code q} odd, the exponent
+ * used by the selected algorithm, and a quadratic non-residue for the algorithm of Tonelli and Shanks. Depending on
+ * {@code s}, the square root is computed with a single modular exponentiation for {@code p=3 (mod 4)}, with Atkin's
+ * method for {@code p=5 (mod 8)}, and with the algorithm of Tonelli and Shanks otherwise. Since each candidate root
+ * is verified by squaring it, no additional exponentiation is needed to check whether a value is a quadratic residue.
+ * <p>
+ * @see "Handbook of Applied Cryptography, Algorithms 3.34 and 3.36"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class ModularSquareRoot {
+
+	private static final BigInteger TWO = BigInteger.valueOf(2);
+
+	private final BigInteger prime;
+	private final int s;
+	private final BigInteger q;
+	// (p+1)/4 for s=1, (p-5)/8 for s=2, and (q-1)/2 for s>2
+	private final BigInteger exponent;
+	// z^q for a quadratic non-residue z, only used for s>2
+	private final BigInteger nonResiduePower;
+
+	private ModularSquareRoot(final BigInteger prime) {
+		this.prime = prime;
+		BigInteger primeMinusOne = prime.subtract(BigInteger.ONE);
+		this.s = primeMinusOne.getLowestSetBit();
+		this.q = primeMinusOne.shiftRight(this.s);
+		switch (this.s) {
+			case 0:
+				// p=2
+				this.exponent = BigInteger.ONE;
+				this.nonResiduePower = null;
+				break;
+			case 1:
+				this.exponent = prime.add(BigInteger.ONE).shiftRight(2);
+				this.nonResiduePower = null;
+				break;
+			case 2:
+				this.exponent = prime.shiftRight(3);
+				this.nonResiduePower = null;
+				break;
+			default:
+				this.exponent = this.q.shiftRight(1);
+				BigInteger z = TWO;
+				while (MathUtil.jacobiSymbol(z, prime) != -1) {
+					z = z.add(BigInteger.ONE);
+				}
+				this.nonResiduePower = z.modPow(this.q, prime);
+		}
+	}
+
+	public final BigInteger getPrime() {
+		return this.prime;
+	}
+
+	/**
+	 * Checks if the given value is a square modulo {@code p}. Zero is considered a square. The test computes the
+	 * Legendre symbol, which requires no modular exponentiation.
+	 * <p>
+	 * @param value The given value
+	 * @return {@literal true} if {@code value} is a square, {@literal false} otherwise
+	 */
+	public final boolean isSquare(final BigInteger value) {
+		if (this.s == 0) {
+			return true;
+		}
+		return MathUtil.jacobiSymbol(value, this.prime) >= 0;
+	}
+
+	/**
+	 * Computes a square root of the given value modulo {@code p}, if one exists. The square roots of a non-zero square
+	 * {@code a} are {@code r} and {@code p-r}, but it is not specified which of them is returned.
+	 * <p>
+	 * @param value The given value
+	 * @return A square root of {@code value} in {@code [0,p)}, or {@literal null} if {@code value} is not a square
+	 */
+	public final BigInteger sqrt(final BigInteger value) {
+		BigInteger a = value.mod(this.prime);
+		if (a.signum() == 0 || this.s == 0) {
+			return a;
+		}
+		BigInteger root;
+		switch (this.s) {
+			case 1:
+				root = a.modPow(this.exponent, this.prime);
+				break;
+			case 2:
+				// Atkin: v=(2a)^((p-5)/8), i=2av^2, r=av(i-1)
+				BigInteger twoA = a.shiftLeft(1).mod(this.prime);
+				BigInteger v = twoA.modPow(this.exponent, this.prime);
+				BigInteger i = twoA.multiply(v).multiply(v).mod(this.prime);
+				root = a.multiply(v).mod(this.prime).multiply(i.subtract(BigInteger.ONE)).mod(this.prime);
+				break;
+			default:
+				root = this.tonelliShanks(a);
+		}
+		if (root == null || !root.multiply(root).mod(this.prime).equals(a)) {
+			return null;
+		}
+		return root;
+	}
+
+	// returns null if a is not a square
+	private BigInteger tonelliShanks(final BigInteger a) {
+		BigInteger p = this.prime;
+		// r=a^((q+1)/2) and t=a^q
+		BigInteger w = a.modPow(this.exponent, p);
+		BigInteger r = a.multiply(w).mod(p);
+		BigInteger t = r.multiply(w).mod(p);
+		BigInteger c = this.nonResiduePower;
+		int m = this.s;
+		while (!t.equals(BigInteger.ONE)) {
+			// find the smallest i with t^(2^i)=1
+			int i = 0;
+			BigInteger power = t;
+			while (!power.equals(BigInteger.ONE)) {
+				power = power.multiply(power).mod(p);
+				i++;
+				if (i == m) {
+					return null;
+				}
+			}
+			BigInteger b = c;
+			for (int j = 0; j < m - i - 1; j++) {
+				b = b.multiply(b).mod(p);
+			}
+			r = r.multiply(b).mod(p);
+			c = b.multiply(b).mod(p);
+			t = t.multiply(c).mod(p);
+			m = i;
+		}
+		return r;
+	}
+
+	/**
+	 * Creates a new instance for the given prime. The primality of the given value is not tested.
+	 * <p>
+	 * @param prime The given prime
+	 * @return The new instance
+	 * @throws IllegalArgumentException if {@code prime} is null or smaller than 2
+	 */
+	public static ModularSquareRoot getInstance(final BigInteger prime) {
+		if (prime == null || prime.compareTo(TWO) < 0) {
+			throw new IllegalArgumentException();
+		}
+		return new ModularSquareRoot(prime);
+	}
+
+}
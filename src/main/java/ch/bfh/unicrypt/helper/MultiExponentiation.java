@@ -0,0 +1,280 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * This abstract class provides a generic engine for computing products of powers (or weighted sums) of multiple values
+ * in an arbitrary semigroup. Only the binary operation needs to be implemented in sub-classes. Depending on the
+ * estimated number of operations, the engine uses either Straus' method with interleaved sliding windows (small number
+ * of values) or Pippenger's bucket method (large number of values). Internally, {@code null} represents the identity
+ * element, which therefore needs not to exist.
+ * <p>
+ * @param <T> Generic type of the values
+ * @see "Handbook of Applied Cryptography, Algorithm 14.88"
+ * @see "D. J. Bernstein, Pippenger's Exponentiation Algorithm, 2002"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public abstract class MultiExponentiation<T> {
+
+	/**
+	 * Computes the product of powers of the given values. All amounts must be positive.
+	 * <p>
+	 * @param values     The given values
+	 * @param posAmounts The corresponding positive amounts
+	 * @return The resulting value
+	 * @throws IllegalArgumentException if {@literal values} and {@literal posAmounts} are empty or have different
+	 *                                  lengths
+	 */
+	public final T compute(final T[] values, final BigInteger[] posAmounts) {
+		int bitLength = MultiExponentiation.getBitLength(values, posAmounts);
+		if (MultiExponentiation.isPippengerFaster(values.length, bitLength)) {
+			return this.computePippenger(values, posAmounts, bitLength, MultiExponentiation.getPippengerBucketSize(values.length, bitLength));
+		}
+		return this.computeStraus(values, posAmounts, bitLength, MultiExponentiation.getStrausWindowSize(bitLength));
+	}
+
+	// same as compute, but always uses Straus' method (for testing)
+	final T computeStraus(final T[] values, final BigInteger[] posAmounts) {
+		int bitLength = MultiExponentiation.getBitLength(values, posAmounts);
+		return this.computeStraus(values, posAmounts, bitLength, MultiExponentiation.getStrausWindowSize(bitLength));
+	}
+
+	// same as compute, but always uses Pippenger's method (for testing)
+	final T computePippenger(final T[] values, final BigInteger[] posAmounts) {
+		int bitLength = MultiExponentiation.getBitLength(values, posAmounts);
+		return this.computePippenger(values, posAmounts, bitLength, MultiExponentiation.getPippengerBucketSize(values.length, bitLength));
+	}
+
+	// compares the estimated numbers of operations of both methods
+	static boolean isPippengerFaster(int n, int bitLength) {
+		int windowSize = MultiExponentiation.getStrausWindowSize(bitLength);
+		long strausCost = (long) n * ((1 << (windowSize - 1)) + bitLength / (windowSize + 1));
+		int bucketSize = MultiExponentiation.getPippengerBucketSize(n, bitLength);
+		return strausCost > MultiExponentiation.getPippengerCost(n, bitLength, bucketSize);
+	}
+
+	/**
+	 * Applies the binary operation to two values.
+	 * <p>
+	 * @param value1 The first value
+	 * @param value2 The second value
+	 * @return The result of applying the operation
+	 */
+	protected abstract T apply(T value1, T value2);
+
+	/**
+	 * Applies the binary operation to two instances of the same value. Sub-classes may override this method if a
+	 * dedicated squaring (or doubling) is faster.
+	 * <p>
+	 * @param value The given value
+	 * @return The result of applying the operation
+	 */
+	protected T square(T value) {
+		return this.apply(value, value);
+	}
+
+	// interleaved sliding windows: one sequence of squarings is shared by all values, and each value contributes
+	// one multiplication with a precomputed odd power per window
+	private T computeStraus(final T[] values, final BigInteger[] posAmounts, int bitLength, int windowSize) {
+		int n = values.length;
+		int tableSize = 1 << (windowSize - 1);
+		Object[][] tables = new Object[n][];
+		int[][] digits = new int[n][];
+		for (int i = 0; i < n; i++) {
+			digits[i] = MultiExponentiation.getSlidingWindowDigits(posAmounts[i], bitLength, windowSize);
+			int maxDigit = 0;
+			for (int digit : digits[i]) {
+				maxDigit = Math.max(maxDigit, digit);
+			}
+			int size = Math.min(tableSize, (maxDigit + 1) / 2);
+			tables[i] = new Object[size];
+			tables[i][0] = values[i];
+			if (size > 1) {
+				T square = this.square(values[i]);
+				for (int j = 1; j < size; j++) {
+					tables[i][j] = this.apply((T) tables[i][j - 1], square);
+				}
+			}
+		}
+		T result = null;
+		for (int k = bitLength - 1; k >= 0; k--) {
+			if (result != null) {
+				result = this.square(result);
+			}
+			for (int i = 0; i < n; i++) {
+				int digit = digits[i][k];
+				if (digit != 0) {
+					result = this.applyOrSkip(result, (T) tables[i][digit >>> 1]);
+				}
+			}
+		}
+		return result;
+	}
+
+	// bucket method: for each window of bucketSize bits, the values are sorted into buckets according to their
+	// digits, and the buckets are combined using a running product
+	private T computePippenger(final T[] values, final BigInteger[] posAmounts, int bitLength, int bucketSize) {
+		int n = values.length;
+		int windows = (bitLength + bucketSize - 1) / bucketSize;
+		Object[] buckets = new Object[1 << bucketSize];
+		T result = null;
+		for (int w = windows - 1; w >= 0; w--) {
+			if (result != null) {
+				for (int j = 0; j < bucketSize; j++) {
+					result = this.square(result);
+				}
+			}
+			Arrays.fill(buckets, null);
+			int offset = w * bucketSize;
+			for (int i = 0; i < n; i++) {
+				int digit = MultiExponentiation.getBits(posAmounts[i], offset, bucketSize);
+				if (digit != 0) {
+					buckets[digit] = this.applyOrSkip((T) buckets[digit], values[i]);
+				}
+			}
+			T runningProduct = null;
+			T windowProduct = null;
+			for (int digit = buckets.length - 1; digit > 0; digit--) {
+				runningProduct = this.applyOrSkip(runningProduct, (T) buckets[digit]);
+				windowProduct = this.applyOrSkip(windowProduct, runningProduct);
+			}
+			result = this.applyOrSkip(result, windowProduct);
+		}
+		return result;
+	}
+
+	// null stands for the identity element
+	private T applyOrSkip(T value1, T value2) {
+		if (value1 == null) {
+			return value2;
+		}
+		if (value2 == null) {
+			return value1;
+		}
+		return this.apply(value1, value2);
+	}
+
+	// checks the arguments and returns the maximal bit length of the amounts
+	private static int getBitLength(final Object[] values, final BigInteger[] posAmounts) {
+		if (values == null || posAmounts == null || values.length == 0 || values.length != posAmounts.length) {
+			throw new IllegalArgumentException();
+		}
+		int bitLength = 0;
+		for (BigInteger amount : posAmounts) {
+			if (amount == null || amount.signum() <= 0) {
+				throw new IllegalArgumentException();
+			}
+			bitLength = Math.max(bitLength, amount.bitLength());
+		}
+		return bitLength;
+	}
+
+	private static int getStrausWindowSize(int bitLength) {
+		if (bitLength <= 8) {
+			return 1;
+		}
+		if (bitLength <= 24) {
+			return 2;
+		}
+		if (bitLength <= 80) {
+			return 3;
+		}
+		if (bitLength <= 240) {
+			return 4;
+		}
+		if (bitLength <= 672) {
+			return 5;
+		}
+		return 6;
+	}
+
+	private static int getPippengerBucketSize(int n, int bitLength) {
+		int bestSize = 1;
+		long bestCost = MultiExponentiation.getPippengerCost(n, bitLength, 1);
+		for (int size = 2; size <= 16; size++) {
+			long cost = MultiExponentiation.getPippengerCost(n, bitLength, size);
+			if (cost < bestCost) {
+				bestSize = size;
+				bestCost = cost;
+			}
+		}
+		return bestSize;
+	}
+
+	private static long getPippengerCost(int n, int bitLength, int bucketSize) {
+		long windows = (bitLength + bucketSize - 1) / bucketSize;
+		return windows * (n + (2L << bucketSize));
+	}
+
+	// digits[k] is the odd value of the window ending at bit k, or 0 if no window ends at bit k
+	private static int[] getSlidingWindowDigits(BigInteger amount, int bitLength, int windowSize) {
+		int[] digits = new int[bitLength];
+		int i = amount.bitLength() - 1;
+		while (i >= 0) {
+			if (!amount.testBit(i)) {
+				i--;
+			} else {
+				int j = Math.max(i - windowSize + 1, 0);
+				while (!amount.testBit(j)) {
+					j++;
+				}
+				digits[j] = MultiExponentiation.getBits(amount, j, i - j + 1);
+				i = j - 1;
+			}
+		}
+		return digits;
+	}
+
+	private static int getBits(BigInteger amount, int offset, int length) {
+		int result = 0;
+		for (int k = length - 1; k >= 0; k--) {
+			result = (result << 1) | (amount.testBit(offset + k) ? 1 : 0);
+		}
+		return result;
+	}
+
+}
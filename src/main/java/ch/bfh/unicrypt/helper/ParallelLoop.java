@@ -0,0 +1,183 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * This abstract class provides a simple engine for executing a loop over the indices {@code 0,...,size-1} in
+ * parallel. The index range is split into consecutive chunks of equal length (except the last one), which are then
+ * processed concurrently by a given executor service. The chunks are numbered from {@code 0} to
+ * {@code getChunks(size, chunkLength)-1}, and each chunk knows its number. Therefore, the results of the chunks can
+ * be stored in an array without re-deriving the chunk layout. If no executor service is given, the chunks are
+ * processed one after another by the calling thread. Only the body of the loop needs to be implemented in
+ * sub-classes.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public abstract class ParallelLoop {
+
+	/**
+	 * The number of chunks per available processor, which is used if no chunk length is given. A few chunks per
+	 * processor balance the load without too much overhead.
+	 */
+	public static final int CHUNKS_PER_PROCESSOR = 4;
+
+	/**
+	 * Executes the loop for a given number of indices. If an executor service is given, the chunk length is
+	 * obtained from {@link #getChunkLength(int)}, otherwise the whole range is processed as a single chunk. This
+	 * method should therefore only be used if the result does not depend on the chunk layout.
+	 * <p>
+	 * @param size            The number of indices
+	 * @param executorService The given executor service (may be {@code null})
+	 * @throws IllegalArgumentException if {@literal size} is negative
+	 */
+	public final void run(final int size, final ExecutorService executorService) {
+		if (size < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.run(size, executorService == null ? Math.max(1, size) : ParallelLoop.getChunkLength(size), executorService);
+	}
+
+	/**
+	 * Executes the loop for a given number of indices, which are split into chunks of a given length. The method
+	 * returns after all chunks have been processed. Runtime exceptions thrown in a chunk are passed on to the caller.
+	 * <p>
+	 * @param size            The number of indices
+	 * @param chunkLength     The length of the chunks
+	 * @param executorService The given executor service (may be {@code null})
+	 * @throws IllegalArgumentException if {@literal size} is negative or if {@literal chunkLength} is not positive
+	 */
+	public final void run(final int size, final int chunkLength, final ExecutorService executorService) {
+		if (size < 0 || chunkLength < 1) {
+			throw new IllegalArgumentException();
+		}
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (int chunk = 0; chunk < ParallelLoop.getChunks(size, chunkLength); chunk++) {
+			final int currentChunk = chunk;
+			final int fromIndex = chunk * chunkLength;
+			final int toIndex = Math.min(fromIndex + chunkLength, size);
+			if (executorService == null) {
+				this.execute(currentChunk, fromIndex, toIndex);
+			} else {
+				tasks.add(new Callable<Void>() {
+
+					@Override
+					public Void call() {
+						ParallelLoop.this.execute(currentChunk, fromIndex, toIndex);
+						return null;
+					}
+
+				});
+			}
+		}
+		if (executorService != null) {
+			ParallelLoop.invokeAll(executorService, tasks);
+		}
+	}
+
+	/**
+	 * Executes the body of the loop for the indices {@code fromIndex,...,toIndex-1} of a given chunk. This method may
+	 * be called concurrently for different chunks.
+	 * <p>
+	 * @param chunk     The number of the chunk
+	 * @param fromIndex The first index (inclusive)
+	 * @param toIndex   The last index (exclusive)
+	 */
+	protected abstract void execute(int chunk, int fromIndex, int toIndex);
+
+	/**
+	 * Returns a chunk length, which splits an index range of a given size into a few chunks per available processor.
+	 * Note that the result depends on the machine.
+	 * <p>
+	 * @param size The number of indices
+	 * @return The length of the chunks
+	 */
+	public static int getChunkLength(final int size) {
+		int chunks = CHUNKS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors();
+		return Math.max(1, (size + chunks - 1) / chunks);
+	}
+
+	/**
+	 * Returns the number of chunks, into which an index range of a given size is split by a given chunk length.
+	 * <p>
+	 * @param size        The number of indices
+	 * @param chunkLength The length of the chunks
+	 * @return The number of chunks
+	 */
+	public static int getChunks(final int size, final int chunkLength) {
+		if (size < 0 || chunkLength < 1) {
+			throw new IllegalArgumentException();
+		}
+		return (size + chunkLength - 1) / chunkLength;
+	}
+
+	/**
+	 * Executes all given tasks by the given executor service and waits for their termination. Runtime exceptions
+	 * thrown by a task are passed on to the caller, other exceptions are wrapped into a runtime exception.
+	 * <p>
+	 * @param executorService The given executor service
+	 * @param tasks           The given tasks
+	 */
+	public static void invokeAll(final ExecutorService executorService, final List<Callable<Void>> tasks) {
+		try {
+			for (Future<Void> future : executorService.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is a process-wide cache of verified primes and safe primes. The factory methods for primes, safe primes, and
+ * the groups and fields based on them check the primality of the same parameters over and over again. With this
+ * cache, each such check runs the Miller-Rabin tests of {@link MathUtil#isPrime(BigInteger)} only once. Subsequent
+ * checks of the same value cost a hash lookup. Only positive results are cached, i.e., values that are not prime are
+ * tested again on every call. The number of cached values is bounded by {@link #MAX_SIZE}; the least recently used
+ * values are evicted first. Trusted parameters can be preloaded from a parameter file using
+ * {@link #load(InputStream)}. All methods of this class are thread-safe.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public final class PrimeCache {
+
+	/**
+	 * The maximal number of primes and safe primes kept in the cache.
+	 */
+	public static final int MAX_SIZE = 1024;
+
+	private static final BigInteger TWO = BigInteger.valueOf(2);
+
+	// maps verified primes to TRUE, if they are also verified safe primes, and to FALSE otherwise
+	private static final Map<BigInteger, Boolean> primes = new LinkedHashMap<BigInteger, Boolean>(16, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<BigInteger, Boolean> eldest) {
+			return this.size() > MAX_SIZE;
+		}
+
+	};
+
+	private PrimeCache() {
+	}
+
+	/**
+	 * Tests if a given BigInteger value is a positive prime number. The result is the same as in
+	 * {@link MathUtil#isPrime(BigInteger)}, but positive results are cached.
+	 * <p>
+	 * @param value A potential prime number
+	 * @return {@literal true} if {@literal value} is prime, {@literal false} otherwise
+	 */
+	public static boolean isPrime(final BigInteger value) {
+		if (value == null) {
+			return false;
+		}
+		synchronized (primes) {
+			// get() also updates the access order of the cached value
+			if (primes.get(value) != null) {
+				return true;
+			}
+		}
+		// the primality test is executed outside the lock
+		if (!MathUtil.isPrime(value)) {
+			return false;
+		}
+		synchronized (primes) {
+			if (!primes.containsKey(value)) {
+				primes.put(value, Boolean.FALSE);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Tests if a given BigInteger value is a safe prime. The result is the same as in
+	 * {@link MathUtil#isSavePrime(BigInteger)}, but positive results are cached.
+	 * <p>
+	 * @param value A potential safe prime
+	 * @return {@literal true} if {@literal value} is a safe prime, {@literal false} otherwise
+	 */
+	public static boolean isSafePrime(final BigInteger value) {
+		if (value == null) {
+			return false;
+		}
+		synchronized (primes) {
+			if (Boolean.TRUE.equals(primes.get(value))) {
+				return true;
+			}
+		}
+		if (!PrimeCache.isPrime(value) || !PrimeCache.isPrime(value.subtract(BigInteger.ONE).divide(TWO))) {
+			return false;
+		}
+		synchronized (primes) {
+			primes.put(value, Boolean.TRUE);
+		}
+		return true;
+	}
+
+	/**
+	 * Loads primes and safe primes from a parameter file. The file contains one decimal value per line; empty lines
+	 * and lines starting with {@literal #} are ignored. Each value is verified before it is added to the cache, i.e.,
+	 * a corrupted parameter file cannot introduce composite values. Loading a parameter file at start-up moves the
+	 * cost of the primality tests to a predictable point in time.
+	 * <p>
+	 * @param inputStream The input stream of the parameter file
+	 * @return The number of loaded values
+	 * @throws IOException              if reading from {@literal inputStream} fails
+	 * @throws IllegalArgumentException if {@literal inputStream} is null or if a value is malformed or not prime
+	 */
+	public static int load(final InputStream inputStream) throws IOException {
+		if (inputStream == null) {
+			throw new IllegalArgumentException();
+		}
+		BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
+		int counter = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			line = line.trim();
+			if (line.length() == 0 || line.startsWith("#")) {
+				continue;
+			}
+			BigInteger value;
+			try {
+				value = new BigInteger(line);
+			} catch (NumberFormatException exception) {
+				throw new IllegalArgumentException(exception);
+			}
+			// safe primes are registered as such
+			if (!PrimeCache.isPrime(value)) {
+				throw new IllegalArgumentException();
+			}
+			PrimeCache.isSafePrime(value);
+			counter++;
+		}
+		return counter;
+	}
+
+	/**
+	 * Tests if a given value is currently in the cache.
+	 * <p>
+	 * @param value The given value
+	 * @return {@literal true} if {@literal value} is a cached prime, {@literal false} otherwise
+	 */
+	public static boolean contains(final BigInteger value) {
+		synchronized (primes) {
+			return primes.containsKey(value);
+		}
+	}
+
+	/**
+	 * Returns the number of cached values.
+	 * <p>
+	 * @return The number of cached values
+	 */
+	public static int size() {
+		synchronized (primes) {
+			return primes.size();
+		}
+	}
+
+	/**
+	 * Removes all values from the cache.
+	 */
+	public static void clear() {
+		synchronized (primes) {
+			primes.clear();
+		}
+	}
+
+}
@@ -0,0 +1,318 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class searches for primes (or Sophie Germain primes {@code c}, for which {@code 2c+1} is also prime) in
+ * windows of an arithmetic progression {@code c_j=start+j*step}, for {@code 0<=j<length}. Each window is first sieved
+ * by marking all candidates divisible by a small prime smaller than {@link #SIEVE_BOUND}, in the case of Sophie
+ * Germain primes also the candidates for which {@code 2c_j+1} is divisible by a small prime. Only the remaining
+ * candidates are tested with a Fermat test to base 2 and finally with {@link MathUtil#isPrime(BigInteger)}.
+ * <p>
+ * Multiple windows can be searched sequentially or in parallel by the threads of a given executor service, which
+ * remains under the control of the caller. The result is always the first prime of the first window (in the given
+ * order) that contains a prime. It therefore depends only on the given start values, but not on the number of threads
+ * or their scheduling. If the start values are drawn from a deterministic random byte sequence, the result is
+ * deterministic too.
+ * <p>
+ * @see "Handbook of Applied Cryptography, Note 4.51 and Algorithm 4.86"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class PrimeSieve {
+
+	/**
+	 * All small primes smaller than this bound are used for sieving.
+	 */
+	public static final int SIEVE_BOUND = 1 << 15;
+
+	/**
+	 * The smallest bit length of the candidates, for which sieving is supported. Smaller candidates could be equal
+	 * to a small prime.
+	 */
+	public static final int MIN_BIT_LENGTH = 32;
+
+	private static final BigInteger TWO = BigInteger.valueOf(2);
+	private static final int[] SMALL_PRIMES;
+	private static final BigInteger[] SMALL_PRIME_VALUES;
+
+	static {
+		// sieve of Eratosthenes, 2 is not needed
+		BitSet composite = new BitSet(SIEVE_BOUND);
+		List<Integer> primes = new ArrayList<Integer>();
+		for (int i = 3; i < SIEVE_BOUND; i += 2) {
+			if (!composite.get(i)) {
+				primes.add(i);
+				for (long k = (long) i * i; k < SIEVE_BOUND; k += 2 * i) {
+					composite.set((int) k);
+				}
+			}
+		}
+		SMALL_PRIMES = new int[primes.size()];
+		SMALL_PRIME_VALUES = new BigInteger[primes.size()];
+		for (int i = 0; i < SMALL_PRIMES.length; i++) {
+			SMALL_PRIMES[i] = primes.get(i);
+			SMALL_PRIME_VALUES[i] = BigInteger.valueOf(SMALL_PRIMES[i]);
+		}
+	}
+
+	private final BigInteger step;
+	private final BigInteger maxValue;
+	private final boolean sophieGermain;
+	private final int length;
+	// inverses of step modulo the small primes, or -1 if step is divisible by the small prime
+	private final int[] stepInverses;
+
+	private PrimeSieve(final BigInteger step, final BigInteger maxValue, final boolean sophieGermain, final int length) {
+		this.step = step;
+		this.maxValue = maxValue;
+		this.sophieGermain = sophieGermain;
+		this.length = length;
+		this.stepInverses = new int[SMALL_PRIMES.length];
+		for (int i = 0; i < SMALL_PRIMES.length; i++) {
+			BigInteger remainder = step.mod(SMALL_PRIME_VALUES[i]);
+			this.stepInverses[i] = (remainder.signum() == 0) ? -1 : remainder.modInverse(SMALL_PRIME_VALUES[i]).intValue();
+		}
+	}
+
+	/**
+	 * Returns the number of candidates per window.
+	 * <p>
+	 * @return The window length
+	 */
+	public final int getLength() {
+		return this.length;
+	}
+
+	/**
+	 * Searches the window starting at the given value for the first prime candidate.
+	 * <p>
+	 * @param start The first candidate of the window
+	 * @return The first prime candidate, or {@literal null} if the window contains no prime candidate
+	 */
+	public final BigInteger search(final BigInteger start) {
+		return this.search(new BigInteger[]{start});
+	}
+
+	/**
+	 * Searches multiple windows sequentially and returns the first prime candidate of the first window that contains
+	 * a prime candidate. Windows following a successful window are not searched.
+	 * <p>
+	 * @param starts The first candidates of the windows
+	 * @return The first prime candidate of the first successful window, or {@literal null} if no window contains a
+	 *         prime candidate
+	 * @throws IllegalArgumentException if a start value has less than {@code MIN_BIT_LENGTH-1} bits
+	 */
+	public final BigInteger search(final BigInteger[] starts) {
+		checkStarts(starts);
+		// the smallest index of a successful window so far
+		AtomicInteger successIndex = new AtomicInteger(starts.length);
+		for (int i = 0; i < starts.length; i++) {
+			BigInteger result = this.searchWindow(starts[i], i, successIndex);
+			if (result != null) {
+				return result;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Searches multiple windows in parallel using the given executor service and returns the same result as
+	 * {@link #search(BigInteger[])}. Windows following a successful window are aborted. The executor service is not
+	 * shut down by this method.
+	 * <p>
+	 * @param starts          The first candidates of the windows
+	 * @param executorService The given executor service
+	 * @return The first prime candidate of the first successful window, or {@literal null} if no window contains a
+	 *         prime candidate
+	 * @throws IllegalArgumentException if a start value has less than {@code MIN_BIT_LENGTH-1} bits or if
+	 *                                  {@literal executorService} is null
+	 */
+	public final BigInteger search(final BigInteger[] starts, final ExecutorService executorService) {
+		if (executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		checkStarts(starts);
+		// the smallest index of a successful window so far
+		final AtomicInteger successIndex = new AtomicInteger(starts.length);
+		List<Future<BigInteger>> futures = new ArrayList<Future<BigInteger>>(starts.length);
+		for (int i = 0; i < starts.length; i++) {
+			final BigInteger start = starts[i];
+			final int index = i;
+			futures.add(executorService.submit(new Callable<BigInteger>() {
+
+				@Override
+				public BigInteger call() {
+					return searchWindow(start, index, successIndex);
+				}
+
+			}));
+		}
+		try {
+			for (Future<BigInteger> future : futures) {
+				BigInteger result = future.get();
+				if (result != null) {
+					return result;
+				}
+			}
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			for (Future<BigInteger> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	private BigInteger searchWindow(final BigInteger start, final int index, final AtomicInteger successIndex) {
+		BitSet composite = this.sieve(start);
+		for (int j = composite.nextClearBit(0); j < this.length; j = composite.nextClearBit(j + 1)) {
+			if (successIndex.get() < index) {
+				// a preceding window has been successful
+				return null;
+			}
+			BigInteger candidate = start.add(this.step.multiply(BigInteger.valueOf(j)));
+			if (candidate.compareTo(this.maxValue) > 0) {
+				return null;
+			}
+			if (this.isPrimeCandidate(candidate)) {
+				int current = successIndex.get();
+				while (index < current && !successIndex.compareAndSet(current, index)) {
+					current = successIndex.get();
+				}
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	// marks all j, for which start+j*step (or 2*(start+j*step)+1) is divisible by a small prime
+	private BitSet sieve(final BigInteger start) {
+		BitSet composite = new BitSet(this.length);
+		for (int i = 0; i < SMALL_PRIMES.length; i++) {
+			int q = SMALL_PRIMES[i];
+			int startRemainder = start.mod(SMALL_PRIME_VALUES[i]).intValue();
+			int stepInverse = this.stepInverses[i];
+			if (stepInverse < 0) {
+				// all candidates have the same remainder
+				if (startRemainder == 0 || (this.sophieGermain && (2 * startRemainder + 1) % q == 0)) {
+					composite.set(0, this.length);
+					return composite;
+				}
+				continue;
+			}
+			// start+j*step=0 (mod q) for j=-start/step (mod q)
+			mark(composite, (int) ((long) (q - startRemainder) * stepInverse % q), q, this.length);
+			if (this.sophieGermain) {
+				// 2(start+j*step)+1=0 (mod q) for j=((q-1)/2-start)/step (mod q)
+				mark(composite, (int) ((long) ((q - 1) / 2 - startRemainder + q) * stepInverse % q), q, this.length);
+			}
+		}
+		return composite;
+	}
+
+	private boolean isPrimeCandidate(final BigInteger candidate) {
+		if (this.sophieGermain) {
+			BigInteger safePrime = candidate.shiftLeft(1).add(BigInteger.ONE);
+			return isFermatPrime(candidate) && isFermatPrime(safePrime) && MathUtil.isPrime(candidate) && MathUtil.isPrime(safePrime);
+		}
+		return isFermatPrime(candidate) && MathUtil.isPrime(candidate);
+	}
+
+	private static void mark(final BitSet bitSet, final int first, final int step, final int length) {
+		for (int j = first; j < length; j += step) {
+			bitSet.set(j);
+		}
+	}
+
+	// Fermat test to base 2, which rejects most composite candidates with a single exponentiation
+	private static boolean isFermatPrime(final BigInteger candidate) {
+		return TWO.modPow(candidate.subtract(BigInteger.ONE), candidate).equals(BigInteger.ONE);
+	}
+
+	private static void checkStarts(final BigInteger[] starts) {
+		if (starts == null) {
+			throw new IllegalArgumentException();
+		}
+		for (BigInteger start : starts) {
+			if (start == null || start.bitLength() < MIN_BIT_LENGTH - 1) {
+				throw new IllegalArgumentException();
+			}
+		}
+	}
+
+	/**
+	 * Creates a new sieve for windows of the given length in the arithmetic progression with the given step. Candidates
+	 * larger than {@code maxValue} are ignored. If {@code sophieGermain} is {@literal true}, the search is for
+	 * candidates {@code c} such that both {@code c} and {@code 2c+1} are prime. Since even candidates are not sieved,
+	 * odd start values and an even step should be used.
+	 * <p>
+	 * @param step          The difference between two consecutive candidates
+	 * @param maxValue      The largest candidate
+	 * @param sophieGermain Search for Sophie Germain primes
+	 * @param length        The number of candidates per window
+	 * @return The new sieve
+	 * @throws IllegalArgumentException if {@code step} is not positive or if {@code length<1}
+	 */
+	public static PrimeSieve getInstance(final BigInteger step, final BigInteger maxValue, final boolean sophieGermain, final int length) {
+		if (step == null || step.signum() <= 0 || maxValue == null || length < 1) {
+			throw new IllegalArgumentException();
+		}
+		return new PrimeSieve(step, maxValue, sophieGermain, length);
+	}
+
+}
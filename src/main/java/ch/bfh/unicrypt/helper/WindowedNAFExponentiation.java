@@ -0,0 +1,222 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+
+/**
+ * This abstract class provides a generic engine for computing powers (or multiples) of a single value in a group, in
+ * which inverting a value is cheap. This is typically the case for elliptic curves, where negating a point costs
+ * almost nothing. The positive amount is recoded into its width-{@code w} non-adjacent form (wNAF), in which every
+ * non-zero digit is odd and smaller than {@code 2^(w-1)} in absolute value, and at most one of any {@code w} consecutive
+ * digits is non-zero. After precomputing the {@code 2^(w-2)} odd multiples of the value, an exponentiation then
+ * requires about {@code bitLength/(w+1)} multiplications instead of {@code bitLength/2} for the binary method. The
+ * binary operation and the inversion need to be implemented in sub-classes.
+ * <p>
+ * @param <T> Generic type of the values
+ * @see "Guide to Elliptic Curve Cryptography, Algorithm 3.35 and 3.36"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public abstract class WindowedNAFExponentiation<T> {
+
+	/**
+	 * The smallest supported window size, which corresponds to the ordinary non-adjacent form.
+	 */
+	public static final int MIN_WINDOW_SIZE = 2;
+
+	/**
+	 * The largest supported window size.
+	 */
+	public static final int MAX_WINDOW_SIZE = 10;
+
+	private final int windowSize;
+
+	/**
+	 * Creates a new engine for a given window size.
+	 * <p>
+	 * @param windowSize The window size
+	 * @throws IllegalArgumentException if {@literal windowSize} is out of range
+	 */
+	protected WindowedNAFExponentiation(final int windowSize) {
+		if (windowSize < MIN_WINDOW_SIZE || windowSize > MAX_WINDOW_SIZE) {
+			throw new IllegalArgumentException();
+		}
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * Returns the window size of this engine.
+	 * <p>
+	 * @return The window size
+	 */
+	public final int getWindowSize() {
+		return this.windowSize;
+	}
+
+	/**
+	 * Computes the power of a value for a given positive amount.
+	 * <p>
+	 * @param value     The given value
+	 * @param posAmount The given positive amount
+	 * @return The resulting value
+	 * @throws IllegalArgumentException if {@literal value} is null or {@literal posAmount} is not positive
+	 */
+	public final T compute(final T value, final BigInteger posAmount) {
+		if (value == null || posAmount == null || posAmount.signum() <= 0) {
+			throw new IllegalArgumentException();
+		}
+		int[] digits = WindowedNAFExponentiation.getDigits(posAmount, this.windowSize);
+		// table[i] contains the (2i+1)-th power of the value
+		Object[] table = new Object[1 << (this.windowSize - 2)];
+		table[0] = value;
+		if (table.length > 1) {
+			T square = this.square(value);
+			for (int i = 1; i < table.length; i++) {
+				table[i] = this.apply((T) table[i - 1], square);
+			}
+		}
+		T result = null;
+		for (int i = digits.length - 1; i >= 0; i--) {
+			if (result != null) {
+				result = this.square(result);
+			}
+			int digit = digits[i];
+			if (digit != 0) {
+				T tableValue = (T) table[Math.abs(digit) / 2];
+				if (digit < 0) {
+					tableValue = this.invert(tableValue);
+				}
+				result = (result == null) ? tableValue : this.apply(result, tableValue);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Applies the binary operation to two values.
+	 * <p>
+	 * @param value1 The first value
+	 * @param value2 The second value
+	 * @return The result of applying the operation
+	 */
+	protected abstract T apply(T value1, T value2);
+
+	/**
+	 * Computes the inverse of a value.
+	 * <p>
+	 * @param value The given value
+	 * @return The inverse value
+	 */
+	protected abstract T invert(T value);
+
+	/**
+	 * Applies the binary operation to two instances of the same value. Sub-classes may override this method if a
+	 * dedicated squaring (or doubling) is faster.
+	 * <p>
+	 * @param value The given value
+	 * @return The result of applying the operation
+	 */
+	protected T square(T value) {
+		return this.apply(value, value);
+	}
+
+	/**
+	 * Returns the window size that minimizes the estimated number of operations for amounts of a given bit length.
+	 * <p>
+	 * @param bitLength The bit length of the amounts
+	 * @return The window size
+	 */
+	public static int getWindowSize(final int bitLength) {
+		int bestWindowSize = MIN_WINDOW_SIZE;
+		double bestCost = Double.MAX_VALUE;
+		for (int w = MIN_WINDOW_SIZE; w <= MAX_WINDOW_SIZE; w++) {
+			// precomputation (one squaring and 2^(w-2)-1 multiplications) and about bitLength/(w+1) multiplications
+			double cost = (1 << (w - 2)) + (double) bitLength / (w + 1);
+			if (cost < bestCost) {
+				bestCost = cost;
+				bestWindowSize = w;
+			}
+		}
+		return bestWindowSize;
+	}
+
+	/**
+	 * Computes the width-{@code w} non-adjacent form of a positive amount. The digits are returned with the least
+	 * significant digit at index 0.
+	 * <p>
+	 * @param posAmount  The given positive amount
+	 * @param windowSize The window size {@code w}
+	 * @return The digits of the wNAF
+	 * @throws IllegalArgumentException if {@literal posAmount} is not positive or {@literal windowSize} is out of range
+	 */
+	public static int[] getDigits(final BigInteger posAmount, final int windowSize) {
+		if (posAmount == null || posAmount.signum() <= 0 || windowSize < MIN_WINDOW_SIZE || windowSize > MAX_WINDOW_SIZE) {
+			throw new IllegalArgumentException();
+		}
+		int modulus = 1 << windowSize;
+		int mask = modulus - 1;
+		// the wNAF is at most one digit longer than the binary representation
+		int[] digits = new int[posAmount.bitLength() + 1];
+		int length = 0;
+		BigInteger amount = posAmount;
+		while (amount.signum() > 0) {
+			int zeros = amount.getLowestSetBit();
+			length = length + zeros;
+			amount = amount.shiftRight(zeros);
+			int digit = amount.intValue() & mask;
+			if (digit >= modulus / 2) {
+				digit = digit - modulus;
+			}
+			digits[length] = digit;
+			amount = amount.subtract(BigInteger.valueOf(digit));
+			// the next w-1 digits are zero
+			amount = amount.shiftRight(1);
+			length++;
+		}
+		int[] result = new int[length];
+		System.arraycopy(digits, 0, result, 0, length);
+		return result;
+	}
+
+}
@@ -49,6 +49,7 @@ import ch.bfh.unicrypt.helper.MathUtil;
 import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 
@@ -102,6 +103,24 @@ public class ByteArray
 		return result;
 	}
 
+	/**
+	 * Feeds the bytes of this byte array into the given message digest. This yields the same digest as
+	 * {@code messageDigest.update(getBytes())}, but if the bytes are stored in one contiguous block, they are passed to
+	 * the message digest without copying them.
+	 * <p>
+	 * @param messageDigest The given message digest
+	 */
+	public void updateMessageDigest(MessageDigest messageDigest) {
+		if (messageDigest == null) {
+			throw new IllegalArgumentException();
+		}
+		if (!this.reverse && this.trailer == 0 && this.header == 0 && this.offset + this.length <= this.bytes.length) {
+			messageDigest.update(this.bytes, this.offset, this.length);
+		} else {
+			messageDigest.update(this.getBytes());
+		}
+	}
+
 	public boolean[] getBits() {
 		return this.getBitArray().getBits();
 	}
@@ -47,6 +47,7 @@ import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.util.Iterator;
 
 /**
@@ -108,11 +109,19 @@ public abstract class ByteTree
 		return this.getHashValue(HashAlgorithm.getInstance());
 	}
 
+	// the serialized byte tree is fed directly into the message digest, without constructing the byte array
 	public final ByteArray getHashValue(HashAlgorithm hashAlgorithm) {
 		if (hashAlgorithm == null) {
 			throw new IllegalArgumentException();
 		}
-		return this.getByteArray().getHashValue(hashAlgorithm);
+		return ByteArray.getInstance(hashAlgorithm.getHashValue(new HashAlgorithm.Input() {
+
+			@Override
+			public void update(MessageDigest messageDigest) {
+				ByteTree.this.update(messageDigest);
+			}
+
+		}));
 	}
 
 	public final ByteArray getRecursiveHashValue() {
@@ -128,6 +137,25 @@ public abstract class ByteTree
 
 	protected abstract ByteArray abstractGetRecursiveHashValue(HashAlgorithm hashAlgorithm);
 
+	// feeds the serialized byte tree into the message digest
+	protected final void update(MessageDigest messageDigest) {
+		if (this.byteArray == null) {
+			this.abstractUpdate(messageDigest);
+		} else {
+			this.byteArray.updateMessageDigest(messageDigest);
+		}
+	}
+
+	protected abstract void abstractUpdate(MessageDigest messageDigest);
+
+	// feeds the identifier and the given amount (number of bytes or children) into the message digest
+	protected static void updatePreamble(MessageDigest messageDigest, byte identifier, int amount) {
+		messageDigest.update(identifier);
+		for (int i = LENGTH_OF_INTEGER - 1; i >= 0; i--) {
+			messageDigest.update((byte) (amount >>> (i * Byte.SIZE)));
+		}
+	}
+
 	// fills up the buffer and (if necessary) sets the byte arrays recursively
 	protected final void constructByteArray(ByteBuffer buffer, ByteArray byteArray) {
 		if (this.byteArray == null) {
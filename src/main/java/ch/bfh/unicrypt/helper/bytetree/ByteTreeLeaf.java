@@ -44,6 +44,7 @@ package ch.bfh.unicrypt.helper.bytetree;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 
 /**
  *
@@ -80,6 +81,12 @@ public class ByteTreeLeaf
 		return this.value.getHashValue(hashAlgorithm);
 	}
 
+	@Override
+	protected void abstractUpdate(MessageDigest messageDigest) {
+		ByteTree.updatePreamble(messageDigest, IDENTIFIER, this.value.getLength());
+		this.value.updateMessageDigest(messageDigest);
+	}
+
 	@Override
 	protected void abstractConstructByteArray(ByteBuffer buffer, ByteArray byteArray) {
 		buffer.put(IDENTIFIER);
@@ -45,6 +45,7 @@ import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.util.Iterator;
 
 /**
@@ -95,15 +96,27 @@ public class ByteTreeNode
 		return this.byteTrees.toString();
 	}
 
+	// the hash values of the children are fed one by one into the message digest, without concatenating them
 	@Override
-	protected ByteArray abstractGetRecursiveHashValue(HashAlgorithm hashAlgorithm) {
-		int amount = this.byteTrees.getLength();
-		ByteArray[] hashValues = new ByteArray[amount];
-		int i = 0;
-		for (ByteTree byteTree : this.byteTrees) {
-			hashValues[i++] = byteTree.getRecursiveHashValue(hashAlgorithm);
+	protected ByteArray abstractGetRecursiveHashValue(final HashAlgorithm hashAlgorithm) {
+		return ByteArray.getInstance(hashAlgorithm.getHashValue(new HashAlgorithm.Input() {
+
+			@Override
+			public void update(MessageDigest messageDigest) {
+				for (ByteTree byteTree : ByteTreeNode.this.byteTrees) {
+					byteTree.getRecursiveHashValue(hashAlgorithm).updateMessageDigest(messageDigest);
+				}
+			}
+
+		}));
+	}
+
+	@Override
+	protected void abstractUpdate(MessageDigest messageDigest) {
+		ByteTree.updatePreamble(messageDigest, IDENTIFIER, this.byteTrees.getLength());
+		for (ByteTree byteTree : this) {
+			byteTree.update(messageDigest);
 		}
-		return ByteArray.getInstance(hashValues).getHashValue(hashAlgorithm);
 	}
 
 	@Override
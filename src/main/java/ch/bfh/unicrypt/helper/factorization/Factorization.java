@@ -43,6 +43,7 @@ package ch.bfh.unicrypt.helper.factorization;
 
 import ch.bfh.unicrypt.helper.UniCrypt;
 import ch.bfh.unicrypt.helper.MathUtil;
+import ch.bfh.unicrypt.helper.PrimeCache;
 import java.math.BigInteger;
 import java.util.Arrays;
 
@@ -122,7 +123,7 @@ public class Factorization
 		}
 		BigInteger value = BigInteger.ONE;
 		for (int i = 0; i < primeFactors.length; i++) {
-			if (primeFactors[i] == null || !MathUtil.isPrime(primeFactors[i]) || exponents[i] < 1) {
+			if (primeFactors[i] == null || !PrimeCache.isPrime(primeFactors[i]) || exponents[i] < 1) {
 				throw new IllegalArgumentException();
 			}
 			value = value.multiply(primeFactors[i].pow(exponents[i]));
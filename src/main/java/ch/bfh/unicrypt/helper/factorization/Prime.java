@@ -41,9 +41,11 @@
  */
 package ch.bfh.unicrypt.helper.factorization;
 
+import ch.bfh.unicrypt.helper.PrimeCache;
 import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
 
 /**
  *
@@ -61,6 +63,9 @@ public class Prime
 	}
 
 	public static Prime getInstance(BigInteger prime) {
+		if (!PrimeCache.isPrime(prime)) {
+			throw new IllegalArgumentException();
+		}
 		return new Prime(prime);
 	}
 
@@ -72,7 +77,19 @@ public class Prime
 		if (randomByteSequence == null) {
 			throw new IllegalArgumentException();
 		}
-		return Prime.getInstance(randomByteSequence.getRandomNumberGenerator().nextPrime(bitLength));
+		return new Prime(randomByteSequence.getRandomNumberGenerator().nextPrime(bitLength));
+	}
+
+	public static Prime getRandomInstance(int bitLength, ExecutorService executorService) {
+		return Prime.getRandomInstance(bitLength, HybridRandomByteSequence.getInstance(), executorService);
+	}
+
+	// the prime sieve is searched in parallel using the given executor service
+	public static Prime getRandomInstance(int bitLength, RandomByteSequence randomByteSequence, ExecutorService executorService) {
+		if (randomByteSequence == null || executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		return new Prime(randomByteSequence.getRandomNumberGenerator().nextPrime(bitLength, executorService));
 	}
 
 }
@@ -43,8 +43,9 @@ package ch.bfh.unicrypt.helper.factorization;
 
 import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
-import ch.bfh.unicrypt.helper.MathUtil;
+import ch.bfh.unicrypt.helper.PrimeCache;
 import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
 
 /**
  *
@@ -62,7 +63,7 @@ public class SafePrime
 	}
 
 	public static SafePrime getInstance(BigInteger safePrime) {
-		if (!MathUtil.isSavePrime(safePrime)) {
+		if (!PrimeCache.isSafePrime(safePrime)) {
 			throw new IllegalArgumentException();
 		}
 		return new SafePrime(safePrime);
@@ -79,4 +80,16 @@ public class SafePrime
 		return new SafePrime(randomByteSequence.getRandomNumberGenerator().nextSavePrime(bitLength));
 	}
 
+	public static SafePrime getRandomInstance(int bitLength, ExecutorService executorService) {
+		return SafePrime.getRandomInstance(bitLength, HybridRandomByteSequence.getInstance(), executorService);
+	}
+
+	// the prime sieve is searched in parallel using the given executor service
+	public static SafePrime getRandomInstance(int bitLength, RandomByteSequence randomByteSequence, ExecutorService executorService) {
+		if (randomByteSequence == null || executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		return new SafePrime(randomByteSequence.getRandomNumberGenerator().nextSavePrime(bitLength, executorService));
+	}
+
 }
@@ -44,6 +44,8 @@ package ch.bfh.unicrypt.helper.hash;
 import ch.bfh.unicrypt.helper.UniCrypt;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 /**
  *
@@ -59,38 +61,107 @@ public class HashAlgorithm
 	public static HashAlgorithm SHA384 = new HashAlgorithm("SHA-384");
 	public static HashAlgorithm SHA512 = new HashAlgorithm("SHA-512");
 
-	private final MessageDigest messageDigest;
+	private final String algorithmName;
+	private final int hashLength;
 
-	private HashAlgorithm(String algorithmName) {
-		try {
-			this.messageDigest = MessageDigest.getInstance(algorithmName);
-		} catch (final NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException();
-		}
+	// each thread keeps a stack of unused message digests, such that hash values are computed concurrently without
+	// locking, and such that an input may itself compute hash values
+	private final ThreadLocal<Deque<MessageDigest>> messageDigests;
+
+	private HashAlgorithm(final String algorithmName) {
+		this.algorithmName = algorithmName;
+		this.hashLength = HashAlgorithm.createMessageDigest(algorithmName).getDigestLength();
+		this.messageDigests = new ThreadLocal<Deque<MessageDigest>>() {
+
+			@Override
+			protected Deque<MessageDigest> initialValue() {
+				return new ArrayDeque<MessageDigest>();
+			}
+
+		};
+	}
+
+	public String getAlgorithmName() {
+		return this.algorithmName;
 	}
 
 	public byte[] getHashValue(byte[] bytes) {
 		if (bytes == null) {
 			throw new IllegalArgumentException();
 		}
-		return this.messageDigest.digest(bytes);
+		return this.getHashValue(bytes, 0, bytes.length);
 	}
 
 	public byte[] getHashValue(byte[] bytes, int offset, int length) {
 		if (bytes == null || offset < 0 || offset + length > bytes.length) {
 			throw new IllegalArgumentException();
 		}
-		this.messageDigest.update(bytes, offset, length);
-		return this.messageDigest.digest();
+		MessageDigest messageDigest = this.acquireMessageDigest();
+		try {
+			messageDigest.update(bytes, offset, length);
+			return messageDigest.digest();
+		} finally {
+			this.releaseMessageDigest(messageDigest);
+		}
+	}
+
+	/**
+	 * Computes the hash value of the data fed into the message digest by the given input. This avoids building a
+	 * byte array of the whole data. The input may itself compute other hash values of this hash algorithm.
+	 * <p>
+	 * @param input The given input
+	 * @return The hash value
+	 */
+	public byte[] getHashValue(Input input) {
+		if (input == null) {
+			throw new IllegalArgumentException();
+		}
+		MessageDigest messageDigest = this.acquireMessageDigest();
+		try {
+			input.update(messageDigest);
+			return messageDigest.digest();
+		} finally {
+			this.releaseMessageDigest(messageDigest);
+		}
 	}
 
 	// length of hash values in bytes
 	public int getHashLength() {
-		return this.messageDigest.getDigestLength();
+		return this.hashLength;
+	}
+
+	/**
+	 * Instances of this interface feed data into a message digest, for example by traversing a tree structure.
+	 */
+	public interface Input {
+
+		public void update(MessageDigest messageDigest);
+
 	}
 
 	public static HashAlgorithm getInstance() {
 		return HashAlgorithm.SHA256;
 	}
 
+	private MessageDigest acquireMessageDigest() {
+		MessageDigest messageDigest = this.messageDigests.get().poll();
+		if (messageDigest == null) {
+			messageDigest = HashAlgorithm.createMessageDigest(this.algorithmName);
+		}
+		return messageDigest;
+	}
+
+	private void releaseMessageDigest(MessageDigest messageDigest) {
+		messageDigest.reset();
+		this.messageDigests.get().push(messageDigest);
+	}
+
+	private static MessageDigest createMessageDigest(String algorithmName) {
+		try {
+			return MessageDigest.getInstance(algorithmName);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalArgumentException();
+		}
+	}
+
 }
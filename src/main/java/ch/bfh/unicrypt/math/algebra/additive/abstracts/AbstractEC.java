@@ -41,10 +41,16 @@
  */
 package ch.bfh.unicrypt.math.algebra.additive.abstracts;
 
+import ch.bfh.unicrypt.helper.FixedBaseExponentiation;
 import ch.bfh.unicrypt.helper.MathUtil;
 import ch.bfh.unicrypt.helper.Point;
+import ch.bfh.unicrypt.helper.PrimeCache;
+import ch.bfh.unicrypt.helper.WindowedNAFExponentiation;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.converter.abstracts.AbstractBigIntegerConverter;
+import ch.bfh.unicrypt.helper.converter.abstracts.AbstractByteArrayConverter;
 import ch.bfh.unicrypt.helper.converter.interfaces.BigIntegerConverter;
+import ch.bfh.unicrypt.helper.converter.interfaces.ByteArrayConverter;
 import ch.bfh.unicrypt.math.algebra.additive.interfaces.EC;
 import ch.bfh.unicrypt.math.algebra.additive.interfaces.ECElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
@@ -52,6 +58,7 @@ import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModPrime;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.FiniteField;
 import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarModPrime;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
@@ -78,6 +85,7 @@ public abstract class AbstractEC<F extends FiniteField<V>, V extends Object, D e
 	private final EE givenGenerator;
 	private final BigInteger givenOrder, coFactor;
 	private final Point<DualisticElement<V>> infinityPoint = Point.<DualisticElement<V>>getInstance();
+	private transient ByteArrayConverter<Point<D>> compressedByteArrayConverter;
 
 	protected AbstractEC(F finiteField, D a, D b, D gx, D gy, BigInteger givenOrder, BigInteger coFactor) {
 		super(Point.class);
@@ -164,6 +172,9 @@ public abstract class AbstractEC<F extends FiniteField<V>, V extends Object, D e
 
 	@Override
 	protected boolean abstractContains(Point<D> value) {
+		if (value.equals(this.infinityPoint)) {
+			return true;
+		}
 		return this.abstractContains(value.getX(), value.getY());
 	}
 
@@ -200,6 +211,74 @@ public abstract class AbstractEC<F extends FiniteField<V>, V extends Object, D e
 		};
 	}
 
+	/**
+	 * Returns a byte array converter for the compressed encoding of points according to SEC1 (Section 2.3.3). A point
+	 * different from infinity is encoded by its x-coordinate in a fixed number of bytes, preceded by a byte 0x02 or
+	 * 0x03 for the single bit that determines the y-coordinate. The point at infinity is encoded as 0x00. Compared to
+	 * the default encoding of the pair of coordinates, the size is reduced by more than 50%.
+	 * <p>
+	 * The compressed encoding is not the default encoding of the points, i.e., {@link #getByteArrayConverter()} and
+	 * all serialisations and hash values derived from it remain unchanged. It must be requested explicitly, for
+	 * example by {@code element.getByteArray(converter)} and {@code getElementFrom(byteArray, converter)}, or for
+	 * hash values by {@code HashMethod.getInstance(ConvertMethod.getInstance(converter))}.
+	 * <p>
+	 * @return The byte array converter
+	 */
+	@Override
+	public final ByteArrayConverter<Point<D>> getCompressedByteArrayConverter() {
+		if (this.compressedByteArrayConverter == null) {
+			this.compressedByteArrayConverter = this.createCompressedByteArrayConverter();
+		}
+		return this.compressedByteArrayConverter;
+	}
+
+	private ByteArrayConverter<Point<D>> createCompressedByteArrayConverter() {
+		// the input class allows the converter to be used in a convert method
+		return new AbstractByteArrayConverter<Point<D>>((Class<Point<D>>) (Class<?>) Point.class) {
+
+			private final int length = (getFiniteField().getOrder().subtract(BigInteger.ONE).bitLength() + 7) / 8;
+
+			@Override
+			protected ByteArray abstractConvert(Point<D> point) {
+				if (point.equals(infinityPoint)) {
+					return ByteArray.getInstance((byte) 0x00);
+				}
+				byte[] bytes = new byte[this.length + 1];
+				bytes[0] = abstractGetYBit(point.getX(), point.getY()) ? (byte) 0x03 : (byte) 0x02;
+				byte[] xBytes = abstractConvertX(point.getX()).toByteArray();
+				// xBytes may contain an additional leading sign byte
+				int xLength = Math.min(xBytes.length, this.length);
+				System.arraycopy(xBytes, xBytes.length - xLength, bytes, bytes.length - xLength, xLength);
+				return ByteArray.getInstance(bytes);
+			}
+
+			@Override
+			protected Point<D> abstractReconvert(ByteArray value) {
+				if (value.getLength() == 1 && value.getByteAt(0) == 0x00) {
+					return getZeroElement().getValue();
+				}
+				if (value.getLength() != this.length + 1) {
+					return null; // no such element
+				}
+				byte prefix = value.getByteAt(0);
+				if (prefix != 0x02 && prefix != 0x03) {
+					return null; // no such element
+				}
+				byte[] bytes = value.getBytes();
+				bytes[0] = 0x00;
+				D xValue = abstractReconvertX(new BigInteger(bytes));
+				if (xValue == null) {
+					return null; // no such element
+				}
+				D yValue = abstractGetY(xValue, prefix == 0x03);
+				if (yValue == null) {
+					return null; // no such element
+				}
+				return Point.getInstance(xValue, yValue);
+			}
+		};
+	}
+
 	@Override
 	protected EE abstractGetDefaultGenerator() {
 		return this.givenGenerator;
@@ -215,7 +294,7 @@ public abstract class AbstractEC<F extends FiniteField<V>, V extends Object, D e
 
 	@Override
 	protected boolean abstractIsGenerator(EE element) {
-		return MathUtil.isPrime(this.getOrder()) && this.selfApply(element, this.getOrder()).isZero();
+		return PrimeCache.isPrime(this.getOrder()) && this.selfApply(element, this.getOrder()).isZero();
 	}
 
 	@Override
@@ -246,7 +325,9 @@ public abstract class AbstractEC<F extends FiniteField<V>, V extends Object, D e
 		if (!this.coFactor.equals(other.coFactor)) {
 			return false;
 		}
-		if (!this.givenGenerator.equals(other.givenGenerator)) {
+		// compare the generator values, since comparing the generators as elements
+		// would call this method again for equal but distinct curves
+		if (!this.givenGenerator.getValue().equals(other.givenGenerator.getValue())) {
 			return false;
 		}
 		return true;
@@ -260,7 +341,8 @@ public abstract class AbstractEC<F extends FiniteField<V>, V extends Object, D e
 		hash = 47 * hash + this.b.hashCode();
 		hash = 47 * hash + this.givenOrder.hashCode();
 		hash = 47 * hash + this.coFactor.hashCode();
-		hash = 47 * hash + this.givenGenerator.hashCode();
+		// the hash code of the generator includes the hash code of this group
+		hash = 47 * hash + this.givenGenerator.getValue().hashCode();
 		return hash;
 	}
 
@@ -285,6 +367,43 @@ public abstract class AbstractEC<F extends FiniteField<V>, V extends Object, D e
 		return true;
 	}
 
+	/**
+	 * Returns the non-negative integer representing the given x-coordinate in the compressed encoding of points. Its
+	 * bit length must not exceed the bit length of the order of the finite field minus one.
+	 * <p>
+	 * @param xValue The given x-coordinate
+	 * @return The integer representing the x-coordinate
+	 */
+	protected abstract BigInteger abstractConvertX(D xValue);
+
+	/**
+	 * Returns the x-coordinate represented by the given non-negative integer in the compressed encoding of points, or
+	 * {@code null} if no such element of the finite field exists.
+	 * <p>
+	 * @param value The given integer
+	 * @return The x-coordinate or {@code null}
+	 */
+	protected abstract D abstractReconvertX(BigInteger value);
+
+	/**
+	 * Returns the single bit which, together with the x-coordinate, determines the y-coordinate of a point.
+	 * <p>
+	 * @param xValue The x-coordinate of the point
+	 * @param yValue The y-coordinate of the point
+	 * @return The bit of the compressed encoding
+	 */
+	protected abstract boolean abstractGetYBit(D xValue, D yValue);
+
+	/**
+	 * Returns the y-coordinate of the point with the given x-coordinate and bit of the compressed encoding, or
+	 * {@code null} if no such point exists.
+	 * <p>
+	 * @param xValue The x-coordinate of the point
+	 * @param yBit   The bit of the compressed encoding
+	 * @return The y-coordinate or {@code null}
+	 */
+	protected abstract D abstractGetY(D xValue, boolean yBit);
+
 	/**
 	 * Returns random element with coFactorout knowing a generator of tcoFactore group.
 	 * <p>
@@ -293,6 +412,55 @@ public abstract class AbstractEC<F extends FiniteField<V>, V extends Object, D e
 	 */
 	protected abstract EE getRandomElementWithoutGenerator(RandomByteSequence randomByteSequence);
 
+	// scalar multiplication using the wNAF, which exploits the cheap negation of points
+	@Override
+	protected EE defaultSelfApplyAlgorithm(final EE element, final BigInteger posAmount) {
+		WindowedNAFExponentiation<EE> windowedNAFExponentiation = new WindowedNAFExponentiation<EE>(this.defaultGetWindowSize(posAmount.bitLength())) {
+
+			@Override
+			protected EE apply(EE element1, EE element2) {
+				return abstractApply(element1, element2);
+			}
+
+			@Override
+			protected EE invert(EE element) {
+				return abstractInvert(element);
+			}
+
+		};
+		return windowedNAFExponentiation.compute(element, posAmount);
+	}
+
+	/**
+	 * Returns the window size of the wNAF used for scalar multiplications with amounts of a given bit length. By
+	 * default, the window size minimizing the number of point operations is selected. Sub-classes may override this
+	 * method to use a fixed window size.
+	 * <p>
+	 * @param bitLength The bit length of the amount
+	 * @return The window size
+	 * @see WindowedNAFExponentiation
+	 */
+	protected int defaultGetWindowSize(final int bitLength) {
+		return WindowedNAFExponentiation.getWindowSize(bitLength);
+	}
+
+	@Override
+	protected EE defaultMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posAmounts) {
+		return this.simultaneousMultiSelfApplyAlgorithm(elements, posAmounts);
+	}
+
+	@Override
+	protected FixedBaseExponentiation<?> defaultPrecompute(final EE element) {
+		return new FixedBaseExponentiation<EE>(element, this.getOrder().bitLength()) {
+
+			@Override
+			protected EE apply(EE element1, EE element2) {
+				return abstractApply(element1, element2);
+			}
+
+		};
+	}
+
 	@Override
 	protected String defaultToStringValue() {
 		return this.getA().getValue() + "," + this.getB().getValue();
@@ -41,19 +41,30 @@
  */
 package ch.bfh.unicrypt.math.algebra.additive.classes;
 
-import ch.bfh.unicrypt.helper.MathUtil;
+import ch.bfh.unicrypt.helper.BatchInversion;
+import ch.bfh.unicrypt.helper.BinaryFieldArithmetic;
+import ch.bfh.unicrypt.helper.FixedBaseExponentiation;
+import ch.bfh.unicrypt.helper.MultiExponentiation;
 import ch.bfh.unicrypt.helper.Point;
+import ch.bfh.unicrypt.helper.PrimeCache;
 import ch.bfh.unicrypt.helper.Polynomial;
+import ch.bfh.unicrypt.helper.WindowedNAFExponentiation;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.math.algebra.additive.abstracts.AbstractEC;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.PolynomialElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.PolynomialField;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModTwo;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.params.interfaces.StandardECPolynomialFieldParams;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  *
@@ -67,6 +78,8 @@ public class ECPolynomialField
 	 */
 	private static final long serialVersionUID = 1L;
 
+	private transient LopezDahabArithmetic lopezDahabArithmetic;
+
 	public ECPolynomialField(PolynomialField<ZModTwo> finiteField, PolynomialElement<ZModTwo> a,
 		   PolynomialElement<ZModTwo> b, PolynomialElement<ZModTwo> gx, PolynomialElement<ZModTwo> gy,
 		   BigInteger givenOrder, BigInteger coFactor) {
@@ -166,6 +179,134 @@ public class ECPolynomialField
 		return this.abstractGetElement(Point.getInstance(element.getX(), element.getY().add(element.getX())));
 	}
 
+	@Override
+	protected ECPolynomialElement defaultSelfApplyAlgorithm(final ECPolynomialElement element, final BigInteger posAmount) {
+		LopezDahabArithmetic arithmetic = this.getLopezDahabArithmetic();
+		return this.normalize(this.getWindowedNAFExponentiation(posAmount.bitLength()).compute(arithmetic.getPoint(element), posAmount));
+	}
+
+	@Override
+	protected ECPolynomialElement defaultMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posAmounts) {
+		final LopezDahabArithmetic arithmetic = this.getLopezDahabArithmetic();
+		long[][][] points = new long[elements.length][][];
+		for (int i = 0; i < elements.length; i++) {
+			points[i] = arithmetic.getPoint((ECPolynomialElement) elements[i]);
+		}
+		MultiExponentiation<long[][]> multiExponentiation = new MultiExponentiation<long[][]>() {
+
+			@Override
+			protected long[][] apply(long[][] point1, long[][] point2) {
+				return arithmetic.addPoints(point1, point2);
+			}
+
+			@Override
+			protected long[][] square(long[][] point) {
+				return arithmetic.doublePoint(point);
+			}
+
+		};
+		return this.normalize(multiExponentiation.compute(points, posAmounts));
+	}
+
+	@Override
+	protected FixedBaseExponentiation<?> defaultPrecompute(final ECPolynomialElement element) {
+		final LopezDahabArithmetic arithmetic = this.getLopezDahabArithmetic();
+		return new FixedBaseExponentiation<long[][]>(arithmetic.getPoint(element), this.getOrder().bitLength()) {
+
+			@Override
+			protected long[][] apply(long[][] point1, long[][] point2) {
+				return arithmetic.addPoints(point1, point2);
+			}
+
+			@Override
+			protected long[][] square(long[][] point) {
+				return arithmetic.doublePoint(point);
+			}
+
+			// affine table points permit mixed additions
+			@Override
+			protected List<long[][]> normalize(List<long[][]> points) {
+				return arithmetic.normalizePoints(points);
+			}
+
+		};
+	}
+
+	@Override
+	protected ECPolynomialElement defaultFixedBaseSelfApplyAlgorithm(final FixedBaseExponentiation<?> fixedBaseExponentiation, final BigInteger posAmount) {
+		return this.normalize((long[][]) fixedBaseExponentiation.compute(posAmount));
+	}
+
+	// bit i of the integer is the coefficient of x^i
+	@Override
+	protected BigInteger abstractConvertX(PolynomialElement<ZModTwo> xValue) {
+		return new BigInteger(1, xValue.getValue().getCoefficients().reverse().getBytes());
+	}
+
+	@Override
+	protected PolynomialElement<ZModTwo> abstractReconvertX(BigInteger value) {
+		if (value.bitLength() > this.getFiniteField().getDegree()) {
+			return null;
+		}
+		return this.getFiniteField().getElement(ByteArray.getInstance(value.toByteArray()).reverse());
+	}
+
+	// the least significant bit of y/x, or 0 if x=0 (SEC1, Section 2.3.3)
+	@Override
+	protected boolean abstractGetYBit(PolynomialElement<ZModTwo> xValue, PolynomialElement<ZModTwo> yValue) {
+		if (xValue.isZero()) {
+			return false;
+		}
+		return ECPolynomialField.getLowestBit(yValue.divide(xValue));
+	}
+
+	@Override
+	protected PolynomialElement<ZModTwo> abstractGetY(PolynomialElement<ZModTwo> xValue, boolean yBit) {
+		PolynomialField<ZModTwo> field = this.getFiniteField();
+		int m = field.getDegree();
+		if (xValue.isZero()) {
+			if (yBit) {
+				return null;
+			}
+			// the unique square root b^(2^(m-1)) of b
+			PolynomialElement<ZModTwo> y = this.getB();
+			for (int i = 1; i < m; i++) {
+				y = y.square();
+			}
+			return y;
+		}
+		// y=zx, where z is a solution of z^2+z=beta for beta=x+a+b/x^2
+		PolynomialElement<ZModTwo> beta = xValue.add(this.getA()).add(this.getB().divide(xValue.square()));
+		PolynomialElement<ZModTwo> z;
+		if (m % 2 == 1) {
+			// for odd m, the half-trace of beta is a solution if one exists
+			z = beta;
+			PolynomialElement<ZModTwo> power = beta;
+			for (int i = 1; i <= (m - 1) / 2; i++) {
+				power = power.square().square();
+				z = z.add(power);
+			}
+			if (!z.square().add(z).isEquivalent(beta)) {
+				return null;
+			}
+		} else {
+			try {
+				z = field.solveQuadradicEquation(beta);
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+		}
+		if (ECPolynomialField.getLowestBit(z) != yBit) {
+			z = z.add(field.getOneElement());
+		}
+		return z.multiply(xValue);
+	}
+
+	private static boolean getLowestBit(PolynomialElement<ZModTwo> element) {
+		ByteArray coefficients = element.getValue().getCoefficients();
+		return coefficients.getLength() > 0 && coefficients.getBitAt(0);
+	}
+
 	@Override
 	protected ECPolynomialElement getRandomElementWithoutGenerator(RandomByteSequence randomByteSequence) {
 		// TODO Auto-generated method stub
@@ -194,7 +335,7 @@ public class ECPolynomialField
 
 		c5 = this.contains(this.getDefaultGenerator());
 
-		c6 = MathUtil.isPrime(getOrder());
+		c6 = PrimeCache.isPrime(getOrder());
 
 		c7 = this.selfApply(this.getDefaultGenerator(), getOrder()).isEquivalent(this.getZeroElement());
 
@@ -226,6 +367,183 @@ public class ECPolynomialField
 		return result;
 	}
 
+	private LopezDahabArithmetic getLopezDahabArithmetic() {
+		if (this.lopezDahabArithmetic == null) {
+			PolynomialField<ZModTwo> field = this.getFiniteField();
+			this.lopezDahabArithmetic = new LopezDahabArithmetic(field.getBinaryFieldArithmetic(), field.getWords(this.getA()), field.getWords(this.getB()));
+		}
+		return this.lopezDahabArithmetic;
+	}
+
+	private WindowedNAFExponentiation<long[][]> getWindowedNAFExponentiation(int bitLength) {
+		final LopezDahabArithmetic arithmetic = this.getLopezDahabArithmetic();
+		return new WindowedNAFExponentiation<long[][]>(this.defaultGetWindowSize(bitLength)) {
+
+			@Override
+			protected long[][] apply(long[][] point1, long[][] point2) {
+				return arithmetic.addPoints(point1, point2);
+			}
+
+			@Override
+			protected long[][] invert(long[][] point) {
+				return arithmetic.negatePoint(point);
+			}
+
+			@Override
+			protected long[][] square(long[][] point) {
+				return arithmetic.doublePoint(point);
+			}
+
+		};
+	}
+
+	// creates the element for the given point in López-Dahab coordinates, which requires one inversion
+	private ECPolynomialElement normalize(long[][] point) {
+		LopezDahabArithmetic arithmetic = this.getLopezDahabArithmetic();
+		if (point == null || arithmetic.field.isZero(point[2])) {
+			return this.getZeroElement();
+		}
+		long[][] affinePoint = arithmetic.normalizePoints(Collections.singletonList(point)).get(0);
+		PolynomialField<ZModTwo> field = this.getFiniteField();
+		return this.abstractGetElement(Point.getInstance(field.getElement(affinePoint[0]), field.getElement(affinePoint[1])));
+	}
+
+	// Point arithmetic in López-Dahab coordinates, in which a point {X,Y,Z} represents the affine point (X/Z,Y/Z^2)
+	// and Z=0 denotes the point at infinity. All field elements are word arrays of the given binary field arithmetic.
+	private static final class LopezDahabArithmetic {
+
+		private final BinaryFieldArithmetic field;
+		private final long[] a;
+		private final long[] b;
+		private final long[] one;
+
+		private LopezDahabArithmetic(BinaryFieldArithmetic field, long[] a, long[] b) {
+			this.field = field;
+			this.a = a;
+			this.b = b;
+			this.one = field.getOne();
+		}
+
+		private long[][] getInfinity() {
+			return new long[][]{this.one, this.one, this.field.getZero()};
+		}
+
+		private long[][] getPoint(ECPolynomialElement element) {
+			if (element.isZero()) {
+				return this.getInfinity();
+			}
+			PolynomialField<ZModTwo> finiteField = (PolynomialField<ZModTwo>) element.getX().getSet();
+			return new long[][]{finiteField.getWords(element.getX()), finiteField.getWords(element.getY()), this.one};
+		}
+
+		// Z3=X1^2*Z1^2, X3=X1^4+b*Z1^4, Y3=b*Z1^4*Z3+X3*(a*Z3+Y1^2+b*Z1^4)
+		private long[][] doublePoint(long[][] point) {
+			BinaryFieldArithmetic f = this.field;
+			if (f.isZero(point[2]) || f.isZero(point[0])) {
+				return this.getInfinity();
+			}
+			long[] xx = f.square(point[0]);
+			long[] zz = f.square(point[2]);
+			long[] bzzzz = f.multiply(this.b, f.square(zz));
+			long[] z3 = f.multiply(xx, zz);
+			long[] x3 = f.add(f.square(xx), bzzzz);
+			long[] t = f.add(f.add(f.multiply(this.a, z3), f.square(point[1])), bzzzz);
+			long[] y3 = f.add(f.multiply(bzzzz, z3), f.multiply(x3, t));
+			return new long[][]{x3, y3, z3};
+		}
+
+		// general addition, which becomes a mixed addition if Z2=1
+		private long[][] addPoints(long[][] point1, long[][] point2) {
+			BinaryFieldArithmetic f = this.field;
+			if (f.isZero(point1[2])) {
+				return point2;
+			}
+			if (f.isZero(point2[2])) {
+				return point1;
+			}
+			long[] z1 = point1[2];
+			long[] z2 = point2[2];
+			long[] z1z1 = f.square(z1);
+			if (Arrays.equals(z2, this.one)) {
+				// A=y2*Z1^2+Y1, B=x2*Z1+X1, C=Z1*B
+				long[] a1 = f.add(f.multiply(point2[1], z1z1), point1[1]);
+				long[] b1 = f.add(f.multiply(point2[0], z1), point1[0]);
+				if (f.isZero(b1)) {
+					return f.isZero(a1) ? this.doublePoint(point2) : this.getInfinity();
+				}
+				long[] c = f.multiply(z1, b1);
+				long[] d = f.multiply(f.square(b1), f.add(c, f.multiply(this.a, z1z1)));
+				long[] z3 = f.square(c);
+				long[] e = f.multiply(a1, c);
+				long[] x3 = f.add(f.add(f.square(a1), d), e);
+				long[] g = f.add(x3, f.multiply(point2[0], z3));
+				long[] h = f.multiply(f.add(point2[0], point2[1]), f.square(z3));
+				long[] y3 = f.add(f.multiply(f.add(e, z3), g), h);
+				return new long[][]{x3, y3, z3};
+			}
+			// A=Y1*Z2^2+Y2*Z1^2, B=X1*Z2+X2*Z1, C=Z1*Z2*B, U=Z2*B
+			long[] a1 = f.add(f.multiply(point1[1], f.square(z2)), f.multiply(point2[1], z1z1));
+			long[] b1 = f.add(f.multiply(point1[0], z2), f.multiply(point2[0], z1));
+			if (f.isZero(b1)) {
+				return f.isZero(a1) ? this.doublePoint(point1) : this.getInfinity();
+			}
+			long[] u = f.multiply(z2, b1);
+			long[] c = f.multiply(z1, u);
+			long[] z3 = f.square(c);
+			long[] ac = f.multiply(a1, c);
+			// X3=A^2+A*C+C*B^2+a*Z3
+			long[] x3 = f.add(f.add(f.square(a1), ac), f.add(f.multiply(c, f.square(b1)), f.multiply(this.a, z3)));
+			// Y3=Z3*U*(A*X1+Y1*U)+(A*C+Z3)*X3
+			long[] t = f.add(f.multiply(a1, point1[0]), f.multiply(point1[1], u));
+			long[] y3 = f.add(f.multiply(f.multiply(z3, u), t), f.multiply(f.add(ac, z3), x3));
+			return new long[][]{x3, y3, z3};
+		}
+
+		// -(X,Y,Z)=(X,X*Z+Y,Z)
+		private long[][] negatePoint(long[][] point) {
+			return new long[][]{point[0], this.field.add(this.field.multiply(point[0], point[2]), point[1]), point[2]};
+		}
+
+		// converts the points into affine coordinates (X,Y,1) using a single inversion, points at infinity remain unchanged
+		private List<long[][]> normalizePoints(List<long[][]> points) {
+			final BinaryFieldArithmetic f = this.field;
+			List<long[]> zValues = new ArrayList<long[]>();
+			for (long[][] point : points) {
+				if (!f.isZero(point[2])) {
+					zValues.add(point[2]);
+				}
+			}
+			BatchInversion<long[]> batchInversion = new BatchInversion<long[]>() {
+
+				@Override
+				protected long[] multiply(long[] value1, long[] value2) {
+					return f.multiply(value1, value2);
+				}
+
+				@Override
+				protected long[] invert(long[] value) {
+					return f.invert(value);
+				}
+
+			};
+			long[][] zInverses = batchInversion.compute(zValues.toArray(new long[zValues.size()][]));
+			List<long[][]> results = new ArrayList<long[][]>(points.size());
+			int index = 0;
+			for (long[][] point : points) {
+				if (f.isZero(point[2])) {
+					results.add(point);
+				} else {
+					long[] zInverse = zInverses[index++];
+					long[] x = f.multiply(point[0], zInverse);
+					long[] y = f.multiply(point[1], f.square(zInverse));
+					results.add(new long[][]{x, y, this.one});
+				}
+			}
+			return results;
+		}
+
+	}
+
 	//
 	// STATIC FACTORY METHODS
 	//
@@ -41,22 +41,43 @@
  */
 package ch.bfh.unicrypt.math.algebra.additive.classes;
 
+import ch.bfh.unicrypt.helper.BatchInversion;
+import ch.bfh.unicrypt.helper.FixedBaseExponentiation;
 import ch.bfh.unicrypt.helper.MathUtil;
+import ch.bfh.unicrypt.helper.ModularArithmetic;
+import ch.bfh.unicrypt.helper.ModularSquareRoot;
+import ch.bfh.unicrypt.helper.MultiExponentiation;
 import ch.bfh.unicrypt.helper.Point;
+import ch.bfh.unicrypt.helper.WindowedNAFExponentiation;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.math.algebra.additive.abstracts.AbstractEC;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModPrime;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.params.interfaces.StandardECZModParams;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- *
+ * Elliptic curve y^2=x^3+ax+b over a prime field Z_p. Elements are always stored in affine coordinates, but multiples
+ * of points are computed internally in Jacobian coordinates (X,Y,Z), which represent the affine point (X/Z^2,Y/Z^3).
+ * In this way, a single field inversion is needed for the conversion of the final result, instead of one inversion for
+ * every addition and doubling.
+ * <p>
+ * @see "Guide to Elliptic Curve Cryptography, Section 3.2.2"
+ * <p>
  * @author Christian Lutz
  */
 public class ECZModPrime
 	   extends AbstractEC<ZModPrime, BigInteger, ZModElement, ECZModElement> {
 
+	private static final BigInteger THREE = BigInteger.valueOf(3);
+
+	// the arithmetic is created lazily, since the super-class constructor may already compute multiples of points
+	private transient JacobianArithmetic jacobianArithmetic;
+
 	protected ECZModPrime(ZModPrime finiteField, ZModElement a, ZModElement b, ZModElement gx, ZModElement gy, BigInteger givenOrder, BigInteger coFactor) {
 		super(finiteField, a, b, gx, gy, givenOrder, coFactor);
 	}
@@ -67,15 +88,7 @@ public class ECZModPrime
 
 	@Override
 	public boolean abstractContains(ZModElement x) {
-		BigInteger p = this.getFiniteField().getModulus();
-		ZModElement right = x.power(3).add(getA().multiply(x)).add(getB());
-		if (MathUtil.hasSqrtModPrime(right.getValue(), p)) {
-			BigInteger y1 = MathUtil.sqrtModPrime(right.getValue(), p);
-			ZModElement y = this.getFiniteField().getElement(y1);
-			return this.abstractContains(x, y);
-		} else {
-			return false;
-		}
+		return this.getJacobianArithmetic().getY(x.getValue()) != null;
 	}
 
 	@Override
@@ -103,26 +116,121 @@ public class ECZModPrime
 		if (element2.isZero()) {
 			return element1;
 		}
-		if (element1.isEquivalent(element2.invert())) {
-			return this.getZeroElement();
-		}
-		ZModElement s, rx, ry;
-		ZModElement px = element1.getX();
-		ZModElement py = element1.getY();
-		ZModElement qx = element2.getX();
-		ZModElement qy = element2.getY();
-		if (element1.isEquivalent(element2)) {
-			ZModElement three = this.getFiniteField().getElement(3);
-			ZModElement two = this.getFiniteField().getElement(2);
-			s = ((px.square().multiply(three)).apply(this.getA())).divide(py.multiply(two));
-			rx = s.square().apply(px.multiply(two).invert());
-			ry = s.multiply(px.subtract(rx)).apply(py.invert());
+		// affine addition, which requires one inversion
+		JacobianArithmetic arithmetic = this.getJacobianArithmetic();
+		BigInteger px = element1.getX().getValue();
+		BigInteger py = element1.getY().getValue();
+		BigInteger qx = element2.getX().getValue();
+		BigInteger qy = element2.getY().getValue();
+		BigInteger s;
+		if (px.equals(qx)) {
+			if (!py.equals(qy) || py.signum() == 0) {
+				return this.getZeroElement();
+			}
+			BigInteger numerator = arithmetic.add(arithmetic.multiply(arithmetic.square(px), THREE), arithmetic.a);
+			s = arithmetic.multiply(numerator, arithmetic.add(py, py).modInverse(arithmetic.p));
 		} else {
-			s = py.apply(qy.invert()).divide(px.apply(qx.invert()));
-			rx = (s.square().apply(px.invert()).apply(qx.invert()));
-			ry = py.invert().add(s.multiply(px.apply(rx.invert())));
+			s = arithmetic.multiply(arithmetic.subtract(qy, py), arithmetic.subtract(qx, px).modInverse(arithmetic.p));
 		}
-		return this.abstractGetElement(Point.getInstance(rx, ry));
+		BigInteger rx = arithmetic.subtract(arithmetic.subtract(arithmetic.square(s), px), qx);
+		BigInteger ry = arithmetic.subtract(arithmetic.multiply(s, arithmetic.subtract(px, rx)), py);
+		return this.getAffineElement(rx, ry);
+	}
+
+	/**
+	 * Computes the multiples of multiple elements for the corresponding amounts. Compared to computing each multiple
+	 * individually, the results are converted from Jacobian into affine coordinates all at once, which requires only a
+	 * single inversion in total.
+	 * <p>
+	 * @param elements The given elements
+	 * @param amounts  The corresponding amounts
+	 * @return The multiples of the given elements, in the same order
+	 * @throws IllegalArgumentException if {@literal elements} and {@literal amounts} have different lengths or if an
+	 *                                  element is not contained in this group
+	 */
+	public DenseArray<ECZModElement> times(final Element[] elements, final BigInteger[] amounts) {
+		if (elements == null || amounts == null || elements.length != amounts.length) {
+			throw new IllegalArgumentException();
+		}
+		JacobianArithmetic arithmetic = this.getJacobianArithmetic();
+		List<BigInteger[]> points = new ArrayList<BigInteger[]>(elements.length);
+		for (int i = 0; i < elements.length; i++) {
+			if (!this.contains(elements[i]) || amounts[i] == null) {
+				throw new IllegalArgumentException();
+			}
+			ECZModElement element = (ECZModElement) elements[i];
+			BigInteger amount = amounts[i].mod(this.getOrder());
+			if (element.isZero() || amount.signum() == 0) {
+				points.add(arithmetic.getPoint(this.getZeroElement()));
+			} else {
+				points.add(this.getWindowedNAFExponentiation(amount.bitLength()).compute(arithmetic.getPoint(element), amount));
+			}
+		}
+		points = arithmetic.normalizePoints(points);
+		ECZModElement[] results = new ECZModElement[points.size()];
+		for (int i = 0; i < results.length; i++) {
+			BigInteger[] point = points.get(i);
+			results[i] = (point[2].signum() == 0) ? this.getZeroElement() : this.getAffineElement(point[0], point[1]);
+		}
+		return DenseArray.getInstance(results);
+	}
+
+	@Override
+	protected ECZModElement defaultSelfApplyAlgorithm(final ECZModElement element, final BigInteger posAmount) {
+		JacobianArithmetic arithmetic = this.getJacobianArithmetic();
+		return this.normalize(this.getWindowedNAFExponentiation(posAmount.bitLength()).compute(arithmetic.getPoint(element), posAmount));
+	}
+
+	@Override
+	protected ECZModElement defaultMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posAmounts) {
+		final JacobianArithmetic arithmetic = this.getJacobianArithmetic();
+		BigInteger[][] points = new BigInteger[elements.length][];
+		for (int i = 0; i < elements.length; i++) {
+			points[i] = arithmetic.getPoint((ECZModElement) elements[i]);
+		}
+		MultiExponentiation<BigInteger[]> multiExponentiation = new MultiExponentiation<BigInteger[]>() {
+
+			@Override
+			protected BigInteger[] apply(BigInteger[] point1, BigInteger[] point2) {
+				return arithmetic.addPoints(point1, point2);
+			}
+
+			@Override
+			protected BigInteger[] square(BigInteger[] point) {
+				return arithmetic.doublePoint(point);
+			}
+
+		};
+		return this.normalize(multiExponentiation.compute(points, posAmounts));
+	}
+
+	@Override
+	protected FixedBaseExponentiation<?> defaultPrecompute(final ECZModElement element) {
+		final JacobianArithmetic arithmetic = this.getJacobianArithmetic();
+		return new FixedBaseExponentiation<BigInteger[]>(arithmetic.getPoint(element), this.getOrder().bitLength()) {
+
+			@Override
+			protected BigInteger[] apply(BigInteger[] point1, BigInteger[] point2) {
+				return arithmetic.addPoints(point1, point2);
+			}
+
+			@Override
+			protected BigInteger[] square(BigInteger[] point) {
+				return arithmetic.doublePoint(point);
+			}
+
+			// affine table points permit mixed additions
+			@Override
+			protected List<BigInteger[]> normalize(List<BigInteger[]> points) {
+				return arithmetic.normalizePoints(points);
+			}
+
+		};
+	}
+
+	@Override
+	protected ECZModElement defaultFixedBaseSelfApplyAlgorithm(final FixedBaseExponentiation<?> fixedBaseExponentiation, final BigInteger posAmount) {
+		return this.normalize((BigInteger[]) fixedBaseExponentiation.compute(posAmount));
 	}
 
 	@Override
@@ -134,21 +242,52 @@ public class ECZModPrime
 	}
 
 	@Override
-	protected ECZModElement getRandomElementWithoutGenerator(RandomByteSequence randomByteSequence) {
-		BigInteger p = this.getFiniteField().getModulus();
-		ZModElement x = this.getFiniteField().getRandomElement(randomByteSequence);
-		ZModElement y = x.power(3).add(this.getA().multiply(x)).add(this.getB());
-		boolean neg = x.getValue().mod(new BigInteger("2")).equals(BigInteger.ONE);
+	protected BigInteger abstractConvertX(ZModElement xValue) {
+		return xValue.getValue();
+	}
+
+	@Override
+	protected ZModElement abstractReconvertX(BigInteger value) {
+		if (value.compareTo(this.getFiniteField().getModulus()) >= 0) {
+			return null;
+		}
+		return this.getFiniteField().getElement(value);
+	}
+
+	// the least significant bit of y
+	@Override
+	protected boolean abstractGetYBit(ZModElement xValue, ZModElement yValue) {
+		return yValue.getValue().testBit(0);
+	}
+
+	@Override
+	protected ZModElement abstractGetY(ZModElement xValue, boolean yBit) {
+		BigInteger y = this.getJacobianArithmetic().getY(xValue.getValue());
+		if (y == null) {
+			return null;
+		}
+		if (y.testBit(0) != yBit) {
+			if (y.signum() == 0) {
+				return null;
+			}
+			y = this.getFiniteField().getModulus().subtract(y);
+		}
+		return this.getFiniteField().getElement(y);
+	}
 
-		while (!MathUtil.hasSqrtModPrime(y.getValue(), p)) {
-			x = this.getFiniteField().getRandomElement(randomByteSequence);
-			y = x.power(3).add(this.getA().multiply(x)).add(this.getB());
+	@Override
+	protected ECZModElement getRandomElementWithoutGenerator(RandomByteSequence randomByteSequence) {
+		ZModPrime finiteField = this.getFiniteField();
+		ZModElement x = finiteField.getRandomElement(randomByteSequence);
+		boolean neg = x.getValue().testBit(0);
+		ZModElement y = finiteField.squareRoot(x.power(3).add(this.getA().multiply(x)).add(this.getB()));
+		while (y == null) {
+			x = finiteField.getRandomElement(randomByteSequence);
+			y = finiteField.squareRoot(x.power(3).add(this.getA().multiply(x)).add(this.getB()));
 		}
-		//if neg is true return solution 2(p-sqrt) of sqrtModPrime else solution 1
+		//if neg is true return the second solution p-y
 		if (neg) {
-			y = this.getFiniteField().getElement(p.subtract(MathUtil.sqrtModPrime(y.getValue(), p)));
-		} else {
-			y = this.getFiniteField().getElement(MathUtil.sqrtModPrime(y.getValue(), p));
+			y = y.invert();
 		}
 		return this.abstractGetElement(Point.getInstance(x, y));
 	}
@@ -173,7 +312,7 @@ public class ECZModPrime
 		c24 = this.getFiniteField().contains(this.getDefaultGenerator().getValue().getY());
 		c3 = !getA().power(3).multiply(i4).add(i27.multiply(getB().square())).isZero();
 		c4 = 0 >= getCoFactor().compareTo(new BigInteger("4"));
-		c5 = this.selfApply(this.getDefaultGenerator(), getOrder()).isEquivalent(this.getZeroElement());
+		c5 = this.defaultSelfApplyAlgorithm(this.getDefaultGenerator(), getOrder()).isZero();
 		c61 = true; //TODO
 		for (BigInteger i = new BigInteger("1"); i.compareTo(new BigInteger("100")) < 0; i = i.add(BigInteger.ONE)) {
 			if (p.modPow(i, getOrder()).equals(BigInteger.ONE)) {
@@ -184,23 +323,6 @@ public class ECZModPrime
 		return c11 && c21 && c22 && c23 && c24 && c3 && c4 && c5 && c61 && c62;
 	}
 	
-	/**
-	 * Private method implements selfApply to check if a ECZmodElement is a valid generator
-	 * @param element
-	 * @param posAmount
-	 * @return
-	 */
-	private ECZModElement selfApply(ECZModElement element, BigInteger posAmount) {
-		ECZModElement result = element;
-		for (int i = posAmount.bitLength() - 2; i >= 0; i--) {
-			result = result.add(result);
-			if (posAmount.testBit(i)) {
-				result = result.add(element);
-			}
-		}
-		return result;
-	}
-
 	/**
 	 * Returns an elliptic curve over Fp y²=x³+ax+b
 	 * <p>
@@ -260,4 +382,217 @@ public class ECZModPrime
 		return ECZModPrime.getInstance(field, a, b, gx, gy, order, h);
 	}
 
+
+	private JacobianArithmetic getJacobianArithmetic() {
+		if (this.jacobianArithmetic == null) {
+			ZModPrime finiteField = this.getFiniteField();
+			this.jacobianArithmetic = new JacobianArithmetic(finiteField.getModulus(), this.getA().getValue(), this.getB().getValue(), finiteField.getModularSquareRoot());
+		}
+		return this.jacobianArithmetic;
+	}
+
+	private WindowedNAFExponentiation<BigInteger[]> getWindowedNAFExponentiation(int bitLength) {
+		final JacobianArithmetic arithmetic = this.getJacobianArithmetic();
+		return new WindowedNAFExponentiation<BigInteger[]>(this.defaultGetWindowSize(bitLength)) {
+
+			@Override
+			protected BigInteger[] apply(BigInteger[] point1, BigInteger[] point2) {
+				return arithmetic.addPoints(point1, point2);
+			}
+
+			@Override
+			protected BigInteger[] invert(BigInteger[] point) {
+				return arithmetic.negatePoint(point);
+			}
+
+			@Override
+			protected BigInteger[] square(BigInteger[] point) {
+				return arithmetic.doublePoint(point);
+			}
+
+		};
+	}
+
+	// creates the element for the given affine coordinates
+	private ECZModElement getAffineElement(BigInteger x, BigInteger y) {
+		return this.abstractGetElement(Point.getInstance(this.getFiniteField().getElement(x), this.getFiniteField().getElement(y)));
+	}
+
+	// creates the element for the given point in Jacobian coordinates, which requires one inversion
+	private ECZModElement normalize(BigInteger[] point) {
+		if (point == null || point[2].signum() == 0) {
+			return this.getZeroElement();
+		}
+		JacobianArithmetic arithmetic = this.getJacobianArithmetic();
+		BigInteger zInverse = point[2].modInverse(arithmetic.p);
+		BigInteger zInverse2 = arithmetic.square(zInverse);
+		BigInteger x = arithmetic.multiply(point[0], zInverse2);
+		BigInteger y = arithmetic.multiply(point[1], arithmetic.multiply(zInverse2, zInverse));
+		return this.getAffineElement(x, y);
+	}
+
+	// Field arithmetic modulo p and point arithmetic in Jacobian coordinates. Points are represented by arrays {X,Y,Z},
+	// where Z=0 denotes the point at infinity.
+	private static final class JacobianArithmetic {
+
+		private final BigInteger p;
+		private final BigInteger a;
+		private final BigInteger b;
+		private final boolean aIsMinusThree;
+		private final ModularArithmetic modularArithmetic;
+		private final ModularSquareRoot modularSquareRoot;
+
+		private JacobianArithmetic(BigInteger p, BigInteger a, BigInteger b, ModularSquareRoot modularSquareRoot) {
+			this.p = p;
+			this.a = a;
+			this.b = b;
+			this.aIsMinusThree = a.add(THREE).equals(p);
+			this.modularArithmetic = (p.bitLength() < ModularArithmetic.MIN_BIT_LENGTH) ? null : ModularArithmetic.getInstance(p);
+			this.modularSquareRoot = modularSquareRoot;
+		}
+
+		// returns a square root of x^3+ax+b, or null if no such square root exists
+		private BigInteger getY(BigInteger x) {
+			BigInteger right = this.add(this.multiply(this.add(this.square(x), this.a), x), this.b);
+			return this.modularSquareRoot.sqrt(right);
+		}
+
+		private BigInteger[] getPoint(ECZModElement element) {
+			if (element.isZero()) {
+				return new BigInteger[]{BigInteger.ONE, BigInteger.ONE, BigInteger.ZERO};
+			}
+			return new BigInteger[]{element.getX().getValue(), element.getY().getValue(), BigInteger.ONE};
+		}
+
+		// dbl-1998-cmo-2, for a=-3 with M=3(X-ZZ)(X+ZZ) as in dbl-2001-b
+		private BigInteger[] doublePoint(BigInteger[] point) {
+			BigInteger x = point[0];
+			BigInteger y = point[1];
+			BigInteger z = point[2];
+			if (z.signum() == 0 || y.signum() == 0) {
+				return new BigInteger[]{BigInteger.ONE, BigInteger.ONE, BigInteger.ZERO};
+			}
+			BigInteger zz = this.square(z);
+			BigInteger yy = this.square(y);
+			BigInteger m;
+			if (this.aIsMinusThree) {
+				m = this.multiply(this.multiply(this.subtract(x, zz), this.add(x, zz)), THREE);
+			} else {
+				m = this.add(this.multiply(this.square(x), THREE), this.multiply(this.a, this.square(zz)));
+			}
+			BigInteger s = this.shiftLeft(this.multiply(x, yy), 2);
+			BigInteger x3 = this.subtract(this.square(m), this.add(s, s));
+			BigInteger y3 = this.subtract(this.multiply(m, this.subtract(s, x3)), this.shiftLeft(this.square(yy), 3));
+			BigInteger z3 = this.shiftLeft(this.multiply(y, z), 1);
+			return new BigInteger[]{x3, y3, z3};
+		}
+
+		// add-1998-cmo, which becomes a mixed addition if Z2=1
+		private BigInteger[] addPoints(BigInteger[] point1, BigInteger[] point2) {
+			if (point1[2].signum() == 0) {
+				return point2;
+			}
+			if (point2[2].signum() == 0) {
+				return point1;
+			}
+			BigInteger z1 = point1[2];
+			BigInteger z2 = point2[2];
+			BigInteger z1z1 = this.square(z1);
+			BigInteger u1, s1;
+			if (z2.equals(BigInteger.ONE)) {
+				u1 = point1[0];
+				s1 = point1[1];
+			} else {
+				BigInteger z2z2 = this.square(z2);
+				u1 = this.multiply(point1[0], z2z2);
+				s1 = this.multiply(point1[1], this.multiply(z2, z2z2));
+			}
+			BigInteger u2 = this.multiply(point2[0], z1z1);
+			BigInteger s2 = this.multiply(point2[1], this.multiply(z1, z1z1));
+			BigInteger h = this.subtract(u2, u1);
+			BigInteger r = this.subtract(s2, s1);
+			if (h.signum() == 0) {
+				if (r.signum() == 0) {
+					return this.doublePoint(point1);
+				}
+				return new BigInteger[]{BigInteger.ONE, BigInteger.ONE, BigInteger.ZERO};
+			}
+			BigInteger hh = this.square(h);
+			BigInteger hhh = this.multiply(h, hh);
+			BigInteger v = this.multiply(u1, hh);
+			BigInteger x3 = this.subtract(this.subtract(this.square(r), hhh), this.add(v, v));
+			BigInteger y3 = this.subtract(this.multiply(r, this.subtract(v, x3)), this.multiply(s1, hhh));
+			BigInteger z3 = z2.equals(BigInteger.ONE) ? this.multiply(z1, h) : this.multiply(this.multiply(z1, z2), h);
+			return new BigInteger[]{x3, y3, z3};
+		}
+
+		// converts the points into affine coordinates (X,Y,1) using a single inversion, points at infinity remain unchanged
+		private List<BigInteger[]> normalizePoints(List<BigInteger[]> points) {
+			List<BigInteger> zValues = new ArrayList<BigInteger>();
+			for (BigInteger[] point : points) {
+				if (point[2].signum() != 0) {
+					zValues.add(point[2]);
+				}
+			}
+			BatchInversion<BigInteger> batchInversion = new BatchInversion<BigInteger>() {
+
+				@Override
+				protected BigInteger multiply(BigInteger value1, BigInteger value2) {
+					return JacobianArithmetic.this.multiply(value1, value2);
+				}
+
+				@Override
+				protected BigInteger invert(BigInteger value) {
+					return value.modInverse(JacobianArithmetic.this.p);
+				}
+
+			};
+			BigInteger[] zInverses = batchInversion.compute(zValues.toArray(new BigInteger[zValues.size()]));
+			List<BigInteger[]> results = new ArrayList<BigInteger[]>(points.size());
+			int index = 0;
+			for (BigInteger[] point : points) {
+				if (point[2].signum() == 0) {
+					results.add(point);
+				} else {
+					BigInteger zInverse = zInverses[index++];
+					BigInteger zInverse2 = this.square(zInverse);
+					BigInteger x = this.multiply(point[0], zInverse2);
+					BigInteger y = this.multiply(point[1], this.multiply(zInverse2, zInverse));
+					results.add(new BigInteger[]{x, y, BigInteger.ONE});
+				}
+			}
+			return results;
+		}
+
+		private BigInteger[] negatePoint(BigInteger[] point) {
+			return new BigInteger[]{point[0], this.subtract(BigInteger.ZERO, point[1]), point[2]};
+		}
+
+		private BigInteger multiply(BigInteger value1, BigInteger value2) {
+			if (this.modularArithmetic == null) {
+				return value1.multiply(value2).mod(this.p);
+			}
+			return this.modularArithmetic.multiply(value1, value2);
+		}
+
+		private BigInteger square(BigInteger value) {
+			return this.multiply(value, value);
+		}
+
+		private BigInteger add(BigInteger value1, BigInteger value2) {
+			BigInteger result = value1.add(value2);
+			return (result.compareTo(this.p) >= 0) ? result.subtract(this.p) : result;
+		}
+
+		private BigInteger subtract(BigInteger value1, BigInteger value2) {
+			BigInteger result = value1.subtract(value2);
+			return (result.signum() < 0) ? result.add(this.p) : result;
+		}
+
+		private BigInteger shiftLeft(BigInteger value, int n) {
+			return value.shiftLeft(n).mod(this.p);
+		}
+
+	}
+
 }
@@ -42,6 +42,7 @@
 package ch.bfh.unicrypt.math.algebra.additive.interfaces;
 
 import ch.bfh.unicrypt.helper.Point;
+import ch.bfh.unicrypt.helper.converter.interfaces.ByteArrayConverter;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.FiniteField;
 import java.math.BigInteger;
@@ -114,4 +115,12 @@ public interface EC<V extends Object, E extends DualisticElement<V>>
 	 */
 	public ECElement<V, E> getElement(E xValue, E yValue);
 
+	/**
+	 * Returns a byte array converter for the compressed encoding of points according to SEC1. The default byte array
+	 * converter of this elliptic curve is not affected.
+	 * <p>
+	 * @return The byte array converter for compressed points
+	 */
+	public ByteArrayConverter<Point<E>> getCompressedByteArrayConverter();
+
 }
@@ -41,6 +41,8 @@
  */
 package ch.bfh.unicrypt.math.algebra.dualistic.abstracts;
 
+import ch.bfh.unicrypt.helper.BatchInversion;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Field;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
@@ -89,6 +91,11 @@ public abstract class AbstractField<E extends DualisticElement<V>, M extends Mul
 		return this.abstractOneOver((E) element);
 	}
 
+	@Override
+	public final DenseArray<E> oneOver(final Element[] elements) {
+		return DenseArray.getInstance(this.defaultOneOver(this.getNonZeroElements(elements)));
+	}
+
 	@Override
 	protected E defaultPower(E element, BigInteger amount) {
 		if (element.isZero()) {
@@ -109,6 +116,27 @@ public abstract class AbstractField<E extends DualisticElement<V>, M extends Mul
 		return result;
 	}
 
+	//
+	// The following protected methods are default implementations for fields.
+	// They may need to be changed in certain sub-classes.
+	//
+	protected E[] defaultOneOver(final E[] elements) {
+		BatchInversion<E> batchInversion = new BatchInversion<E>() {
+
+			@Override
+			protected E multiply(E element1, E element2) {
+				return AbstractField.this.abstractMultiply(element1, element2);
+			}
+
+			@Override
+			protected E invert(E element) {
+				return AbstractField.this.abstractOneOver(element);
+			}
+
+		};
+		return batchInversion.compute(elements);
+	}
+
 	/**
 	 *
 	 * @param element
@@ -43,6 +43,7 @@ package ch.bfh.unicrypt.math.algebra.dualistic.abstracts;
 
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Ring;
+import ch.bfh.unicrypt.math.algebra.general.abstracts.AbstractMonoid;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import java.math.BigInteger;
 
@@ -94,13 +95,18 @@ public abstract class AbstractRing<E extends DualisticElement<V>, V extends Obje
 		if (amount.signum() == 0) {
 			return this.getIdentityElement();
 		}
-		E result = this.defaultSelfApplyAlgorithm(element, amount);
+		E result = this.fixedBaseSelfApplyAlgorithm(element, amount);
 		if (negAmount) {
 			return this.invert(result);
 		}
 		return result;
 	}
 
+	@Override
+	protected E defaultMultiSelfApply(final Element[] elements, BigInteger[] amounts) {
+		return AbstractMonoid.defaultGroupMultiSelfApply(this, elements, amounts);
+	}
+
 	//
 	// The following protected abstract method must be implemented in every direct sub-class.
 	//
@@ -187,6 +187,26 @@ public abstract class AbstractSemiRing<E extends DualisticElement<V>, V extends
 		return this.multiply(results);
 	}
 
+	// Checks the input of inverting multiple elements at once. All elements must belong to the set and be different
+	// from the zero element, which has no multiplicative inverse. The runtime type of the returned array is
+	// DualisticElement[].
+	protected final E[] getNonZeroElements(final Element[] elements) {
+		if (elements == null) {
+			throw new IllegalArgumentException();
+		}
+		E[] results = (E[]) new DualisticElement[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			if (!this.contains(elements[i])) {
+				throw new IllegalArgumentException();
+			}
+			if (this.isZeroElement(elements[i])) {
+				throw new UnsupportedOperationException();
+			}
+			results[i] = (E) elements[i];
+		}
+		return results;
+	}
+
 	@Override
 	protected BigInteger defaultGetOrderLowerBound() {
 		return BigInteger.valueOf(2);
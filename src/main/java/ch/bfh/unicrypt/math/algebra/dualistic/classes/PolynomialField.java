@@ -41,7 +41,11 @@
  */
 package ch.bfh.unicrypt.math.algebra.dualistic.classes;
 
+import ch.bfh.unicrypt.helper.BatchInversion;
+import ch.bfh.unicrypt.helper.BinaryFieldArithmetic;
 import ch.bfh.unicrypt.helper.Polynomial;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.FiniteField;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.PrimeField;
@@ -64,6 +68,7 @@ public class PolynomialField<V>
 	   implements FiniteField<Polynomial<? extends DualisticElement<V>>> {
 
 	private final PolynomialElement<V> irreduciblePolynomial;
+	private transient BinaryFieldArithmetic binaryFieldArithmetic;
 
 	protected PolynomialField(PrimeField primeField, PolynomialElement<V> irreduciblePolynomial) {
 		super(primeField);
@@ -82,6 +87,46 @@ public class PolynomialField<V>
 		return this.irreduciblePolynomial.getValue().getDegree();
 	}
 
+	/**
+	 * Returns the word-level arithmetic of this field, which is used internally for multiplications and inversions of
+	 * binary polynomials.
+	 * <p>
+	 * @return The word-level arithmetic
+	 * @throws UnsupportedOperationException if the field is not binary
+	 */
+	public BinaryFieldArithmetic getBinaryFieldArithmetic() {
+		if (!this.isBinary()) {
+			throw new UnsupportedOperationException();
+		}
+		if (this.binaryFieldArithmetic == null) {
+			byte[] bytes = this.irreduciblePolynomial.getValue().getCoefficients().reverse().getBytes();
+			this.binaryFieldArithmetic = BinaryFieldArithmetic.getInstance(new BigInteger(1, bytes));
+		}
+		return this.binaryFieldArithmetic;
+	}
+
+	/**
+	 * Returns the word-level representation of an element of a binary field, as used by
+	 * {@link #getBinaryFieldArithmetic()}.
+	 * <p>
+	 * @param element The given element
+	 * @return The word-level representation
+	 */
+	public long[] getWords(PolynomialElement<V> element) {
+		return this.getBinaryFieldArithmetic().getElement(element.getValue().getCoefficients().getBytes());
+	}
+
+	/**
+	 * Returns the element of a binary field for a word-level representation, as used by
+	 * {@link #getBinaryFieldArithmetic()}.
+	 * <p>
+	 * @param words The word-level representation
+	 * @return The corresponding element
+	 */
+	public PolynomialElement<V> getElement(long[] words) {
+		return this.getElementUnchecked(ByteArray.getInstance(this.getBinaryFieldArithmetic().getBytes(words)));
+	}
+
 	//
 	// The following protected methods override the default implementation from
 	// various super-classes
@@ -138,13 +183,12 @@ public class PolynomialField<V>
 		if (element1.isEquivalent(this.getZeroElement()) || element2.isEquivalent(this.getZeroElement())) {
 			return this.getZeroElement();
 		}
-		final PolynomialRing<V> ring = PolynomialRing.getInstance((Ring<V>) this.getSemiRing());
-		PolynomialElement<V> result;
 		if (this.isBinary()) {
-			result = ring.getElementUnchecked(multiplyBinary(polynomial1, polynomial2));
-		} else {
-			result = ring.getElementUnchecked(multiplyNonBinary(polynomial1, polynomial2));
+			BinaryFieldArithmetic arithmetic = this.getBinaryFieldArithmetic();
+			return this.getElement(arithmetic.multiply(this.getWords(element1), this.getWords(element2)));
 		}
+		final PolynomialRing<V> ring = PolynomialRing.getInstance((Ring<V>) this.getSemiRing());
+		PolynomialElement<V> result = ring.getElementUnchecked(multiplyNonBinary(polynomial1, polynomial2));
 		return this.getElement(this.mod(result).getValue());
 	}
 
@@ -156,7 +200,8 @@ public class PolynomialField<V>
 	/**
 	 * oneOver.
 	 * <p>
-	 * Compute using extended Euclidean algorithm for polynomial (Algorithm 2.226)
+	 * Compute using extended Euclidean algorithm for polynomial (Algorithm 2.226). In binary fields, the word-level
+	 * arithmetic is used instead.
 	 * <p>
 	 * <p>
 	 * @param element
@@ -173,11 +218,41 @@ public class PolynomialField<V>
 			throw new UnsupportedOperationException();
 		}
 
+		if (this.isBinary()) {
+			BinaryFieldArithmetic arithmetic = this.getBinaryFieldArithmetic();
+			return this.getElement(arithmetic.invert(this.getWords((PolynomialElement<V>) element)));
+		}
+
 		Triple euclid = this.extendedEuclidean((PolynomialElement<V>) element, this.irreduciblePolynomial);
 		return this.getElement(((PolynomialElement<V>) euclid.getSecond()).getValue());
 
 	}
 
+	/**
+	 * Computes the inverses of multiple elements using Montgomery's trick, which requires only a single inversion.
+	 * This inversion uses the word-level arithmetic in binary fields and the extended Euclidean algorithm otherwise.
+	 * <p>
+	 * @param elements
+	 * @return
+	 */
+	@Override
+	public DenseArray<PolynomialElement<V>> oneOver(Element[] elements) {
+		BatchInversion<PolynomialElement<V>> batchInversion = new BatchInversion<PolynomialElement<V>>() {
+
+			@Override
+			protected PolynomialElement<V> multiply(PolynomialElement<V> element1, PolynomialElement<V> element2) {
+				return PolynomialField.this.abstractMultiply(element1, element2);
+			}
+
+			@Override
+			protected PolynomialElement<V> invert(PolynomialElement<V> element) {
+				return PolynomialField.this.oneOver(element);
+			}
+
+		};
+		return DenseArray.getInstance(batchInversion.compute(this.getNonZeroElements(elements)));
+	}
+
 	/**
 	 * Mod. g(x) mod irreduciblePolynomial = h(x)
 	 * <p>
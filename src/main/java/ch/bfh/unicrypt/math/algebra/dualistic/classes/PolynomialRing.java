@@ -41,6 +41,7 @@
  */
 package ch.bfh.unicrypt.math.algebra.dualistic.classes;
 
+import ch.bfh.unicrypt.helper.BinaryFieldArithmetic;
 import ch.bfh.unicrypt.helper.Polynomial;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Ring;
@@ -248,6 +249,11 @@ public class PolynomialRing<V>
 		if (!this.contains(f)) {
 			throw new IllegalArgumentException();
 		}
+		if (this.isBinary() && f.getValue().getDegree() >= 1) {
+			// the same test using word-level arithmetic
+			byte[] bytes = f.getValue().getCoefficients().reverse().getBytes();
+			return BinaryFieldArithmetic.getInstance(new BigInteger(1, bytes)).isIrreducible();
+		}
 		final PolynomialRing<V> ring = PolynomialRing.getInstance((Ring<V>) this.getSemiRing());
 		PolynomialElement<V> x = ring.getElement(BigInteger.ZERO, BigInteger.ONE);
 		PolynomialElement<V> u = x;
@@ -46,6 +46,7 @@ import ch.bfh.unicrypt.helper.converter.classes.biginteger.BigIntegerToBigIntege
 import ch.bfh.unicrypt.helper.converter.interfaces.BigIntegerConverter;
 import ch.bfh.unicrypt.math.algebra.dualistic.abstracts.AbstractCyclicRing;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.CyclicRing;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
@@ -107,6 +108,15 @@ public class ZMod
 //		return this.abstractGetElement(element.getValue().multiply(posAmount).mod(this.modulus));
 	}
 
+	@Override
+	protected ZModElement defaultMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posAmounts) {
+		BigInteger result = BigInteger.ZERO;
+		for (int i = 0; i < elements.length; i++) {
+			result = result.add(((ZModElement) elements[i]).getValue().multiply(posAmounts[i]));
+		}
+		return this.abstractGetElement(result.mod(this.modulus));
+	}
+
 	@Override
 	protected ZModElement defaultPowerAlgorithm(ZModElement element, BigInteger amount) {
 		return this.abstractGetElement(element.getValue().modPow(amount, this.modulus));
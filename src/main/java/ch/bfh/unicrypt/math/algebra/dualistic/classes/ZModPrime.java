@@ -41,7 +41,11 @@
  */
 package ch.bfh.unicrypt.math.algebra.dualistic.classes;
 
+import ch.bfh.unicrypt.helper.BatchInversion;
+import ch.bfh.unicrypt.helper.ModularSquareRoot;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.helper.factorization.Prime;
+import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.PrimeField;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarModPrime;
@@ -59,10 +63,52 @@ public class ZModPrime
 	   extends ZMod
 	   implements PrimeField<BigInteger> {
 
+	private transient ModularSquareRoot modularSquareRoot;
+
 	protected ZModPrime(Prime prime) {
 		super(prime.getValue());
 	}
 
+	/**
+	 * Returns the square root engine of this field, which is created on the first call and then reused.
+	 * <p>
+	 * @return The square root engine
+	 */
+	public ModularSquareRoot getModularSquareRoot() {
+		if (this.modularSquareRoot == null) {
+			this.modularSquareRoot = ModularSquareRoot.getInstance(this.modulus);
+		}
+		return this.modularSquareRoot;
+	}
+
+	/**
+	 * Checks if the given element is a square in this field. Zero is considered a square.
+	 * <p>
+	 * @param element The given element
+	 * @return {@literal true} if {@code element} is a square, {@literal false} otherwise
+	 */
+	public boolean hasSquareRoot(Element element) {
+		if (!this.contains(element)) {
+			throw new IllegalArgumentException();
+		}
+		return this.getModularSquareRoot().isSquare(((ZModElement) element).getValue());
+	}
+
+	/**
+	 * Computes a square root of the given element, if one exists. This combines the test for quadratic residuosity
+	 * with the computation of the square root.
+	 * <p>
+	 * @param element The given element
+	 * @return A square root of {@code element}, or {@literal null} if {@code element} is not a square
+	 */
+	public ZModElement squareRoot(Element element) {
+		if (!this.contains(element)) {
+			throw new IllegalArgumentException();
+		}
+		BigInteger root = this.getModularSquareRoot().sqrt(((ZModElement) element).getValue());
+		return (root == null) ? null : this.abstractGetElement(root);
+	}
+
 	@Override
 	public ZStarModPrime getMultiplicativeGroup() {
 		return ZStarModPrime.getInstance(this.modulus);
@@ -84,6 +130,35 @@ public class ZModPrime
 		return this.abstractGetElement(((ZModElement) element).getValue().modInverse(this.modulus));
 	}
 
+	@Override
+	public DenseArray<ZModElement> oneOver(Element[] elements) {
+		DualisticElement<BigInteger>[] nonZeroElements = this.getNonZeroElements(elements);
+		BigInteger[] values = new BigInteger[nonZeroElements.length];
+		for (int i = 0; i < nonZeroElements.length; i++) {
+			values[i] = nonZeroElements[i].getValue();
+		}
+		final BigInteger modulus = this.modulus;
+		BatchInversion<BigInteger> batchInversion = new BatchInversion<BigInteger>() {
+
+			@Override
+			protected BigInteger multiply(BigInteger value1, BigInteger value2) {
+				return value1.multiply(value2).mod(modulus);
+			}
+
+			@Override
+			protected BigInteger invert(BigInteger value) {
+				return value.modInverse(modulus);
+			}
+
+		};
+		BigInteger[] inverses = batchInversion.compute(values);
+		ZModElement[] results = new ZModElement[inverses.length];
+		for (int i = 0; i < inverses.length; i++) {
+			results[i] = this.abstractGetElement(inverses[i]);
+		}
+		return DenseArray.getInstance(results);
+	}
+
 	@Override
 	public ZModPrime getZModOrder() {
 		return ZModPrime.getInstance(this.getOrder());
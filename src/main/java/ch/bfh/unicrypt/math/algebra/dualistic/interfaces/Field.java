@@ -41,6 +41,7 @@
  */
 package ch.bfh.unicrypt.math.algebra.dualistic.interfaces;
 
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.multiplicative.interfaces.MultiplicativeGroup;
 
@@ -78,4 +79,13 @@ public interface Field<V extends Object>
 	 */
 	public DualisticElement<V> oneOver(Element element);
 
+	/**
+	 * Returns the fractions one over each of the given elements. Compared to applying {@link #oneOver(Element)} to each
+	 * element, this requires only a single inversion.
+	 * <p>
+	 * @param elements The given elements
+	 * @return the fractions one over the given elements, in the same order
+	 */
+	public DenseArray<? extends DualisticElement<V>> oneOver(Element[] elements);
+
 }
@@ -41,6 +41,7 @@
  */
 package ch.bfh.unicrypt.math.algebra.general.abstracts;
 
+import ch.bfh.unicrypt.helper.FixedBaseExponentiation;
 import ch.bfh.unicrypt.helper.UniCrypt;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.bytetree.ByteTree;
@@ -59,8 +60,9 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.Monoid;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.SemiGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.algebra.multiplicative.interfaces.MultiplicativeElement;
+import java.lang.ref.SoftReference;
 import java.math.BigInteger;
-import java.util.HashMap;
+import java.util.Arrays;
 
 /**
  * This abstract class represents the concept an element in a mathematical group. It allows applying the group operation
@@ -87,19 +89,19 @@ public abstract class AbstractElement<S extends Set<V>, E extends Element<V>, V
 	private final S set;
 	private final V value;
 
-	// the following fields are needed for optimizations
-	private final HashMap<Converter<V, BigInteger>, BigInteger> bigIntegers;
-	private final HashMap<Converter<V, String>, String> strings;
-	private final HashMap<Converter<V, ByteArray>, ByteArray> byteArrays;
-	private final HashMap<HashMethod, ByteArray> hashValues;
+	// the results of conversions and hash value computations are cached in an array of alternating keys (converters
+	// or hash methods) and results, which is only allocated on first use; the array is never modified, but replaced
+	// by a larger copy when a new result is added (most elements are intermediate results and never use it)
+	private transient volatile Object[] conversions;
+
+	// the following fields are needed for fixed-base precomputations, the table is softly referenced to let the
+	// garbage collector reclaim it under memory pressure
+	private transient volatile SoftReference<FixedBaseExponentiation<?>> fixedBaseExponentiation;
+	private transient int selfApplyCounter;
 
 	protected AbstractElement(final S set, V value) {
 		this.set = set;
 		this.value = value;
-		this.bigIntegers = new HashMap<Converter<V, BigInteger>, BigInteger>();
-		this.strings = new HashMap<Converter<V, String>, String>();
-		this.byteArrays = new HashMap<Converter<V, ByteArray>, ByteArray>();
-		this.hashValues = new HashMap<HashMethod, ByteArray>();
 	}
 
 	@Override
@@ -157,10 +159,10 @@ public abstract class AbstractElement<S extends Set<V>, E extends Element<V>, V
 		if (converter == null) {
 			throw new IllegalArgumentException();
 		}
-		BigInteger result = this.bigIntegers.get(converter);
+		BigInteger result = (BigInteger) this.getConversion(converter);
 		if (result == null) {
 			result = converter.convert(this.value);
-			this.bigIntegers.put(converter, result);
+			this.putConversion(converter, result);
 		}
 		return result;
 	}
@@ -187,10 +189,10 @@ public abstract class AbstractElement<S extends Set<V>, E extends Element<V>, V
 		if (converter == null) {
 			throw new IllegalArgumentException();
 		}
-		String result = this.strings.get(converter);
+		String result = (String) this.getConversion(converter);
 		if (result == null) {
 			result = converter.convert(this.value);
-			this.strings.put(converter, result);
+			this.putConversion(converter, result);
 		}
 		return result;
 	}
@@ -217,10 +219,10 @@ public abstract class AbstractElement<S extends Set<V>, E extends Element<V>, V
 		if (converter == null) {
 			throw new IllegalArgumentException();
 		}
-		ByteArray result = this.byteArrays.get(converter);
+		ByteArray result = (ByteArray) this.getConversion(converter);
 		if (result == null) {
 			result = converter.convert(this.value);
-			this.byteArrays.put(converter, result);
+			this.putConversion(converter, result);
 		}
 		return result;
 	}
@@ -277,7 +279,7 @@ public abstract class AbstractElement<S extends Set<V>, E extends Element<V>, V
 		if (hashMethod == null) {
 			throw new IllegalArgumentException();
 		}
-		ByteArray hashValue = this.hashValues.get(hashMethod);
+		ByteArray hashValue = (ByteArray) this.getConversion(hashMethod);
 		if (hashValue == null) {
 			ConvertMethod<ByteArray> convertMethod = hashMethod.getConvertMethod();
 			HashAlgorithm algorithm = hashMethod.getHashAlgorithm();
@@ -294,11 +296,37 @@ public abstract class AbstractElement<S extends Set<V>, E extends Element<V>, V
 				default:
 					throw new UnsupportedOperationException();
 			}
-			this.hashValues.put(hashMethod, hashValue);
+			this.putConversion(hashMethod, hashValue);
 		}
 		return hashValue;
 	}
 
+	private Object getConversion(Object key) {
+		Object[] currentConversions = this.conversions;
+		if (currentConversions != null) {
+			for (int i = 0; i < currentConversions.length; i += 2) {
+				if (currentConversions[i].equals(key)) {
+					return currentConversions[i + 1];
+				}
+			}
+		}
+		return null;
+	}
+
+	// concurrent additions may occasionally drop a cached result, which is then computed again
+	private void putConversion(Object key, Object result) {
+		Object[] currentConversions = this.conversions;
+		Object[] newConversions;
+		if (currentConversions == null) {
+			newConversions = new Object[]{key, result};
+		} else {
+			newConversions = Arrays.copyOf(currentConversions, currentConversions.length + 2);
+			newConversions[currentConversions.length] = key;
+			newConversions[currentConversions.length + 1] = result;
+		}
+		this.conversions = newConversions;
+	}
+
 	//
 	// The following methods are equivalent to corresponding Set methods
 	//
@@ -374,6 +402,21 @@ public abstract class AbstractElement<S extends Set<V>, E extends Element<V>, V
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public final E precompute() {
+		if (this.isTuple()) {
+			for (Element element : (Tuple) this) {
+				element.precompute();
+			}
+			return (E) this;
+		}
+		// elements of other sets have no fixed-base tables
+		if (this.set.isSemiGroup() && this.set instanceof AbstractSemiGroup && this.getFixedBaseExponentiation() == null) {
+			((AbstractSemiGroup) this.set).precompute(this);
+		}
+		return (E) this;
+	}
+
 	/**
 	 * @see Group#invert(Element)
 	 */
@@ -457,4 +500,29 @@ public abstract class AbstractElement<S extends Set<V>, E extends Element<V>, V
 		return this.value.toString();
 	}
 
+	//
+	// The following package-private methods give AbstractSemiGroup access to the precomputation table
+	//
+	final FixedBaseExponentiation<?> getFixedBaseExponentiation() {
+		SoftReference<FixedBaseExponentiation<?>> reference = this.fixedBaseExponentiation;
+		if (reference == null) {
+			return null;
+		}
+		FixedBaseExponentiation<?> result = reference.get();
+		if (result == null) {
+			// the table has been reclaimed, start counting again
+			this.fixedBaseExponentiation = null;
+			this.selfApplyCounter = 0;
+		}
+		return result;
+	}
+
+	final void setFixedBaseExponentiation(FixedBaseExponentiation<?> fixedBaseExponentiation) {
+		this.fixedBaseExponentiation = (fixedBaseExponentiation == null) ? null : new SoftReference<FixedBaseExponentiation<?>>(fixedBaseExponentiation);
+	}
+
+	final int countSelfApply() {
+		return ++this.selfApplyCounter;
+	}
+
 }
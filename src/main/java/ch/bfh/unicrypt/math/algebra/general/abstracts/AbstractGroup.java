@@ -87,13 +87,18 @@ public abstract class AbstractGroup<E extends Element<V>, V extends Object>
 		if (amount.signum() == 0) {
 			return this.getIdentityElement();
 		}
-		E result = this.defaultSelfApplyAlgorithm(element, amount);
+		E result = this.fixedBaseSelfApplyAlgorithm(element, amount);
 		if (negAmount) {
 			return this.invert(result);
 		}
 		return result;
 	}
 
+	@Override
+	protected E defaultMultiSelfApply(final Element[] elements, BigInteger[] amounts) {
+		return AbstractMonoid.defaultGroupMultiSelfApply(this, elements, amounts);
+	}
+
 	//
 	// The following protected abstract method must be implemented in every direct sub-class.
 	//
@@ -42,8 +42,11 @@
 package ch.bfh.unicrypt.math.algebra.general.abstracts;
 
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Monoid;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This abstract class provides a basis implementation for objects of type {@link Monoid}.
@@ -104,15 +107,60 @@ public abstract class AbstractMonoid<E extends Element<V>, V extends Object>
 		if (amount.signum() == 0) {
 			return this.getIdentityElement();
 		}
-		return this.defaultSelfApplyAlgorithm(element, amount);
+		return this.fixedBaseSelfApplyAlgorithm(element, amount);
 	}
 
 	@Override
 	protected E defaultMultiSelfApply(final Element[] elements, BigInteger[] amounts) {
-		if (elements.length == 0) {
+		List<Element> posElements = new ArrayList<Element>();
+		List<BigInteger> posAmounts = new ArrayList<BigInteger>();
+		for (int i = 0; i < elements.length; i++) {
+			if (!this.contains(elements[i]) || amounts[i] == null || amounts[i].signum() < 0) {
+				throw new IllegalArgumentException();
+			}
+			if (amounts[i].signum() > 0) {
+				posElements.add(elements[i]);
+				posAmounts.add(amounts[i]);
+			}
+		}
+		if (posElements.isEmpty()) {
 			return this.getIdentityElement();
 		}
-		return super.defaultMultiSelfApply(elements, amounts);
+		return this.defaultMultiSelfApplyAlgorithm(posElements.toArray(new Element[posElements.size()]), posAmounts.toArray(new BigInteger[posAmounts.size()]));
+	}
+
+	// Shared implementation of defaultMultiSelfApply for groups and rings, in which amounts may be negative. Negative
+	// amounts are replaced by their absolute value and the element by its inverse, amounts are reduced modulo the order
+	// if it is known, and elements with amount 0 are removed before calling defaultMultiSelfApplyAlgorithm.
+	protected static <E extends Element<V>, V extends Object> E defaultGroupMultiSelfApply(final AbstractMonoid<E, V> monoid, final Element[] elements, final BigInteger[] amounts) {
+		if (!(monoid instanceof Group)) {
+			throw new IllegalArgumentException();
+		}
+		Group<V> group = (Group<V>) monoid;
+		List<Element> posElements = new ArrayList<Element>();
+		List<BigInteger> posAmounts = new ArrayList<BigInteger>();
+		for (int i = 0; i < elements.length; i++) {
+			if (!monoid.contains(elements[i]) || amounts[i] == null) {
+				throw new IllegalArgumentException();
+			}
+			Element element = elements[i];
+			BigInteger amount = amounts[i];
+			if (amount.signum() < 0) {
+				element = group.invert(element);
+				amount = amount.negate();
+			}
+			if (monoid.isFinite() && monoid.hasKnownOrder()) {
+				amount = amount.mod(monoid.getOrder());
+			}
+			if (amount.signum() > 0) {
+				posElements.add(element);
+				posAmounts.add(amount);
+			}
+		}
+		if (posElements.isEmpty()) {
+			return monoid.getIdentityElement();
+		}
+		return monoid.defaultMultiSelfApplyAlgorithm(posElements.toArray(new Element[posElements.size()]), posAmounts.toArray(new BigInteger[posAmounts.size()]));
 	}
 
 	//
@@ -41,6 +41,8 @@
  */
 package ch.bfh.unicrypt.math.algebra.general.abstracts;
 
+import ch.bfh.unicrypt.helper.FixedBaseExponentiation;
+import ch.bfh.unicrypt.helper.MultiExponentiation;
 import ch.bfh.unicrypt.helper.iterable.IterableArray;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.SemiGroup;
@@ -61,6 +63,9 @@ public abstract class AbstractSemiGroup<E extends Element<V>, V extends Object>
 	   extends AbstractSet<E, V>
 	   implements SemiGroup<V> {
 
+	// elements used this many times as base of selfApply get a precomputation table automatically
+	private static final int FIXED_BASE_THRESHOLD = 8;
+
 	protected AbstractSemiGroup(Class<? extends Object> valueClass) {
 		super(valueClass);
 	}
@@ -146,7 +151,7 @@ public abstract class AbstractSemiGroup<E extends Element<V>, V extends Object>
 		if (amount.signum() <= 0) {
 			throw new IllegalArgumentException();
 		}
-		return this.defaultSelfApplyAlgorithm(element, amount);
+		return this.fixedBaseSelfApplyAlgorithm(element, amount);
 	}
 
 	protected E defaultSelfApplyAlgorithm(E element, BigInteger posAmount) {
@@ -164,11 +169,92 @@ public abstract class AbstractSemiGroup<E extends Element<V>, V extends Object>
 		if (elements.length == 0) {
 			throw new IllegalArgumentException();
 		}
-		Element[] results = new Element[elements.length];
 		for (int i = 0; i < elements.length; i++) {
-			results[i] = this.selfApply(elements[i], amounts[i]);
+			if (!this.contains(elements[i]) || amounts[i] == null || amounts[i].signum() <= 0) {
+				throw new IllegalArgumentException();
+			}
+		}
+		return this.defaultMultiSelfApplyAlgorithm(elements, amounts);
+	}
+
+	// this method computes the powers independently, sub-classes may override it to call
+	// simultaneousMultiSelfApplyAlgorithm instead
+	protected E defaultMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posAmounts) {
+		return this.independentMultiSelfApplyAlgorithm(elements, posAmounts);
+	}
+
+	// computes the powers independently and applies the operation to the results
+	protected final E independentMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posAmounts) {
+		E result = this.fixedBaseSelfApplyAlgorithm((E) elements[0], posAmounts[0]);
+		for (int i = 1; i < elements.length; i++) {
+			result = this.abstractApply(result, this.fixedBaseSelfApplyAlgorithm((E) elements[i], posAmounts[i]));
 		}
-		return this.apply(results);
+		return result;
+	}
+
+	/**
+	 * Computes the product of powers of the given elements simultaneously using {@link MultiExponentiation}, which
+	 * shares the squarings among all elements. All amounts must be positive. The elements are not checked for
+	 * membership.
+	 * <p>
+	 * @param elements   The given elements
+	 * @param posAmounts The corresponding positive amounts
+	 * @return The result of applying the operation to all powers
+	 */
+	protected final E simultaneousMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posAmounts) {
+		if (elements.length == 1) {
+			return this.fixedBaseSelfApplyAlgorithm((E) elements[0], posAmounts[0]);
+		}
+		MultiExponentiation<E> multiExponentiation = new MultiExponentiation<E>() {
+
+			@Override
+			protected E apply(E element1, E element2) {
+				return abstractApply(element1, element2);
+			}
+
+		};
+		return multiExponentiation.compute((E[]) elements, posAmounts);
+	}
+
+	/**
+	 * Computes the power of an element for a positive amount using the element's fixed-base precomputation table, if
+	 * available, and {@link #defaultSelfApplyAlgorithm(Element, BigInteger)} otherwise. Elements used frequently as
+	 * base get a table automatically. This method should be called by all implementations of
+	 * {@code defaultSelfApply}.
+	 * <p>
+	 * @param element   The given element
+	 * @param posAmount The given positive amount
+	 * @return The resulting element
+	 */
+	protected final E fixedBaseSelfApplyAlgorithm(final E element, final BigInteger posAmount) {
+		if (element instanceof AbstractElement) {
+			AbstractElement abstractElement = (AbstractElement) element;
+			FixedBaseExponentiation<?> fixedBaseExponentiation = abstractElement.getFixedBaseExponentiation();
+			if (fixedBaseExponentiation == null && abstractElement.countSelfApply() == FIXED_BASE_THRESHOLD) {
+				fixedBaseExponentiation = this.precompute(element);
+			}
+			if (fixedBaseExponentiation != null && posAmount.bitLength() <= fixedBaseExponentiation.getBitLength()) {
+				return this.defaultFixedBaseSelfApplyAlgorithm(fixedBaseExponentiation, posAmount);
+			}
+		}
+		return this.defaultSelfApplyAlgorithm(element, posAmount);
+	}
+
+	// attaches a new precomputation table to the given element (called by AbstractElement.precompute)
+	final FixedBaseExponentiation<?> precompute(final E element) {
+		FixedBaseExponentiation<?> fixedBaseExponentiation = this.defaultPrecompute(element);
+		((AbstractElement) element).setFixedBaseExponentiation(fixedBaseExponentiation);
+		return fixedBaseExponentiation;
+	}
+
+	// by default, no precomputation tables are created, sub-classes with expensive exponentiations may override this
+	// method together with defaultFixedBaseSelfApplyAlgorithm
+	protected FixedBaseExponentiation<?> defaultPrecompute(final E element) {
+		return null;
+	}
+
+	protected E defaultFixedBaseSelfApplyAlgorithm(final FixedBaseExponentiation<?> fixedBaseExponentiation, final BigInteger posAmount) {
+		return (E) fixedBaseExponentiation.compute(posAmount);
 	}
 
 	//
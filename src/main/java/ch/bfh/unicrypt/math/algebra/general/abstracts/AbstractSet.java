@@ -43,6 +43,7 @@ package ch.bfh.unicrypt.math.algebra.general.abstracts;
 
 import ch.bfh.unicrypt.helper.UniCrypt;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.bytetree.ByteTree;
 import ch.bfh.unicrypt.helper.bytetree.ByteTreeLeaf;
@@ -61,6 +62,7 @@ import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Field;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Ring;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.SemiRing;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
@@ -72,7 +74,9 @@ import ch.bfh.unicrypt.math.algebra.multiplicative.interfaces.MultiplicativeSemi
 import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * This abstract class provides a basis implementation for the interface Set.
@@ -96,6 +100,10 @@ public abstract class AbstractSet<E extends Element<V>, V extends Object>
 	private StringConverter<V> stringConverter;
 	private ByteArrayConverter<V> byteArrayConverter;
 
+	// the last set found to be equivalent, which allows repeated membership tests of elements of equivalent sets
+	// (mostly product sets) to be short-circuited; since sets are immutable, the result remains valid
+	private transient volatile Set equivalentSet;
+
 	protected AbstractSet(Class<? extends Object> valueClass) {
 		this.valueClass = valueClass;
 	}
@@ -365,6 +373,31 @@ public abstract class AbstractSet<E extends Element<V>, V extends Object>
 		return this.defaultGetElementFrom(byteTree, convertMethod);
 	}
 
+	/**
+	 * Same as {@link #getElementFrom(ByteTree, ConvertMethod)}, but for multiple byte trees at once. The membership of
+	 * the values obtained from the byte trees is checked in a single batch, which for some sets is considerably faster
+	 * than checking them individually.
+	 * <p>
+	 * @param byteTrees     The given byte trees
+	 * @param convertMethod The given convert method
+	 * @return The corresponding elements, or {@code null} if at least one byte tree does not represent an element
+	 */
+	public final DenseArray<E> getElementsFrom(DenseArray<ByteTree> byteTrees, ConvertMethod<ByteArray> convertMethod) {
+		if (byteTrees == null || convertMethod == null) {
+			throw new IllegalArgumentException();
+		}
+		List<V> values = this.defaultGetValuesFrom(byteTrees, convertMethod);
+		if (values == null || !this.defaultContains(values)) {
+			// no such elements
+			return null;
+		}
+		List<E> elements = new ArrayList<E>(values.size());
+		for (V value : values) {
+			elements.add(this.abstractGetElement(value));
+		}
+		return DenseArray.getInstance(elements);
+	}
+
 	@Override
 	public final E getRandomElement() {
 		return this.abstractGetRandomElement(HybridRandomByteSequence.getInstance());
@@ -415,18 +448,21 @@ public abstract class AbstractSet<E extends Element<V>, V extends Object>
 		if (other == null) {
 			throw new IllegalArgumentException();
 		}
-		if (this == other) {
+		if (this == other || this.equivalentSet == other) {
 			return true;
 		}
+		boolean result;
 		// Check if this.getClass() is a superclass of other.getClass()
 		if (this.getClass().isAssignableFrom(other.getClass())) {
-			return this.defaultIsEquivalent(other);
+			result = this.defaultIsEquivalent(other);
+		} else {
+			// Vice versa
+			result = other.getClass().isAssignableFrom(this.getClass()) && other.isEquivalent(this);
 		}
-		// Vice versa
-		if (other.getClass().isAssignableFrom(this.getClass())) {
-			return other.isEquivalent(this);
+		if (result) {
+			this.equivalentSet = other;
 		}
-		return false;
+		return result;
 	}
 
 	@Override
@@ -516,6 +552,36 @@ public abstract class AbstractSet<E extends Element<V>, V extends Object>
 		return null;
 	}
 
+	// returns the unchecked values obtained from the byte trees, this method is different only for ProductSet
+	protected List<V> defaultGetValuesFrom(DenseArray<ByteTree> byteTrees, ConvertMethod<ByteArray> convertMethod) {
+		Converter<V, ByteArray> converter = (Converter<V, ByteArray>) convertMethod.getConverter(this.getClass());
+		if (converter == null) {
+			converter = this.getByteArrayConverter();
+		}
+		List<V> values = new ArrayList<V>(byteTrees.getLength());
+		for (ByteTree byteTree : byteTrees) {
+			if (!byteTree.isLeaf()) {
+				return null;
+			}
+			V value = converter.reconvert(((ByteTreeLeaf) byteTree).getValue());
+			if (value == null) {
+				return null;
+			}
+			values.add(value);
+		}
+		return values;
+	}
+
+	// checks the membership of multiple values, sub-classes may override this method with a batch test
+	protected boolean defaultContains(final List<V> values) {
+		for (V value : values) {
+			if (!this.abstractContains(value)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	protected StringConverter<V> defaultGetStringConverter() {
 		return new AbstractStringConverter<V>(null) {
 
@@ -591,6 +657,16 @@ public abstract class AbstractSet<E extends Element<V>, V extends Object>
 		};
 	}
 
+	// gives product sets access to the elements of their component sets, for example to create elements from values
+	// computed component-wise without repeating the membership test; the key can only be obtained by ProductSet, such
+	// that other sub-classes can not create unchecked elements
+	protected static <E extends Element<V>, V extends Object> E getElementWithoutCheck(AbstractSet<E, V> set, V value, ProductSet.Key key) {
+		if (key == null) {
+			throw new IllegalArgumentException();
+		}
+		return set.abstractGetElement(value);
+	}
+
 	//
 	// The following protected abstract method must be implemented in every direct
 	// sub-class.
@@ -0,0 +1,223 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general.classes;
+
+import ch.bfh.unicrypt.helper.ModularArithmetic;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.SemiGroup;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarMod;
+import java.math.BigInteger;
+
+/**
+ * This class stores the elements of a homogeneous tuple column-wise, i.e. as a single array of element values
+ * together with the common set of the elements. The elements are created from their values only when they are
+ * accessed, which avoids keeping one element object per component in memory. Columns are the result of the
+ * component-wise operations of uniform product groups. For {@link GStarMod} and {@link ZMod}, these operations are
+ * computed in a single loop over the values; for other sets such as elliptic curves, the operation of the set is
+ * applied to each component.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class ElementColumn
+	   extends DenseArray<Element> {
+
+	private final Set set;
+	private final Object[] values;
+
+	protected ElementColumn(Set set, Object[] values, int offset, int length, boolean reverse) {
+		super(values, offset, length, reverse);
+		this.set = set;
+		this.values = values;
+	}
+
+	/**
+	 * Returns the common set of the elements stored in this column.
+	 * <p>
+	 * @return The set of the elements
+	 */
+	public Set getSet() {
+		return this.set;
+	}
+
+	/**
+	 * Returns the value of the element at the given index, without creating the element.
+	 * <p>
+	 * @param index The given index
+	 * @return The value at the given index
+	 * @throws IndexOutOfBoundsException if {@literal index} is out of bounds
+	 */
+	public Object getValueAt(int index) {
+		if (index < 0 || index >= this.length) {
+			throw new IndexOutOfBoundsException();
+		}
+		return this.values[this.getPosition(index)];
+	}
+
+	@Override
+	protected Element abstractGetAt(int index) {
+		return ProductSet.getComponentElement(this.set, this.values[this.getPosition(index)]);
+	}
+
+	@Override
+	protected DenseArray<Element> abstractExtract(int fromIndex, int length) {
+		if (this.reverse) {
+			fromIndex = this.length - fromIndex - length;
+		}
+		return new ElementColumn(this.set, this.values, this.offset + fromIndex, length, this.reverse);
+	}
+
+	@Override
+	protected DenseArray<Element> abstractReverse() {
+		return new ElementColumn(this.set, this.values, this.offset, this.length, !this.reverse);
+	}
+
+	private int getPosition(int index) {
+		if (this.reverse) {
+			index = this.length - index - 1;
+		}
+		return this.offset + index;
+	}
+
+	// the values of the tuple are taken directly from the column if possible
+	static Object[] getValues(Tuple tuple) {
+		DenseArray<Element> elements = tuple.getValue();
+		Object[] result = new Object[elements.getLength()];
+		if (elements instanceof ElementColumn) {
+			ElementColumn column = (ElementColumn) elements;
+			for (int i = 0; i < result.length; i++) {
+				result[i] = column.values[column.getPosition(i)];
+			}
+		} else {
+			int i = 0;
+			for (Element element : elements) {
+				result[i++] = element.getValue();
+			}
+		}
+		return result;
+	}
+
+	static ElementColumn getInstance(Set set, Object[] values) {
+		return new ElementColumn(set, values, 0, values.length, false);
+	}
+
+	static ElementColumn apply(SemiGroup semiGroup, Tuple tuple1, Tuple tuple2) {
+		int length = tuple1.getArity();
+		Object[] results = new Object[length];
+		if (semiGroup instanceof GStarMod) {
+			// the modular arithmetic of the group is shared, i.e., it is not set up again for each operation
+			BigInteger modulus = ((GStarMod) semiGroup).getModulus();
+			ModularArithmetic modularArithmetic = ((GStarMod) semiGroup).getModularArithmetic();
+			Object[] values1 = ElementColumn.getValues(tuple1);
+			Object[] values2 = ElementColumn.getValues(tuple2);
+			for (int i = 0; i < length; i++) {
+				BigInteger value1 = (BigInteger) values1[i];
+				BigInteger value2 = (BigInteger) values2[i];
+				if (modularArithmetic == null) {
+					results[i] = value1.multiply(value2).mod(modulus);
+				} else {
+					results[i] = modularArithmetic.multiply(value1, value2);
+				}
+			}
+		} else if (semiGroup instanceof ZMod) {
+			BigInteger modulus = ((ZMod) semiGroup).getModulus();
+			Object[] values1 = ElementColumn.getValues(tuple1);
+			Object[] values2 = ElementColumn.getValues(tuple2);
+			for (int i = 0; i < length; i++) {
+				results[i] = ((BigInteger) values1[i]).add((BigInteger) values2[i]).mod(modulus);
+			}
+		} else {
+			for (int i = 0; i < length; i++) {
+				results[i] = semiGroup.apply(tuple1.getAt(i), tuple2.getAt(i)).getValue();
+			}
+		}
+		return ElementColumn.getInstance(semiGroup, results);
+	}
+
+	static ElementColumn selfApply(SemiGroup semiGroup, Tuple tuple, BigInteger amount) {
+		int length = tuple.getArity();
+		Object[] results = new Object[length];
+		if (semiGroup instanceof GStarMod) {
+			// the amount is reduced once for all components, negative amounts lead to the inverse
+			GStarMod group = (GStarMod) semiGroup;
+			BigInteger modulus = group.getModulus();
+			BigInteger exponent = amount.mod(group.getOrder());
+			Object[] values = ElementColumn.getValues(tuple);
+			for (int i = 0; i < length; i++) {
+				results[i] = ((BigInteger) values[i]).modPow(exponent, modulus);
+			}
+		} else {
+			for (int i = 0; i < length; i++) {
+				results[i] = semiGroup.selfApply(tuple.getAt(i), amount).getValue();
+			}
+		}
+		return ElementColumn.getInstance(semiGroup, results);
+	}
+
+	static ElementColumn invert(Group group, Tuple tuple) {
+		int length = tuple.getArity();
+		Object[] results = new Object[length];
+		if (group instanceof GStarMod) {
+			BigInteger modulus = ((GStarMod) group).getModulus();
+			Object[] values = ElementColumn.getValues(tuple);
+			for (int i = 0; i < length; i++) {
+				results[i] = ((BigInteger) values[i]).modInverse(modulus);
+			}
+		} else if (group instanceof ZMod) {
+			BigInteger modulus = ((ZMod) group).getModulus();
+			Object[] values = ElementColumn.getValues(tuple);
+			for (int i = 0; i < length; i++) {
+				results[i] = modulus.subtract((BigInteger) values[i]);
+			}
+		} else {
+			for (int i = 0; i < length; i++) {
+				results[i] = group.invert(tuple.getAt(i)).getValue();
+			}
+		}
+		return ElementColumn.getInstance(group, results);
+	}
+
+}
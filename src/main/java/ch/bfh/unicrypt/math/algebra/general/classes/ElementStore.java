@@ -0,0 +1,423 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general.classes;
+
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
+import ch.bfh.unicrypt.helper.hash.HashMethod;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarMod;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarMod;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+
+/**
+ * This class stores a large number of elements of a common set outside of the Java heap. Each element is stored as a
+ * record of fixed length in a direct {@link ByteBuffer} or in a memory-mapped file, such that the heap usage does not
+ * depend on the number of elements. The elements must belong to {@link ZMod}, {@link ZStarMod} or {@link GStarMod},
+ * or to a (possibly nested) product set of them, for example the ciphertext space of the ElGamal encryption scheme.
+ * Elements are read and written either individually or in chunks given as tuples.
+ * <p>
+ * Each record starts with a byte that marks whether an element has been written to it. Reading a record that has not
+ * been written fails, such that the store never returns elements that have not been stored. Elements are checked for
+ * membership when they are written. Therefore, elements read from direct byte buffers are created without repeating
+ * the membership test. Since a memory-mapped file may be modified outside of the store, elements read from a file are
+ * checked again.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class ElementStore {
+
+	// the maximal number of bytes of a single buffer
+	private static final int MAX_BUFFER_LENGTH = Integer.MAX_VALUE;
+	// the first byte of a record marks whether an element has been written to it
+	private static final byte UNWRITTEN = 0;
+	private static final byte WRITTEN = 1;
+
+	private final Set set;
+	private final int size;
+	private final int recordLength;
+	private final int recordsPerBuffer;
+	private final ByteBuffer[] buffers;
+	// true if the buffers may be modified outside of this store
+	private final boolean checkOnRead;
+
+	protected ElementStore(Set set, int size, int recordLength, ByteBuffer[] buffers, boolean checkOnRead) {
+		this.set = set;
+		this.size = size;
+		this.recordLength = recordLength;
+		this.recordsPerBuffer = MAX_BUFFER_LENGTH / recordLength;
+		this.buffers = buffers;
+		this.checkOnRead = checkOnRead;
+	}
+
+	/**
+	 * Returns the common set of the stored elements.
+	 * <p>
+	 * @return The set of the elements
+	 */
+	public Set getSet() {
+		return this.set;
+	}
+
+	/**
+	 * Returns the number of elements of this store.
+	 * <p>
+	 * @return The number of elements
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the number of bytes used for storing a single element, including the byte that marks written records.
+	 * <p>
+	 * @return The length of a record
+	 */
+	public int getRecordLength() {
+		return this.recordLength;
+	}
+
+	/**
+	 * Returns the element stored at the given index.
+	 * <p>
+	 * @param index The given index
+	 * @return The element at the given index
+	 * @throws IndexOutOfBoundsException if {@literal index} is out of bounds
+	 * @throws IllegalStateException     if no element has been stored at the given index, or if the record read from
+	 *                                   a file does not represent an element of the set
+	 */
+	public Element getAt(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException();
+		}
+		ByteBuffer buffer = this.getBuffer(index);
+		if (buffer.get() != WRITTEN) {
+			throw new IllegalStateException();
+		}
+		return ElementStore.readElement(this.set, buffer, this.checkOnRead);
+	}
+
+	/**
+	 * Stores the given element at the given index.
+	 * <p>
+	 * @param index   The given index
+	 * @param element The given element
+	 * @throws IndexOutOfBoundsException if {@literal index} is out of bounds
+	 * @throws IllegalArgumentException  if {@literal element} is not an element of the set
+	 */
+	public void setAt(int index, Element element) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (element == null || !this.set.contains(element)) {
+			throw new IllegalArgumentException();
+		}
+		ByteBuffer buffer = this.getBuffer(index);
+		// the record is marked as written after writing the element
+		buffer.put(UNWRITTEN);
+		ElementStore.writeElement(this.set, element, buffer);
+		buffer.put(buffer.position() - this.recordLength, WRITTEN);
+	}
+
+	/**
+	 * Returns a chunk of consecutive elements as a tuple.
+	 * <p>
+	 * @param offset The index of the first element
+	 * @param length The number of elements
+	 * @return The tuple of elements
+	 * @throws IndexOutOfBoundsException if the chunk is out of bounds
+	 * @throws IllegalStateException     if an element of the chunk has not been stored or is invalid
+	 */
+	public Tuple getRange(int offset, int length) {
+		if (offset < 0 || length < 0 || offset > this.size - length) {
+			throw new IndexOutOfBoundsException();
+		}
+		// the chunk is stored column-wise to keep its memory footprint small
+		Object[] values = new Object[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = this.getAt(offset + i).getValue();
+		}
+		ProductSet productSet = ProductSet.getInstance(this.set, length);
+		return (Tuple) ProductSet.getComponentElement(productSet, ElementColumn.getInstance(this.set, values));
+	}
+
+	/**
+	 * Stores the elements of a tuple consecutively, starting at the given index.
+	 * <p>
+	 * @param offset The index of the first element
+	 * @param tuple  The given tuple of elements
+	 * @throws IndexOutOfBoundsException if the chunk is out of bounds
+	 * @throws IllegalArgumentException  if {@literal tuple} contains elements not belonging to the set
+	 */
+	public void setRange(int offset, Tuple tuple) {
+		if (tuple == null) {
+			throw new IllegalArgumentException();
+		}
+		if (offset < 0 || offset > this.size - tuple.getArity()) {
+			throw new IndexOutOfBoundsException();
+		}
+		for (int i : tuple.getAllIndices()) {
+			this.setAt(offset + i, tuple.getAt(i));
+		}
+	}
+
+	/**
+	 * Returns all stored elements as a single tuple. This method is meant for stores of moderate size.
+	 * <p>
+	 * @return The tuple of all elements
+	 * @throws IllegalStateException if an element has not been stored or is invalid
+	 */
+	public Tuple getTuple() {
+		return this.getRange(0, this.size);
+	}
+
+	/**
+	 * Returns the hash value of the tuple of all stored elements, i.e., the same value as
+	 * {@code getTuple().getHashValue(hashMethod)}. In the recursive mode of the hash method, the hash values of the
+	 * elements are fed one by one into the message digest, such that the elements are not kept in memory.
+	 * <p>
+	 * @param hashMethod The given hash method
+	 * @return The hash value
+	 * @throws IllegalStateException if an element has not been stored or is invalid
+	 */
+	public ByteArray getHashValue(final HashMethod hashMethod) {
+		if (hashMethod == null) {
+			throw new IllegalArgumentException();
+		}
+		if (hashMethod.getMode() != HashMethod.Mode.RECURSIVE) {
+			return this.getTuple().getHashValue(hashMethod);
+		}
+		return ByteArray.getInstance(hashMethod.getHashAlgorithm().getHashValue(new HashAlgorithm.Input() {
+
+			@Override
+			public void update(MessageDigest messageDigest) {
+				for (int i = 0; i < ElementStore.this.size; i++) {
+					ElementStore.this.getAt(i).getHashValue(hashMethod).updateMessageDigest(messageDigest);
+				}
+			}
+
+		}));
+	}
+
+	// each access works on its own view of the buffer, such that different records can be accessed concurrently
+	private ByteBuffer getBuffer(int index) {
+		ByteBuffer buffer = this.buffers[index / this.recordsPerBuffer].duplicate();
+		buffer.position((index % this.recordsPerBuffer) * this.recordLength);
+		return buffer;
+	}
+
+	private static Element readElement(Set set, ByteBuffer buffer, boolean checkValues) {
+		if (set instanceof ProductSet) {
+			ProductSet productSet = (ProductSet) set;
+			if (productSet.isUniform()) {
+				Object[] values = new Object[productSet.getArity()];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = ElementStore.readElement(productSet.getFirst(), buffer, checkValues).getValue();
+				}
+				return ProductSet.getComponentElement(productSet, ElementColumn.getInstance(productSet.getFirst(), values));
+			}
+			Element[] elements = new Element[productSet.getArity()];
+			for (int i = 0; i < elements.length; i++) {
+				elements[i] = ElementStore.readElement(productSet.getAt(i), buffer, checkValues);
+			}
+			return ProductSet.getComponentElement(productSet, DenseArray.getInstance(elements));
+		}
+		byte[] bytes = new byte[ElementStore.getRecordLength(set)];
+		buffer.get(bytes);
+		BigInteger value = new BigInteger(1, bytes);
+		if (checkValues && !set.contains(value)) {
+			throw new IllegalStateException();
+		}
+		return ProductSet.getComponentElement(set, value);
+	}
+
+	private static void writeElement(Set set, Element element, ByteBuffer buffer) {
+		if (set instanceof ProductSet) {
+			ProductSet productSet = (ProductSet) set;
+			Tuple tuple = (Tuple) element;
+			for (int i = 0; i < productSet.getArity(); i++) {
+				ElementStore.writeElement(productSet.getAt(i), tuple.getAt(i), buffer);
+			}
+			return;
+		}
+		int length = ElementStore.getRecordLength(set);
+		BigInteger value = (BigInteger) element.getValue();
+		if (value.bitLength() > 8 * length) {
+			throw new IllegalArgumentException();
+		}
+		byte[] bytes = value.toByteArray();
+		// the bytes are stored unsigned, with leading zeros up to the fixed length
+		int start = Math.max(0, bytes.length - length);
+		for (int i = bytes.length - start; i < length; i++) {
+			buffer.put((byte) 0);
+		}
+		buffer.put(bytes, start, bytes.length - start);
+	}
+
+	private static int getRecordLength(Set set) {
+		if (set instanceof ProductSet) {
+			int recordLength = 0;
+			for (Set componentSet : (ProductSet) set) {
+				recordLength = recordLength + ElementStore.getRecordLength(componentSet);
+			}
+			return recordLength;
+		}
+		BigInteger modulus;
+		if (set instanceof ZMod) {
+			modulus = ((ZMod) set).getModulus();
+		} else if (set instanceof ZStarMod) {
+			modulus = ((ZStarMod) set).getModulus();
+		} else if (set instanceof GStarMod) {
+			modulus = ((GStarMod) set).getModulus();
+		} else {
+			throw new IllegalArgumentException();
+		}
+		// all values are smaller than the modulus
+		return Math.max(1, (modulus.subtract(BigInteger.ONE).bitLength() + 7) / 8);
+	}
+
+	// elements of length 0 are not supported, the additional byte marks written records
+	private static int getCheckedRecordLength(Set set) {
+		int recordLength = ElementStore.getRecordLength(set);
+		if (recordLength == 0) {
+			throw new IllegalArgumentException();
+		}
+		return recordLength + 1;
+	}
+
+	private static int getBufferCount(int size, int recordLength) {
+		int recordsPerBuffer = MAX_BUFFER_LENGTH / recordLength;
+		return Math.max(1, (size + recordsPerBuffer - 1) / recordsPerBuffer);
+	}
+
+	private static int getBufferLength(int index, int size, int recordLength) {
+		int recordsPerBuffer = MAX_BUFFER_LENGTH / recordLength;
+		return Math.min(recordsPerBuffer, size - index * recordsPerBuffer) * recordLength;
+	}
+
+	//
+	// STATIC FACTORY METHODS
+	//
+	/**
+	 * Creates a new store for a given set and number of elements. The records are stored in direct byte buffers
+	 * outside of the Java heap. Sets with records of length 0, such as the empty product set, are not supported.
+	 * <p>
+	 * @param set  The set of the elements
+	 * @param size The number of elements
+	 * @return The new store
+	 * @throws IllegalArgumentException if {@literal set} is not supported or {@literal size} is negative
+	 */
+	public static ElementStore getInstance(Set set, int size) {
+		if (set == null || size < 0) {
+			throw new IllegalArgumentException();
+		}
+		int recordLength = ElementStore.getCheckedRecordLength(set);
+		ByteBuffer[] buffers = new ByteBuffer[ElementStore.getBufferCount(size, recordLength)];
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = ByteBuffer.allocateDirect(ElementStore.getBufferLength(i, size, recordLength));
+		}
+		return new ElementStore(set, size, recordLength, buffers, false);
+	}
+
+	/**
+	 * Creates a new store for a given set and number of elements. The records are stored in a memory-mapped file,
+	 * which is created or overwritten. Elements read from the file are checked for membership. Sets with records of
+	 * length 0, such as the empty product set, are not supported.
+	 * <p>
+	 * @param set  The set of the elements
+	 * @param size The number of elements
+	 * @param file The file
+	 * @return The new store
+	 * @throws IOException              if the file cannot be created or mapped
+	 * @throws IllegalArgumentException if {@literal set} is not supported or {@literal size} is negative
+	 */
+	public static ElementStore getInstance(Set set, int size, File file) throws IOException {
+		if (set == null || size < 0 || file == null) {
+			throw new IllegalArgumentException();
+		}
+		int recordLength = ElementStore.getCheckedRecordLength(set);
+		ByteBuffer[] buffers = new ByteBuffer[ElementStore.getBufferCount(size, recordLength)];
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			randomAccessFile.setLength(0);
+			randomAccessFile.setLength((long) size * recordLength);
+			FileChannel channel = randomAccessFile.getChannel();
+			long position = 0;
+			for (int i = 0; i < buffers.length; i++) {
+				int bufferLength = ElementStore.getBufferLength(i, size, recordLength);
+				// the mapping remains valid after closing the file
+				buffers[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, bufferLength);
+				position = position + bufferLength;
+			}
+		} finally {
+			randomAccessFile.close();
+		}
+		return new ElementStore(set, size, recordLength, buffers, true);
+	}
+
+	/**
+	 * Creates a new store in direct byte buffers and copies the elements of a uniform tuple into it.
+	 * <p>
+	 * @param tuple The given tuple
+	 * @return The new store
+	 * @throws IllegalArgumentException if {@literal tuple} is not uniform or its set is not supported
+	 */
+	public static ElementStore getInstance(Tuple tuple) {
+		if (tuple == null || tuple.isEmpty() || !tuple.getSet().isUniform()) {
+			throw new IllegalArgumentException();
+		}
+		ElementStore store = ElementStore.getInstance(tuple.getSet().getFirst(), tuple.getArity());
+		store.setRange(0, tuple);
+		return store;
+	}
+
+}
@@ -155,6 +155,9 @@ public class ProductGroup
 			throw new IllegalArgumentException();
 		}
 		Tuple tuple = (Tuple) element;
+		if (this.isUniform() && !this.isEmpty()) {
+			return this.abstractGetElement(ElementColumn.invert(this.getFirst(), tuple));
+		}
 		final Element[] invertedElements = new Element[this.getArity()];
 		for (int i : this.getAllIndices()) {
 			invertedElements[i] = tuple.getAt(i).invert();
@@ -185,6 +185,9 @@ public class ProductSemiGroup
 			throw new IllegalArgumentException();
 		}
 		Tuple tuple = (Tuple) element;
+		if (this.isUniform() && !this.isEmpty()) {
+			return this.abstractGetElement(ElementColumn.selfApply(this.getFirst(), tuple, amount));
+		}
 		final Element[] results = new Element[this.getArity()];
 		for (int i : this.getAllIndices()) {
 			results[i] = tuple.getAt(i).selfApply(amount);
@@ -218,7 +221,11 @@ public class ProductSemiGroup
 		return this.defaultMultiSelfApply(elements, amounts);
 	}
 
+	// the results of uniform product groups are stored column-wise
 	protected Tuple abstractApply(Tuple tuple1, Tuple tuple2) {
+		if (this.isUniform() && !this.isEmpty()) {
+			return this.abstractGetElement(ElementColumn.apply(this.getFirst(), tuple1, tuple2));
+		}
 		final Element[] results = new Element[this.getArity()];
 		for (int i : this.getAllIndices()) {
 			results[i] = tuple1.getAt(i).apply(tuple2.getAt(i));
@@ -241,15 +248,25 @@ public class ProductSemiGroup
 		return (Tuple) result;
 	}
 
+	// the product of powers is computed component-wise, such that each component can use its own algorithm
 	protected Tuple defaultMultiSelfApply(final Element[] elements, final BigInteger[] amounts) {
 		if (elements.length == 0) {
 			throw new IllegalArgumentException();
 		}
-		Element[] results = new Element[elements.length];
-		for (int i = 0; i < elements.length; i++) {
-			results[i] = this.selfApply(elements[i], amounts[i]);
+		for (Element element : elements) {
+			if (!this.contains(element)) {
+				throw new IllegalArgumentException();
+			}
 		}
-		return this.apply(results);
+		final Element[] results = new Element[this.getArity()];
+		final Element[] components = new Element[elements.length];
+		for (int i : this.getAllIndices()) {
+			for (int j = 0; j < elements.length; j++) {
+				components[j] = ((Tuple) elements[j]).getAt(i);
+			}
+			results[i] = this.getAt(i).multiSelfApply(components, amounts);
+		}
+		return this.abstractGetElement(DenseArray.getInstance(results));
 	}
 
 }
@@ -41,6 +41,7 @@
  */
 package ch.bfh.unicrypt.math.algebra.general.classes;
 
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.array.interfaces.RecursiveArray;
@@ -58,7 +59,11 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.SemiGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 /**
  *
@@ -68,6 +73,12 @@ public class ProductSet
 	   extends AbstractSet<Tuple, DenseArray<Element>>
 	   implements RecursiveArray<Set> {
 
+	// uniform product sets are interned by base set and arity
+	private final static Map<Set, Map<Integer, ProductSet>> uniformInstances = new HashMap<Set, Map<Integer, ProductSet>>();
+
+	// the key for creating elements of the component sets without the membership test
+	private final static Key KEY = new Key();
+
 	private final DenseArray<Set> sets;
 
 	protected ProductSet(DenseArray<Set> sets) {
@@ -200,6 +211,11 @@ public class ProductSet
 			int length = this.getLength();
 			DenseArray<ByteTree> byteTrees = ((ByteTreeNode) byteTree).getByteTrees();
 			if (byteTrees.getLength() == length) {
+				if (length > 0 && this.isUniform()) {
+					// the membership of all components is checked in a single batch
+					DenseArray<Element> elements = ProductSet.getElementsFrom(this.getFirst(), byteTrees, convertMethod);
+					return (elements == null) ? null : this.abstractGetElement(elements);
+				}
 				Element[] elements = new Element[length];
 				for (int i : this.getAllIndices()) {
 					elements[i] = this.getAt(i).getElementFrom(byteTrees.getAt(i), convertMethod);
@@ -215,6 +231,43 @@ public class ProductSet
 		return null;
 	}
 
+	// the byte trees are transposed, such that the components can be converted in a batch for each set
+	@Override
+	protected List<DenseArray<Element>> defaultGetValuesFrom(DenseArray<ByteTree> byteTrees, ConvertMethod<ByteArray> convertMethod) {
+		int length = this.getLength();
+		int size = byteTrees.getLength();
+		ByteTree[][] transposedByteTrees = new ByteTree[length][size];
+		int j = 0;
+		for (ByteTree byteTree : byteTrees) {
+			if (byteTree.isLeaf()) {
+				return null;
+			}
+			DenseArray<ByteTree> subTrees = ((ByteTreeNode) byteTree).getByteTrees();
+			if (subTrees.getLength() != length) {
+				return null;
+			}
+			for (int i : this.getAllIndices()) {
+				transposedByteTrees[i][j] = subTrees.getAt(i);
+			}
+			j++;
+		}
+		Element[][] elements = new Element[size][length];
+		for (int i : this.getAllIndices()) {
+			DenseArray<Element> components = ProductSet.getElementsFrom(this.getAt(i), DenseArray.getInstance(transposedByteTrees[i]), convertMethod);
+			if (components == null) {
+				return null;
+			}
+			for (j = 0; j < size; j++) {
+				elements[j][i] = components.getAt(j);
+			}
+		}
+		List<DenseArray<Element>> values = new ArrayList<DenseArray<Element>>(size);
+		for (j = 0; j < size; j++) {
+			values.add(DenseArray.getInstance(elements[j]));
+		}
+		return values;
+	}
+
 	@Override
 	protected Tuple abstractGetRandomElement(RandomByteSequence randomByteSequence) {
 		final Element[] randomElements = new Element[this.getLength()];
@@ -490,10 +543,85 @@ public class ProductSet
 	//
 	// STATIC FACTORY METHODS
 	//
+	// uses the batch conversion for sets derived from AbstractSet
+	private static DenseArray<Element> getElementsFrom(Set set, DenseArray<ByteTree> byteTrees, ConvertMethod<ByteArray> convertMethod) {
+		if (set instanceof AbstractSet) {
+			return (DenseArray<Element>) ((AbstractSet) set).getElementsFrom(byteTrees, convertMethod);
+		}
+		Element[] elements = new Element[byteTrees.getLength()];
+		int i = 0;
+		for (ByteTree byteTree : byteTrees) {
+			elements[i] = set.getElementFrom(byteTree, convertMethod);
+			if (elements[i] == null) {
+				return null;
+			}
+			i++;
+		}
+		return DenseArray.getInstance(elements);
+	}
+
+	// creates the element of a component set from a value, which is known to be a member of the set
+	static Element getComponentElement(Set set, Object value) {
+		if (set instanceof AbstractSet) {
+			return AbstractSet.getElementWithoutCheck((AbstractSet) set, value, KEY);
+		}
+		return set.getElement(value);
+	}
+
+	/**
+	 * Instances of this class grant access to {@code AbstractSet.getElementWithoutCheck}. Since the only instance is
+	 * private to this class, no other class can create elements without the membership test.
+	 */
+	public static final class Key {
+
+		private Key() {
+		}
+
+	}
+
 	public static ProductSet getInstance(DenseArray<Set> sets) {
 		if (sets == null) {
 			throw new IllegalArgumentException();
 		}
+		if (sets.getLength() > 0 && sets.isUniform()) {
+			return ProductSet.getUniformInstance(sets);
+		}
+		return ProductSet.createInstance(sets);
+	}
+
+	// the properties of a uniform product set are derived from its base set in constant time
+	private static ProductSet getUniformInstance(DenseArray<Set> sets) {
+		Set set = sets.getAt(0);
+		int arity = sets.getLength();
+		synchronized (ProductSet.uniformInstances) {
+			Map<Integer, ProductSet> instanceMap = ProductSet.uniformInstances.get(set);
+			if (instanceMap == null) {
+				instanceMap = new HashMap<Integer, ProductSet>();
+				ProductSet.uniformInstances.put(set, instanceMap);
+			}
+			ProductSet instance = instanceMap.get(arity);
+			if (instance == null) {
+				// n copies of a cyclic group of order m are pairwise relatively prime only for n=1 or m=1 (as in the general
+				// case below, the infinite order -1 is also treated as relatively prime to itself)
+				BigInteger order = set.getOrder();
+				if (set.isCyclic() && (arity == 1 || order.equals(BigInteger.ONE) || order.equals(Set.INFINITE_ORDER))) {
+					instance = new ProductCyclicGroup(sets);
+				} else if (set.isGroup()) {
+					instance = new ProductGroup(sets);
+				} else if (set.isMonoid()) {
+					instance = new ProductMonoid(sets);
+				} else if (set.isSemiGroup()) {
+					instance = new ProductSemiGroup(sets);
+				} else {
+					instance = new ProductSet(sets);
+				}
+				instanceMap.put(arity, instance);
+			}
+			return instance;
+		}
+	}
+
+	private static ProductSet createInstance(DenseArray<Set> sets) {
 		boolean isSemiGroup = true;
 		boolean isMonoid = true;
 		boolean isGroup = true;
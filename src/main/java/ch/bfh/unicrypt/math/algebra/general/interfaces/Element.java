@@ -228,6 +228,16 @@ public interface Element<V extends Object> {
 	 */
 	public Element<V> selfApply();
 
+	/**
+	 * Attaches a fixed-base precomputation table to this element, which speeds up subsequent calls of
+	 * {@link #selfApply(BigInteger)}. The table is built on the next such call. Elements used frequently as base are
+	 * precomputed automatically, but calling this method avoids the initial delay. For tuples, all components are
+	 * precomputed. If the element's set does not support precomputations, nothing happens.
+	 * <p>
+	 * @return This element
+	 */
+	public Element<V> precompute();
+
 	/**
 	 * @return @see Group#invert(Element)
 	 */
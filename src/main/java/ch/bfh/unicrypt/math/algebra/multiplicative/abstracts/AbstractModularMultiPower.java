@@ -0,0 +1,116 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.multiplicative.abstracts;
+
+import ch.bfh.unicrypt.helper.ModularArithmetic;
+import ch.bfh.unicrypt.helper.MultiExponentiation;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.multiplicative.interfaces.MultiplicativeElement;
+import java.math.BigInteger;
+
+/**
+ * This abstract class computes the product of powers of elements of a multiplicative group modulo {@code n}, in which
+ * the values of the elements are {@link BigInteger} values in {@code [0,n)}. Depending on the number of elements, the
+ * powers are computed independently, simultaneously using {@link MultiExponentiation}, or, if division-free modular
+ * arithmetic is available, simultaneously using {@link ModularArithmetic#multiPower(BigInteger[], BigInteger[])}
+ * without creating elements for the intermediate results. The group provides the first two algorithms and the
+ * creation of the resulting element by implementing the abstract methods.
+ * <p>
+ * @param <E> Generic type of the elements of the group
+ * @author R. Haenni
+ * @version 2.0
+ */
+public abstract class AbstractModularMultiPower<E extends MultiplicativeElement<BigInteger>> {
+
+	/**
+	 * Computes the product of powers of the given elements. All amounts must be positive. The elements are not checked
+	 * for membership.
+	 * <p>
+	 * @param modularArithmetic The division-free modular arithmetic of the group, or {@code null} for small moduli
+	 * @param elements          The given elements
+	 * @param posAmounts        The corresponding positive amounts
+	 * @return The resulting element
+	 */
+	public final E compute(final ModularArithmetic modularArithmetic, final Element[] elements, final BigInteger[] posAmounts) {
+		if (modularArithmetic == null) {
+			if (elements.length < ModularArithmetic.SLOW_MULTI_POWER_THRESHOLD) {
+				return this.computeIndependently(elements, posAmounts);
+			}
+			return this.computeSimultaneously(elements, posAmounts);
+		}
+		if (elements.length < ModularArithmetic.MULTI_POWER_THRESHOLD) {
+			return this.computeIndependently(elements, posAmounts);
+		}
+		BigInteger[] values = new BigInteger[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			values[i] = (BigInteger) elements[i].getValue();
+		}
+		return this.getElement(modularArithmetic.multiPower(values, posAmounts));
+	}
+
+	/**
+	 * Computes the powers of the given elements independently and multiplies the results.
+	 * <p>
+	 * @param elements   The given elements
+	 * @param posAmounts The corresponding positive amounts
+	 * @return The resulting element
+	 */
+	protected abstract E computeIndependently(Element[] elements, BigInteger[] posAmounts);
+
+	/**
+	 * Computes the product of powers of the given elements simultaneously using {@link MultiExponentiation}.
+	 * <p>
+	 * @param elements   The given elements
+	 * @param posAmounts The corresponding positive amounts
+	 * @return The resulting element
+	 */
+	protected abstract E computeSimultaneously(Element[] elements, BigInteger[] posAmounts);
+
+	/**
+	 * Returns the element of the group for the given value in {@code [0,n)}.
+	 * <p>
+	 * @param value The given value
+	 * @return The corresponding element
+	 */
+	protected abstract E getElement(BigInteger value);
+
+}
@@ -41,15 +41,23 @@
  */
 package ch.bfh.unicrypt.math.algebra.multiplicative.classes;
 
+import ch.bfh.unicrypt.helper.FixedBaseExponentiation;
 import ch.bfh.unicrypt.helper.MathUtil;
+import ch.bfh.unicrypt.helper.ModularArithmetic;
+import ch.bfh.unicrypt.helper.ModularFixedBaseExponentiation;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.converter.classes.biginteger.BigIntegerToBigInteger;
 import ch.bfh.unicrypt.helper.converter.interfaces.BigIntegerConverter;
 import ch.bfh.unicrypt.helper.factorization.Factorization;
 import ch.bfh.unicrypt.helper.factorization.SpecialFactorization;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import ch.bfh.unicrypt.math.algebra.multiplicative.abstracts.AbstractModularMultiPower;
 import ch.bfh.unicrypt.math.algebra.multiplicative.abstracts.AbstractMultiplicativeCyclicGroup;
+import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import java.math.BigInteger;
+import java.util.List;
 
 /**
  * This interface represents the concept of a sub-group G_m (of order m) of a cyclic group of integers Z*_n with the
@@ -70,7 +78,14 @@ import java.math.BigInteger;
 public class GStarMod
 	   extends AbstractMultiplicativeCyclicGroup<GStarModElement, BigInteger> {
 
+	// below this number of values, checking the membership of each value independently is faster than the batch test,
+	// which fails to detect a non-member with probability at most 2^-BATCH_CONTAINS_ROUNDS
+	private static final int BATCH_CONTAINS_THRESHOLD = 128;
+	private static final int BATCH_CONTAINS_ROUNDS = 64;
+
 	private final BigInteger modulus;
+	// division-free modular multiplication, only used for large moduli
+	private final ModularArithmetic modularArithmetic;
 	private final SpecialFactorization moduloFactorization;
 	private final Factorization orderFactorization;
 	private ZStarMod superGroup;
@@ -78,6 +93,7 @@ public class GStarMod
 	protected GStarMod(SpecialFactorization moduloFactorization, Factorization orderFactorization) {
 		super(BigInteger.class);
 		this.modulus = moduloFactorization.getValue();
+		this.modularArithmetic = (this.modulus.bitLength() < ModularArithmetic.MIN_BIT_LENGTH) ? null : ModularArithmetic.getInstance(this.modulus);
 		this.moduloFactorization = moduloFactorization;
 		this.orderFactorization = orderFactorization;
 	}
@@ -92,6 +108,16 @@ public class GStarMod
 		return this.modulus;
 	}
 
+	/**
+	 * Returns the division-free modular arithmetic for the modulus of this group. For moduli shorter than
+	 * {@link ModularArithmetic#MIN_BIT_LENGTH}, no such arithmetic is used and {@code null} is returned.
+	 * <p>
+	 * @return The modular arithmetic (or {@code null})
+	 */
+	public final ModularArithmetic getModularArithmetic() {
+		return this.modularArithmetic;
+	}
+
 	/**
 	 * Returns a (possibly incomplete) prime factorization the modulus if this group. An incomplete factorization
 	 * implies that the group order is unknown in such a case.
@@ -147,6 +173,79 @@ public class GStarMod
 		return this.abstractGetElement(element.getValue().modPow(posAmount, this.modulus));
 	}
 
+	@Override
+	protected GStarModElement defaultMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posAmounts) {
+		AbstractModularMultiPower<GStarModElement> modularMultiPower = new AbstractModularMultiPower<GStarModElement>() {
+
+			@Override
+			protected GStarModElement computeIndependently(Element[] elements, BigInteger[] posAmounts) {
+				return independentMultiSelfApplyAlgorithm(elements, posAmounts);
+			}
+
+			@Override
+			protected GStarModElement computeSimultaneously(Element[] elements, BigInteger[] posAmounts) {
+				return simultaneousMultiSelfApplyAlgorithm(elements, posAmounts);
+			}
+
+			@Override
+			protected GStarModElement getElement(BigInteger value) {
+				return abstractGetElement(value);
+			}
+
+		};
+		return modularMultiPower.compute(this.modularArithmetic, elements, posAmounts);
+	}
+
+	// In each round, the product of a random subset of the values is tested for membership. Since this group is the
+	// kernel of x -> x^m in Z*_n, the test passes with probability at most 1/2 if at least one value is not a member.
+	// If a round fails, then at least one value is definitely not a member.
+	@Override
+	protected boolean defaultContains(final List<BigInteger> values) {
+		if (this.modularArithmetic == null || values.size() < BATCH_CONTAINS_THRESHOLD) {
+			return super.defaultContains(values);
+		}
+		// all values are relatively prime to n if and only if their product is
+		BigInteger product = BigInteger.ONE;
+		for (BigInteger value : values) {
+			if (value.signum() <= 0 || value.compareTo(this.modulus) >= 0) {
+				return false;
+			}
+			product = this.modularArithmetic.multiply(product, value);
+		}
+		if (!MathUtil.areRelativelyPrime(product, this.modulus)) {
+			return false;
+		}
+		int size = values.size();
+		int selectionLength = (size + Byte.SIZE - 1) / Byte.SIZE;
+		RandomByteSequence randomByteSequence = HybridRandomByteSequence.getInstance();
+		ByteArray selections = randomByteSequence.getNextByteArray(BATCH_CONTAINS_ROUNDS * selectionLength);
+		for (int round = 0; round < BATCH_CONTAINS_ROUNDS; round++) {
+			int offset = round * selectionLength * Byte.SIZE;
+			BigInteger subsetProduct = BigInteger.ONE;
+			int i = 0;
+			for (BigInteger value : values) {
+				if (selections.getBitAt(offset + i)) {
+					subsetProduct = this.modularArithmetic.multiply(subsetProduct, value);
+				}
+				i++;
+			}
+			if (!subsetProduct.modPow(this.getOrder(), this.modulus).equals(BigInteger.ONE)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	protected FixedBaseExponentiation<?> defaultPrecompute(final GStarModElement element) {
+		return new ModularFixedBaseExponentiation(element.getValue(), this.modulus, this.getOrder().bitLength());
+	}
+
+	@Override
+	protected GStarModElement defaultFixedBaseSelfApplyAlgorithm(final FixedBaseExponentiation<?> fixedBaseExponentiation, final BigInteger posAmount) {
+		return this.abstractGetElement((BigInteger) fixedBaseExponentiation.compute(posAmount));
+	}
+
 	@Override
 	protected String defaultToStringValue() {
 		return this.getModulus().toString() + "," + this.getOrder().toString();
@@ -177,7 +276,8 @@ public class GStarMod
 	@Override
 	protected GStarModElement abstractGetRandomElement(final RandomByteSequence randomByteSequence) {
 		ZStarModElement randomElement = this.getZStarMod().getRandomElement(randomByteSequence);
-		return this.getElement(randomElement.power(this.getCoFactor()).getBigInteger());
+		// the power of an element of Z*_n to the co-factor is always in the sub-group, i.e., no membership test needed
+		return this.abstractGetElement(randomElement.power(this.getCoFactor()).getBigInteger());
 // VERSION WITH OPTIMIZED EFFICIENCY BUT LACK OF INDEPENDENCE
 //    if (this.getOrder().compareTo(this.getCoFactor()) > 0) { // choose between the faster method
 //      // Method 1
@@ -200,7 +300,10 @@ public class GStarMod
 
 	@Override
 	protected GStarModElement abstractApply(final GStarModElement element1, final GStarModElement element2) {
-		return this.abstractGetElement(element1.getValue().multiply(element2.getValue()).mod(this.modulus));
+		if (this.modularArithmetic == null) {
+			return this.abstractGetElement(element1.getValue().multiply(element2.getValue()).mod(this.modulus));
+		}
+		return this.abstractGetElement(this.modularArithmetic.multiply(element1.getValue(), element2.getValue()));
 	}
 
 	@Override
@@ -41,12 +41,14 @@
  */
 package ch.bfh.unicrypt.math.algebra.multiplicative.classes;
 
+import ch.bfh.unicrypt.helper.MathUtil;
 import ch.bfh.unicrypt.helper.factorization.Prime;
 import ch.bfh.unicrypt.helper.factorization.SafePrime;
 import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import java.math.BigInteger;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -67,6 +69,26 @@ public class GStarModSafePrime
 		return this.getModulus().toString();
 	}
 
+	// the group consists of the quadratic residues modulo p, which can be recognized by computing the Legendre symbol
+	// instead of a modular exponentiation
+	@Override
+	protected boolean abstractContains(final BigInteger value) {
+		return value.signum() > 0
+			   && value.compareTo(this.getModulus()) < 0
+			   && MathUtil.jacobiSymbol(value, this.getModulus()) == 1;
+	}
+
+	// computing the Jacobi symbols of all values is faster than the batch test
+	@Override
+	protected boolean defaultContains(final List<BigInteger> values) {
+		for (BigInteger value : values) {
+			if (!this.abstractContains(value)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public static GStarModSafePrime getInstance(final SafePrime safePrime) {
 		if (safePrime == null) {
 			throw new IllegalArgumentException();
@@ -41,12 +41,18 @@
  */
 package ch.bfh.unicrypt.math.algebra.multiplicative.classes;
 
+import ch.bfh.unicrypt.helper.FixedBaseExponentiation;
 import ch.bfh.unicrypt.helper.MathUtil;
+import ch.bfh.unicrypt.helper.ModularArithmetic;
+import ch.bfh.unicrypt.helper.ModularFixedBaseExponentiation;
+import ch.bfh.unicrypt.helper.PrimeCache;
 import ch.bfh.unicrypt.helper.converter.classes.biginteger.BigIntegerToBigInteger;
 import ch.bfh.unicrypt.helper.converter.interfaces.BigIntegerConverter;
 import ch.bfh.unicrypt.helper.factorization.Factorization;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import ch.bfh.unicrypt.math.algebra.multiplicative.abstracts.AbstractModularMultiPower;
 import ch.bfh.unicrypt.math.algebra.multiplicative.abstracts.AbstractMultiplicativeGroup;
 import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
@@ -68,6 +74,8 @@ public class ZStarMod
 	   extends AbstractMultiplicativeGroup<ZStarModElement, BigInteger> {
 
 	private final BigInteger modulus;
+	// division-free modular multiplication, only used for large moduli
+	private final ModularArithmetic modularArithmetic;
 	private final Factorization modulusFactorization;
 
 	/**
@@ -97,6 +105,7 @@ public class ZStarMod
 	protected ZStarMod(final BigInteger modulus, final Factorization modulusFactorization) {
 		super(BigInteger.class);
 		this.modulus = modulus;
+		this.modularArithmetic = (this.modulus.bitLength() < ModularArithmetic.MIN_BIT_LENGTH) ? null : ModularArithmetic.getInstance(this.modulus);
 		this.modulusFactorization = modulusFactorization;
 	}
 
@@ -136,6 +145,41 @@ public class ZStarMod
 		return this.abstractGetElement(element.getValue().modPow(posAmount, this.modulus));
 	}
 
+	@Override
+	protected ZStarModElement defaultMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posAmounts) {
+		AbstractModularMultiPower<ZStarModElement> modularMultiPower = new AbstractModularMultiPower<ZStarModElement>() {
+
+			@Override
+			protected ZStarModElement computeIndependently(Element[] elements, BigInteger[] posAmounts) {
+				return independentMultiSelfApplyAlgorithm(elements, posAmounts);
+			}
+
+			@Override
+			protected ZStarModElement computeSimultaneously(Element[] elements, BigInteger[] posAmounts) {
+				return simultaneousMultiSelfApplyAlgorithm(elements, posAmounts);
+			}
+
+			@Override
+			protected ZStarModElement getElement(BigInteger value) {
+				return abstractGetElement(value);
+			}
+
+		};
+		return modularMultiPower.compute(this.modularArithmetic, elements, posAmounts);
+	}
+
+	@Override
+	protected FixedBaseExponentiation<?> defaultPrecompute(final ZStarModElement element) {
+		// if the order is unknown, the amounts are not reduced and larger amounts are computed without the table
+		int bitLength = this.hasKnownOrder() ? this.getOrder().bitLength() : this.modulus.bitLength();
+		return new ModularFixedBaseExponentiation(element.getValue(), this.modulus, bitLength);
+	}
+
+	@Override
+	protected ZStarModElement defaultFixedBaseSelfApplyAlgorithm(final FixedBaseExponentiation<?> fixedBaseExponentiation, final BigInteger posAmount) {
+		return this.abstractGetElement((BigInteger) fixedBaseExponentiation.compute(posAmount));
+	}
+
 	@Override
 	protected BigInteger defaultGetOrderUpperBound() {
 		return this.getModulus().subtract(BigInteger.ONE);
@@ -191,7 +235,10 @@ public class ZStarMod
 
 	@Override
 	protected ZStarModElement abstractApply(final ZStarModElement element1, final ZStarModElement element2) {
-		return this.abstractGetElement(element1.getValue().multiply(element2.getValue()).mod(this.modulus));
+		if (this.modularArithmetic == null) {
+			return this.abstractGetElement(element1.getValue().multiply(element2.getValue()).mod(this.modulus));
+		}
+		return this.abstractGetElement(this.modularArithmetic.multiply(element1.getValue(), element2.getValue()));
 	}
 
 	@Override
@@ -231,7 +278,7 @@ public class ZStarMod
 		if (modulus == null || modulus.compareTo(BigInteger.ONE) <= 0) {
 			throw new IllegalArgumentException();
 		}
-		if (MathUtil.isPrime(modulus)) {
+		if (PrimeCache.isPrime(modulus)) {
 			return new ZStarMod(modulus, Factorization.getInstance(new BigInteger[]{modulus}));
 		}
 		return new ZStarMod(modulus);
@@ -59,7 +59,8 @@ public class GeneratorFunction
 
 	public GeneratorFunction(ZMod domain, CyclicGroup coDomain, Element generator) {
 		super(domain, coDomain);
-		this.generator = generator;
+		// the generator is a fixed base, its precomputation table is built on the first application
+		this.generator = generator.precompute();
 	}
 
 	public Element getGenerator() {
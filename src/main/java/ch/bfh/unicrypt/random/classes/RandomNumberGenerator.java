@@ -43,8 +43,10 @@ package ch.bfh.unicrypt.random.classes;
 
 import ch.bfh.unicrypt.helper.UniCrypt;
 import ch.bfh.unicrypt.helper.MathUtil;
+import ch.bfh.unicrypt.helper.PrimeSieve;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
 
 /**
  * @author R. Haenni
@@ -54,6 +56,9 @@ import java.math.BigInteger;
 public class RandomNumberGenerator
 	   extends UniCrypt {
 
+	// the number of windows searched by the prime sieve, which must not depend on the number of threads
+	private static final int NUMBER_OF_WINDOWS = 16;
+
 	private final RandomByteSequence randomByteSequence;
 
 	private RandomNumberGenerator(RandomByteSequence randomByteSequence) {
@@ -179,25 +184,64 @@ public class RandomNumberGenerator
 	}
 
 	/**
-	 * Generates a random BigInteger value of a certain bit length that is probably prime with high certainty.
+	 * Generates a random BigInteger value of a certain bit length that is probably prime with high certainty. For bit
+	 * lengths of at least {@link PrimeSieve#MIN_BIT_LENGTH}, the prime is searched incrementally from random odd start
+	 * values using {@link PrimeSieve}. The result depends only on the random byte sequence, but for a given sequence,
+	 * it differs from the prime returned by earlier versions, which tested random candidates one by one. For a
+	 * {@link ReferenceRandomByteSequence}, the candidates are still tested one by one, such that primes derived from
+	 * reference strings remain the same.
 	 * <p>
 	 * @param bitLength The given bit length
 	 * @return The random BigInteger prime number
 	 * @throws IllegalArgumentException if {@literal bitLength < 2}
 	 */
 	public final BigInteger nextPrime(int bitLength) {
+		return this.internalNextPrime(bitLength, null);
+	}
+
+	/**
+	 * Same as {@link #nextPrime(int)}, except that the windows of the prime sieve are searched in parallel using the
+	 * given executor service. The result is the same as without the executor service. For a
+	 * {@link ReferenceRandomByteSequence}, the executor service is not used.
+	 * <p>
+	 * @param bitLength       The given bit length
+	 * @param executorService The given executor service
+	 * @return The random BigInteger prime number
+	 * @throws IllegalArgumentException if {@literal bitLength < 2} or if {@literal executorService} is null
+	 */
+	public final BigInteger nextPrime(int bitLength, ExecutorService executorService) {
+		if (executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		return this.internalNextPrime(bitLength, executorService);
+	}
+
+	private BigInteger internalNextPrime(int bitLength, ExecutorService executorService) {
 		if (bitLength < 2) {
 			throw new IllegalArgumentException();
 		}
 		BigInteger prime;
+		if (bitLength < PrimeSieve.MIN_BIT_LENGTH || this.isReference()) {
+			do {
+				prime = this.internalNextBigInteger(bitLength, true);
+			} while (!MathUtil.isPrime(prime));
+			return prime;
+		}
+		BigInteger maxValue = MathUtil.powerOfTwo(bitLength).subtract(BigInteger.ONE);
+		PrimeSieve primeSieve = PrimeSieve.getInstance(BigInteger.valueOf(2), maxValue, false, Math.max(bitLength / 4, 16));
 		do {
-			prime = this.internalNextBigInteger(bitLength, true);
-		} while (!MathUtil.isPrime(prime));
+			prime = search(primeSieve, this.nextStartValues(bitLength), executorService);
+		} while (prime == null);
 		return prime;
 	}
 
 	/**
-	 * Generates a random BigInteger value of a certain bit length that is a save prime with high certainty.
+	 * Generates a random BigInteger value of a certain bit length that is a save prime with high certainty. For bit
+	 * lengths larger than {@link PrimeSieve#MIN_BIT_LENGTH}, the prime {@code q=(p-1)/2} is searched incrementally from
+	 * random odd start values using {@link PrimeSieve}, which eliminates most candidates for which {@code q} or
+	 * {@code p} has a small factor. The result depends only on the random byte sequence, but as for
+	 * {@link #nextPrime(int)}, it differs from the save prime returned by earlier versions, except for a
+	 * {@link ReferenceRandomByteSequence}.
 	 * <p>
 	 * @param bitLength The given bit length
 	 * @return The random BigInteger save prime
@@ -205,18 +249,50 @@ public class RandomNumberGenerator
 	 * @see "Handbook of Applied Cryptography, Algorithm 4.86"
 	 */
 	public final BigInteger nextSavePrime(int bitLength) {
+		return this.internalNextSavePrime(bitLength, null);
+	}
+
+	/**
+	 * Same as {@link #nextSavePrime(int)}, except that the windows of the prime sieve are searched in parallel using
+	 * the given executor service. The result is the same as without the executor service. For a
+	 * {@link ReferenceRandomByteSequence}, the executor service is not used.
+	 * <p>
+	 * @param bitLength       The given bit length
+	 * @param executorService The given executor service
+	 * @return The random BigInteger save prime
+	 * @throws IllegalArgumentException if {@literal bitLength < 3} or if {@literal executorService} is null
+	 */
+	public final BigInteger nextSavePrime(int bitLength, ExecutorService executorService) {
+		if (executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		return this.internalNextSavePrime(bitLength, executorService);
+	}
+
+	private BigInteger internalNextSavePrime(int bitLength, ExecutorService executorService) {
 		BigInteger prime;
 		BigInteger savePrime;
+		if (bitLength <= PrimeSieve.MIN_BIT_LENGTH || this.isReference()) {
+			do {
+				prime = this.internalNextPrime(bitLength - 1, executorService);
+				savePrime = prime.shiftLeft(1).add(BigInteger.ONE);
+			} while (!MathUtil.isPrime(savePrime));
+			return savePrime;
+		}
+		BigInteger maxValue = MathUtil.powerOfTwo(bitLength - 1).subtract(BigInteger.ONE);
+		PrimeSieve primeSieve = PrimeSieve.getInstance(BigInteger.valueOf(2), maxValue, true, Math.max(bitLength * bitLength / 64, 64));
 		do {
-			prime = this.nextPrime(bitLength - 1);
-			savePrime = prime.shiftLeft(1).add(BigInteger.ONE);
-		} while (!MathUtil.isPrime(savePrime));
-		return savePrime;
+			prime = search(primeSieve, this.nextStartValues(bitLength - 1), executorService);
+		} while (prime == null);
+		return prime.shiftLeft(1).add(BigInteger.ONE);
 	}
 
 	/**
 	 * Generates a pair of distinct random BigInteger values of respective bit lengths such that both values are
-	 * probably prime with high certainty and such that the second divides the first minus one.
+	 * probably prime with high certainty and such that the second divides the first minus one. For bit lengths of at
+	 * least {@link PrimeSieve#MIN_BIT_LENGTH}, the first prime is searched in the progression {@code k*prime2+1} using
+	 * {@link PrimeSieve}. As for {@link #nextPrime(int)}, the result differs from the pair returned by earlier
+	 * versions, except for a {@link ReferenceRandomByteSequence}.
 	 * <p>
 	 * @param bitLength1 The bit length of the first random prime
 	 * @param bitLength2 The bit length of the second random prime
@@ -224,22 +300,84 @@ public class RandomNumberGenerator
 	 * @throws IllegalArgumentException if {@literal bitLength1 <= bitLength2} or {@literal bitLengh2<2}
 	 */
 	public final BigInteger[] nextPrimePair(int bitLength1, int bitLength2) {
+		return this.internalNextPrimePair(bitLength1, bitLength2, null);
+	}
+
+	/**
+	 * Same as {@link #nextPrimePair(int, int)}, except that the windows of the prime sieve are searched in parallel
+	 * using the given executor service. The result is the same as without the executor service. For a
+	 * {@link ReferenceRandomByteSequence}, the executor service is not used.
+	 * <p>
+	 * @param bitLength1      The bit length of the first random prime
+	 * @param bitLength2      The bit length of the second random prime
+	 * @param executorService The given executor service
+	 * @return A BigInteger array containing the two primes
+	 * @throws IllegalArgumentException if {@literal bitLength1 <= bitLength2}, {@literal bitLengh2<2}, or if
+	 *                                  {@literal executorService} is null
+	 */
+	public final BigInteger[] nextPrimePair(int bitLength1, int bitLength2, ExecutorService executorService) {
+		if (executorService == null) {
+			throw new IllegalArgumentException();
+		}
+		return this.internalNextPrimePair(bitLength1, bitLength2, executorService);
+	}
+
+	private BigInteger[] internalNextPrimePair(int bitLength1, int bitLength2, ExecutorService executorService) {
 		if (bitLength1 <= bitLength2 || bitLength2 < 2) {
 			throw new IllegalArgumentException();
 		}
 		BigInteger k;
 		BigInteger prime1, prime2;
-		BigInteger minValue, maxValue;
+		BigInteger minValue = MathUtil.powerOfTwo(bitLength1 - 1);
+		BigInteger maxValue = MathUtil.powerOfTwo(bitLength1).subtract(BigInteger.ONE);
+		if (bitLength1 < PrimeSieve.MIN_BIT_LENGTH || this.isReference()) {
+			do {
+				prime2 = this.internalNextPrime(bitLength2, executorService);
+				k = this.nextBigInteger(minValue.divide(prime2).add(BigInteger.ONE), maxValue.divide(prime2));
+				prime1 = prime2.multiply(k).add(BigInteger.ONE);
+			} while (!MathUtil.isPrime(prime1));
+			return new BigInteger[]{prime1, prime2};
+		}
 		do {
-			prime2 = this.nextPrime(bitLength2);
-			minValue = MathUtil.powerOfTwo(bitLength1 - 1);
-			maxValue = MathUtil.powerOfTwo(bitLength1).subtract(BigInteger.ONE);
-			k = this.nextBigInteger(minValue.divide(prime2).add(BigInteger.ONE), maxValue.divide(prime2));
-			prime1 = prime2.multiply(k).add(BigInteger.ONE);
-		} while (!MathUtil.isPrime(prime1));
+			prime2 = this.internalNextPrime(bitLength2, executorService);
+			// k*prime2+1 is odd for even k
+			PrimeSieve primeSieve = PrimeSieve.getInstance(prime2.shiftLeft(1), maxValue, false, Math.max(bitLength1 / 4, 16));
+			BigInteger[] starts = new BigInteger[NUMBER_OF_WINDOWS];
+			for (int i = 0; i < starts.length; i++) {
+				k = this.nextBigInteger(minValue.divide(prime2).add(BigInteger.ONE), maxValue.divide(prime2));
+				if (k.testBit(0)) {
+					k = k.add(BigInteger.ONE);
+				}
+				starts[i] = prime2.multiply(k).add(BigInteger.ONE);
+			}
+			prime1 = search(primeSieve, starts, executorService);
+		} while (prime1 == null);
 		return new BigInteger[]{prime1, prime2};
 	}
 
+	// primes derived from reference random byte sequences are computed as in earlier versions, such that they can be
+	// reproduced by existing verifiers
+	private boolean isReference() {
+		return this.randomByteSequence instanceof ReferenceRandomByteSequence;
+	}
+
+	// searches the windows sequentially if executorService is null
+	private static BigInteger search(PrimeSieve primeSieve, BigInteger[] starts, ExecutorService executorService) {
+		if (executorService == null) {
+			return primeSieve.search(starts);
+		}
+		return primeSieve.search(starts, executorService);
+	}
+
+	// random odd start values of the given bit length for the prime sieve
+	private BigInteger[] nextStartValues(int bitLength) {
+		BigInteger[] starts = new BigInteger[NUMBER_OF_WINDOWS];
+		for (int i = 0; i < starts.length; i++) {
+			starts[i] = this.internalNextBigInteger(bitLength, true).setBit(0);
+		}
+		return starts;
+	}
+
 	private BigInteger internalNextBigInteger(int bitLength, boolean isMsbSet) {
 		if (bitLength < 1) {
 			return BigInteger.ZERO;
@@ -44,6 +44,7 @@ package ch.bfh.unicrypt.crypto.mixer;
 import ch.bfh.unicrypt.crypto.mixer.classes.ReEncryptionMixer;
 import ch.bfh.unicrypt.crypto.schemes.encryption.classes.ElGamalEncryptionScheme;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementStore;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
@@ -52,6 +53,14 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
 import ch.bfh.unicrypt.helper.Permutation;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.random.classes.CounterModeRandomByteSequence;
+import ch.bfh.unicrypt.random.classes.HybridRandomByteSequence;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -179,4 +188,132 @@ public class ReEncryptionMixerTest {
 		}
 	}
 
+	@Test
+	public void testReEncryptionMixerStore() {
+
+		CyclicGroup G_q = GStarModSafePrime.getInstance(167);
+		Element g = G_q.getDefaultGenerator();
+		Element pk = g.selfApply(7);
+		int size = 20;
+
+		ElGamalEncryptionScheme es = ElGamalEncryptionScheme.getInstance(g);
+		ReEncryptionMixer mixer = ReEncryptionMixer.getInstance(es, pk, size);
+
+		Element[] ciphertexts = new Element[size];
+		for (int i = 0; i < size; i++) {
+			ciphertexts[i] = es.encrypt(pk, G_q.getRandomElement());
+		}
+		PermutationElement permutation = PermutationGroup.getInstance(size).getRandomElement();
+		ElementStore randomizations = mixer.generateRandomizationStore(HybridRandomByteSequence.getInstance());
+
+		ElementStore shuffledCiphertexts = mixer.shuffle(ElementStore.getInstance(Tuple.getInstance(ciphertexts)), permutation, randomizations);
+
+		// The result is the same as for the shuffle of the corresponding tuples
+		assertEquals(mixer.shuffle(Tuple.getInstance(ciphertexts), permutation, randomizations.getTuple()), shuffledCiphertexts.getTuple());
+	}
+
+	@Test
+	public void testReEncryptionMixerFileStore() throws IOException {
+
+		CyclicGroup G_q = GStarModSafePrime.getInstance(167);
+		Element g = G_q.getDefaultGenerator();
+		Element pk = g.selfApply(7);
+		int size = 20;
+
+		ElGamalEncryptionScheme es = ElGamalEncryptionScheme.getInstance(g);
+		ReEncryptionMixer mixer = ReEncryptionMixer.getInstance(es, pk, size);
+
+		Element[] ciphertexts = new Element[size];
+		for (int i = 0; i < size; i++) {
+			ciphertexts[i] = es.encrypt(pk, G_q.getRandomElement());
+		}
+		PermutationElement permutation = PermutationGroup.getInstance(size).getRandomElement();
+		ElementStore elements = ElementStore.getInstance(Tuple.getInstance(ciphertexts));
+
+		File randomizationFile = File.createTempFile("randomizations", ".bin");
+		File shuffleFile = File.createTempFile("shuffle", ".bin");
+		randomizationFile.deleteOnExit();
+		shuffleFile.deleteOnExit();
+		ElementStore randomizations = mixer.generateRandomizationStore(HybridRandomByteSequence.getInstance(),
+			   ElementStore.getInstance(mixer.getRandomizationSpace(), size, randomizationFile));
+		ElementStore target = ElementStore.getInstance(mixer.getShuffleSpace(), size, shuffleFile);
+
+		// The shuffle is written into the given file-backed store
+		ElementStore shuffledCiphertexts = mixer.shuffle(elements, permutation, randomizations, target);
+		assertTrue(shuffledCiphertexts == target);
+		assertEquals(mixer.shuffle(elements, permutation, randomizations).getTuple(), shuffledCiphertexts.getTuple());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReEncryptionMixerStoreSameTarget() {
+
+		CyclicGroup G_q = GStarModSafePrime.getInstance(167);
+		Element g = G_q.getDefaultGenerator();
+		Element pk = g.selfApply(7);
+		int size = 5;
+
+		ElGamalEncryptionScheme es = ElGamalEncryptionScheme.getInstance(g);
+		ReEncryptionMixer mixer = ReEncryptionMixer.getInstance(es, pk, size);
+
+		Element[] ciphertexts = new Element[size];
+		for (int i = 0; i < size; i++) {
+			ciphertexts[i] = es.encrypt(pk, G_q.getRandomElement());
+		}
+		ElementStore elements = ElementStore.getInstance(Tuple.getInstance(ciphertexts));
+		ElementStore randomizations = mixer.generateRandomizationStore(HybridRandomByteSequence.getInstance());
+		mixer.shuffle(elements, PermutationGroup.getInstance(size).getRandomElement(), randomizations, elements);
+	}
+
+	@Test
+	public void testReEncryptionMixerParallel() {
+
+		CyclicGroup G_q = GStarModSafePrime.getInstance(167);
+		Element g = G_q.getDefaultGenerator();
+		Element pk = g.selfApply(7);
+		int size = 50;
+
+		ElGamalEncryptionScheme es = ElGamalEncryptionScheme.getInstance(g);
+		ReEncryptionMixer mixer = ReEncryptionMixer.getInstance(es, pk, size);
+
+		Element[] ciphertexts = new Element[size];
+		for (int i = 0; i < size; i++) {
+			ciphertexts[i] = es.encrypt(pk, G_q.getRandomElement());
+		}
+		PermutationElement permutation = PermutationGroup.getInstance(size).getRandomElement();
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			Tuple randomizations = mixer.generateRandomizations(HybridRandomByteSequence.getInstance(), executorService);
+			assertTrue(mixer.getRandomizationSpace().contains(randomizations.getAt(size - 1)));
+
+			// The parallel and the sequential shuffle are identical for the same randomizations
+			Tuple shuffledCiphertexts = mixer.shuffle(Tuple.getInstance(ciphertexts), permutation, randomizations, executorService);
+			assertEquals(mixer.shuffle(Tuple.getInstance(ciphertexts), permutation, randomizations), shuffledCiphertexts);
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testGenerateRandomizationsParallel() {
+
+		CyclicGroup G_q = GStarModSafePrime.getInstance(167);
+		Element g = G_q.getDefaultGenerator();
+		ElGamalEncryptionScheme es = ElGamalEncryptionScheme.getInstance(g);
+		ReEncryptionMixer mixer = ReEncryptionMixer.getInstance(es, g.selfApply(7), 150);
+		ByteArray seed = ByteArray.getInstance("01|23|45|67|89|AB|CD|EF");
+
+		// The randomizations only depend on the random byte sequence, not on the number of threads
+		ExecutorService executorService1 = Executors.newFixedThreadPool(1);
+		ExecutorService executorService2 = Executors.newFixedThreadPool(5);
+		try {
+			Tuple randomizations1 = mixer.generateRandomizations(CounterModeRandomByteSequence.getInstance(seed), executorService1);
+			Tuple randomizations2 = mixer.generateRandomizations(CounterModeRandomByteSequence.getInstance(seed), executorService2);
+			assertEquals(randomizations1, randomizations2);
+		} finally {
+			executorService1.shutdown();
+			executorService2.shutdown();
+		}
+	}
+
 }
@@ -46,6 +46,7 @@ import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.SigmaCha
 import ch.bfh.unicrypt.crypto.proofsystem.classes.PermutationCommitmentProofSystem;
 import ch.bfh.unicrypt.crypto.schemes.commitment.classes.PermutationCommitmentScheme;
 import ch.bfh.unicrypt.helper.Permutation;
+import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
 import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
@@ -60,6 +61,9 @@ import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomOracle;
 import java.lang.reflect.Field;
 import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -201,4 +205,32 @@ public class PermutationCommitmentProofSystemTest {
 
 	}
 
+	@Test
+	public void testPermutationCommitemntProofGeneratorParallel() {
+
+		final CyclicGroup G_q = GStarModSafePrime.getInstance(new BigInteger(P2, 10));
+		final ReferenceRandomByteSequence rrs = ReferenceRandomByteSequence.getInstance();
+		final int size = 20;
+
+		// Permutation
+		PermutationElement pi = PermutationGroup.getInstance(size).getRandomElement();
+		PermutationCommitmentScheme pcs = PermutationCommitmentScheme.getInstance(G_q, size, rrs);
+		Tuple sV = pcs.getRandomizationSpace().getRandomElement();
+		Tuple cPiV = pcs.commit(pi, sV);
+
+		// Permutation commitment proof generator
+		PermutationCommitmentProofSystem pcpg = PermutationCommitmentProofSystem.getInstance(G_q, size);
+
+		// The parallel and the sequential proofs are identical for the same random byte sequence
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			Pair proof = pcpg.generate(Pair.getInstance(pi, sV), cPiV, CounterModeRandomByteSequence.getInstance(HashAlgorithm.getInstance()), executorService);
+			assertEquals(pcpg.generate(Pair.getInstance(pi, sV), cPiV, CounterModeRandomByteSequence.getInstance(HashAlgorithm.getInstance())), proof);
+			assertTrue(pcpg.verify(proof, cPiV, executorService));
+			assertTrue(pcpg.verify(proof, cPiV));
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
 }
@@ -59,6 +59,8 @@ import ch.bfh.unicrypt.math.function.classes.ProductFunction;
 import ch.bfh.unicrypt.math.function.classes.SharedDomainFunction;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -112,6 +114,32 @@ public class PreimageEqualityProofSystemTest {
 
 	}
 
+	@Test
+	public void testPreimageEqualityProofBatch() {
+
+		GStarMod G_q = this.G_q2;
+		ZMod Z_q = this.G_q2.getZModOrder();
+
+		Function f1 = GeneratorFunction.getInstance(G_q.getElement(4));
+		Function f2 = GeneratorFunction.getInstance(G_q.getElement(2));
+		SharedDomainFunction f = SharedDomainFunction.getInstance(f1, f2);
+		PreimageEqualityProofSystem pg = PreimageEqualityProofSystem.getInstance(this.proverId, f);
+
+		// Proof 5 is invalid -> preimages are not equal
+		List<Triple> proofs = new ArrayList<Triple>();
+		List<Element> publicInputs = new ArrayList<Element>();
+		for (int i = 0; i < 8; i++) {
+			Element privateInput = Z_q.getRandomElement();
+			Element publicInput = Tuple.getInstance(f1.apply(privateInput), f2.apply(i == 5 ? privateInput.apply(privateInput) : privateInput));
+			proofs.add(pg.generate(privateInput, publicInput));
+			publicInputs.add(publicInput);
+		}
+		boolean[] result = pg.verifyBatch(proofs, publicInputs);
+		for (int i = 0; i < 8; i++) {
+			assertTrue(result[i] == (i != 5));
+		}
+	}
+
 	@Test
 	public void testPreimageEqualityProof_Invalid() {
 
@@ -57,6 +57,12 @@ import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
 import ch.bfh.unicrypt.math.function.classes.GeneratorFunction;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -93,6 +99,74 @@ public class PreimageProofSystemTest {
 		assertTrue(v);
 	}
 
+	@Test
+	public void testPreimageProofSpaces() {
+
+		GeneratorFunction f = GeneratorFunction.getInstance(this.G_q2.getElement(4));
+		PreimageProofSystem pg = PreimageProofSystem.getInstance(this.proverId, f);
+
+		// Derived spaces are computed once
+		assertSame(pg.getProofSpace(), pg.getProofSpace());
+		assertSame(pg.getPrivateInputSpace(), pg.getPrivateInputSpace());
+		assertSame(pg.getPublicInputSpace(), pg.getPublicInputSpace());
+		assertSame(pg.getChallengeSpace(), pg.getChallengeSpace());
+		assertSame(pg.getPreimageProofFunction(), pg.getPreimageProofFunction());
+
+		Element publicInput = f.apply(this.G_q2.getZModOrder().getElement(3));
+		for (int i = 0; i < 3; i++) {
+			Triple proof = pg.generate(this.G_q2.getZModOrder().getElement(3), publicInput);
+			assertTrue(pg.verify(proof, publicInput));
+		}
+	}
+
+	@Test
+	public void testPreimageProofBatch() {
+
+		GeneratorFunction f = GeneratorFunction.getInstance(this.G_q2.getElement(4));
+		PreimageProofSystem pg = PreimageProofSystem.getInstance(this.proverId, f);
+
+		// Proofs 3 and 7 are invalid
+		List<Triple> proofs = new ArrayList<Triple>();
+		List<Element> publicInputs = new ArrayList<Element>();
+		for (int i = 0; i < 10; i++) {
+			Element privateInput = this.G_q2.getZModOrder().getRandomElement();
+			Element publicInput = f.apply(i == 3 || i == 7 ? privateInput.apply(privateInput) : privateInput);
+			proofs.add(pg.generate(privateInput, publicInput));
+			publicInputs.add(publicInput);
+		}
+		boolean[] result = pg.verifyBatch(proofs, publicInputs);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(pg.verify(proofs.get(i), publicInputs.get(i)), result[i]);
+			assertEquals(i != 3 && i != 7, result[i]);
+		}
+		assertTrue(pg.verifyBatch(proofs.subList(4, 7), publicInputs.subList(4, 7)).length == 3);
+		assertTrue(pg.verifyBatch(new ArrayList<Triple>(), new ArrayList<Element>()).length == 0);
+	}
+
+	@Test
+	public void testPreimageProofBatchSmallSubgroup() {
+
+		// Z_2q has order 2q, so f(s+q)=f(s)+q differs from f(s) by the element q of order 2
+		BigInteger order = this.G_q2.getOrder().shiftLeft(1);
+		ZMod zMod = ZMod.getInstance(order);
+		GeneratorFunction f = GeneratorFunction.getInstance(zMod);
+		PreimageProofSystem pg = PreimageProofSystem.getInstance(this.proverId, f);
+		Element q = zMod.getElement(this.G_q2.getOrder());
+
+		// the second proof is a forgery, which would pass a combined check with probability 1/2
+		for (int i = 0; i < 20; i++) {
+			Element privateInput = zMod.getRandomElement();
+			Element publicInput = f.apply(privateInput);
+			Triple proof = pg.generate(privateInput, publicInput);
+			Triple forgery = Triple.getInstance(proof.getFirst(), proof.getSecond(), proof.getThird().apply(q));
+			assertTrue(pg.verify(proof, publicInput));
+			assertFalse(pg.verify(forgery, publicInput));
+			boolean[] result = pg.verifyBatch(Arrays.asList(proof, forgery), Arrays.asList(publicInput, publicInput));
+			assertTrue(result[0]);
+			assertFalse(result[1]);
+		}
+	}
+
 	@Test
 	public void testPreimageProof_Invalid() {
 
@@ -50,10 +50,12 @@ import ch.bfh.unicrypt.crypto.schemes.encryption.classes.ElGamalEncryptionScheme
 import ch.bfh.unicrypt.crypto.schemes.encryption.interfaces.ReEncryptionScheme;
 import ch.bfh.unicrypt.helper.Alphabet;
 import ch.bfh.unicrypt.helper.Permutation;
+import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
 import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModPrime;
 import ch.bfh.unicrypt.math.algebra.concatenative.classes.StringMonoid;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
 import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementStore;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
@@ -70,6 +72,10 @@ import ch.bfh.unicrypt.random.classes.ReferenceRandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomByteSequence;
 import ch.bfh.unicrypt.random.interfaces.RandomOracle;
 import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -344,4 +350,93 @@ public class ShuffleProofSystemTest {
 		assertTrue(v);
 	}
 
+	@Test
+	public void testShuffleProofGeneratorParallel() {
+
+		final GStarMod G_q = GStarModSafePrime.getInstance(new BigInteger(P2, 10));
+		final ZMod Z_q = G_q.getZModOrder();
+		final ReferenceRandomByteSequence rrs = ReferenceRandomByteSequence.getInstance();
+		final int size = 20;
+
+		final ReEncryptionScheme encryptionScheme = ElGamalEncryptionScheme.getInstance(G_q);
+		final Element encryptionPK = G_q.getElement(4);
+
+		// Permutation
+		PermutationElement pi = PermutationGroup.getInstance(size).getRandomElement();
+		PermutationCommitmentScheme pcs = PermutationCommitmentScheme.getInstance(G_q, size, rrs);
+		Tuple sV = pcs.getRandomizationSpace().getRandomElement();
+		Tuple cPiV = pcs.commit(pi, sV);
+
+		// Ciphertexts
+		Tuple rV = ProductGroup.getInstance(Z_q, size).getRandomElement();
+		Tuple uV = ProductGroup.getInstance(ProductGroup.getInstance(G_q, 2), size).getRandomElement();
+		Element[] uPrimes = new Element[size];
+		for (int i = 0; i < size; i++) {
+			uPrimes[i] = encryptionScheme.reEncrypt(encryptionPK, uV.getAt(i), rV.getAt(i));
+		}
+		Tuple uPrimeV = PermutationFunction.getInstance(ProductGroup.getInstance(G_q, 2), size).apply(Tuple.getInstance(uPrimes), pi);
+
+		// Shuffle Proof Generator
+		ReEncryptionShuffleProofSystem spg = ReEncryptionShuffleProofSystem.getInstance(G_q, size, encryptionScheme, encryptionPK);
+		Tuple privateInput = Tuple.getInstance(pi, sV, rV);
+		Tuple publicInput = Tuple.getInstance(cPiV, uV, uPrimeV);
+
+		// The parallel and the sequential proofs are identical for the same random byte sequence
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			Triple proof = spg.generate(privateInput, publicInput, CounterModeRandomByteSequence.getInstance(HashAlgorithm.getInstance()), executorService);
+			assertEquals(spg.generate(privateInput, publicInput, CounterModeRandomByteSequence.getInstance(HashAlgorithm.getInstance())), proof);
+			assertTrue(spg.verify(proof, publicInput, executorService));
+			assertTrue(spg.verify(proof, publicInput));
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testShuffleProofGeneratorStore() {
+
+		final GStarMod G_q = GStarModSafePrime.getInstance(new BigInteger(P2, 10));
+		final ZMod Z_q = G_q.getZModOrder();
+		final ReferenceRandomByteSequence rrs = ReferenceRandomByteSequence.getInstance();
+		// more than one chunk is read from the stores
+		final int size = 1100;
+
+		final ReEncryptionScheme encryptionScheme = ElGamalEncryptionScheme.getInstance(G_q);
+		final Element encryptionPK = G_q.getElement(4);
+
+		// Permutation
+		PermutationElement pi = PermutationGroup.getInstance(size).getRandomElement();
+		PermutationCommitmentScheme pcs = PermutationCommitmentScheme.getInstance(G_q, size, rrs);
+		Tuple sV = pcs.getRandomizationSpace().getRandomElement();
+		Tuple cPiV = pcs.commit(pi, sV);
+
+		// Ciphertexts
+		Tuple rV = ProductGroup.getInstance(Z_q, size).getRandomElement();
+		Tuple uV = ProductGroup.getInstance(ProductGroup.getInstance(G_q, 2), size).getRandomElement();
+		Element[] uPrimes = new Element[size];
+		for (int i = 0; i < size; i++) {
+			uPrimes[i] = encryptionScheme.reEncrypt(encryptionPK, uV.getAt(i), rV.getAt(i));
+		}
+		Tuple uPrimeV = PermutationFunction.getInstance(ProductGroup.getInstance(G_q, 2), size).apply(Tuple.getInstance(uPrimes), pi);
+
+		// Shuffle Proof Generator
+		ReEncryptionShuffleProofSystem spg = ReEncryptionShuffleProofSystem.getInstance(G_q, size, encryptionScheme, encryptionPK);
+		Tuple privateInput = Tuple.getInstance(pi, sV, rV);
+		Tuple publicInput = Tuple.getInstance(cPiV, uV, uPrimeV);
+		ElementStore cPiStore = ElementStore.getInstance(cPiV);
+		ElementStore uStore = ElementStore.getInstance(uV);
+		ElementStore uPrimeStore = ElementStore.getInstance(uPrimeV);
+
+		// The proofs for the stores and for the tuples are identical for the same random byte sequence
+		Triple proof = spg.generate(privateInput, cPiStore, uStore, uPrimeStore, CounterModeRandomByteSequence.getInstance(HashAlgorithm.getInstance()));
+		assertEquals(spg.generate(privateInput, publicInput, CounterModeRandomByteSequence.getInstance(HashAlgorithm.getInstance())), proof);
+		assertTrue(spg.verify(proof, cPiStore, uStore, uPrimeStore));
+		assertTrue(spg.verify(proof, publicInput));
+
+		// The proof is rejected after modifying the output ciphertexts
+		uPrimeStore.setAt(size - 1, uPrimeV.getAt(0));
+		assertFalse(spg.verify(proof, cPiStore, uStore, uPrimeStore));
+	}
+
 }
@@ -50,6 +50,9 @@ import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModElement;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -110,4 +113,40 @@ public class SchnorrSignatureSchemeTest {
 
 	}
 
+	@Test
+	public void testVerifyBatch() {
+		GStarModSafePrime g_q = GStarModSafePrime.getInstance(new BigInteger("88059184022561109274134540595138392753102891002065208740257707896840303297223"));
+		GStarModElement g = g_q.getDefaultGenerator();
+
+		SchnorrSignatureScheme<StringMonoid> schnorr = SchnorrSignatureScheme.getInstance(StringMonoid.getInstance(Alphabet.BASE64), g);
+
+		// Signatures 2 and 9 are invalid
+		int size = 50;
+		List<Element> publicKeys = new ArrayList<Element>();
+		List<Element> messages = new ArrayList<Element>();
+		List<Element> signatures = new ArrayList<Element>();
+		for (int i = 0; i < size; i++) {
+			Pair keyPair = schnorr.getKeyPairGenerator().generateKeyPair();
+			StringElement message = schnorr.getMessageSpace().getElement("Message" + i);
+			Pair signature = schnorr.sign(keyPair.getFirst(), message, schnorr.getRandomizationSpace().getRandomElement());
+			if (i == 2 || i == 9) {
+				signature = Pair.getInstance(signature.getFirst(), signature.getSecond().apply(signature.getFirst()));
+			}
+			publicKeys.add(keyPair.getSecond());
+			messages.add(message);
+			signatures.add(signature);
+		}
+
+		// Compare with the verification of single signatures
+		boolean[] expResult = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			expResult[i] = schnorr.verify(publicKeys.get(i), messages.get(i), signatures.get(i)).getValue();
+		}
+		boolean[] result = schnorr.verifyBatch(publicKeys, messages, signatures);
+		for (int i = 0; i < size; i++) {
+			Assert.assertEquals(expResult[i], result[i]);
+			Assert.assertEquals(i != 2 && i != 9, result[i]);
+		}
+	}
+
 }
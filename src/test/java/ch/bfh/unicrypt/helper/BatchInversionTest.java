@@ -0,0 +1,104 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class BatchInversionTest {
+
+	private static final BigInteger P = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16);
+
+	private static BatchInversion<BigInteger> getBatchInversion(final BigInteger modulus) {
+		return new BatchInversion<BigInteger>() {
+
+			@Override
+			protected BigInteger multiply(BigInteger value1, BigInteger value2) {
+				return value1.multiply(value2).mod(modulus);
+			}
+
+			@Override
+			protected BigInteger invert(BigInteger value) {
+				return value.modInverse(modulus);
+			}
+
+		};
+	}
+
+	@Test
+	public void testCompute() {
+		Random random = new Random(0);
+		BatchInversion<BigInteger> batchInversion = getBatchInversion(P);
+		for (int n : new int[]{0, 1, 2, 3, 50}) {
+			BigInteger[] values = new BigInteger[n];
+			for (int i = 0; i < n; i++) {
+				values[i] = new BigInteger(P.bitLength() - 1, random).add(BigInteger.ONE);
+			}
+			BigInteger[] copy = values.clone();
+			BigInteger[] inverses = batchInversion.compute(values);
+			assertEquals(n, inverses.length);
+			for (int i = 0; i < n; i++) {
+				assertEquals(values[i].modInverse(P), inverses[i]);
+				assertEquals(copy[i], values[i]);
+			}
+		}
+	}
+
+	@Test
+	public void testComputeException() {
+		BatchInversion<BigInteger> batchInversion = getBatchInversion(P);
+		try {
+			batchInversion.compute(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			batchInversion.compute(new BigInteger[]{BigInteger.ONE, null});
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+}
@@ -0,0 +1,178 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+import java.util.Random;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class BinaryFieldArithmeticTest {
+
+	// x^3+x+1 and the trinomials and pentanomials of SEC2
+	private static final int[][] POLYNOMIALS = {{3, 1, 0}, {113, 9, 0}, {128, 7, 2, 1, 0}, {163, 7, 6, 3, 0}, {233, 74, 0}, {283, 12, 7, 5, 0}, {571, 10, 5, 2, 0}};
+
+	private static BigInteger getPolynomial(int[] exponents) {
+		BigInteger result = BigInteger.ZERO;
+		for (int exponent : exponents) {
+			result = result.setBit(exponent);
+		}
+		return result;
+	}
+
+	// bit-wise multiplication and reduction
+	private static BigInteger multiply(BigInteger value1, BigInteger value2, BigInteger polynomial) {
+		BigInteger result = BigInteger.ZERO;
+		for (int i = 0; i < value2.bitLength(); i++) {
+			if (value2.testBit(i)) {
+				result = result.xor(value1.shiftLeft(i));
+			}
+		}
+		int degree = polynomial.bitLength() - 1;
+		for (int i = result.bitLength() - 1; i >= degree; i--) {
+			if (result.testBit(i)) {
+				result = result.xor(polynomial.shiftLeft(i - degree));
+			}
+		}
+		return result;
+	}
+
+	private static long[] getWords(BigInteger value, int length) {
+		long[] result = new long[length];
+		for (int i = 0; i < length; i++) {
+			result[i] = value.shiftRight(Long.SIZE * i).longValue();
+		}
+		return result;
+	}
+
+	private static BigInteger getValue(long[] words) {
+		BigInteger result = BigInteger.ZERO;
+		for (int i = words.length - 1; i >= 0; i--) {
+			result = result.shiftLeft(Long.SIZE).or(new BigInteger(Long.toHexString(words[i]), 16));
+		}
+		return result;
+	}
+
+	@Test
+	public void testArithmetic() {
+		Random random = new Random(0);
+		for (int[] exponents : POLYNOMIALS) {
+			BigInteger polynomial = getPolynomial(exponents);
+			BinaryFieldArithmetic arithmetic = BinaryFieldArithmetic.getInstance(polynomial);
+			int m = arithmetic.getDegree();
+			int n = arithmetic.getLength();
+			assertEquals(exponents[0], m);
+			assertEquals((m + 63) / 64, n);
+			for (int i = 0; i < 20; i++) {
+				BigInteger value1 = new BigInteger(m, random);
+				BigInteger value2 = new BigInteger(m, random);
+				long[] words1 = getWords(value1, n);
+				long[] words2 = getWords(value2, n);
+				assertEquals(value1.xor(value2), getValue(arithmetic.add(words1, words2)));
+				assertEquals(multiply(value1, value2, polynomial), getValue(arithmetic.multiply(words1, words2)));
+				assertEquals(multiply(value1, value1, polynomial), getValue(arithmetic.square(words1)));
+				if (value1.signum() != 0) {
+					assertEquals(BigInteger.ONE, getValue(arithmetic.multiply(words1, arithmetic.invert(words1))));
+				}
+			}
+			assertArrayEquals(arithmetic.getOne(), arithmetic.invert(arithmetic.getOne()));
+			assertTrue(arithmetic.isZero(arithmetic.square(arithmetic.getZero())));
+		}
+	}
+
+	@Test
+	public void testGetElement() {
+		Random random = new Random(0);
+		for (int[] exponents : POLYNOMIALS) {
+			BinaryFieldArithmetic arithmetic = BinaryFieldArithmetic.getInstance(getPolynomial(exponents));
+			long[] words = getWords(new BigInteger(arithmetic.getDegree(), random), arithmetic.getLength());
+			byte[] bytes = arithmetic.getBytes(words);
+			assertEquals((arithmetic.getDegree() + 7) / 8, bytes.length);
+			assertArrayEquals(words, arithmetic.getElement(bytes));
+			assertArrayEquals(arithmetic.getOne(), arithmetic.getElement(new byte[]{1, 0, 0}));
+		}
+	}
+
+	@Test
+	public void testIsIrreducible() {
+		for (int[] exponents : POLYNOMIALS) {
+			assertTrue(BinaryFieldArithmetic.getInstance(getPolynomial(exponents)).isIrreducible());
+		}
+		// x+1, x^2+x+1, x^4+x+1
+		assertTrue(BinaryFieldArithmetic.getInstance(BigInteger.valueOf(3)).isIrreducible());
+		assertTrue(BinaryFieldArithmetic.getInstance(BigInteger.valueOf(7)).isIrreducible());
+		assertTrue(BinaryFieldArithmetic.getInstance(BigInteger.valueOf(19)).isIrreducible());
+		// x^2+1, x^4+x^2+1, x^4+x^3+x^2+x+1 is irreducible, but x^5+x^4+x^3+x^2+x+1 is not
+		assertFalse(BinaryFieldArithmetic.getInstance(BigInteger.valueOf(5)).isIrreducible());
+		assertFalse(BinaryFieldArithmetic.getInstance(BigInteger.valueOf(21)).isIrreducible());
+		assertTrue(BinaryFieldArithmetic.getInstance(BigInteger.valueOf(31)).isIrreducible());
+		assertFalse(BinaryFieldArithmetic.getInstance(BigInteger.valueOf(63)).isIrreducible());
+		// x^113+x^9+1 multiplied by x+1
+		BigInteger polynomial = getPolynomial(POLYNOMIALS[1]);
+		assertFalse(BinaryFieldArithmetic.getInstance(polynomial.shiftLeft(1).xor(polynomial)).isIrreducible());
+	}
+
+	@Test
+	public void testException() {
+		BinaryFieldArithmetic arithmetic = BinaryFieldArithmetic.getInstance(BigInteger.valueOf(11));
+		try {
+			BinaryFieldArithmetic.getInstance(BigInteger.ONE);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			arithmetic.getElement(new byte[]{8});
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			arithmetic.invert(arithmetic.getZero());
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+}
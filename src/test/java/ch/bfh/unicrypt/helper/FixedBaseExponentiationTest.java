@@ -0,0 +1,115 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import ch.bfh.unicrypt.math.algebra.general.classes.Subset;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModElement;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import java.math.BigInteger;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class FixedBaseExponentiationTest {
+
+	private static final BigInteger P = new BigInteger("FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F14374FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7EDEE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF0598DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB9ED529077096966D670C354E4ABC9804F1746C08CA237327FFFFFFFFFFFFFFFF", 16);
+
+	@Test
+	public void testModularFixedBaseExponentiation() {
+		Random random = new Random(0);
+		BigInteger base = new BigInteger(P.bitLength() - 1, random);
+		for (int tableSize : new int[]{1, 7, 100, FixedBaseExponentiation.DEFAULT_TABLE_SIZE}) {
+			ModularFixedBaseExponentiation engine = new ModularFixedBaseExponentiation(base, P, P.bitLength(), tableSize);
+			assertTrue(engine.getTableSize() <= tableSize);
+			for (int i = 0; i < 10; i++) {
+				BigInteger amount = new BigInteger(1 + random.nextInt(P.bitLength()), random).add(BigInteger.ONE);
+				if (amount.bitLength() <= P.bitLength()) {
+					assertEquals(base.modPow(amount, P), engine.compute(amount));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSmallBitLengths() {
+		BigInteger modulus = BigInteger.valueOf(1009);
+		for (int bitLength = 1; bitLength < 12; bitLength++) {
+			ModularFixedBaseExponentiation engine = new ModularFixedBaseExponentiation(BigInteger.valueOf(11), modulus, bitLength);
+			for (int amount = 1; amount < (1 << bitLength); amount++) {
+				BigInteger posAmount = BigInteger.valueOf(amount);
+				assertEquals(BigInteger.valueOf(11).modPow(posAmount, modulus), engine.compute(posAmount));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAmountTooLarge() {
+		ModularFixedBaseExponentiation engine = new ModularFixedBaseExponentiation(BigInteger.valueOf(2), BigInteger.valueOf(23), 4);
+		engine.compute(BigInteger.valueOf(16));
+	}
+
+	@Test
+	public void testPrecomputedElement() {
+		GStarModSafePrime group = GStarModSafePrime.getInstance(P);
+		Random random = new Random(1);
+		GStarModElement element = group.getRandomElement();
+		Element precomputed = group.getElement(element.getValue()).precompute();
+		for (int i = 0; i < 20; i++) {
+			BigInteger amount = new BigInteger(P.bitLength() + 1, random).subtract(BigInteger.ONE.shiftLeft(P.bitLength()));
+			assertTrue(element.selfApply(amount).isEquivalent(group.getElement(element.getValue()).selfApply(amount)));
+			assertTrue(element.selfApply(amount).isEquivalent(precomputed.selfApply(amount)));
+		}
+	}
+
+	@Test
+	public void testPrecomputeUnsupportedSet() {
+		// sets without an operation do not support precomputations, nothing happens
+		GStarModSafePrime group = GStarModSafePrime.getInstance(23);
+		Subset subset = Subset.getInstance(group, group.getElement(4), group.getElement(8));
+		Element element = subset.getElement(group.getElement(4).getValue());
+		assertSame(element, element.precompute());
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import java.math.BigInteger;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ModularArithmeticTest {
+
+	private static final BigInteger P = new BigInteger("FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F14374FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7EDEE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF0598DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB9ED529077096966D670C354E4ABC9804F1746C08CA237327FFFFFFFFFFFFFFFF", 16);
+
+	@Test
+	public void testMultiply() {
+		Random random = new Random(0);
+		for (BigInteger modulus : new BigInteger[]{BigInteger.valueOf(2), BigInteger.valueOf(167), BigInteger.ONE.shiftLeft(64), P, P.subtract(BigInteger.ONE)}) {
+			ModularArithmetic modularArithmetic = ModularArithmetic.getInstance(modulus);
+			BigInteger max = modulus.subtract(BigInteger.ONE);
+			assertEquals(max.multiply(max).mod(modulus), modularArithmetic.multiply(max, max));
+			for (int i = 0; i < 100; i++) {
+				BigInteger value1 = new BigInteger(modulus.bitLength(), random).mod(modulus);
+				BigInteger value2 = new BigInteger(modulus.bitLength(), random).mod(modulus);
+				assertEquals(value1.multiply(value2).mod(modulus), modularArithmetic.multiply(value1, value2));
+				assertEquals(value1.multiply(value1).mod(modulus), modularArithmetic.square(value1));
+			}
+		}
+	}
+
+	@Test
+	public void testMultiSelfApply() {
+		GStarModSafePrime group = GStarModSafePrime.getInstance(P);
+		Random random = new Random(1);
+		for (int n : new int[]{1, 7, 8, 20}) {
+			Element[] elements = new Element[n];
+			BigInteger[] amounts = new BigInteger[n];
+			Element expected = group.getIdentityElement();
+			for (int i = 0; i < n; i++) {
+				elements[i] = group.getRandomElement();
+				amounts[i] = new BigInteger(P.bitLength() - 1, random);
+				expected = expected.apply(group.getElement(elements[i].getBigInteger()).selfApply(amounts[i]));
+			}
+			assertTrue(expected.isEquivalent(group.multiSelfApply(elements, amounts)));
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class ModularSquareRootTest {
+
+	// p=3 (mod 4), p=5 (mod 8), and p=1 (mod 8) with s=3, s=4, s=6
+	private static final int[] SMALL_PRIMES = {2, 3, 7, 23, 5, 13, 29, 17, 41, 97, 193};
+
+	// secp256k1 (p=3 mod 4), curve25519 (p=5 mod 8), and secp224r1 (p=1 mod 2^96)
+	private static final BigInteger[] LARGE_PRIMES = {
+		new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16),
+		BigInteger.ONE.shiftLeft(255).subtract(BigInteger.valueOf(19)),
+		new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF000000000000000000000001", 16)};
+
+	@Test
+	public void testSmallPrimes() {
+		for (int p : SMALL_PRIMES) {
+			ModularSquareRoot modularSquareRoot = ModularSquareRoot.getInstance(BigInteger.valueOf(p));
+			boolean[] isSquare = new boolean[p];
+			for (int x = 0; x < p; x++) {
+				isSquare[(x * x) % p] = true;
+			}
+			for (int a = 0; a < p; a++) {
+				BigInteger value = BigInteger.valueOf(a);
+				BigInteger root = modularSquareRoot.sqrt(value);
+				assertEquals(isSquare[a], modularSquareRoot.isSquare(value));
+				if (isSquare[a]) {
+					assertEquals(value, root.multiply(root).mod(BigInteger.valueOf(p)));
+				} else {
+					assertNull(root);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testLargePrimes() {
+		Random random = new Random(0);
+		for (BigInteger p : LARGE_PRIMES) {
+			ModularSquareRoot modularSquareRoot = ModularSquareRoot.getInstance(p);
+			for (int i = 0; i < 20; i++) {
+				BigInteger x = new BigInteger(p.bitLength() - 1, random);
+				BigInteger square = x.multiply(x).mod(p);
+				BigInteger root = modularSquareRoot.sqrt(square);
+				assertTrue(root.equals(x) || root.equals(p.subtract(x)));
+				assertTrue(modularSquareRoot.isSquare(square));
+				assertEquals(root, MathUtil.sqrtModPrime(square, p));
+				// a random value is a square with probability 1/2
+				BigInteger value = new BigInteger(p.bitLength() - 1, random);
+				assertEquals(MathUtil.hasSqrtModPrime(value, p), modularSquareRoot.sqrt(value) != null);
+				assertEquals(MathUtil.hasSqrtModPrime(value, p), modularSquareRoot.isSquare(value));
+			}
+		}
+	}
+
+	@Test
+	public void testException() {
+		try {
+			ModularSquareRoot.getInstance(BigInteger.ONE);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			MathUtil.sqrtModPrime(BigInteger.valueOf(3), BigInteger.valueOf(7));
+			fail();
+		} catch (UnknownError e) {
+		}
+	}
+
+}
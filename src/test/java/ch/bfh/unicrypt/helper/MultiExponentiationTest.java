@@ -0,0 +1,173 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModPrime;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarMod;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarMod;
+import ch.bfh.unicrypt.math.algebra.params.classes.SECECCParamsFp;
+import java.math.BigInteger;
+import java.util.Random;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class MultiExponentiationTest {
+
+	private static final BigInteger P = new BigInteger("FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F14374FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7EDEE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF0598DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB9ED529077096966D670C354E4ABC9804F1746C08CA237327FFFFFFFFFFFFFFFF", 16);
+
+	@Test
+	public void testStrausAndPippenger() throws Exception {
+		Random random = new Random(0);
+		for (final Group group : MultiExponentiationTest.getGroups()) {
+			MultiExponentiation<Element> engine = new MultiExponentiation<Element>() {
+
+				@Override
+				protected Element apply(Element value1, Element value2) {
+					return group.apply(value1, value2);
+				}
+
+			};
+			for (int n : new int[]{1, 2, 5, 40}) {
+				Element[] elements = MultiExponentiationTest.getElements(group, n, random);
+				BigInteger[] amounts = new BigInteger[n];
+				for (int i = 0; i < n; i++) {
+					// small and large amounts, including 1
+					amounts[i] = (i == 0) ? BigInteger.ONE : new BigInteger(1 + random.nextInt(200), random).add(BigInteger.ONE);
+				}
+				Element expected = MultiExponentiationTest.computeIndependently(group, elements, amounts);
+				assertTrue(expected.isEquivalent(engine.computeStraus(elements, amounts)));
+				assertTrue(expected.isEquivalent(engine.computePippenger(elements, amounts)));
+				assertTrue(expected.isEquivalent(engine.compute(elements, amounts)));
+			}
+		}
+	}
+
+	@Test
+	public void testMultiSelfApply() throws Exception {
+		Random random = new Random(1);
+		for (Group group : MultiExponentiationTest.getGroups()) {
+			int bitLength = group.getOrder().bitLength();
+			// the first size is below the multi-power threshold, the others use Straus' and Pippenger's method
+			int[] sizes = {3, ModularArithmetic.MULTI_POWER_THRESHOLD, MultiExponentiationTest.getPippengerSize(bitLength)};
+			assertFalse(MultiExponentiation.isPippengerFaster(sizes[1], bitLength));
+			assertTrue(MultiExponentiation.isPippengerFaster(sizes[2], bitLength));
+			for (int n : sizes) {
+				Element[] elements = MultiExponentiationTest.getElements(group, n, random);
+				BigInteger[] amounts = new BigInteger[n];
+				for (int i = 0; i < n; i++) {
+					switch (i % 4) {
+						case 0:
+							amounts[i] = BigInteger.ZERO;
+							break;
+						case 1:
+							amounts[i] = new BigInteger(bitLength, random).negate();
+							break;
+						default:
+							amounts[i] = new BigInteger(bitLength, random);
+					}
+				}
+				Element expected = MultiExponentiationTest.computeIndependently(group, elements, amounts);
+				assertTrue(expected.isEquivalent(group.multiSelfApply(elements, amounts)));
+			}
+			// only zero amounts
+			Element[] elements = MultiExponentiationTest.getElements(group, 2, random);
+			assertTrue(group.getIdentityElement().isEquivalent(group.multiSelfApply(elements, new BigInteger[]{BigInteger.ZERO, BigInteger.ZERO})));
+		}
+	}
+
+	private static Group[] getGroups() throws Exception {
+		return new Group[]{ZStarMod.getInstance(P), GStarModSafePrime.getInstance(P), ECZModPrime.getInstance(SECECCParamsFp.secp160r1)};
+	}
+
+	// random elements, every third element is a duplicate of the previous one
+	private static Element[] getElements(Group group, int n, Random random) {
+		Element[] elements = new Element[n];
+		for (int i = 0; i < n; i++) {
+			elements[i] = (i % 3 == 2) ? elements[i - 1] : group.getRandomElement();
+		}
+		return elements;
+	}
+
+	// the smallest number of values, for which Pippenger's method is selected
+	private static int getPippengerSize(int bitLength) {
+		int n = ModularArithmetic.MULTI_POWER_THRESHOLD;
+		while (!MultiExponentiation.isPippengerFaster(n, bitLength)) {
+			n++;
+		}
+		return n;
+	}
+
+	// computes the powers with BigInteger.modPow or with the square-and-multiply algorithm, independently of the
+	// exponentiation algorithms of the groups
+	private static Element computeIndependently(Group group, Element[] elements, BigInteger[] amounts) {
+		Element result = group.getIdentityElement();
+		for (int i = 0; i < elements.length; i++) {
+			result = group.apply(result, MultiExponentiationTest.power(group, elements[i], amounts[i]));
+		}
+		return result;
+	}
+
+	private static Element power(Group group, Element element, BigInteger amount) {
+		if (group instanceof ZStarMod) {
+			return ((ZStarMod) group).getElement(((BigInteger) element.getValue()).modPow(amount, ((ZStarMod) group).getModulus()));
+		}
+		if (group instanceof GStarMod) {
+			return ((GStarMod) group).getElement(((BigInteger) element.getValue()).modPow(amount, ((GStarMod) group).getModulus()));
+		}
+		if (amount.signum() < 0) {
+			return MultiExponentiationTest.power(group, group.invert(element), amount.negate());
+		}
+		Element result = group.getIdentityElement();
+		for (int i = amount.bitLength() - 1; i >= 0; i--) {
+			result = group.apply(result, result);
+			if (amount.testBit(i)) {
+				result = group.apply(result, element);
+			}
+		}
+		return result;
+	}
+
+}
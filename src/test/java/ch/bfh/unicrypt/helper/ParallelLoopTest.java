@@ -0,0 +1,96 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class ParallelLoopTest {
+
+	@Test
+	public void testRun() {
+		ExecutorService executorService = Executors.newFixedThreadPool(3);
+		try {
+			for (ExecutorService service : new ExecutorService[]{null, executorService}) {
+				for (int size : new int[]{0, 1, 7, 64, 100}) {
+					for (int chunkLength : new int[]{1, 5, 64, 1000}) {
+						final int[] chunks = new int[size];
+						final int[] counts = new int[size];
+						new ParallelLoop() {
+
+							@Override
+							protected void execute(int chunk, int fromIndex, int toIndex) {
+								for (int i = fromIndex; i < toIndex; i++) {
+									chunks[i] = chunk;
+									counts[i]++;
+								}
+							}
+
+						}.run(size, chunkLength, service);
+						for (int i = 0; i < size; i++) {
+							// the chunk layout only depends on the chunk length
+							assertEquals(i / chunkLength, chunks[i]);
+							assertEquals(1, counts[i]);
+						}
+						assertEquals((size + chunkLength - 1) / chunkLength, ParallelLoop.getChunks(size, chunkLength));
+					}
+				}
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRunIllegalChunkLength() {
+		new ParallelLoop() {
+
+			@Override
+			protected void execute(int chunk, int fromIndex, int toIndex) {
+			}
+
+		}.run(10, 0, null);
+	}
+
+}
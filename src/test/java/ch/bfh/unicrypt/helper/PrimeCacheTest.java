@@ -0,0 +1,130 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class PrimeCacheTest {
+
+	private static final BigInteger PRIME = new BigInteger("1000000000000000003");
+	private static final BigInteger SAFE_PRIME = new BigInteger("2000000000000001683");
+	private static final BigInteger SOPHIE_GERMAIN_PRIME = new BigInteger("1000000000000000841");
+
+	@Test
+	public void testIsPrime() {
+		PrimeCache.clear();
+		assertFalse(PrimeCache.contains(PRIME));
+		assertTrue(PrimeCache.isPrime(PRIME));
+		assertTrue(PrimeCache.contains(PRIME));
+		assertTrue(PrimeCache.isPrime(PRIME));
+		assertFalse(PrimeCache.isSafePrime(PRIME));
+		assertFalse(PrimeCache.isPrime(PRIME.add(BigInteger.ONE)));
+		assertFalse(PrimeCache.contains(PRIME.add(BigInteger.ONE)));
+		assertFalse(PrimeCache.isPrime(BigInteger.ONE));
+		assertFalse(PrimeCache.isPrime(PRIME.negate()));
+		assertFalse(PrimeCache.isPrime(null));
+		for (int i = 0; i < 100; i++) {
+			BigInteger value = BigInteger.valueOf(i);
+			assertEquals(MathUtil.isPrime(value), PrimeCache.isPrime(value));
+			assertEquals(MathUtil.isSavePrime(value), PrimeCache.isSafePrime(value));
+			assertEquals(MathUtil.isPrime(value), PrimeCache.isPrime(value));
+		}
+	}
+
+	@Test
+	public void testIsSafePrime() {
+		PrimeCache.clear();
+		assertTrue(PrimeCache.isSafePrime(SAFE_PRIME));
+		assertTrue(PrimeCache.contains(SAFE_PRIME));
+		assertTrue(PrimeCache.contains(SOPHIE_GERMAIN_PRIME));
+		assertTrue(PrimeCache.isSafePrime(SAFE_PRIME));
+		assertTrue(PrimeCache.isPrime(SAFE_PRIME));
+		assertFalse(PrimeCache.isSafePrime(SOPHIE_GERMAIN_PRIME));
+		assertEquals(2, PrimeCache.size());
+	}
+
+	@Test
+	public void testMaxSize() {
+		PrimeCache.clear();
+		PrimeCache.isPrime(PRIME);
+		BigInteger value = BigInteger.valueOf(3);
+		for (int i = 0; i < PrimeCache.MAX_SIZE; i++) {
+			value = value.nextProbablePrime();
+			PrimeCache.isPrime(value);
+		}
+		assertEquals(PrimeCache.MAX_SIZE, PrimeCache.size());
+		assertFalse(PrimeCache.contains(PRIME));
+	}
+
+	@Test
+	public void testLoad() throws IOException {
+		PrimeCache.clear();
+		String parameters = "# parameters\n" + PRIME + "\n\n  " + SAFE_PRIME + "  \n";
+		assertEquals(2, PrimeCache.load(new ByteArrayInputStream(parameters.getBytes("UTF-8"))));
+		assertTrue(PrimeCache.contains(PRIME));
+		assertTrue(PrimeCache.contains(SAFE_PRIME));
+		assertTrue(PrimeCache.isSafePrime(SAFE_PRIME));
+		try {
+			PrimeCache.load(new ByteArrayInputStream(PRIME.add(BigInteger.ONE).toString().getBytes("UTF-8")));
+			fail();
+		} catch (IllegalArgumentException exception) {
+		}
+		try {
+			PrimeCache.load(new ByteArrayInputStream("0x11".getBytes("UTF-8")));
+			fail();
+		} catch (IllegalArgumentException exception) {
+		}
+		try {
+			PrimeCache.load(null);
+			fail();
+		} catch (IllegalArgumentException exception) {
+		}
+	}
+
+}
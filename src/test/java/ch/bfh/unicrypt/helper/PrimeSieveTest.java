@@ -0,0 +1,164 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class PrimeSieveTest {
+
+	private static final BigInteger TWO = BigInteger.valueOf(2);
+
+	private static BigInteger getStart(int bitLength, Random random) {
+		return new BigInteger(bitLength, random).setBit(bitLength - 1).setBit(0);
+	}
+
+	@Test
+	public void testSearchPrime() {
+		Random random = new Random(0);
+		for (int bitLength : new int[]{32, 64, 256}) {
+			PrimeSieve primeSieve = PrimeSieve.getInstance(TWO, BigInteger.ONE.shiftLeft(bitLength), false, 10 * bitLength);
+			for (int i = 0; i < 10; i++) {
+				BigInteger start = getStart(bitLength, random);
+				// the first prime larger or equal to start
+				assertEquals(start.subtract(BigInteger.ONE).nextProbablePrime(), primeSieve.search(start));
+			}
+		}
+	}
+
+	@Test
+	public void testSearchSophieGermainPrime() {
+		Random random = new Random(1);
+		int length = 20000;
+		PrimeSieve primeSieve = PrimeSieve.getInstance(TWO, BigInteger.ONE.shiftLeft(40), true, length);
+		for (int i = 0; i < 5; i++) {
+			BigInteger start = getStart(40, random);
+			BigInteger expected = null;
+			for (int j = 0; j < length && expected == null; j++) {
+				BigInteger candidate = start.add(BigInteger.valueOf(2 * j));
+				if (MathUtil.isPrime(candidate) && MathUtil.isPrime(candidate.shiftLeft(1).add(BigInteger.ONE))) {
+					expected = candidate;
+				}
+			}
+			assertEquals(expected, primeSieve.search(start));
+		}
+	}
+
+	@Test
+	public void testSearchProgression() {
+		Random random = new Random(2);
+		BigInteger prime = BigInteger.valueOf(1000003);
+		PrimeSieve primeSieve = PrimeSieve.getInstance(prime.shiftLeft(1), BigInteger.ONE.shiftLeft(128), false, 200);
+		for (int i = 0; i < 5; i++) {
+			BigInteger start = prime.multiply(getStart(100, random).add(BigInteger.ONE)).add(BigInteger.ONE);
+			BigInteger result = primeSieve.search(start);
+			assertTrue(MathUtil.isPrime(result));
+			assertEquals(BigInteger.ZERO, result.subtract(start).mod(prime.shiftLeft(1)));
+		}
+	}
+
+	@Test
+	public void testSearchWindows() {
+		Random random = new Random(3);
+		// short windows, such that some of them contain no prime
+		PrimeSieve primeSieve = PrimeSieve.getInstance(TWO, BigInteger.ONE.shiftLeft(512), false, 20);
+		for (int i = 0; i < 5; i++) {
+			BigInteger[] starts = new BigInteger[16];
+			BigInteger expected = null;
+			for (int j = 0; j < starts.length; j++) {
+				starts[j] = getStart(512, random);
+				if (expected == null) {
+					expected = primeSieve.search(starts[j]);
+				}
+			}
+			assertEquals(expected, primeSieve.search(starts));
+		}
+		// no candidate smaller than maxValue
+		BigInteger maxValue = BigInteger.ONE.shiftLeft(64);
+		assertNull(PrimeSieve.getInstance(TWO, maxValue, false, 1000).search(maxValue.add(BigInteger.ONE)));
+	}
+
+	@Test
+	public void testSearchWindowsParallel() {
+		Random random = new Random(4);
+		PrimeSieve primeSieve = PrimeSieve.getInstance(TWO, BigInteger.ONE.shiftLeft(512), false, 20);
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			for (int i = 0; i < 5; i++) {
+				BigInteger[] starts = new BigInteger[16];
+				for (int j = 0; j < starts.length; j++) {
+					starts[j] = getStart(512, random);
+				}
+				assertEquals(primeSieve.search(starts), primeSieve.search(starts, executorService));
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testException() {
+		try {
+			PrimeSieve.getInstance(BigInteger.ZERO, BigInteger.TEN, false, 10);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			PrimeSieve.getInstance(TWO, BigInteger.ONE.shiftLeft(64), false, 10).search(BigInteger.valueOf(101));
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			PrimeSieve.getInstance(TWO, BigInteger.ONE.shiftLeft(64), false, 10).search(new BigInteger[]{BigInteger.ONE.shiftLeft(40).add(BigInteger.ONE)}, null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author R. Haenni
+ */
+public class WindowedNAFExponentiationTest {
+
+	private static final BigInteger P = new BigInteger("FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F14374FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7EDEE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF0598DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB9ED529077096966D670C354E4ABC9804F1746C08CA237327FFFFFFFFFFFFFFFF", 16);
+
+	@Test
+	public void testGetDigits() {
+		Random random = new Random(1);
+		for (int w = WindowedNAFExponentiation.MIN_WINDOW_SIZE; w <= WindowedNAFExponentiation.MAX_WINDOW_SIZE; w++) {
+			for (int i = 0; i < 100; i++) {
+				BigInteger amount = (i < 20) ? BigInteger.valueOf(i + 1) : new BigInteger(1 + random.nextInt(300), random).add(BigInteger.ONE);
+				int[] digits = WindowedNAFExponentiation.getDigits(amount, w);
+				Assert.assertTrue(digits.length <= amount.bitLength() + 1);
+				Assert.assertTrue(digits[digits.length - 1] > 0);
+				BigInteger value = BigInteger.ZERO;
+				int lastNonZero = -w;
+				for (int j = digits.length - 1; j >= 0; j--) {
+					value = value.shiftLeft(1).add(BigInteger.valueOf(digits[j]));
+				}
+				for (int j = 0; j < digits.length; j++) {
+					if (digits[j] != 0) {
+						Assert.assertTrue(digits[j] % 2 != 0);
+						Assert.assertTrue(Math.abs(digits[j]) < (1 << (w - 1)));
+						Assert.assertTrue(j - lastNonZero >= w);
+						lastNonZero = j;
+					}
+				}
+				Assert.assertEquals(amount, value);
+			}
+		}
+	}
+
+	@Test
+	public void testCompute() {
+		Random random = new Random(2);
+		BigInteger base = new BigInteger(P.bitLength() - 1, random);
+		for (int w = WindowedNAFExponentiation.MIN_WINDOW_SIZE; w <= WindowedNAFExponentiation.MAX_WINDOW_SIZE; w++) {
+			WindowedNAFExponentiation<BigInteger> windowedNAFExponentiation = new WindowedNAFExponentiation<BigInteger>(w) {
+
+				@Override
+				protected BigInteger apply(BigInteger value1, BigInteger value2) {
+					return value1.multiply(value2).mod(P);
+				}
+
+				@Override
+				protected BigInteger invert(BigInteger value) {
+					return value.modInverse(P);
+				}
+
+			};
+			for (int i = 0; i < 10; i++) {
+				BigInteger amount = (i < 3) ? BigInteger.valueOf(i + 1) : new BigInteger(1 + random.nextInt(300), random).add(BigInteger.ONE);
+				Assert.assertEquals(base.modPow(amount, P), windowedNAFExponentiation.compute(base, amount));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWindowSizeException() {
+		WindowedNAFExponentiation.getDigits(BigInteger.TEN, WindowedNAFExponentiation.MIN_WINDOW_SIZE - 1);
+	}
+
+	@Test
+	public void testGetWindowSize() {
+		Assert.assertEquals(WindowedNAFExponentiation.MIN_WINDOW_SIZE, WindowedNAFExponentiation.getWindowSize(1));
+		Assert.assertEquals(5, WindowedNAFExponentiation.getWindowSize(256));
+	}
+
+}
@@ -42,6 +42,7 @@
 package ch.bfh.unicrypt.helper.array.classes;
 
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.Assert;
@@ -283,4 +284,26 @@ public class ByteArrayTest {
 //		byteArrays.add(ByteArray.getInstance());
 	}
 
+
+	@Test
+	public void testUpdateMessageDigest() throws Exception {
+		ByteArray b = ByteArray.getInstance(1, 2, 3, 4, 5, 6, 7, 8);
+		List<ByteArray> byteArrays = new ArrayList<ByteArray>();
+		byteArrays.add(ByteArray.getInstance());
+		byteArrays.add(b);
+		byteArrays.add(b.extract(2, 5));
+		byteArrays.add(b.reverse());
+		byteArrays.add(b.shiftLeft(3));
+		byteArrays.add(b.shiftRight(3));
+		byteArrays.add(b.extract(2, 5).shiftLeft(2).reverse());
+		byteArrays.add(ByteArray.getInstance((byte) 7, 5));
+		for (ByteArray byteArray : byteArrays) {
+			MessageDigest messageDigest1 = MessageDigest.getInstance("SHA-256");
+			MessageDigest messageDigest2 = MessageDigest.getInstance("SHA-256");
+			messageDigest1.update(byteArray.getBytes());
+			byteArray.updateMessageDigest(messageDigest2);
+			Assert.assertArrayEquals(messageDigest1.digest(), messageDigest2.digest());
+		}
+	}
+
 }
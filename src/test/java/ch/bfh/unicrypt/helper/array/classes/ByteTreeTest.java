@@ -43,6 +43,7 @@ package ch.bfh.unicrypt.helper.array.classes;
 
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.bytetree.ByteTree;
+import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -86,4 +87,17 @@ public class ByteTreeTest {
 		Assert.assertEquals(h0.append(h12).getHashValue(), b012.getRecursiveHashValue());
 	}
 
+	@Test
+	public void testGetHashValue() {
+		ByteTree b3 = ByteTree.getInstance(ByteTree.getInstance(ByteArray.getInstance("ab")), ByteTree.getInstance(b0, ByteTree.getInstance(b12)));
+		ByteArray expected = ByteArray.getInstance(b3.getByteArray().getBytes()).getHashValue();
+		ByteTree b4 = ByteTree.getInstanceFrom(b3.getByteArray());
+
+		// The hash value is computed without (and with) the serialized byte tree
+		Assert.assertEquals(expected, ByteTree.getInstance(ByteTree.getInstance(ByteArray.getInstance("ab")), ByteTree.getInstance(b0, ByteTree.getInstance(b12))).getHashValue());
+		Assert.assertEquals(expected, b3.getHashValue());
+		Assert.assertEquals(expected, b4.getHashValue());
+		Assert.assertEquals(b012.getByteArray().getHashValue(HashAlgorithm.SHA1), b012.getHashValue(HashAlgorithm.SHA1));
+	}
+
 }
@@ -0,0 +1,132 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.hash;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class HashAlgorithmTest {
+
+	@Test
+	public void testGetHashValue() throws Exception {
+		byte[] bytes = "UniCrypt".getBytes("UTF-8");
+		for (HashAlgorithm hashAlgorithm : new HashAlgorithm[]{HashAlgorithm.MD5, HashAlgorithm.SHA1, HashAlgorithm.SHA256, HashAlgorithm.SHA384, HashAlgorithm.SHA512}) {
+			MessageDigest messageDigest = MessageDigest.getInstance(hashAlgorithm.getAlgorithmName());
+			assertEquals(messageDigest.getDigestLength(), hashAlgorithm.getHashLength());
+			assertArrayEquals(messageDigest.digest(bytes), hashAlgorithm.getHashValue(bytes));
+			assertArrayEquals(messageDigest.digest(Arrays.copyOfRange(bytes, 2, 6)), hashAlgorithm.getHashValue(bytes, 2, 4));
+		}
+	}
+
+	@Test
+	public void testGetHashValue_Input() throws Exception {
+		final HashAlgorithm hashAlgorithm = HashAlgorithm.getInstance();
+		final byte[] bytes = "UniCrypt".getBytes("UTF-8");
+
+		// The input computes another hash value of the same hash algorithm in between
+		byte[] hashValue = hashAlgorithm.getHashValue(new HashAlgorithm.Input() {
+
+			@Override
+			public void update(MessageDigest messageDigest) {
+				messageDigest.update(bytes, 0, 3);
+				messageDigest.update(hashAlgorithm.getHashValue(bytes));
+				messageDigest.update(bytes, 3, bytes.length - 3);
+			}
+
+		});
+		byte[] hashValue0 = hashAlgorithm.getHashValue(bytes);
+		byte[] concatenation = new byte[2 * bytes.length + hashValue0.length];
+		System.arraycopy(bytes, 0, concatenation, 0, 3);
+		System.arraycopy(hashValue0, 0, concatenation, 3, hashValue0.length);
+		System.arraycopy(bytes, 3, concatenation, 3 + hashValue0.length, bytes.length - 3);
+		assertArrayEquals(hashAlgorithm.getHashValue(concatenation, 0, bytes.length + hashValue0.length), hashValue);
+	}
+
+	@Test
+	public void testConcurrentHashValues() throws Exception {
+		final HashAlgorithm hashAlgorithm = HashAlgorithm.getInstance();
+		final Random random = new Random(0);
+		final byte[][] messages = new byte[200][];
+		final byte[][] hashValues = new byte[messages.length][];
+		for (int i = 0; i < messages.length; i++) {
+			messages[i] = new byte[random.nextInt(1000)];
+			random.nextBytes(messages[i]);
+			hashValues[i] = hashAlgorithm.getHashValue(messages[i]);
+		}
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+			for (int t = 0; t < 8; t++) {
+				tasks.add(new Callable<Boolean>() {
+
+					@Override
+					public Boolean call() {
+						boolean result = true;
+						for (int j = 0; j < 20; j++) {
+							for (int i = 0; i < messages.length; i++) {
+								result = result && Arrays.equals(hashValues[i], hashAlgorithm.getHashValue(messages[i], 0, messages[i].length));
+							}
+						}
+						return result;
+					}
+
+				});
+			}
+			for (Future<Boolean> future : executorService.invokeAll(tasks)) {
+				assertEquals(Boolean.TRUE, future.get());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+}
@@ -43,6 +43,7 @@ package ch.bfh.unicrypt.math;
 
 import ch.bfh.unicrypt.helper.MathUtil;
 import java.math.BigInteger;
+import java.util.Arrays;
 import junit.framework.Assert;
 import org.junit.Test;
 
@@ -168,6 +169,23 @@ public class MathUtilTest {
 		Assert.assertFalse(MathUtil.isSavePrime(MINUS_TWO));
 	}
 
+	@Test
+	public void testAreRelativelyPrime() {
+		Assert.assertTrue(MathUtil.areRelativelyPrime());
+		Assert.assertTrue(MathUtil.areRelativelyPrime(SIX));
+		Assert.assertTrue(MathUtil.areRelativelyPrime(TWO, THREE, FIVE, SEVEN));
+		Assert.assertTrue(MathUtil.areRelativelyPrime(ONE, ONE, FOUR, FIVE));
+		Assert.assertTrue(MathUtil.areRelativelyPrime(MINUS_ONE, ONE, MINUS_ONE));
+		Assert.assertFalse(MathUtil.areRelativelyPrime(FOUR, FIVE, SIX));
+		Assert.assertFalse(MathUtil.areRelativelyPrime(THREE, FIVE, THREE));
+		Assert.assertFalse(MathUtil.areRelativelyPrime(TWO, THREE, MINUS_TWO));
+		Assert.assertFalse(MathUtil.areRelativelyPrime(ZERO, TWO));
+		Assert.assertTrue(MathUtil.areRelativelyPrime(ZERO, ONE));
+		BigInteger[] values = new BigInteger[100000];
+		Arrays.fill(values, SEVEN);
+		Assert.assertFalse(MathUtil.areRelativelyPrime(values));
+	}
+
 	@Test
 	public void testArePositiveBigInteger() {
 		Assert.assertTrue(MathUtil.arePositive(EMPTY_ARRAY));
@@ -262,4 +280,36 @@ public class MathUtilTest {
 		MathUtil.maxValue(new BigInteger[]{ONE, NULL_VALUE, SEVEN});
 	}
 
+	@Test
+	public void testJacobiSymbol() {
+		Assert.assertEquals(MathUtil.jacobiSymbol(ZERO, ONE), 1);
+		Assert.assertEquals(MathUtil.jacobiSymbol(TWO, SEVEN), 1);
+		Assert.assertEquals(MathUtil.jacobiSymbol(THREE, SEVEN), -1);
+		Assert.assertEquals(MathUtil.jacobiSymbol(SIX, NINE), 0);
+		Assert.assertEquals(MathUtil.jacobiSymbol(MINUS_ONE, FIVE), 1);
+		Assert.assertEquals(MathUtil.jacobiSymbol(MINUS_ONE, SEVEN), -1);
+		// Legendre symbol by Euler's criterion for primes of different sizes
+		BigInteger[] primes = new BigInteger[]{new BigInteger("167"), new BigInteger("4294967311"), BigInteger.ONE.shiftLeft(127).subtract(ONE), BigInteger.ONE.shiftLeft(521).subtract(ONE)};
+		java.util.Random random = new java.util.Random(0);
+		for (BigInteger p : primes) {
+			for (int i = 0; i < 50; i++) {
+				BigInteger a = new BigInteger(p.bitLength() + 8, random);
+				BigInteger euler = a.modPow(p.subtract(ONE).shiftRight(1), p);
+				int expected = euler.signum() == 0 ? 0 : (euler.equals(ONE) ? 1 : -1);
+				Assert.assertEquals(expected, MathUtil.jacobiSymbol(a, p));
+			}
+		}
+		// Jacobi symbol as product of Legendre symbols for n = 167 * (2^127-1)
+		BigInteger n = primes[0].multiply(primes[2]);
+		for (int i = 0; i < 50; i++) {
+			BigInteger a = new BigInteger(n.bitLength(), random);
+			Assert.assertEquals(MathUtil.jacobiSymbol(a, primes[0]) * MathUtil.jacobiSymbol(a, primes[2]), MathUtil.jacobiSymbol(a, n));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testJacobiSymbolException() {
+		MathUtil.jacobiSymbol(THREE, TEN);
+	}
+
 }
@@ -0,0 +1,143 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.additive;
+
+import ch.bfh.unicrypt.helper.Point;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.converter.interfaces.ByteArrayConverter;
+import ch.bfh.unicrypt.math.algebra.additive.classes.ECPolynomialElement;
+import ch.bfh.unicrypt.math.algebra.additive.classes.ECPolynomialField;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.PolynomialElement;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModTwo;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.params.classes.SECECCParamsF2m;
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author R. Haenni
+ */
+public class ECPolynomialFieldTest {
+
+	// double-and-add using affine additions only
+	private static ECPolynomialElement times(ECPolynomialElement element, BigInteger amount) {
+		ECPolynomialElement result = (ECPolynomialElement) element.getSet().getZeroElement();
+		for (int i = amount.bitLength() - 1; i >= 0; i--) {
+			result = result.add(result);
+			if (amount.testBit(i)) {
+				result = result.add(element);
+			}
+		}
+		return result;
+	}
+
+	private static final SECECCParamsF2m[] PARAMS = {SECECCParamsF2m.sect113r1, SECECCParamsF2m.sect163k1, SECECCParamsF2m.sect233r1};
+
+	@Test
+	public void testTimes() throws Exception {
+		Random random = new Random(1);
+		for (SECECCParamsF2m params : PARAMS) {
+			ECPolynomialField ec = ECPolynomialField.getInstance(params);
+			ECPolynomialElement g = ec.getDefaultGenerator();
+			for (int i = 0; i < 5; i++) {
+				BigInteger amount = new BigInteger(ec.getOrder().bitLength() - 1, random);
+				Assert.assertEquals(times(g, amount), ec.times(g, amount));
+				Assert.assertTrue(ec.times(g, amount).add(ec.times(g, ec.getOrder().subtract(amount))).isZero());
+			}
+			Assert.assertTrue(ec.times(g, ec.getOrder()).isZero());
+			Assert.assertTrue(ec.times(g, ec.getOrder().subtract(BigInteger.ONE)).isEquivalent(g.negate()));
+		}
+	}
+
+	@Test
+	public void testMultiTimes() throws Exception {
+		Random random = new Random(2);
+		for (SECECCParamsF2m params : PARAMS) {
+			ECPolynomialField ec = ECPolynomialField.getInstance(params);
+			int n = 3;
+			Element[] elements = new Element[n];
+			BigInteger[] amounts = new BigInteger[n];
+			ECPolynomialElement expected = ec.getZeroElement();
+			for (int i = 0; i < n; i++) {
+				elements[i] = ec.times(ec.getDefaultGenerator(), new BigInteger(32, random));
+				amounts[i] = new BigInteger(ec.getOrder().bitLength() - 1, random);
+				expected = expected.add(times((ECPolynomialElement) elements[i], amounts[i]));
+			}
+			Assert.assertEquals(expected, ec.multiSelfApply(elements, amounts));
+		}
+	}
+
+	@Test
+	public void testPrecompute() throws Exception {
+		Random random = new Random(3);
+		for (SECECCParamsF2m params : PARAMS) {
+			ECPolynomialField ec = ECPolynomialField.getInstance(params);
+			ECPolynomialElement element = ec.times(ec.getDefaultGenerator(), new BigInteger(32, random));
+			element.precompute();
+			for (int i = 0; i < 5; i++) {
+				BigInteger amount = new BigInteger(ec.getOrder().bitLength() - 1, random);
+				Assert.assertEquals(times(element, amount), ec.times(element, amount));
+			}
+		}
+	}
+
+	@Test
+	public void testByteArrayConverter() throws Exception {
+		ECPolynomialField ec = ECPolynomialField.getInstance(SECECCParamsF2m.sect113r1);
+		ByteArrayConverter<Point<PolynomialElement<ZModTwo>>> converter = ec.getCompressedByteArrayConverter();
+		ECPolynomialElement element = ec.getDefaultGenerator();
+		for (int i = 0; i < 2; i++) {
+			ByteArray byteArray = element.getByteArray(converter);
+			// prefix byte and 113 bits
+			Assert.assertEquals(16, byteArray.getLength());
+			Assert.assertEquals(element, ec.getElementFrom(byteArray, converter));
+			Assert.assertEquals(element.invert(), ec.getElementFrom(element.invert().getByteArray(converter), converter));
+			Assert.assertFalse(byteArray.equals(element.invert().getByteArray(converter)));
+			element = element.add(ec.getDefaultGenerator());
+		}
+		Assert.assertEquals(ec.getZeroElement(), ec.getElementFrom(ec.getZeroElement().getByteArray(converter), converter));
+	}
+
+}
@@ -0,0 +1,230 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.additive;
+
+import ch.bfh.unicrypt.helper.Point;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.bytetree.ByteTree;
+import ch.bfh.unicrypt.helper.converter.classes.ConvertMethod;
+import ch.bfh.unicrypt.helper.converter.classes.bytearray.BigIntegerToByteArray;
+import ch.bfh.unicrypt.helper.converter.interfaces.ByteArrayConverter;
+import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModElement;
+import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModPrime;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModElement;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.params.classes.SECECCParamsFp;
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author R. Haenni
+ */
+public class ECZModPrimeTest {
+
+	private static final SECECCParamsFp[] PARAMS = {SECECCParamsFp.secp160r1, SECECCParamsFp.secp256k1, SECECCParamsFp.secp256r1};
+
+	// double-and-add using affine additions only
+	private static ECZModElement times(ECZModElement element, BigInteger amount) {
+		ECZModElement result = (ECZModElement) element.getSet().getZeroElement();
+		for (int i = amount.bitLength() - 1; i >= 0; i--) {
+			result = result.add(result);
+			if (amount.testBit(i)) {
+				result = result.add(element);
+			}
+		}
+		return result;
+	}
+
+	@Test
+	public void testKnownMultiples() throws Exception {
+		ECZModPrime ec = ECZModPrime.getInstance(SECECCParamsFp.secp256k1);
+		ECZModElement g = ec.getDefaultGenerator();
+		ECZModElement g2 = ec.times(g, BigInteger.valueOf(2));
+		Assert.assertEquals(new BigInteger("c6047f9441ed7d6d3045406e95c07cd85c778e4b8cef3ca7abac09b95c709ee5", 16), g2.getX().getValue());
+		Assert.assertEquals(new BigInteger("1ae168fea63dc339a3c58419466ceaeef7f632653266d0e1236431a950cfe52a", 16), g2.getY().getValue());
+		Assert.assertEquals(g2, g.add(g));
+		ECZModElement g3 = ec.times(g, BigInteger.valueOf(3));
+		Assert.assertEquals(new BigInteger("f9308a019258c31049344f85f89d5229b531c845836f99b08601f113bce036f9", 16), g3.getX().getValue());
+		Assert.assertEquals(new BigInteger("388f7b0f632de8140fe337e62a37f3566500a99934c2231b6cb9fd7584b8e672", 16), g3.getY().getValue());
+		Assert.assertEquals(g3, g2.add(g));
+	}
+
+	@Test
+	public void testTimes() throws Exception {
+		Random random = new Random(1);
+		for (SECECCParamsFp params : PARAMS) {
+			ECZModPrime ec = ECZModPrime.getInstance(params);
+			ECZModElement g = ec.getDefaultGenerator();
+			for (int i = 0; i < 10; i++) {
+				BigInteger amount = new BigInteger(ec.getOrder().bitLength() - 1, random);
+				ECZModElement expected = times(g, amount);
+				Assert.assertEquals(expected, ec.times(g, amount));
+				Assert.assertTrue(ec.times(g, amount).add(ec.times(g, ec.getOrder().subtract(amount))).isZero());
+			}
+			Assert.assertTrue(ec.times(g, ec.getOrder().subtract(BigInteger.ONE)).isEquivalent(g.negate()));
+		}
+	}
+
+	@Test
+	public void testMultiTimes() throws Exception {
+		Random random = new Random(2);
+		for (SECECCParamsFp params : PARAMS) {
+			ECZModPrime ec = ECZModPrime.getInstance(params);
+			for (int n : new int[]{2, 5, 20}) {
+				Element[] elements = new Element[n];
+				BigInteger[] amounts = new BigInteger[n];
+				ECZModElement expected = ec.getZeroElement();
+				for (int i = 0; i < n; i++) {
+					elements[i] = ec.getRandomElement();
+					amounts[i] = new BigInteger(ec.getOrder().bitLength() - 1, random);
+					expected = expected.add(times((ECZModElement) elements[i], amounts[i]));
+				}
+				Assert.assertEquals(expected, ec.multiSelfApply(elements, amounts));
+			}
+		}
+	}
+
+	@Test
+	public void testPrecompute() throws Exception {
+		Random random = new Random(3);
+		for (SECECCParamsFp params : PARAMS) {
+			ECZModPrime ec = ECZModPrime.getInstance(params);
+			ECZModElement element = ec.getRandomElement();
+			element.precompute();
+			for (int i = 0; i < 10; i++) {
+				BigInteger amount = new BigInteger(ec.getOrder().bitLength() - 1, random);
+				Assert.assertEquals(times(element, amount), ec.times(element, amount));
+			}
+		}
+	}
+
+	@Test
+	public void testTimesArray() throws Exception {
+		Random random = new Random(4);
+		for (SECECCParamsFp params : PARAMS) {
+			ECZModPrime ec = ECZModPrime.getInstance(params);
+			Element[] elements = new Element[6];
+			BigInteger[] amounts = new BigInteger[6];
+			for (int i = 0; i < 6; i++) {
+				elements[i] = ec.getRandomElement();
+				amounts[i] = new BigInteger(ec.getOrder().bitLength(), random);
+			}
+			elements[1] = ec.getZeroElement();
+			amounts[2] = BigInteger.ZERO;
+			amounts[3] = amounts[3].negate();
+			amounts[4] = ec.getOrder();
+			DenseArray<ECZModElement> results = ec.times(elements, amounts);
+			Assert.assertEquals(6, results.getLength());
+			for (int i = 0; i < 6; i++) {
+				Assert.assertEquals(ec.times(elements[i], amounts[i]), results.getAt(i));
+			}
+			Assert.assertEquals(0, ec.times(new Element[0], new BigInteger[0]).getLength());
+		}
+	}
+
+	@Test
+	public void testByteArrayConverter() throws Exception {
+		// compressed encoding of the generator of secp256k1 according to SEC2
+		ECZModPrime ec = ECZModPrime.getInstance(SECECCParamsFp.secp256k1);
+		ByteArrayConverter<Point<ZModElement>> converter = ec.getCompressedByteArrayConverter();
+		ByteArray expected = ByteArray.getInstance("02|79|BE|66|7E|F9|DC|BB|AC|55|A0|62|95|CE|87|0B|07|02|9B|FC|DB|2D|CE|28|D9|59|F2|81|5B|16|F8|17|98");
+		Assert.assertEquals(expected, ec.getDefaultGenerator().getByteArray(converter));
+		Assert.assertEquals(expected, ec.getDefaultGenerator().getByteArray(ConvertMethod.getInstance(converter)));
+		Assert.assertEquals(ec.getDefaultGenerator(), ec.getElementFrom(expected, converter));
+		Assert.assertEquals(ByteArray.getInstance((byte) 0x00), ec.getZeroElement().getByteArray(converter));
+		Assert.assertEquals(ec.getZeroElement(), ec.getElementFrom(ec.getZeroElement().getByteArray(converter), converter));
+		// the default encoding is not affected
+		ByteArray byteArray = BigIntegerToByteArray.getInstance().convert(ec.getDefaultGenerator().getBigInteger());
+		Assert.assertEquals(byteArray, ec.getDefaultGenerator().getByteArray());
+		Assert.assertEquals(ec.getDefaultGenerator(), ec.getElementFrom(byteArray));
+		for (SECECCParamsFp params : PARAMS) {
+			ec = ECZModPrime.getInstance(params);
+			converter = ec.getCompressedByteArrayConverter();
+			int length = (ec.getFiniteField().getModulus().bitLength() + 7) / 8 + 1;
+			for (int i = 0; i < 10; i++) {
+				ECZModElement element = ec.getRandomElement();
+				byteArray = element.getByteArray(converter);
+				Assert.assertEquals(length, byteArray.getLength());
+				Assert.assertEquals(element, ec.getElementFrom(byteArray, converter));
+				Assert.assertEquals(element.invert(), ec.getElementFrom(element.invert().getByteArray(converter), converter));
+			}
+			// wrong length or prefix
+			Assert.assertNull(ec.getElementFrom(ByteArray.getInstance((byte) 0x02), converter));
+			byte[] bytes = ec.getDefaultGenerator().getByteArray(converter).getBytes();
+			bytes[0] = 0x04;
+			Assert.assertNull(ec.getElementFrom(ByteArray.getInstance(bytes), converter));
+		}
+	}
+
+	@Test
+	public void testEquals() throws Exception {
+		// two distinct but equal curve instances
+		for (SECECCParamsFp params : PARAMS) {
+			ECZModPrime ec1 = ECZModPrime.getInstance(params.getFiniteField(), params.getA(), params.getB(), params.getGx(), params.getGy(), params.getOrder(), params.getH());
+			ECZModPrime ec2 = ECZModPrime.getInstance(params.getFiniteField(), params.getA(), params.getB(), params.getGx(), params.getGy(), params.getOrder(), params.getH());
+			Assert.assertNotSame(ec1, ec2);
+			Assert.assertEquals(ec1, ec2);
+			Assert.assertEquals(ec1.hashCode(), ec2.hashCode());
+			Assert.assertTrue(ec1.isEquivalent(ec2));
+			Assert.assertEquals(ec1.getDefaultGenerator(), ec2.getDefaultGenerator());
+		}
+		ECZModPrime ec1 = ECZModPrime.getInstance(SECECCParamsFp.secp256k1);
+		ECZModPrime ec2 = ECZModPrime.getInstance(SECECCParamsFp.secp256r1);
+		Assert.assertFalse(ec1.equals(ec2));
+	}
+
+	@Test
+	public void testByteTree() throws Exception {
+		ECZModPrime ec = ECZModPrime.getInstance(SECECCParamsFp.secp256r1);
+		ProductGroup productGroup = ProductGroup.getInstance(ec, 3);
+		Tuple tuple = Tuple.getInstance(ec.getRandomElement(), ec.getZeroElement(), ec.getRandomElement());
+		ByteTree byteTree = tuple.getByteTree();
+		Assert.assertEquals(tuple, productGroup.getElementFrom(byteTree));
+	}
+
+}
@@ -42,11 +42,13 @@
 package ch.bfh.unicrypt.math.algebra.dualistic;
 
 import ch.bfh.unicrypt.helper.Polynomial;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.PolynomialElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.PolynomialField;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.PolynomialRing;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModPrime;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import java.math.BigInteger;
 import java.util.HashMap;
 import static org.junit.Assert.assertEquals;
@@ -154,6 +156,32 @@ public class PolynomialFieldTest {
 		assertTrue(p3.isEquivalent(field7_4.getOneElement()));
 	}
 
+	@Test
+	public void testOneOverArray() {
+		for (PolynomialField<BigInteger> field : new PolynomialField[]{field2_4, field5_3, field7_4}) {
+			Element[] elements = new Element[10];
+			for (int i = 0; i < elements.length; i++) {
+				PolynomialElement<BigInteger> element;
+				do {
+					element = field.getRandomElement(field.getDegree() - 1);
+				} while (element.isEquivalent(field.getZeroElement()));
+				elements[i] = element;
+			}
+			DenseArray<PolynomialElement<BigInteger>> inverses = field.oneOver(elements);
+			assertEquals(elements.length, inverses.getLength());
+			for (int i = 0; i < elements.length; i++) {
+				assertEquals(field.oneOver(elements[i]), inverses.getAt(i));
+			}
+			assertEquals(0, field.oneOver(new Element[0]).getLength());
+			elements[3] = field.getZeroElement();
+			try {
+				field.oneOver(elements);
+				fail();
+			} catch (UnsupportedOperationException e) {
+			}
+		}
+	}
+
 	@Test
 	public void testDivide() {
 		// p1 = 1 + x^2 + x^3
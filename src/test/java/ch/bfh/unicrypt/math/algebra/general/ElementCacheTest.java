@@ -0,0 +1,94 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general;
+
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
+import ch.bfh.unicrypt.helper.hash.HashMethod;
+import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import java.math.BigInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ElementCacheTest {
+
+	@Test
+	public void testConversionCache() {
+		GStarModSafePrime group = GStarModSafePrime.getInstance(23);
+		Element element = group.getElement(4);
+
+		// the first call computes the result, the second returns the cached result
+		BigInteger bigInteger = element.getBigInteger();
+		ByteArray byteArray = element.getByteArray();
+		String string = element.getString();
+		Assert.assertSame(bigInteger, element.getBigInteger());
+		Assert.assertSame(byteArray, element.getByteArray());
+		Assert.assertSame(string, element.getString());
+
+		// results of different conversions are cached independently
+		Assert.assertEquals(group.getElement(4).getBigInteger(), bigInteger);
+		Assert.assertEquals(group.getElement(4).getByteArray(), byteArray);
+		Assert.assertEquals(group.getElement(4).getString(), string);
+	}
+
+	@Test
+	public void testHashValueCache() {
+		GStarModSafePrime group = GStarModSafePrime.getInstance(23);
+		Pair pair = Pair.getInstance(group.getElement(4), group.getElement(8));
+		HashMethod hashMethod1 = HashMethod.getInstance();
+		HashMethod hashMethod2 = HashMethod.getInstance(HashAlgorithm.SHA1);
+
+		ByteArray hashValue1 = pair.getHashValue(hashMethod1);
+		ByteArray hashValue2 = pair.getHashValue(hashMethod2);
+		Assert.assertSame(hashValue1, pair.getHashValue(hashMethod1));
+		Assert.assertSame(hashValue2, pair.getHashValue(hashMethod2));
+		Assert.assertFalse(hashValue1.equals(hashValue2));
+
+		// the cached results are the same as the ones of a fresh element
+		Pair freshPair = Pair.getInstance(group.getElement(4), group.getElement(8));
+		Assert.assertEquals(freshPair.getHashValue(hashMethod2), hashValue2);
+		Assert.assertEquals(freshPair.getHashValue(hashMethod1), hashValue1);
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general;
+
+import ch.bfh.unicrypt.helper.hash.HashMethod;
+import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModPrime;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementStore;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarMod;
+import ch.bfh.unicrypt.math.algebra.params.classes.SECECCParamsFp;
+import java.io.File;
+import java.io.RandomAccessFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author R. Haenni
+ */
+public class ElementStoreTest {
+
+	@Test
+	public void testElementStore() {
+		GStarModSafePrime group = GStarModSafePrime.getInstance(1019);
+		Set[] sets = {group, ZMod.getInstance(256), ZStarMod.getInstance(35), ProductGroup.getInstance(group, 2),
+			ProductSet.getInstance(ProductGroup.getInstance(group, 2), ZMod.getInstance(509))};
+		for (Set set : sets) {
+			Tuple tuple = ProductSet.getInstance(set, 50).getRandomElement();
+			ElementStore store = ElementStore.getInstance(tuple);
+			Assert.assertEquals(50, store.getSize());
+			Assert.assertEquals(tuple, store.getTuple());
+			for (int i : tuple.getAllIndices()) {
+				Assert.assertEquals(tuple.getAt(i), store.getAt(i));
+			}
+			Assert.assertEquals(tuple.extract(10, 20), store.getRange(10, 20));
+			for (HashMethod.Mode mode : HashMethod.Mode.values()) {
+				HashMethod hashMethod = HashMethod.getInstance(mode);
+				Assert.assertEquals(tuple.getHashValue(hashMethod), store.getHashValue(hashMethod));
+			}
+			store.setRange(5, tuple.extract(30, 10));
+			Assert.assertEquals(tuple.getAt(30), store.getAt(5));
+			Assert.assertEquals(tuple.getAt(39), store.getAt(14));
+			Assert.assertEquals(tuple.getAt(15), store.getAt(15));
+		}
+		Assert.assertEquals(3, ElementStore.getInstance(group, 10).getRecordLength());
+		Assert.assertEquals(2, ElementStore.getInstance(ZMod.getInstance(256), 10).getRecordLength());
+		Assert.assertEquals(5, ElementStore.getInstance(ProductGroup.getInstance(group, 2), 10).getRecordLength());
+	}
+
+	@Test
+	public void testMappedElementStore() throws Exception {
+		ProductGroup set = ProductGroup.getInstance(GStarModSafePrime.getInstance(1019), 2);
+		Tuple tuple = ProductSet.getInstance(set, 100).getRandomElement();
+		File file = File.createTempFile("store", ".bin");
+		file.deleteOnExit();
+		ElementStore store = ElementStore.getInstance(set, 100, file);
+		store.setRange(0, tuple);
+		Assert.assertEquals(500, file.length());
+		Assert.assertEquals(tuple, store.getTuple());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testModifiedFile() throws Exception {
+		ProductGroup set = ProductGroup.getInstance(GStarModSafePrime.getInstance(1019), 2);
+		File file = File.createTempFile("store", ".bin");
+		file.deleteOnExit();
+		ElementStore store = ElementStore.getInstance(set, 10, file);
+		store.setRange(0, ProductSet.getInstance(set, 10).getRandomElement());
+		// the value 0 of the first component of the first record does not belong to the group
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			randomAccessFile.seek(1);
+			randomAccessFile.write(new byte[]{0, 0});
+		} finally {
+			randomAccessFile.close();
+		}
+		store.getAt(0);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testUnwrittenElement() {
+		ElementStore store = ElementStore.getInstance(ZMod.getInstance(256), 10);
+		store.setRange(0, ProductSet.getInstance(ZMod.getInstance(256), 5).getRandomElement());
+		store.getAt(4);
+		store.getRange(0, 6);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsupportedSet() throws Exception {
+		ElementStore.getInstance(ECZModPrime.getInstance(SECECCParamsFp.secp160r1), 10);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptyProductSet() throws Exception {
+		ElementStore.getInstance(ProductSet.getInstance(), 10);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testForeignElement() {
+		ElementStore store = ElementStore.getInstance(ZMod.getInstance(256), 10);
+		store.setAt(0, ZMod.getInstance(255).getElement(3));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testOutOfBounds() {
+		ElementStore store = ElementStore.getInstance(ZMod.getInstance(256), 10);
+		store.getAt(10);
+	}
+
+}
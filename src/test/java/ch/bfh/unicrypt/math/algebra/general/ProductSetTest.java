@@ -0,0 +1,131 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general;
+
+import ch.bfh.unicrypt.helper.bytetree.ByteTree;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductCyclicGroup;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModPrime;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarModPrime;
+import java.math.BigInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author R. Haenni
+ */
+public class ProductSetTest {
+
+	private static final BigInteger P = new BigInteger("FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F14374FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7EDEE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF0598DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB9ED529077096966D670C354E4ABC9804F1746C08CA237327FFFFFFFFFFFFFFFF", 16);
+	private static final BigInteger Q = P.subtract(BigInteger.ONE).shiftRight(1);
+
+	@Test
+	public void testContainsEquivalentSets() {
+		GStarModPrime group = GStarModPrime.getInstance(P, Q);
+		ProductGroup productGroup1 = ProductGroup.getInstance(ProductGroup.getInstance(group, 2), 50);
+		ProductGroup productGroup2 = ProductGroup.getInstance(ProductGroup.getInstance(group, 2), 50);
+		ProductGroup productGroup3 = ProductGroup.getInstance(ProductGroup.getInstance(group, 2), 51);
+		Tuple tuple1 = productGroup1.getRandomElement();
+		Tuple tuple3 = productGroup3.getRandomElement();
+		for (int i = 0; i < 2; i++) {
+			Assert.assertTrue(productGroup2.contains(tuple1));
+			Assert.assertTrue(productGroup1.contains(productGroup2.getRandomElement()));
+			Assert.assertFalse(productGroup2.contains(tuple3));
+			Assert.assertFalse(productGroup3.contains(tuple1));
+		}
+		Assert.assertTrue(productGroup2.apply(tuple1, tuple1).isEquivalent(productGroup1.apply(tuple1, tuple1)));
+	}
+
+	@Test
+	public void testGetElementFromByteTree() {
+		GStarModPrime group = GStarModPrime.getInstance(P, Q);
+		for (int arity : new int[]{1, 10, 200}) {
+			ProductGroup productGroup = ProductGroup.getInstance(ProductGroup.getInstance(group, 2), arity);
+			Tuple tuple = productGroup.getRandomElement();
+			Element element = productGroup.getElementFrom(tuple.getByteTree());
+			Assert.assertNotNull(element);
+			Assert.assertTrue(tuple.isEquivalent(element));
+		}
+	}
+
+	@Test
+	public void testGetElementFromByteTreeNonMember() {
+		GStarModPrime group = GStarModPrime.getInstance(P, Q);
+		ZStarModPrime superGroup = ZStarModPrime.getInstance(P);
+		for (int arity : new int[]{10, 200}) {
+			for (int position : new int[]{0, arity / 2, arity - 1}) {
+				Element[] elements = new Element[arity];
+				for (int i = 0; i < arity; i++) {
+					// -1 is not a quadratic residue modulo P
+					BigInteger value = (i == position) ? P.subtract(BigInteger.ONE) : group.getRandomElement().getValue();
+					elements[i] = superGroup.getElement(value);
+				}
+				ByteTree byteTree = Tuple.getInstance(elements).getByteTree();
+				Assert.assertNull(ProductGroup.getInstance(group, arity).getElementFrom(byteTree));
+				Assert.assertNotNull(ProductGroup.getInstance(superGroup, arity).getElementFrom(byteTree));
+			}
+		}
+	}
+
+	@Test
+	public void testUniformInstance() {
+		GStarModPrime group = GStarModPrime.getInstance(P, Q);
+		ProductGroup productGroup = ProductGroup.getInstance(group, 100000);
+		Assert.assertSame(productGroup, ProductGroup.getInstance(group, 100000));
+		Assert.assertSame(productGroup, ProductSet.getInstance(group, 100000));
+		Assert.assertNotSame(productGroup, ProductGroup.getInstance(group, 100001));
+		Assert.assertFalse(productGroup.isCyclic());
+		Assert.assertEquals(100000, productGroup.getArity());
+		Assert.assertTrue(ProductGroup.getInstance(group, 1).isCyclic());
+		Assert.assertSame(ProductGroup.getInstance(group, 3), ProductGroup.getInstance(group, group, group));
+		ZMod zMod = ZMod.getInstance(Q);
+		Assert.assertFalse(ProductGroup.getInstance(zMod, 100000).isCyclic());
+		Assert.assertTrue(ProductGroup.getInstance(ZMod.getInstance(2), ZMod.getInstance(3), ZMod.getInstance(5)) instanceof ProductCyclicGroup);
+		Assert.assertFalse(ProductGroup.getInstance(ZMod.getInstance(2), ZMod.getInstance(3), ZMod.getInstance(4)).isCyclic());
+	}
+
+}
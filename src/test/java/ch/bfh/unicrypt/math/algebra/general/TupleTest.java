@@ -41,9 +41,17 @@
  */
 package ch.bfh.unicrypt.math.algebra.general;
 
+import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModPrime;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementColumn;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModPrime;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import ch.bfh.unicrypt.math.algebra.params.classes.SECECCParamsFp;
+import java.math.BigInteger;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -53,6 +61,8 @@ import org.junit.Test;
  */
 public class TupleTest {
 
+	private static final BigInteger P = new BigInteger("FFFFFFFFFFFFFFFFC90FDAA22168C234C4C6628B80DC1CD129024E088A67CC74020BBEA63B139B22514A08798E3404DDEF9519B3CD3A431B302B0A6DF25F14374FE1356D6D51C245E485B576625E7EC6F44C42E9A637ED6B0BFF5CB6F406B7EDEE386BFB5A899FA5AE9F24117C4B1FE649286651ECE45B3DC2007CB8A163BF0598DA48361C55D39A69163FA8FD24CF5F83655D23DCA3AD961C62F356208552BB9ED529077096966D670C354E4ABC9804F1746C08CA237327FFFFFFFFFFFFFFFF", 16);
+
 	@Test
 	public void tupleTest() {
 		ZMod zMod = ZMod.getInstance(17);
@@ -66,4 +76,38 @@ public class TupleTest {
 		}
 	}
 
+	@Test
+	public void testElementColumn() throws Exception {
+		// the large group uses the division-free modular arithmetic
+		Group[] groups = {GStarModSafePrime.getInstance(1019), GStarModPrime.getInstance(P, P.subtract(BigInteger.ONE).shiftRight(1)), ZMod.getInstance(17), ECZModPrime.getInstance(SECECCParamsFp.secp160r1)};
+		for (Group group : groups) {
+			ProductGroup productGroup = ProductGroup.getInstance(group, 10);
+			Tuple tuple1 = productGroup.getRandomElement();
+			Tuple tuple2 = productGroup.getRandomElement();
+			Tuple product = productGroup.apply(tuple1, tuple2);
+			Tuple inverse = productGroup.invert(tuple1);
+			Tuple power = productGroup.selfApply(product, BigInteger.valueOf(-5));
+			Assert.assertTrue(product.getValue() instanceof ElementColumn);
+			Assert.assertTrue(inverse.getValue() instanceof ElementColumn);
+			Assert.assertTrue(power.getValue() instanceof ElementColumn);
+			for (int i : productGroup.getAllIndices()) {
+				Assert.assertEquals(tuple1.getAt(i).apply(tuple2.getAt(i)), product.getAt(i));
+				Assert.assertEquals(tuple1.getAt(i).invert(), inverse.getAt(i));
+				Assert.assertEquals(product.getAt(i).selfApply(-5), power.getAt(i));
+			}
+			// columns are drop-in replacements of ordinary tuples
+			Element[] elements = new Element[productGroup.getArity()];
+			for (int i : productGroup.getAllIndices()) {
+				elements[i] = inverse.getAt(i);
+			}
+			Assert.assertEquals(Tuple.getInstance(elements), inverse);
+			Assert.assertEquals(inverse, Tuple.getInstance(elements));
+			Assert.assertEquals(productGroup.getIdentityElement(), productGroup.apply(tuple1, inverse));
+			Assert.assertEquals(productGroup.apply(inverse, product), productGroup.apply(productGroup.invert(tuple1), product));
+			Assert.assertEquals(product.getAt(7), product.reverse().getAt(2));
+			Assert.assertEquals(product.getAt(4), product.extract(3, 5).reverse().getAt(3));
+			Assert.assertEquals(product.getAt(9), product.removeAt(0).getAt(8));
+		}
+	}
+
 }
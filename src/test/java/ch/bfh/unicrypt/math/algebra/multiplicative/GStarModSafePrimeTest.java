@@ -47,6 +47,7 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
 import ch.bfh.unicrypt.random.classes.PseudoRandomOracle;
 import ch.bfh.unicrypt.random.classes.ReferenceRandomByteSequence;
+import java.math.BigInteger;
 import junit.framework.Assert;
 import org.junit.Test;
 
@@ -105,4 +106,17 @@ public class GStarModSafePrimeTest {
 		Assert.assertTrue(gs2.getAt(0).isEquivalent(g3));
 	}
 
+	@Test
+	public void testContains() {
+		for (int p : new int[]{5, 23, 167}) {
+			GStarModSafePrime set = GStarModSafePrime.getInstance(p);
+			BigInteger modulus = BigInteger.valueOf(p);
+			for (int i = -1; i <= p; i++) {
+				BigInteger value = BigInteger.valueOf(i);
+				boolean expected = i > 0 && i < p && value.modPow(set.getOrder(), modulus).equals(BigInteger.ONE);
+				Assert.assertEquals(expected, set.contains(value));
+			}
+		}
+	}
+
 }
@@ -42,11 +42,14 @@
 package ch.bfh.unicrypt.random;
 
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.factorization.SafePrime;
 import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.Z;
 import ch.bfh.unicrypt.random.classes.CounterModeRandomByteSequence;
 import java.math.BigInteger;
 import java.util.HashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -395,4 +398,20 @@ public class CounterModeRandomByteSequenceTest {
 		Assert.assertTrue("Size: " + primes.size(), primes.size() == 23);
 	}
 
+	@Test
+	public void testNextSavePrimeParallel() {
+		ByteArray seed = ByteArray.getInstance("01|23|45|67|89|AB|CD|EF");
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			for (int bitLength : new int[]{64, 256}) {
+				BigInteger expResult = CounterModeRandomByteSequence.getInstance(seed).getRandomNumberGenerator().nextSavePrime(bitLength);
+				BigInteger result = CounterModeRandomByteSequence.getInstance(seed).getRandomNumberGenerator().nextSavePrime(bitLength, executorService);
+				Assert.assertEquals(expResult, result);
+				Assert.assertEquals(expResult, SafePrime.getRandomInstance(bitLength, CounterModeRandomByteSequence.getInstance(seed), executorService).getValue());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
 }
@@ -41,8 +41,10 @@
  */
 package ch.bfh.unicrypt.random.classes;
 
+import ch.bfh.unicrypt.helper.MathUtil;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
+import java.math.BigInteger;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -191,4 +193,40 @@ public class ReferenceRandomByteSequenceTest {
 		assertEquals(instance, instance2);
 	}
 
+	/**
+	 * Test of the prime generation, which must be deterministic for a given reference sequence.
+	 */
+	@Test
+	public void testNextPrimes() {
+		ReferenceRandomByteSequence instance = PseudoRandomOracle.getInstance().getReferenceRandomByteSequence(ByteArray.getInstance("testNextPrimes".getBytes()));
+		BigInteger prime = instance.getRandomNumberGenerator().nextPrime(256);
+		BigInteger safePrime = instance.getRandomNumberGenerator().nextSavePrime(256);
+		BigInteger[] primePair = instance.getRandomNumberGenerator().nextPrimePair(256, 160);
+		Assert.assertEquals(256, prime.bitLength());
+		Assert.assertTrue(MathUtil.isPrime(prime));
+		Assert.assertEquals(256, safePrime.bitLength());
+		Assert.assertTrue(MathUtil.isSavePrime(safePrime));
+		Assert.assertEquals(256, primePair[0].bitLength());
+		Assert.assertEquals(160, primePair[1].bitLength());
+		Assert.assertTrue(MathUtil.arePrime(primePair));
+		Assert.assertEquals(BigInteger.ONE, primePair[0].mod(primePair[1]));
+		instance.reset();
+		Assert.assertEquals(prime, instance.getRandomNumberGenerator().nextPrime(256));
+		Assert.assertEquals(safePrime, instance.getRandomNumberGenerator().nextSavePrime(256));
+		Assert.assertEquals(primePair[0], instance.getRandomNumberGenerator().nextPrimePair(256, 160)[0]);
+	}
+
+	/**
+	 * Test of the prime generation for the default reference sequence, which must return the same primes as earlier
+	 * versions.
+	 */
+	@Test
+	public void testNextPrimesCompatibility() {
+		Assert.assertEquals(new BigInteger("246915663669836955131424244009231460683"), ReferenceRandomByteSequence.getInstance().getRandomNumberGenerator().nextPrime(128));
+		Assert.assertEquals(new BigInteger("196297696086657640941604691506511580719"), ReferenceRandomByteSequence.getInstance().getRandomNumberGenerator().nextSavePrime(128));
+		BigInteger[] primePair = ReferenceRandomByteSequence.getInstance().getRandomNumberGenerator().nextPrimePair(128, 64);
+		Assert.assertEquals(new BigInteger("326084604182005943249196212478307394831"), primePair[0]);
+		Assert.assertEquals(new BigInteger("14422355201626341829"), primePair[1]);
+	}
+
 }